@@ -0,0 +1,86 @@
+package biological.benchmarks;
+
+import biological.cells.Cell;
+import biological.components.Gene;
+import biological.factory.CellFactory;
+import biological.util.GenBankParser;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Inputs shared by the benchmarks: bundled GenBank files, synthetic gene sets and cells.
+ */
+public class BenchmarkData {
+    public static final String DATA_DIR_PROPERTY = "genbank.data.dir";
+    public static final String SYNTHETIC_PREFIX = "synthetic:";
+
+    /** {@code genbank_data} from the system property, or the nearest one above the working directory. */
+    public static Path genbankDir() {
+        String configured = System.getProperty(DATA_DIR_PROPERTY);
+        if (configured != null) return Paths.get(configured);
+        for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            Path candidate = dir.resolve("genbank_data");
+            if (Files.isDirectory(candidate)) return candidate;
+        }
+        throw new IllegalStateException("genbank_data not found; set -D" + DATA_DIR_PROPERTY);
+    }
+
+    public static Path genbankFile(String fileName) {
+        return genbankDir().resolve(fileName);
+    }
+
+    /** Genes from {@code synthetic:<count>} or from a file in {@code genbank_data}. */
+    public static List<Gene> genes(String source) {
+        if (source.startsWith(SYNTHETIC_PREFIX)) {
+            return syntheticGenes(Integer.parseInt(source.substring(SYNTHETIC_PREFIX.length())), 42L);
+        }
+        try {
+            return GenBankParser.parseGenBankFileMapped(genbankFile(source).toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Deterministic genes with yeast-like lengths, spacing and a small function vocabulary. */
+    public static List<Gene> syntheticGenes(int count, long seed) {
+        String[] functions = {"hypothetical protein", "transporter", "kinase", "ribosomal protein",
+                              "transcription factor", "dehydrogenase", "ATP synthase subunit"};
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Gene> genes = new ArrayList<>(count);
+        int position = 1;
+        for (int i = 0; i < count; i++) {
+            int length = 300 + random.nextInt(2700);
+            int start = position + random.nextInt(500);
+            List<int[]> ranges = List.of(new int[]{start, start + length - 1});
+            genes.add(Gene.of("G" + i, functions[random.nextInt(functions.length)], ranges,
+                               random.nextBoolean() ? '+' : '-', "synthetic"));
+            position = start + length;
+        }
+        return genes;
+    }
+
+    public static Cell createCell(String cellType, List<Gene> genes) {
+        return switch (cellType) {
+            case "photosynthetic" -> CellFactory.createCell(cellType, "MED4", genes, 0.6, 0.3);
+            case "heterotrophic" -> CellFactory.createCell(cellType, "E. coli", genes, 1.0, 0.25);
+            case "eukaryotic" -> CellFactory.createCell(cellType, "Yeast", genes, 10.0, 0.2);
+            default -> throw new IllegalArgumentException("Unknown cell type: " + cellType);
+        };
+    }
+
+    /** Strain name the validator knows each cell type by. */
+    public static String strainFor(String cellType) {
+        return switch (cellType) {
+            case "photosynthetic" -> "MED4";
+            case "heterotrophic" -> "E. coli";
+            case "eukaryotic" -> "Yeast";
+            default -> throw new IllegalArgumentException("Unknown cell type: " + cellType);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package biological.benchmarks;
+
+import biological.cells.Cell;
+import biological.components.Gene;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Builds each cell type from bundled and synthetic gene sets.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CellFactoryBenchmark {
+    @Param({"synthetic:1000", "synthetic:6600", "synthetic:50000", "YEAST.gb"})
+    public String genes;
+
+    @Param({"photosynthetic", "heterotrophic", "eukaryotic"})
+    public String cellType;
+
+    private List<Gene> geneList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        geneList = BenchmarkData.genes(genes);
+    }
+
+    @Benchmark
+    public Cell createCell() {
+        return BenchmarkData.createCell(cellType, geneList);
+    }
+}
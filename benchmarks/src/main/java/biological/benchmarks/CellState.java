@@ -0,0 +1,25 @@
+package biological.benchmarks;
+
+import biological.cells.Cell;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One cell per gene source and cell type, built once per trial.
+ */
+@State(Scope.Thread)
+public class CellState {
+    @Param({"synthetic:1000", "synthetic:6600", "YEAST.gb"})
+    public String genes;
+
+    @Param({"photosynthetic", "heterotrophic", "eukaryotic"})
+    public String cellType;
+
+    public Cell cell;
+    public String strain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cell = BenchmarkData.createCell(cellType, BenchmarkData.genes(genes));
+        strain = BenchmarkData.strainFor(cellType);
+    }
+}
@@ -0,0 +1,45 @@
+package biological.benchmarks;
+
+import biological.cells.Cell;
+import biological.checkpoint.Checkpoint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Restores cells from checkpoints; compare with building them in {@link CellFactoryBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CheckpointBenchmark {
+    @Param({"synthetic:6600", "YEAST.gb"})
+    public String genes;
+
+    @Param({"photosynthetic", "eukaryotic"})
+    public String cellType;
+
+    private Path cellFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        cellFile = Files.createTempFile("cells", Checkpoint.EXTENSION);
+        Checkpoint.writeCells(cellFile, List.of(BenchmarkData.createCell(cellType, BenchmarkData.genes(genes))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(cellFile);
+    }
+
+    @Benchmark
+    public List<Cell> restoreCell() throws IOException {
+        return Checkpoint.readCells(cellFile);
+    }
+}
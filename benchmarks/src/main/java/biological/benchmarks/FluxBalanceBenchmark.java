@@ -0,0 +1,57 @@
+package biological.benchmarks;
+
+import biological.metabolism.FluxBalanceSolver;
+import biological.metabolism.GeneDeletionResult;
+import biological.metabolism.MetabolicNetwork;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Flux balance re-solves after a change of glucose uptake, from the previous basis or from scratch,
+ * and a full single-gene deletion scan over the network reconstructed from the bundled yeast genome.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FluxBalanceBenchmark {
+    private static final int UPTAKE_STEPS = 64;
+
+    private FluxBalanceSolver solver;
+    private int glucose;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MetabolicNetwork network = MetabolicNetwork.fromGenes(BenchmarkData.genes("YEAST.gb"));
+        solver = new FluxBalanceSolver(network);
+        glucose = network.indexOf("EX_glc_e");
+        solver.solve();
+    }
+
+    @Benchmark
+    public double warmResolve() {
+        nextUptake();
+        return solver.solve().getObjectiveValue();
+    }
+
+    @Benchmark
+    public double coldResolve() {
+        nextUptake();
+        solver.resetBasis();
+        return solver.solve().getObjectiveValue();
+    }
+
+    @Benchmark
+    public int geneDeletions() {
+        GeneDeletionResult result = solver.singleGeneDeletions();
+        return result.getEssentialGenes().size();
+    }
+
+    private void nextUptake() {
+        step = (step + 1) % UPTAKE_STEPS;
+        solver.setBounds(glucose, -1.0 - 19.0 * step / UPTAKE_STEPS, solver.getUpperBound(glucose));
+    }
+}
@@ -0,0 +1,46 @@
+package biological.benchmarks;
+
+import biological.components.Gene;
+import biological.util.GenBankParser;
+import biological.util.GeneIndexCache;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Parses the bundled GenBank files through the reader, memory-mapped and indexed paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GenBankParserBenchmark {
+    @Param({"YEAST_CHR1.gb", "YEAST_CHR4.gb", "YEAST.gb"})
+    public String file;
+
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = BenchmarkData.genbankFile(file).toString();
+        GeneIndexCache.loadOrParse(path); // Make sure the index exists before measuring hits
+    }
+
+    @Benchmark
+    public List<Gene> parseReader() throws IOException {
+        return GenBankParser.parseGenBankFile(path);
+    }
+
+    @Benchmark
+    public List<Gene> parseMapped() throws IOException {
+        return GenBankParser.parseGenBankFileMapped(path);
+    }
+
+    @Benchmark
+    public List<Gene> loadIndexed() throws IOException {
+        return GeneIndexCache.loadOrParse(path).getGenes();
+    }
+}
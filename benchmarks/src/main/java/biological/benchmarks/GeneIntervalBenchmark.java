@@ -0,0 +1,69 @@
+package biological.benchmarks;
+
+import biological.components.Gene;
+import biological.util.GeneIntervalIndex;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Overlap and nearest-gene queries against the interval index, with a linear scan for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeneIntervalBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"synthetic:6600", "synthetic:50000"})
+    public String genes;
+
+    @Param({"1000", "15000"})
+    public int window;
+
+    private List<Gene> geneList;
+    private GeneIntervalIndex index;
+    private int[] positions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        geneList = BenchmarkData.genes(genes);
+        index = GeneIntervalIndex.of(geneList);
+        int span = geneList.get(geneList.size() - 1).getEndBasePair();
+        SplittableRandom random = new SplittableRandom(42L);
+        positions = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) positions[i] = 1 + random.nextInt(span);
+    }
+
+    @Benchmark
+    public int overlapping() {
+        int start = positions[next++ & (QUERIES - 1)];
+        return index.overlapping("synthetic", start, start + window).size();
+    }
+
+    @Benchmark
+    public Gene nearest() {
+        return index.nearest("synthetic", positions[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public int overlappingScan() {
+        int start = positions[next++ & (QUERIES - 1)];
+        int end = start + window;
+        int count = 0;
+        for (Gene gene : geneList) {
+            for (int[] range : gene.getRanges()) {
+                if (range[0] <= end && range[1] >= start) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,36 @@
+package biological.benchmarks;
+
+import biological.util.GeneSearchIndex;
+import biological.util.GeneSearchResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Term, prefix and boolean queries over the bundled yeast genome plus a synthetic one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GeneSearchBenchmark {
+    @Param({"kinase", "transport*", "name:g1*", "(atp synthase) OR helicase -hypothetical"})
+    public String query;
+
+    private GeneSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new GeneSearchIndex.Builder()
+            .add("YEAST", BenchmarkData.genes("YEAST.gb"))
+            .add("synthetic", BenchmarkData.genes("synthetic:50000"))
+            .build();
+    }
+
+    @Benchmark
+    public int search() {
+        GeneSearchResult result = index.search(query);
+        return result.size();
+    }
+}
@@ -0,0 +1,68 @@
+package biological.benchmarks;
+
+import biological.cells.Cell;
+import biological.components.NutrientVector;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Growth rate and dry mass reads on an unchanged cell, and after a parameter change, plus nutrient
+ * uptake through the map adapter and the reusable {@link NutrientVector}. Run with {@code -prof gc}
+ * to check that the {@code evaluate} paths allocate nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GrowthRateBenchmark {
+    private double dryFraction = 0.3;
+    private final NutrientVector uptakeRates = new NutrientVector();
+    private final double[] outputs = new double[Cell.OUTPUT_SIZE];
+
+    @Benchmark
+    public double growthRate(CellState state) {
+        return state.cell.getGrowthRate();
+    }
+
+    @Benchmark
+    public double dryMass(CellState state) {
+        return state.cell.getDryDaltonsWithGenome();
+    }
+
+    /** Every call invalidates the derived quantities, so this measures a full recomputation. */
+    @Benchmark
+    public double growthRateAfterChange(CellState state) {
+        dryFraction = dryFraction == 0.3 ? 0.31 : 0.3;
+        state.cell.setDryFraction(dryFraction);
+        return state.cell.getGrowthRate() + state.cell.getDryDaltonsWithGenome();
+    }
+
+    @Benchmark
+    public double[] evaluate(CellState state) {
+        state.cell.evaluate(outputs, 0);
+        return outputs;
+    }
+
+    /** Full recomputation of every output through the primitive path. */
+    @Benchmark
+    public double[] evaluateAfterChange(CellState state) {
+        dryFraction = dryFraction == 0.3 ? 0.31 : 0.3;
+        state.cell.setDryFraction(dryFraction);
+        state.cell.evaluate(outputs, 0);
+        return outputs;
+    }
+
+    @Benchmark
+    public Map<String, Double> nutrientUptakeMap(CellState state) {
+        return state.cell.getNutrientUptakeRates();
+    }
+
+    @Benchmark
+    public NutrientVector nutrientUptakeVector(CellState state) {
+        state.cell.getNutrientUptakeRates(uptakeRates);
+        return uptakeRates;
+    }
+}
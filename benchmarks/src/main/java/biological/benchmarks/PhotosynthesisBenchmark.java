@@ -0,0 +1,56 @@
+package biological.benchmarks;
+
+import biological.cells.MED4Strain;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * MED4 photosynthesis-irradiance curve over a light profile: one {@code photosynthesisRate} call per
+ * level versus the batch API. C2 auto-vectorizes a loop this simple, so {@code perCallNoSuperWord}
+ * repeats the per-call loop with that turned off as the strictly scalar baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PhotosynthesisBenchmark {
+    private static final double DIVINYL_CHLOROPHYLL_RATIO = 0.9;
+    private static final double ZEAXANTHIN_CONTENT = 0.15;
+
+    @Param({"4096", "1048576"})
+    public int levels;
+
+    private double[] lightIntensities;
+    private double[] rates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        lightIntensities = new double[levels];
+        rates = new double[levels];
+        for (int i = 0; i < levels; i++) lightIntensities[i] = 2000 * random.nextDouble();
+    }
+
+    @Benchmark
+    public double[] perCall() {
+        for (int i = 0; i < levels; i++) {
+            rates[i] = MED4Strain.photosynthesisRate(lightIntensities[i], DIVINYL_CHLOROPHYLL_RATIO, ZEAXANTHIN_CONTENT);
+        }
+        return rates;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-XX:-UseSuperWord"})
+    public double[] perCallNoSuperWord() {
+        return perCall();
+    }
+
+    @Benchmark
+    public double[] batch() {
+        MED4Strain.photosynthesisRates(lightIntensities, DIVINYL_CHLOROPHYLL_RATIO, ZEAXANTHIN_CONTENT, rates);
+        return rates;
+    }
+}
@@ -0,0 +1,65 @@
+package biological.benchmarks;
+
+import biological.components.Cytoplasm;
+import biological.spatial.DiffusionReport;
+import biological.spatial.ReactionDiffusionEngine;
+import biological.spatial.SpatialCytoplasm;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Fifty reaction-diffusion steps over a cubic cytoplasm grid, scalar and vector kernels, across
+ * thread counts. The {@code voxelUpdates} counter is the voxel-update rate; compare it across
+ * {@code threads} for scaling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReactionDiffusionBenchmark {
+    private static final int STEPS = 50;
+
+    @Param({"32", "64"})
+    public int size;
+
+    @Param({"SCALAR", "VECTOR"})
+    public ReactionDiffusionEngine.Kernel kernel;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private ReactionDiffusionEngine engine;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class VoxelUpdates {
+        public long voxelUpdates;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double[] pools = {3.0, 0.8, 0.3, 5.0, 15.0};
+        double[] diffusion = new double[Cytoplasm.METABOLITE_COUNT];
+        Arrays.fill(diffusion, 200.0);
+        SpatialCytoplasm grid = new SpatialCytoplasm(size, 1.0 / size, diffusion, pools, pools);
+        pool = new ForkJoinPool(threads);
+        engine = new ReactionDiffusionEngine(grid, kernel, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public DiffusionReport steps(VoxelUpdates counter) {
+        DiffusionReport report = engine.run(STEPS * engine.getMaxTimeStep());
+        counter.voxelUpdates += report.getVoxelUpdates();
+        return report;
+    }
+}
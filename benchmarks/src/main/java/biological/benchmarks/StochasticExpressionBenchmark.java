@@ -0,0 +1,56 @@
+package biological.benchmarks;
+
+import biological.components.GeneTable;
+import biological.simulation.ExpressionReport;
+import biological.simulation.GeneExpressionModel;
+import biological.simulation.StochasticExpressionEngine;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One replicate of stochastic expression for a MED4-sized genome, exact and tau-leaping, at the
+ * default transcription rate and at a high-copy one. The {@code reactions} counter is the reaction
+ * firing rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StochasticExpressionBenchmark {
+    private static final double HOURS = 0.25;
+
+    @Param({"synthetic:1716"})
+    public String genes;
+
+    @Param({"EXACT", "TAU_LEAPING"})
+    public StochasticExpressionEngine.Mode mode;
+
+    @Param({"2", "40"})
+    public double transcriptionRate;
+
+    private StochasticExpressionEngine engine;
+    private long seed;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Reactions {
+        public long reactions;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GeneExpressionModel model = new GeneExpressionModel(GeneTable.of(BenchmarkData.genes(genes)), transcriptionRate,
+            GeneExpressionModel.DEFAULT_MRNA_DECAY_RATE, GeneExpressionModel.DEFAULT_TRANSLATION_RATE, 0.4);
+        engine = new StochasticExpressionEngine(model, mode, StochasticExpressionEngine.DEFAULT_EPSILON, new ForkJoinPool(1));
+    }
+
+    @Benchmark
+    public ExpressionReport replicate(Reactions counter) {
+        ExpressionReport report = engine.run(HOURS, 1, seed++);
+        counter.reactions += report.getReactions();
+        return report;
+    }
+}
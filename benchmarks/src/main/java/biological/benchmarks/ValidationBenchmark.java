@@ -0,0 +1,35 @@
+package biological.benchmarks;
+
+import biological.sensitivity.SensitivityAnalyzer;
+import biological.sensitivity.SensitivityResult;
+import biological.validation.ExperimentalValidator;
+import biological.validation.ValidationResult;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Experimental validation and one-at-a-time sensitivity analysis of a built cell.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidationBenchmark {
+    private static final List<String> PARAMETERS = List.of("max_growth_rate", "dry_fraction", "volume");
+
+    private final ExperimentalValidator validator = new ExperimentalValidator();
+    private final SensitivityAnalyzer analyzer = new SensitivityAnalyzer();
+
+    @Benchmark
+    public ValidationResult validateCell(CellState state) {
+        return validator.validateCell(state.cell, state.strain);
+    }
+
+    @Benchmark
+    public SensitivityResult analyzeCell(CellState state) {
+        return analyzer.analyzeCell(state.cell, PARAMETERS);
+    }
+}
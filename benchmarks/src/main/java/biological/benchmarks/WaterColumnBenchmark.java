@@ -0,0 +1,56 @@
+package biological.benchmarks;
+
+import biological.cells.WaterColumn;
+import biological.cells.WaterColumnReport;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One simulated hour of a 200-layer MED4 water column, growth and mixing, across thread counts.
+ * The {@code cellUpdates} counter is the cell-step rate: a year of 10^7 cells at 0.025 h steps is
+ * 3.5 * 10^12 cell-steps.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WaterColumnBenchmark {
+    private static final int LAYERS = 200;
+    private static final double DT_HOURS = 0.025;
+
+    @Param({"1000000"})
+    public int cells;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private WaterColumn column;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class CellUpdates {
+        public long cellUpdates;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        column = new WaterColumn(LAYERS, 200.0, cells, 0.6, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public WaterColumnReport hour(CellUpdates counter) {
+        WaterColumnReport report = column.run(1.0, DT_HOURS, pool);
+        counter.cellUpdates += report.getCellUpdates();
+        return report;
+    }
+}
@@ -0,0 +1,56 @@
+package biological.cells;
+
+import biological.components.Gene;
+import biological.util.DependencyGraph;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Light changes reach the memoized quantities of a MED4 cell.
+ */
+class MED4StrainTest {
+    private static final List<Gene> GENES = genes();
+
+    @Test
+    void lightChangeRecomputesMemos() {
+        MED4Strain cell = MED4Strain.createFromGenes(GENES, 0.1, 0.3);
+        double brightBalance = cell.calculateEnergyBalance();
+        cell.getGrowthRate();
+        DependencyGraph.Memo growth = memo(cell, "growth_rate");
+        DependencyGraph.Memo energy = memo(cell, "energy_balance");
+        long growthMisses = growth.getMisses();
+        long energyMisses = energy.getMisses();
+
+        // Unchanged inputs are served from the memos
+        cell.getGrowthRate();
+        cell.calculateEnergyBalance();
+        assertEquals(growthMisses, growth.getMisses());
+        assertEquals(energyMisses, energy.getMisses());
+
+        cell.setLightIntensity(0.0);
+        MED4Strain dark = MED4Strain.createFromGenes(GENES, 0.1, 0.3);
+        dark.setLightIntensity(0.0);
+        double darkBalance = cell.calculateEnergyBalance();
+        double growthRate = cell.getGrowthRate();
+        assertEquals(growthMisses + 1, growth.getMisses(), "growth rate not recomputed after a light change");
+        assertEquals(energyMisses + 1, energy.getMisses(), "energy balance not recomputed after a light change");
+        assertNotEquals(brightBalance, darkBalance);
+        assertEquals(dark.calculateEnergyBalance(), darkBalance);
+        assertEquals(dark.getGrowthRate(), growthRate);
+    }
+
+    private static DependencyGraph.Memo memo(Cell cell, String name) {
+        for (DependencyGraph.Memo memo : cell.getDerivedQuantities().getMemos()) {
+            if (memo.getName().equals(name)) return memo;
+        }
+        throw new AssertionError("No memo " + name);
+    }
+
+    private static List<Gene> genes() {
+        List<Gene> genes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) genes.add(Gene.of("g" + i, "photosystem protein", i * 1_000 + 1, i * 1_000 + 900));
+        return genes;
+    }
+}
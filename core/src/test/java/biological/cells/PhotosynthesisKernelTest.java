@@ -0,0 +1,76 @@
+package biological.cells;
+
+import biological.util.VectorSupport;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link PhotosynthesisKernel} against {@link MED4Strain#rate} bit for bit, over array lengths that
+ * leave every possible remainder for the scalar tail.
+ */
+class PhotosynthesisKernelTest {
+    private static final int MAX_LENGTH = 67;
+
+    @Test
+    void sharedPigmentStateMatchesScalar() {
+        assertTrue(VectorSupport.isAvailable(), "tests must run with --add-modules jdk.incubator.vector");
+        SplittableRandom random = new SplittableRandom(17);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int trial = 0; trial < 200; trial++) {
+                double[] lights = randomLights(random, length);
+                double maxRate = MED4Strain.maxRate(random.nextDouble(0.1, 2.0));
+                double halfSaturation = MED4Strain.halfSaturation(random.nextDouble(0.0, 1.0));
+                double[] rates = new double[length];
+                PhotosynthesisKernel.rates(lights, maxRate, halfSaturation, rates);
+                for (int i = 0; i < length; i++) {
+                    assertBitsEqual(MED4Strain.rate(lights[i], maxRate, halfSaturation), rates[i], lights[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void perElementPigmentStateMatchesScalar() {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int trial = 0; trial < 200; trial++) {
+                double[] lights = randomLights(random, length);
+                double[] ratios = new double[length];
+                double[] zeaxanthin = new double[length];
+                for (int i = 0; i < length; i++) {
+                    ratios[i] = random.nextDouble(0.1, 2.0);
+                    zeaxanthin[i] = random.nextDouble(0.0, 1.0);
+                }
+                int from = length == 0 ? 0 : random.nextInt(length + 1);
+                int to = from + random.nextInt(length - from + 1);
+                double[] rates = new double[length];
+                PhotosynthesisKernel.rates(lights, ratios, zeaxanthin, rates, from, to);
+                for (int i = 0; i < length; i++) {
+                    double expected = i >= from && i < to ? MED4Strain.photosynthesisRate(lights[i], ratios[i], zeaxanthin[i]) : 0.0;
+                    assertBitsEqual(expected, rates[i], lights[i]);
+                }
+            }
+        }
+    }
+
+    // Dark, dim, saturating and photoinhibiting light, with exact zeros and the threshold itself
+    private static double[] randomLights(SplittableRandom random, int length) {
+        double[] lights = new double[length];
+        for (int i = 0; i < length; i++) {
+            lights[i] = switch (random.nextInt(8)) {
+                case 0 -> 0.0;
+                case 1 -> MED4Strain.HighLightAdaptation.PHOTOINHIBITION_THRESHOLD;
+                case 2 -> random.nextDouble(0.0, 1e-3);
+                default -> random.nextDouble(0.0, 2_500.0);
+            };
+        }
+        return lights;
+    }
+
+    private static void assertBitsEqual(double expected, double actual, double light) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                     () -> "light " + light + ": scalar " + expected + ", vector " + actual);
+    }
+}
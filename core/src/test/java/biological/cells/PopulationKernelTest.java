@@ -0,0 +1,77 @@
+package biological.cells;
+
+import biological.util.VectorSupport;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Populations and water columns stepped through {@link PopulationKernel} and through the scalar
+ * loop from the same seed, compared bit for bit.
+ */
+class PopulationKernelTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() { pool = new ForkJoinPool(3); }
+
+    @AfterAll
+    static void stopPool() { pool.shutdown(); }
+
+    @Test
+    void populationMatchesScalarLoop() {
+        assertTrue(VectorSupport.isAvailable(), "tests must run with --add-modules jdk.incubator.vector");
+        // Sizes and chunk sizes that leave every remainder for the scalar tail of a chunk
+        for (int size = 1; size <= 40; size++) {
+            for (int chunkSize : new int[]{1, 3, 8, 13, 64}) {
+                ProchlorococcusPopulation vector = new ProchlorococcusPopulation(size, 0.1, size, chunkSize);
+                ProchlorococcusPopulation scalar = new ProchlorococcusPopulation(size, 0.1, size, chunkSize);
+                scalar.setVectorized(false);
+                for (double light : new double[]{0.0, 80.0, 400.0, 1_500.0}) {
+                    vector.setLightIntensity(light);
+                    scalar.setLightIntensity(light);
+                    vector.run(6.0, 0.1, pool);
+                    scalar.run(6.0, 0.1, pool);
+                }
+                assertSameState(scalar, vector, "size " + size + " chunk " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    void waterColumnMatchesScalarLoop() {
+        // Uneven layers, a full diel cycle and mixing across the thermocline
+        WaterColumn vector = new WaterColumn(12, 120.0, 12 * 37 + 5, 0.6, 42L);
+        WaterColumn scalar = new WaterColumn(12, 120.0, 12 * 37 + 5, 0.6, 42L);
+        scalar.setVectorized(false);
+        WaterColumnReport vectorReport = vector.run(30.0, 0.025, pool);
+        WaterColumnReport scalarReport = scalar.run(30.0, 0.025, pool);
+
+        assertEquals(scalarReport.getExchangedCells(), vectorReport.getExchangedCells());
+        assertEquals(scalar.getDivisionCount(), vector.getDivisionCount());
+        assertTrue(vector.getDivisionCount() > 0, "no cell divided, so the comparison is weak");
+        for (int l = 0; l < vector.getLayerCount(); l++) {
+            assertSameState(scalar.getLayer(l), vector.getLayer(l), "layer " + l);
+        }
+    }
+
+    private static void assertSameState(ProchlorococcusPopulation expected, ProchlorococcusPopulation actual, String where) {
+        assertEquals(expected.size(), actual.size(), where);
+        assertEquals(expected.getDivisionCount(), actual.getDivisionCount(), where);
+        for (int i = 0; i < expected.size(); i++) {
+            assertBitsEqual(expected.getAtp(i), actual.getAtp(i), where, "ATP", i);
+            assertBitsEqual(expected.getAdp(i), actual.getAdp(i), where, "ADP", i);
+            assertBitsEqual(expected.getBiomass(i), actual.getBiomass(i), where, "biomass", i);
+            assertBitsEqual(expected.getAbundance(i), actual.getAbundance(i), where, "abundance", i);
+            assertBitsEqual(expected.getVolume(i), actual.getVolume(i), where, "volume", i);
+        }
+    }
+
+    private static void assertBitsEqual(double expected, double actual, String where, String column, int cell) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                     () -> where + " " + column + " of cell " + cell + ": scalar " + expected + ", vector " + actual);
+    }
+}
@@ -0,0 +1,178 @@
+package biological.checkpoint;
+
+import biological.cells.Cell;
+import biological.cells.ProchlorococcusPopulation;
+import biological.components.Gene;
+import biological.components.Protein;
+import biological.factory.CellFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trips of cells and populations, and rejection of damaged or oversized checkpoints.
+ */
+class CheckpointTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void cellsRoundTrip() throws IOException {
+        List<Gene> genes = genes(200);
+        Cell med4 = CellFactory.createCell("photosynthetic", "MED4", genes, 0.6, 0.3);
+        Cell ecoli = CellFactory.createCell("heterotrophic", "E. coli", genes(300), 1.0, 0.25);
+        Cell yeast = CellFactory.createCell("eukaryotic", "Yeast", genes(400), 40.0, 0.3);
+        // A copy shares its original's genome, and must again after restore
+        Cell larger = med4.withOverrides(med4.getPhysiology(), 0.9, 0.35);
+        List<Cell> cells = List.of(med4, ecoli, yeast, larger);
+        for (Cell cell : cells) {
+            for (int i = 0; i < 20; i++) cell.step(0.1);
+        }
+        Path file = dir.resolve("cells" + Checkpoint.EXTENSION);
+        long bytes = Checkpoint.writeCells(file, cells);
+        assertEquals(Files.size(file), bytes);
+
+        List<Cell> restored = Checkpoint.readCells(file);
+        assertEquals(cells.size(), restored.size());
+        for (int c = 0; c < cells.size(); c++) {
+            Cell original = cells.get(c);
+            Cell copy = restored.get(c);
+            String where = "cell " + c;
+            assertSame(original.getClass(), copy.getClass(), where);
+            assertEquals(original.getStrain(), copy.getStrain(), where);
+            assertEquals(original.getDivisionCount(), copy.getDivisionCount(), where);
+            assertBitsEqual(state(original), state(copy), where + " state");
+            assertBitsEqual(outputs(original), outputs(copy), where + " outputs");
+            assertEquals(original.getDryDaltonsWithGenome(), copy.getDryDaltonsWithGenome(), where);
+            assertEquals(original.getCytoplasm().getNucleoid().getGenes(), copy.getCytoplasm().getNucleoid().getGenes(), where);
+
+            // Both continue identically
+            original.step(0.1);
+            copy.step(0.1);
+            assertBitsEqual(state(original), state(copy), where + " after a step");
+        }
+        assertSame(restored.get(0).getCytoplasm().getNucleoid(), restored.get(3).getCytoplasm().getNucleoid());
+    }
+
+    @Test
+    void nullProteinFieldsRoundTrip() throws IOException {
+        Cell cell = CellFactory.createCell("heterotrophic", "E. coli", genes(10), 1.0, 0.25);
+        cell.getMembrane().addMembraneProtein(new Protein(null, "porin", null));
+        Path file = dir.resolve("nulls" + Checkpoint.EXTENSION);
+        Checkpoint.writeCells(file, List.of(cell));
+
+        List<Protein> proteins = Checkpoint.readCells(file).get(0).getMembrane().getMembraneProteins();
+        Protein last = proteins.get(proteins.size() - 1);
+        assertNull(last.getName());
+        assertEquals("porin", last.getFunction());
+        assertNull(last.getLocation());
+    }
+
+    @Test
+    void resumedPopulationMatchesOriginal() throws IOException {
+        ProchlorococcusPopulation population = new ProchlorococcusPopulation(5_003, 0.1, 7L, 1_000);
+        population.setLightIntensity(350.0);
+        population.run(2.0, 0.05);
+        Path file = dir.resolve("population" + Checkpoint.EXTENSION);
+        Checkpoint.writePopulation(file, population);
+        ProchlorococcusPopulation resumed = Checkpoint.readPopulation(file);
+
+        assertEquals(population.getTimeHours(), resumed.getTimeHours());
+        assertEquals(population.getLightIntensity(), resumed.getLightIntensity());
+        population.run(1.0, 0.05);
+        resumed.run(1.0, 0.05);
+        for (int i = 0; i < population.size(); i++) {
+            assertEquals(Double.doubleToRawLongBits(population.getAtp(i)), Double.doubleToRawLongBits(resumed.getAtp(i)));
+            assertEquals(Double.doubleToRawLongBits(population.getBiomass(i)), Double.doubleToRawLongBits(resumed.getBiomass(i)));
+            assertEquals(Double.doubleToRawLongBits(population.getAbundance(i)), Double.doubleToRawLongBits(resumed.getAbundance(i)));
+        }
+    }
+
+    @Test
+    void corruptedPayloadIsRejected() throws IOException {
+        Path file = dir.resolve("corrupt" + Checkpoint.EXTENSION);
+        Checkpoint.writePopulation(file, new ProchlorococcusPopulation(100, 0.1, 3L));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> Checkpoint.readPopulation(file));
+        assertTrue(e.getMessage().startsWith("Corrupt checkpoint"), e.getMessage());
+    }
+
+    @Test
+    void corruptedChecksumIsRejected() throws IOException {
+        Path file = dir.resolve("checksum" + Checkpoint.EXTENSION);
+        Checkpoint.writeCells(file, List.of(CellFactory.createCell("photosynthetic", "MED4", genes(10), 0.6, 0.3)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> Checkpoint.readCells(file));
+        assertTrue(e.getMessage().startsWith("Corrupt checkpoint"), e.getMessage());
+    }
+
+    @Test
+    void truncatedOrMismatchedFilesAreRejected() throws IOException {
+        Path file = dir.resolve("truncated" + Checkpoint.EXTENSION);
+        Checkpoint.writePopulation(file, new ProchlorococcusPopulation(100, 0.1, 3L));
+        assertThrows(IOException.class, () -> Checkpoint.readCells(file));
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 9));
+        assertThrows(IOException.class, () -> Checkpoint.readPopulation(file));
+    }
+
+    @Test
+    void writerRejectsPayloadsTooLargeToRestore() throws IOException {
+        Path file = dir.resolve("capped");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            CheckpointWriter out = new CheckpointWriter(channel, 16);
+            out.putDouble(1.0).putDouble(2.0);
+            out.finish();
+            assertEquals(16, out.getBytesWritten());
+            // Direct blocks bypass the stream buffer, but not the limit
+            assertThrows(IOException.class, () -> out.putBlock(2 << 20, buffer -> buffer.position(buffer.position() + (2 << 20))));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            CheckpointWriter out = new CheckpointWriter(channel, 16);
+            out.putDouble(1.0).putDouble(2.0).putByte(3);
+            assertThrows(IOException.class, out::finish);
+        }
+    }
+
+    private static double[] state(Cell cell) {
+        double[] y = new double[cell.getStateSize()];
+        cell.getState(y);
+        return y;
+    }
+
+    private static double[] outputs(Cell cell) {
+        double[] outputs = new double[Cell.OUTPUT_SIZE];
+        cell.evaluate(outputs, 0);
+        return outputs;
+    }
+
+    private static void assertBitsEqual(double[] expected, double[] actual, String where) {
+        assertEquals(expected.length, actual.length, where);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual[i]),
+                         where + " [" + i + "]: " + expected[i] + " vs " + actual[i]);
+        }
+    }
+
+    private static List<Gene> genes(int count) {
+        String[] functions = {"photosystem II protein", "ATP synthase subunit", "cytochrome oxidase", "ribosomal protein"};
+        List<Gene> genes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            genes.add(Gene.of("g" + i, functions[i % functions.length], i * 1_000 + 1, i * 1_000 + 600 + i % 300));
+        }
+        return genes;
+    }
+}
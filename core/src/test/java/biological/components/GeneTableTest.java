@@ -0,0 +1,68 @@
+package biological.components;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Table-backed gene lists against the genes they were built from.
+ */
+class GeneTableTest {
+    private static final List<Gene> GENES = List.of(
+        Gene.of("psbA", "photosystem II D1", 100, 1_200),
+        Gene.of("psbD", "photosystem II D2", List.of(new int[]{1_500, 1_800}, new int[]{2_000, 2_400}), '-', "chr1"),
+        Gene.of("psbA", "photosystem II D1", 5_000, 6_100));
+
+    @Test
+    void rowsMatchSourceGenes() {
+        GeneTable table = GeneTable.of(GENES);
+        List<Gene> rows = table.asGenes();
+        assertEquals(GENES.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Gene row = rows.get(i);
+            Gene gene = GENES.get(i);
+            assertEquals(gene.getGeneName(), row.getGeneName());
+            assertEquals(gene.getFunction(), row.getFunction());
+            assertEquals(gene.getStrand(), row.getStrand());
+            assertEquals(gene.getChromosome(), row.getChromosome());
+            assertEquals(gene.getStartBasePair(), row.getStartBasePair());
+            assertEquals(gene.getEndBasePair(), row.getEndBasePair());
+            assertEquals(gene.getLength(), row.getLength());
+            assertEquals(gene.getLength(), table.getLength(i));
+        }
+        assertSame(table, GeneTable.of(rows));
+        assertSame(table, GeneTable.backing(rows));
+        assertNull(GeneTable.backing(GENES));
+    }
+
+    @Test
+    void rowsCompareByValue() {
+        List<Gene> rows = GeneTable.of(GENES).asGenes();
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i), rows.get(i));
+            assertEquals(rows.get(i).hashCode(), rows.get(i).hashCode());
+            assertTrue(rows.contains(rows.get(i)));
+            assertEquals(i, rows.indexOf(rows.get(i)));
+            // Rows and standalone genes with the same contents are interchangeable
+            assertEquals(GENES.get(i), rows.get(i));
+            assertEquals(rows.get(i), GENES.get(i));
+            assertEquals(GENES.get(i).hashCode(), rows.get(i).hashCode());
+        }
+        assertNotEquals(rows.get(0), rows.get(2));
+        assertEquals(new HashSet<>(GENES), new HashSet<>(rows));
+
+        Map<Gene, Integer> byGene = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) byGene.put(rows.get(i), i);
+        for (int i = 0; i < rows.size(); i++) assertEquals(i, byGene.get(GeneTable.of(GENES).asGenes().get(i)));
+    }
+
+    @Test
+    void geneWithoutRangesHasNoCoordinates() {
+        GeneTable table = new GeneTable.Builder(1).beginGene("orf", "unknown", "chr1", '+').build();
+        assertEquals(0, table.getRangeCount(0));
+        assertEquals(0, table.getLength(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getStartBasePair(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getEndBasePair(0));
+    }
+}
@@ -0,0 +1,85 @@
+package biological.components;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nutrient vectors against the maps they stand in for, and frozen copies.
+ */
+class NutrientVectorTest {
+    @Test
+    void matchesMapInInsertionOrder() {
+        Map<String, Double> quantities = new LinkedHashMap<>();
+        quantities.put("nitrogen", 2.5);
+        quantities.put("phosphorus", 0.25);
+        quantities.put("vector-test-late-metabolite", 7.0);
+        NutrientVector vector = NutrientVector.fromMap(quantities);
+
+        assertEquals(quantities, vector.toMap());
+        assertEquals(3, vector.size());
+        for (int i = 0; i < vector.size(); i++) {
+            String name = MetaboliteRegistry.name(vector.idAt(i));
+            assertEquals(quantities.get(name), vector.valueAt(i));
+            assertEquals(quantities.get(name), vector.get(vector.idAt(i)));
+            assertTrue(vector.contains(vector.idAt(i)));
+        }
+
+        // Setting an existing ID again keeps its position
+        vector.set(MetaboliteRegistry.id("nitrogen"), 3.0);
+        assertEquals(List.of("nitrogen", "phosphorus", "vector-test-late-metabolite"), new ArrayList<>(vector.toMap().keySet()));
+        assertEquals(3.0, vector.get(MetaboliteRegistry.id("nitrogen")));
+
+        vector.clear();
+        assertEquals(0, vector.size());
+        assertEquals(0.0, vector.get(MetaboliteRegistry.id("nitrogen")));
+        assertFalse(vector.contains(MetaboliteRegistry.id("nitrogen")));
+    }
+
+    @Test
+    void absentIdsReadAsZero() {
+        NutrientVector vector = new NutrientVector(2);
+        vector.set(1, 4.0);
+        assertEquals(0.0, vector.get(0));
+        assertEquals(0.0, vector.get(-1));
+        assertEquals(0.0, vector.get(1_000));
+        assertFalse(vector.contains(-1));
+        assertFalse(vector.contains(1_000));
+
+        // IDs past the initial capacity grow the vector
+        vector.set(40, 1.5);
+        assertEquals(1.5, vector.get(40));
+        assertEquals(4.0, vector.get(1));
+    }
+
+    @Test
+    void freezeReturnsReadOnlyCopy() {
+        NutrientVector vector = new NutrientVector();
+        vector.set(3, 1.0);
+        vector.set(0, 2.0);
+        NutrientVector frozen = vector.freeze();
+
+        assertNotSame(vector, frozen);
+        assertTrue(frozen.isFrozen());
+        assertFalse(vector.isFrozen());
+        assertSame(frozen, frozen.freeze());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.set(0, 5.0));
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+
+        // Later changes to the original do not reach the copy
+        vector.set(0, 9.0);
+        vector.set(7, 3.0);
+        assertEquals(2, frozen.size());
+        assertEquals(2.0, frozen.get(0));
+        assertEquals(1.0, frozen.get(3));
+        assertEquals(0.0, frozen.get(7));
+        assertFalse(frozen.contains(7));
+        assertEquals(3, frozen.idAt(0));
+        assertEquals(0, frozen.idAt(1));
+
+        NutrientVector empty = new NutrientVector().freeze();
+        assertEquals(0, empty.size());
+        assertEquals(0.0, empty.get(0));
+    }
+}
@@ -0,0 +1,262 @@
+package biological.metabolism;
+
+import biological.util.YeastGeneLoader;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link DualSimplex} on hand-solved networks, against vertex enumeration on small random problems
+ * (cold and warm started), and warm against cold starts on a genome-scale network.
+ */
+class DualSimplexTest {
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void linearPathwayIsLimitedByUptake() {
+        // uptake -> A, A -> 2 B, B -> biomass
+        SparseMatrix matrix = new SparseMatrix.Builder(2)
+            .add(0, 1.0).endColumn()
+            .add(0, -1.0).add(1, 2.0).endColumn()
+            .add(1, -1.0).endColumn()
+            .build();
+        DualSimplex simplex = new DualSimplex(matrix);
+        setBounds(simplex, 0, 0.0, 10.0);
+        setBounds(simplex, 1, 0.0, 1000.0);
+        setBounds(simplex, 2, 0.0, 1000.0);
+        simplex.cost[2] = -1.0;
+
+        assertEquals(DualSimplex.Status.OPTIMAL, simplex.solve(100));
+        assertEquals(10.0, simplex.x[0], TOLERANCE);
+        assertEquals(10.0, simplex.x[1], TOLERANCE);
+        assertEquals(20.0, simplex.x[2], TOLERANCE);
+
+        // A capacity limit further down takes over from the uptake
+        setBounds(simplex, 1, 0.0, 4.0);
+        assertEquals(DualSimplex.Status.OPTIMAL, simplex.solve(100));
+        assertEquals(8.0, simplex.x[2], TOLERANCE);
+    }
+
+    @Test
+    void forcedFluxIntoDeadEndIsInfeasible() {
+        // uptake -> A, A -> B, and nothing consumes B
+        SparseMatrix matrix = new SparseMatrix.Builder(2)
+            .add(0, 1.0).endColumn()
+            .add(0, -1.0).add(1, 1.0).endColumn()
+            .build();
+        DualSimplex simplex = new DualSimplex(matrix);
+        setBounds(simplex, 0, 0.0, 10.0);
+        setBounds(simplex, 1, 1.0, 10.0);
+
+        assertEquals(DualSimplex.Status.INFEASIBLE, simplex.solve(100));
+
+        // Relaxing the bound restores the zero flux
+        setBounds(simplex, 1, 0.0, 10.0);
+        assertEquals(DualSimplex.Status.OPTIMAL, simplex.solve(100));
+        assertEquals(0.0, simplex.x[1], TOLERANCE);
+    }
+
+    @Test
+    void randomProblemsMatchVertexEnumeration() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int trial = 0; trial < 300; trial++) {
+            int rows = 1 + random.nextInt(3);
+            int columns = rows + 1 + random.nextInt(4);
+            double[][] a = randomFullRankMatrix(random, rows, columns);
+            DualSimplex simplex = new DualSimplex(toSparse(a));
+            double[] lower = new double[columns];
+            double[] upper = new double[columns];
+            double[] cost = new double[columns];
+
+            // The first solve is cold; later ones re-use the previous basis
+            for (int round = 0; round < 4; round++) {
+                for (int j = 0; j < columns; j++) {
+                    lower[j] = random.nextInt(3) == 0 ? 0.0 : -random.nextInt(1, 6);
+                    upper[j] = random.nextInt(3) == 0 ? 0.0 : random.nextInt(1, 6);
+                    cost[j] = random.nextInt(-4, 5);
+                    setBounds(simplex, j, lower[j], upper[j]);
+                    simplex.cost[j] = cost[j];
+                }
+                String problem = "trial " + trial + " round " + round;
+                // Zero is always feasible, and the boxes keep the optimum finite
+                assertEquals(DualSimplex.Status.OPTIMAL, simplex.solve(1_000), problem);
+                assertFeasible(a, lower, upper, simplex.x, problem);
+                assertEquals(enumerateVertices(a, lower, upper, cost), dot(cost, simplex.x), TOLERANCE, problem);
+            }
+        }
+    }
+
+    @Test
+    void warmStartsMatchColdStartsOnGenomeScaleNetwork() {
+        MetabolicNetwork network = MetabolicNetwork.fromGenes(YeastGeneLoader.loadYeastGenes());
+        FluxBalanceSolver warm = new FluxBalanceSolver(network);
+        FluxBalanceSolver cold = new FluxBalanceSolver(network);
+        assertTrue(warm.solve().isOptimal());
+        SplittableRandom random = new SplittableRandom(13);
+        int n = network.getReactionCount();
+
+        for (int trial = 0; trial < 100; trial++) {
+            warm.resetBounds();
+            cold.resetBounds();
+            for (int k = 0; k < 5; k++) {
+                int j = random.nextInt(n);
+                double lower = warm.getLowerBound(j);
+                double upper = warm.getUpperBound(j);
+                // Shrink the box towards a random point inside it
+                double point = lower + random.nextDouble() * (upper - lower);
+                double newLower = lower + random.nextDouble() * (point - lower);
+                double newUpper = upper - random.nextDouble() * (upper - point);
+                warm.setBounds(j, newLower, newUpper);
+                cold.setBounds(j, newLower, newUpper);
+            }
+            cold.resetBasis();
+            FluxSolution warmSolution = warm.solve();
+            FluxSolution coldSolution = cold.solve();
+
+            assertEquals(coldSolution.getStatus(), warmSolution.getStatus(), "trial " + trial);
+            if (!coldSolution.isOptimal()) continue;
+            assertEquals(coldSolution.getObjectiveValue(), warmSolution.getObjectiveValue(),
+                         TOLERANCE * Math.max(1.0, Math.abs(coldSolution.getObjectiveValue())), "trial " + trial);
+            assertMassBalanced(network.getStoichiometry(), warmSolution.getFluxes(), "warm trial " + trial);
+            assertMassBalanced(network.getStoichiometry(), coldSolution.getFluxes(), "cold trial " + trial);
+        }
+    }
+
+    private static void setBounds(DualSimplex simplex, int j, double lower, double upper) {
+        simplex.lower[j] = lower;
+        simplex.upper[j] = upper;
+    }
+
+    /**
+     * Minimum of c'x over every vertex of {Ax = 0, l <= x <= u}: each choice of basic columns with
+     * the rest at one of their bounds. {@code a} has full row rank, so every vertex is one of these.
+     */
+    private static double enumerateVertices(double[][] a, double[] lower, double[] upper, double[] cost) {
+        int rows = a.length;
+        int columns = lower.length;
+        double best = Double.POSITIVE_INFINITY;
+        for (int[] basic : combinations(columns, rows)) {
+            boolean[] isBasic = new boolean[columns];
+            for (int j : basic) isBasic[j] = true;
+            for (int bounds = 0; bounds < 1 << (columns - rows); bounds++) {
+                double[] x = new double[columns];
+                double[] rhs = new double[rows];
+                int bit = 0;
+                for (int j = 0; j < columns; j++) {
+                    if (isBasic[j]) continue;
+                    x[j] = (bounds >> bit++ & 1) == 0 ? lower[j] : upper[j];
+                    for (int i = 0; i < rows; i++) rhs[i] -= a[i][j] * x[j];
+                }
+                double[][] b = new double[rows][rows];
+                for (int i = 0; i < rows; i++) {
+                    for (int k = 0; k < rows; k++) b[i][k] = a[i][basic[k]];
+                }
+                double[] xb = solveDense(b, rhs);
+                if (xb == null) continue;
+                boolean feasible = true;
+                for (int k = 0; k < rows; k++) {
+                    int j = basic[k];
+                    x[j] = xb[k];
+                    feasible &= x[j] >= lower[j] - 1e-9 && x[j] <= upper[j] + 1e-9;
+                }
+                if (feasible) best = Math.min(best, dot(cost, x));
+            }
+        }
+        return best;
+    }
+
+    private static List<int[]> combinations(int n, int k) {
+        List<int[]> result = new ArrayList<>();
+        int[] current = new int[k];
+        for (int i = 0; i < k; i++) current[i] = i;
+        while (true) {
+            result.add(current.clone());
+            int i = k - 1;
+            while (i >= 0 && current[i] == n - k + i) i--;
+            if (i < 0) return result;
+            current[i]++;
+            for (int j = i + 1; j < k; j++) current[j] = current[j - 1] + 1;
+        }
+    }
+
+    // Gaussian elimination with partial pivoting; null when singular
+    private static double[] solveDense(double[][] matrix, double[] rhs) {
+        int n = rhs.length;
+        double[][] m = new double[n][];
+        for (int i = 0; i < n; i++) m[i] = matrix[i].clone();
+        double[] b = rhs.clone();
+        for (int c = 0; c < n; c++) {
+            int pivot = c;
+            for (int r = c + 1; r < n; r++) if (Math.abs(m[r][c]) > Math.abs(m[pivot][c])) pivot = r;
+            if (Math.abs(m[pivot][c]) < 1e-9) return null;
+            double[] row = m[c]; m[c] = m[pivot]; m[pivot] = row;
+            double t = b[c]; b[c] = b[pivot]; b[pivot] = t;
+            for (int r = c + 1; r < n; r++) {
+                double f = m[r][c] / m[c][c];
+                for (int k = c; k < n; k++) m[r][k] -= f * m[c][k];
+                b[r] -= f * b[c];
+            }
+        }
+        double[] x = new double[n];
+        for (int r = n - 1; r >= 0; r--) {
+            double s = b[r];
+            for (int k = r + 1; k < n; k++) s -= m[r][k] * x[k];
+            x[r] = s / m[r][r];
+        }
+        return x;
+    }
+
+    private static double[][] randomFullRankMatrix(SplittableRandom random, int rows, int columns) {
+        while (true) {
+            double[][] a = new double[rows][columns];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    // Mostly zero, small integer coefficients like stoichiometry
+                    if (random.nextInt(2) == 0) a[i][j] = random.nextInt(-2, 3);
+                }
+            }
+            if (hasFullRowRank(a)) return a;
+        }
+    }
+
+    private static boolean hasFullRowRank(double[][] a) {
+        for (int[] basic : combinations(a[0].length, a.length)) {
+            double[][] b = new double[a.length][a.length];
+            for (int i = 0; i < a.length; i++) {
+                for (int k = 0; k < a.length; k++) b[i][k] = a[i][basic[k]];
+            }
+            if (solveDense(b, new double[a.length]) != null) return true;
+        }
+        return false;
+    }
+
+    private static SparseMatrix toSparse(double[][] a) {
+        SparseMatrix.Builder builder = new SparseMatrix.Builder(a.length);
+        for (int j = 0; j < a[0].length; j++) {
+            for (int i = 0; i < a.length; i++) if (a[i][j] != 0) builder.add(i, a[i][j]);
+            builder.endColumn();
+        }
+        return builder.build();
+    }
+
+    private static void assertFeasible(double[][] a, double[] lower, double[] upper, double[] x, String problem) {
+        for (int j = 0; j < lower.length; j++) {
+            assertTrue(x[j] >= lower[j] - TOLERANCE && x[j] <= upper[j] + TOLERANCE, problem + ": x" + j + " = " + x[j]);
+        }
+        for (double[] row : a) assertEquals(0.0, dot(row, x), TOLERANCE, problem + ": row imbalance");
+    }
+
+    private static void assertMassBalanced(SparseMatrix stoichiometry, double[] fluxes, String problem) {
+        double[] balance = new double[stoichiometry.getRowCount()];
+        stoichiometry.multiply(fluxes, balance);
+        for (int i = 0; i < balance.length; i++) assertEquals(0.0, balance[i], TOLERANCE, problem + ": metabolite " + i);
+    }
+
+    // Over the first cost.length entries, so the simplex's artificials are left out
+    private static double dot(double[] cost, double[] x) {
+        double sum = 0;
+        for (int j = 0; j < cost.length; j++) sum += cost[j] * x[j];
+        return sum;
+    }
+}
@@ -0,0 +1,81 @@
+package biological.metabolism;
+
+import biological.components.Gene;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-gene deletions on a hand-built network with a complex and isozymes, and gene identities
+ * in reconstructed networks.
+ */
+class FluxBalanceSolverTest {
+    @Test
+    void complexSubunitsAreEssentialAndIsozymesAreNot() {
+        // a_e -> b by a two-subunit complex, b -> c by either of two isozymes, c -> biomass
+        MetabolicNetwork network = new MetabolicNetwork(List.of(
+            reaction("EX_a_e", "a_e <=>", -10, List.of()),
+            reaction("TRANSPORT", "a_e => b", 0, List.of(List.of("g1"), List.of("g2#1", "g2#2"))),
+            reaction("CONVERT", "b => c", 0, List.of(List.of("g3", "g4"))),
+            reaction(ReactionCatalog.BIOMASS, "c =>", 0, List.of())));
+        FluxBalanceSolver solver = new FluxBalanceSolver(network);
+        GeneDeletionResult result = solver.singleGeneDeletions();
+
+        assertEquals(10.0, result.getWildType(), 1e-9);
+        Map<String, Double> objectives = new HashMap<>();
+        for (int g = 0; g < result.getGenes().size(); g++) objectives.put(result.getGenes().get(g), result.getObjective(g));
+        assertEquals(0.0, objectives.get("g1"), 1e-9);
+        // Either copy of the second subunit suffices, as does either isozyme
+        assertEquals(10.0, objectives.get("g2#1"), 1e-9);
+        assertEquals(10.0, objectives.get("g2#2"), 1e-9);
+        assertEquals(10.0, objectives.get("g3"), 1e-9);
+        assertEquals(10.0, objectives.get("g4"), 1e-9);
+        assertEquals(List.of("g1"), result.getEssentialGenes());
+
+        // The bounds are restored after each knockout
+        assertEquals(10.0, solver.solve().getObjectiveValue(), 1e-9);
+    }
+
+    @Test
+    void deletionsNeedAnOptimalWildType() {
+        // Biomass is forced on, but nothing can be taken up
+        MetabolicNetwork network = new MetabolicNetwork(List.of(
+            reaction("EX_a_e", "a_e <=>", 0, List.of()),
+            reaction("CONVERT", "a_e => c", 0, List.of(List.of("g1"))),
+            new Reaction(ReactionCatalog.BIOMASS, "biomass", "c =>", Reaction.Origin.BIOMASS, 1.0, 1000.0, List.of())));
+        FluxBalanceSolver solver = new FluxBalanceSolver(network);
+        assertEquals(FluxSolution.Status.INFEASIBLE, solver.solve().getStatus());
+        assertThrows(IllegalStateException.class, solver::singleGeneDeletions);
+    }
+
+    @Test
+    void reconstructionKeepsSameNamedLociApart() {
+        List<Gene> genes = List.of(
+            Gene.of("atpA", "ATP synthase subunit alpha", 1, 1_500),
+            Gene.of("atpD", "ATP synthase subunit beta", 2_000, 3_400),
+            // The same locus again, as annotations list gene and CDS features separately
+            Gene.of("atpD", "ATP synthase subunit beta", 2_030, 3_400),
+            Gene.of("atpA", "ATP synthase subunit alpha", 5_000, 6_500),
+            Gene.of("hxk", "hexokinase", 8_000, 9_500),
+            Gene.of("glk", "glucokinase", 10_000, 11_000));
+        MetabolicNetwork network = MetabolicNetwork.fromGenes(genes);
+
+        assertTrue(network.getGenes().containsAll(List.of("atpA#1", "atpA#2", "atpD", "hxk", "glk")));
+        assertFalse(network.getGenes().contains("atpA"));
+        assertFalse(network.getGenes().contains("atpD#1"));
+        Reaction synthase = network.getReaction(network.indexOf("ATPS"));
+        assertEquals(List.of(List.of("atpA#1", "atpA#2"), List.of("atpD")), synthase.getSubunits());
+        assertTrue(synthase.requires("atpD"));
+        assertFalse(synthase.requires("atpA#1"));
+        Reaction hexokinase = network.getReaction(network.indexOf("HEX"));
+        assertEquals(List.of(List.of("hxk", "glk")), hexokinase.getSubunits());
+        assertFalse(hexokinase.requires("hxk"));
+    }
+
+    private static Reaction reaction(String id, String equation, double lower, List<List<String>> subunits) {
+        Reaction.Origin origin = id.equals(ReactionCatalog.BIOMASS) ? Reaction.Origin.BIOMASS
+            : subunits.isEmpty() ? Reaction.Origin.EXCHANGE : Reaction.Origin.GENOME;
+        return new Reaction(id, id, equation, origin, lower, 1000.0, subunits);
+    }
+}
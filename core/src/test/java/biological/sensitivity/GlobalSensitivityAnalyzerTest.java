@@ -0,0 +1,118 @@
+package biological.sensitivity;
+
+import biological.cells.Cell;
+import biological.cells.MED4Strain;
+import biological.components.Gene;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobol indices and Morris effects against the analytic values for the Ishigami function, with
+ * the three cell parameters mapped from their sampling box onto [-pi, pi].
+ */
+class GlobalSensitivityAnalyzerTest {
+    private static final double RANGE = 0.5;
+    private static final double A = 7.0;
+    private static final double B = 0.1;
+    private static final List<SensitivityParameter> PARAMETERS = List.of(
+        SensitivityParameter.MAX_GROWTH_RATE, SensitivityParameter.DRY_FRACTION, SensitivityParameter.VOLUME);
+
+    private final Cell cell = MED4Strain.createFromGenes(genes(), 0.1, 0.3);
+    private final double[] nominal = PARAMETERS.stream().mapToDouble(p -> p.getValue(cell)).toArray();
+
+    @Test
+    void sobolIndicesMatchIshigami() {
+        double pi4 = Math.pow(Math.PI, 4);
+        double v1 = 0.5 * Math.pow(1 + B * pi4 / 5, 2);
+        double v2 = A * A / 8;
+        double v13 = B * B * Math.pow(Math.PI, 8) * (1.0 / 18 - 1.0 / 50);
+        double variance = v1 + v2 + v13;
+
+        SobolResult result = analyzer(ForkJoinPool.commonPool(), 256).sobol(cell, PARAMETERS, RANGE, 1 << 14);
+        assertEquals(variance, result.getOutputVariance(), 0.01 * variance);
+        assertEquals(v1 / variance, result.getFirstOrder(SensitivityParameter.MAX_GROWTH_RATE), 0.02);
+        assertEquals(v2 / variance, result.getFirstOrder(SensitivityParameter.DRY_FRACTION), 0.02);
+        assertEquals(0.0, result.getFirstOrder(SensitivityParameter.VOLUME), 0.02);
+        assertEquals((v1 + v13) / variance, result.getTotalOrder(SensitivityParameter.MAX_GROWTH_RATE), 0.02);
+        assertEquals(v2 / variance, result.getTotalOrder(SensitivityParameter.DRY_FRACTION), 0.02);
+        assertEquals(v13 / variance, result.getTotalOrder(SensitivityParameter.VOLUME), 0.02);
+        assertEquals((1L << 14) * 5, result.getEvaluations());
+    }
+
+    @Test
+    void morrisEffectsMatchIshigami() {
+        MorrisResult result = analyzer(ForkJoinPool.commonPool(), 64).morris(cell, PARAMETERS, RANGE, 500, 11);
+        // On the four-level grid every step of x2 moves sin^2 between 0 and 3/4, up or down, over 2/3
+        double x2Effect = A * 0.75 * 1.5;
+        assertEquals(x2Effect, result.getMeanAbsoluteEffect(SensitivityParameter.DRY_FRACTION), 1e-9);
+        assertTrue(Math.abs(result.getMeanEffect(SensitivityParameter.DRY_FRACTION)) < x2Effect);
+        // x1 and x3 only act together with each other, so their effects spread
+        assertTrue(result.getEffectStandardDeviation(SensitivityParameter.MAX_GROWTH_RATE) > 1.0);
+        assertTrue(result.getEffectStandardDeviation(SensitivityParameter.VOLUME) > 1.0);
+        assertEquals(500L * 4, result.getEvaluations());
+    }
+
+    @Test
+    void resultsDoNotDependOnThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            SobolResult serial = analyzer(single, 100).sobol(cell, PARAMETERS, RANGE, 1_000);
+            SobolResult parallel = analyzer(several, 100).sobol(cell, PARAMETERS, RANGE, 1_000);
+            MorrisResult serialMorris = analyzer(single, 16).morris(cell, PARAMETERS, RANGE, 100, 3);
+            MorrisResult parallelMorris = analyzer(several, 16).morris(cell, PARAMETERS, RANGE, 100, 3);
+            assertEquals(serial.getOutputVariance(), parallel.getOutputVariance());
+            for (SensitivityParameter parameter : PARAMETERS) {
+                assertEquals(serial.getFirstOrder(parameter), parallel.getFirstOrder(parameter));
+                assertEquals(serial.getTotalOrder(parameter), parallel.getTotalOrder(parameter));
+                assertEquals(serialMorris.getMeanEffect(parameter), parallelMorris.getMeanEffect(parameter));
+                assertEquals(serialMorris.getMeanAbsoluteEffect(parameter), parallelMorris.getMeanAbsoluteEffect(parameter));
+                assertEquals(serialMorris.getEffectStandardDeviation(parameter), parallelMorris.getEffectStandardDeviation(parameter));
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsBadArguments() {
+        GlobalSensitivityAnalyzer analyzer = new GlobalSensitivityAnalyzer();
+        assertThrows(IllegalArgumentException.class, () -> analyzer.sobol(cell, List.of(), RANGE, 100));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.sobol(cell, PARAMETERS, 1.0, 100));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.sobol(cell, PARAMETERS, RANGE, 1));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.morris(cell, PARAMETERS, RANGE, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GlobalSensitivityAnalyzer(ForkJoinPool.commonPool(), 0, Cell::getGrowthRate));
+    }
+
+    private GlobalSensitivityAnalyzer analyzer(ForkJoinPool pool, int batchSize) {
+        return new GlobalSensitivityAnalyzer(pool, batchSize, ishigami());
+    }
+
+    // Reads each parameter back from the overlay copy and rescales its box to [-pi, pi]
+    private ToDoubleFunction<Cell> ishigami() {
+        return copy -> {
+            double x1 = toAngle(0, copy.getPhysiology().getMaxGrowthRate());
+            double x2 = toAngle(1, copy.getDryFraction());
+            double x3 = toAngle(2, copy.getVolumeMicron3());
+            double s = Math.sin(x2);
+            return Math.sin(x1) + A * s * s + B * Math.pow(x3, 4) * Math.sin(x1);
+        };
+    }
+
+    private double toAngle(int parameter, double value) {
+        double low = nominal[parameter] * (1 - RANGE);
+        double width = nominal[parameter] * 2 * RANGE;
+        return -Math.PI + 2 * Math.PI * (value - low) / width;
+    }
+
+    private static List<Gene> genes() {
+        List<Gene> genes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) genes.add(Gene.of("g" + i, "photosystem protein", i * 1_000 + 1, i * 1_000 + 900));
+        return genes;
+    }
+}
@@ -0,0 +1,76 @@
+package biological.sensitivity;
+
+import biological.cells.Cell;
+import biological.cells.MED4Strain;
+import biological.components.Gene;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Local sensitivities evaluated in parallel against a serial pass over the same overlay copies,
+ * and the analyzed cell left as it was.
+ */
+class SensitivityAnalyzerTest {
+    private static final List<String> PARAMETERS = List.of("max_growth_rate", "dry_fraction", "volume", "unknown");
+
+    @Test
+    void parallelMatchesSerialAndLeavesCellAlone() {
+        MED4Strain cell = MED4Strain.createFromGenes(genes(), 0.1, 0.3);
+        double growthRate = cell.getGrowthRate();
+        double energyBalance = cell.calculateEnergyBalance();
+        double maxGrowthRate = cell.getPhysiology().getMaxGrowthRate();
+        long physiologyVersion = cell.getPhysiology().getVersion();
+
+        SensitivityAnalyzer analyzer = new SensitivityAnalyzer();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Map<String, Double> parallel;
+        try {
+            parallel = analyzer.analyzeCell(cell, PARAMETERS, pool).getAllSensitivities();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(PARAMETERS, new ArrayList<>(parallel.keySet()));
+        for (String name : PARAMETERS) assertEquals(serialSensitivity(cell, name), parallel.get(name), name);
+        // Growth is proportional to the maximum rate and to 1/sqrt(volume), and independent of dry fraction
+        assertEquals(1.0, parallel.get("max_growth_rate"), 1e-9);
+        assertEquals(0.0, parallel.get("dry_fraction"), 1e-9);
+        assertEquals(0.5, parallel.get("volume"), 0.01);
+        assertEquals(0.0, parallel.get("unknown"));
+
+        assertEquals(growthRate, cell.getGrowthRate());
+        assertEquals(energyBalance, cell.calculateEnergyBalance());
+        assertEquals(maxGrowthRate, cell.getPhysiology().getMaxGrowthRate());
+        assertEquals(physiologyVersion, cell.getPhysiology().getVersion());
+        assertEquals(0.1, cell.getVolumeMicron3());
+        assertEquals(0.3, cell.getDryFraction());
+    }
+
+    @Test
+    void repeatedRunsAgree() {
+        MED4Strain cell = MED4Strain.createFromGenes(genes(), 0.1, 0.3);
+        SensitivityAnalyzer analyzer = new SensitivityAnalyzer();
+        Map<String, Double> first = analyzer.analyzeCell(cell, PARAMETERS).getAllSensitivities();
+        for (int run = 0; run < 5; run++) assertEquals(first, analyzer.analyzeCell(cell, PARAMETERS).getAllSensitivities());
+    }
+
+    // The same central difference, one perturbation at a time on the calling thread
+    private static double serialSensitivity(Cell cell, String name) {
+        SensitivityParameter parameter = SensitivityParameter.fromName(name);
+        if (parameter == null) return 0.0;
+        double base = cell.getGrowthRate();
+        double value = parameter.getValue(cell);
+        double up = parameter.withValue(cell, value * 1.1).getGrowthRate();
+        double down = parameter.withValue(cell, value * 0.9).getGrowthRate();
+        return (Math.abs((up - base) / base) / 0.1 + Math.abs((base - down) / base) / 0.1) / 2;
+    }
+
+    private static List<Gene> genes() {
+        List<Gene> genes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) genes.add(Gene.of("g" + i, "photosystem protein", i * 1_000 + 1, i * 1_000 + 900));
+        return genes;
+    }
+}
@@ -0,0 +1,61 @@
+package biological.simulation;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link IndexedPriorityQueue} against a linear scan for the minimum after every update.
+ */
+class IndexedPriorityQueueTest {
+
+    @Test
+    void minimumMatchesLinearScanAfterEachUpdate() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int size : new int[]{1, 2, 3, 7, 64, 1000}) {
+            double[] keys = new double[size];
+            for (int i = 0; i < size; i++) keys[i] = random.nextDouble();
+            IndexedPriorityQueue queue = new IndexedPriorityQueue(keys);
+            assertEquals(scanMin(keys), queue.minKey());
+
+            for (int step = 0; step < 20_000; step++) {
+                int index = random.nextInt(size);
+                double key;
+                int kind = random.nextInt(4);
+                if (kind == 0) key = Double.POSITIVE_INFINITY;      // reactions with zero propensity
+                else if (kind == 1) key = keys[random.nextInt(size)]; // ties
+                else key = random.nextDouble();
+                queue.update(index, key);
+                assertEquals(scanMin(keys), queue.minKey(), "size " + size + ", step " + step);
+                assertEquals(queue.minKey(), keys[queue.min()]);
+            }
+        }
+    }
+
+    @Test
+    void rebuildRestoresOrderAfterDirectChanges() {
+        SplittableRandom random = new SplittableRandom(9);
+        double[] keys = new double[500];
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(keys);
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < keys.length; i++) keys[i] = random.nextDouble();
+            queue.rebuild();
+            assertEquals(scanMin(keys), queue.minKey());
+            // Draining by pushing each minimum to infinity must visit keys in sorted order
+            double previous = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < keys.length; i++) {
+                double key = queue.minKey();
+                assertTrue(key >= previous);
+                previous = key;
+                queue.update(queue.min(), Double.POSITIVE_INFINITY);
+            }
+        }
+    }
+
+    private static double scanMin(double[] keys) {
+        double min = Double.POSITIVE_INFINITY;
+        for (double key : keys) min = Math.min(min, key);
+        return min;
+    }
+}
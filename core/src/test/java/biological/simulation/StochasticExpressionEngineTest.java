@@ -0,0 +1,91 @@
+package biological.simulation;
+
+import biological.components.GeneTable;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Poisson sampling on both sides of the switch to PTRS, and both simulation modes against the
+ * two-stage expression model's analytic steady state. Seeds are fixed, so the statistical
+ * tolerances are checked against one reproducible sample.
+ */
+class StochasticExpressionEngineTest {
+
+    @Test
+    void poissonMomentsMatchMean() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (double mean : new double[]{0.2, 3.0, 9.99, 10.0, 37.5, 1_000.0, 250_000.0}) {
+            int draws = 200_000;
+            double sum = 0;
+            double sumSquares = 0;
+            for (int i = 0; i < draws; i++) {
+                long k = StochasticExpressionEngine.poisson(random, mean);
+                assertTrue(k >= 0);
+                sum += k;
+                sumSquares += (double) k * k;
+            }
+            double sampleMean = sum / draws;
+            double sampleVariance = sumSquares / draws - sampleMean * sampleMean;
+            assertEquals(mean, sampleMean, 5 * Math.sqrt(mean / draws), "mean " + mean);
+            assertEquals(1.0, sampleVariance / mean, 0.03, "variance at mean " + mean);
+        }
+        assertEquals(0, StochasticExpressionEngine.poisson(random, 0.0));
+    }
+
+    @Test
+    void poissonFrequenciesMatchProbabilityMassFunction() {
+        SplittableRandom random = new SplittableRandom(23);
+        for (double mean : new double[]{4.0, 12.0, 60.0}) {
+            int draws = 400_000;
+            int[] counts = new int[(int) (4 * mean) + 20];
+            for (int i = 0; i < draws; i++) {
+                long k = StochasticExpressionEngine.poisson(random, mean);
+                if (k < counts.length) counts[(int) k]++;
+            }
+            double logP = -mean;
+            for (int k = 0; k < counts.length; k++) {
+                if (k > 0) logP += Math.log(mean / k);
+                double p = Math.exp(logP);
+                double sd = Math.sqrt(p * (1 - p) / draws);
+                assertEquals(p, (double) counts[k] / draws, 5 * sd + 1e-6, "P(" + k + ") at mean " + mean);
+            }
+        }
+    }
+
+    @Test
+    void bothModesMatchAnalyticSteadyState() {
+        // 1 kb genes: one mRNA and 600 proteins per gene on average, protein Fano factor 1 + 600 / 13
+        GeneTable.Builder builder = new GeneTable.Builder(100);
+        for (int gene = 0; gene < 100; gene++) builder.add("g" + gene, "f", "c", '+', 1, 1_000);
+        GeneExpressionModel model = new GeneExpressionModel(builder.build(), 12.0, 12.0, 600.0, 1.0);
+        double fano = 1 + 600.0 / (12.0 + 1.0);
+
+        for (StochasticExpressionEngine.Mode mode : StochasticExpressionEngine.Mode.values()) {
+            ExpressionReport report = new StochasticExpressionEngine(model, mode).run(5.0, 16, 42L);
+            assertEquals(model.getMeanMrna(0), report.getMeanMrnaPerGene(), 0.05 * model.getMeanMrna(0), mode.name());
+            assertEquals(model.getMeanProtein(0), report.getMeanProteinPerGene(), 0.03 * model.getMeanProtein(0), mode.name());
+            assertEquals(fano, report.getMeanProteinFano(), 0.15 * fano, mode.name());
+        }
+    }
+
+    @Test
+    void emptyAndSilentModelsRunToTheEnd() {
+        GeneExpressionModel empty = new GeneExpressionModel(new GeneTable.Builder(0).build(), 12.0, 12.0, 600.0, 1.0);
+        GeneTable.Builder builder = new GeneTable.Builder(3);
+        for (int gene = 0; gene < 3; gene++) builder.add("g" + gene, "f", "c", '+', 1, 1_000);
+        // No transcription: the steady state is empty and nothing can ever fire
+        GeneExpressionModel silent = new GeneExpressionModel(builder.build(), 0.0, 12.0, 600.0, 1.0);
+
+        for (StochasticExpressionEngine.Mode mode : StochasticExpressionEngine.Mode.values()) {
+            ExpressionReport report = new StochasticExpressionEngine(empty, mode).run(5.0, 4, 7L);
+            assertEquals(4, report.getReplicateCount(), mode.name());
+            assertEquals(0, report.getReactions(), mode.name());
+
+            report = new StochasticExpressionEngine(silent, mode).run(5.0, 4, 7L);
+            assertEquals(0, report.getReactions(), mode.name());
+            for (int gene = 0; gene < 3; gene++) assertEquals(0.0, report.getMeanProtein(gene), mode.name());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package biological.spatial;
+
+import biological.components.Cytoplasm;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The scalar and vector stencils on every grid size from 1 to 24 voxels per axis, so each row
+ * length leaves a different remainder for the scalar tail, and mass balance under pure diffusion.
+ */
+class ReactionDiffusionEngineTest {
+    private static final double[] DIFFUSION = {200.0, 200.0, 180.0, 250.0, 300.0};
+    private static final int STEPS = 3;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() { pool = new ForkJoinPool(3); }
+
+    @AfterAll
+    static void stopPool() { pool.shutdown(); }
+
+    @Test
+    void vectorKernelMatchesScalarBitForBit() {
+        assertTrue(ReactionDiffusionEngine.isVectorAvailable(), "tests must run with --add-modules jdk.incubator.vector");
+        for (int size = 1; size <= 24; size++) {
+            SpatialCytoplasm scalar = randomGrid(size, size);
+            SpatialCytoplasm vector = randomGrid(size, size);
+            ReactionDiffusionEngine scalarEngine = new ReactionDiffusionEngine(scalar, ReactionDiffusionEngine.Kernel.SCALAR, pool);
+            ReactionDiffusionEngine vectorEngine = new ReactionDiffusionEngine(vector, ReactionDiffusionEngine.Kernel.VECTOR, pool);
+            scalarEngine.run(STEPS * scalarEngine.getMaxTimeStep());
+            vectorEngine.run(STEPS * vectorEngine.getMaxTimeStep());
+
+            for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+                for (int z = 0; z < size; z++) {
+                    for (int y = 0; y < size; y++) {
+                        for (int x = 0; x < size; x++) {
+                            double expected = scalar.getConcentration(s, x, y, z);
+                            double actual = vector.getConcentration(s, x, y, z);
+                            String voxel = "size " + scalar.getSize() + " species " + s + " at (" + x + ", " + y + ", " + z + ")";
+                            assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                                         () -> voxel + ": scalar " + expected + ", vector " + actual);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void diffusionAloneConservesMass() {
+        for (ReactionDiffusionEngine.Kernel kernel : ReactionDiffusionEngine.Kernel.values()) {
+            for (int size = 1; size <= 24; size += 7) {
+                // NADH alone: without glucose or ADP no reaction or membrane flux touches it
+                SpatialCytoplasm grid = new SpatialCytoplasm(size, 0.05, DIFFUSION, new double[Cytoplasm.METABOLITE_COUNT],
+                                                             new double[Cytoplasm.METABOLITE_COUNT]);
+                SplittableRandom random = new SplittableRandom(size);
+                for (int z = 0; z < size; z++) {
+                    for (int y = 0; y < size; y++) {
+                        for (int x = 0; x < size; x++) grid.setConcentration(Cytoplasm.NADH, x, y, z, random.nextDouble(0.0, 2.0));
+                    }
+                }
+                double before = grid.getMean(Cytoplasm.NADH);
+                double spreadBefore = grid.getMax(Cytoplasm.NADH) - grid.getMin(Cytoplasm.NADH);
+                ReactionDiffusionEngine engine = new ReactionDiffusionEngine(grid, kernel, pool);
+                engine.run(20 * engine.getMaxTimeStep());
+
+                assertEquals(before, grid.getMean(Cytoplasm.NADH), 1e-12 * Math.max(1.0, before), kernel + " size " + size);
+                assertTrue(grid.getMax(Cytoplasm.NADH) - grid.getMin(Cytoplasm.NADH) <= spreadBefore, kernel + " size " + size);
+                for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+                    if (s != Cytoplasm.NADH) assertEquals(0.0, grid.getMax(s), kernel + " species " + s);
+                }
+            }
+        }
+    }
+
+    // Every species varies per voxel, so the kinetics and membrane fluxes all take part
+    private static SpatialCytoplasm randomGrid(int size, long seed) {
+        double[] uniform = new double[Cytoplasm.METABOLITE_COUNT];
+        double[] external = {0.0, 0.0, 0.0, 5.0, 2.0};
+        SpatialCytoplasm grid = new SpatialCytoplasm(size, 0.05, DIFFUSION, uniform, external);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+            for (int z = 0; z < size; z++) {
+                for (int y = 0; y < size; y++) {
+                    for (int x = 0; x < size; x++) grid.setConcentration(s, x, y, z, random.nextDouble(0.0, 3.0));
+                }
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,113 @@
+package biological.sweep;
+
+import biological.cells.Cell;
+import biological.cells.MED4Strain;
+import biological.components.Gene;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every sweep point written exactly once with the values of a serial evaluation, whatever the
+ * completion order, and outstanding batches stopped when a sweep fails.
+ */
+class SweepRunnerTest {
+    @TempDir Path dir;
+
+    private final MED4Strain prototype = MED4Strain.createFromGenes(genes(), 0.1, 0.3);
+
+    @Test
+    void writesEveryPointOnceWithSerialValues() throws IOException {
+        SweepGrid grid = new SweepGrid(List.of("med4", "missing"), SweepGrid.linspace(0.05, 0.2, 7),
+                                       SweepGrid.linspace(0.2, 0.4, 5), new double[] {0.3, 0.6, 0.9});
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SweepReport report;
+        try {
+            report = new SweepRunner(pool, 7).addPrototype("med4", prototype).run(grid, dir.resolve("out/sweep.csv"));
+        } finally {
+            pool.shutdown();
+        }
+
+        List<String> lines = Files.readAllLines(dir.resolve("out/sweep.csv"));
+        assertEquals(SweepResultWriter.HEADER, lines.get(0));
+        assertEquals(grid.size(), lines.size() - 1);
+        assertEquals(grid.size(), report.getPoints());
+        assertEquals(grid.size() / 2, report.getFailures());
+        assertNotNull(report.getFirstFailure());
+
+        String[][] rows = new String[(int) grid.size()][];
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",", -1);
+            int index = Integer.parseInt(fields[0]);
+            assertNull(rows[index], "point " + index + " written twice");
+            rows[index] = fields;
+        }
+        for (int index = 0; index < rows.length; index++) {
+            SweepPoint point = grid.point(index);
+            String[] fields = rows[index];
+            assertEquals(point.getCellType(), fields[1]);
+            assertEquals(point.getVolumeMicron3(), Double.parseDouble(fields[2]));
+            assertEquals(point.getDryFraction(), Double.parseDouble(fields[3]));
+            if (prototypeFor(point) == null) {
+                assertEquals("", fields[6], "point " + index);
+                continue;
+            }
+            Cell cell = prototype.withOverrides(prototype.getPhysiology().withMaxGrowthRate(point.getMaxGrowthRate()),
+                                                point.getVolumeMicron3(), point.getDryFraction());
+            assertEquals(point.getMaxGrowthRate(), Double.parseDouble(fields[4]), "point " + index);
+            assertEquals(cell.getGrowthRate(), Double.parseDouble(fields[5]), "point " + index);
+            assertEquals(cell.getDryDaltonsWithGenome(), Double.parseDouble(fields[6]), "point " + index);
+            assertEquals(cell.calculateEnergyBalance(), Double.parseDouble(fields[9]), "point " + index);
+        }
+    }
+
+    @Test
+    void failedSweepStopsOutstandingBatches() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        int failAt = 5;
+        List<SweepPoint> points = new AbstractList<>() {
+            @Override public SweepPoint get(int index) {
+                reads.incrementAndGet();
+                if (index == failAt) throw new OutOfMemoryError("simulated");
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new SweepPoint("med4", 0.1, 0.3, Double.NaN);
+            }
+
+            @Override public int size() { return 100_000; }
+        };
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SweepRunner runner = new SweepRunner(pool, 1_000).addPrototype("med4", prototype);
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> runner.run(points, dir.resolve("sweep.csv")));
+            assertInstanceOf(OutOfMemoryError.class, e.getCause());
+            assertTrue(pool.awaitQuiescence(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        // Without cancellation the three other queued or running batches would read all their points
+        assertTrue(reads.get() < 1_000, "points read after the failure: " + reads.get());
+    }
+
+    private Cell prototypeFor(SweepPoint point) {
+        return point.getCellType().equals("med4") ? prototype : null;
+    }
+
+    private static List<Gene> genes() {
+        List<Gene> genes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) genes.add(Gene.of("g" + i, "photosystem protein", i * 1_000 + 1, i * 1_000 + 900));
+        return genes;
+    }
+}
@@ -0,0 +1,144 @@
+package biological.util;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Targeted invalidation and hit/miss accounting of {@link DependencyGraph}.
+ */
+class DependencyGraphTest {
+    @Test
+    void recomputesOnlyWhatAChangeReaches() {
+        DependencyGraph graph = new DependencyGraph();
+        double[] a = {2.0};
+        double[] b = {3.0};
+        AtomicInteger sumCalls = new AtomicInteger();
+        AtomicInteger squareCalls = new AtomicInteger();
+        AtomicInteger otherCalls = new AtomicInteger();
+        DependencyGraph.Input inputA = graph.input("a");
+        DependencyGraph.Input inputB = graph.input("b");
+        DependencyGraph.Memo sum = graph.memo("sum", () -> { sumCalls.incrementAndGet(); return a[0] + b[0]; }, inputA, inputB);
+        DependencyGraph.Memo square = graph.memo("square", () -> { squareCalls.incrementAndGet(); return sum.get() * sum.get(); }, sum);
+        DependencyGraph.Memo other = graph.memo("other", () -> { otherCalls.incrementAndGet(); return 10 * b[0]; }, inputB);
+
+        assertEquals(25.0, square.get());
+        assertEquals(30.0, other.get());
+        assertEquals(25.0, square.get());
+        assertEquals(1, sumCalls.get());
+        assertEquals(1, squareCalls.get());
+
+        a[0] = 4.0;
+        inputA.changed();
+        assertEquals(49.0, square.get());
+        assertEquals(30.0, other.get());
+        assertEquals(2, sumCalls.get());
+        assertEquals(2, squareCalls.get());
+        assertEquals(1, otherCalls.get());
+
+        // A change that leaves sum's value alone does not reach square
+        a[0] = 5.0;
+        b[0] = 2.0;
+        inputA.changed();
+        inputB.changed();
+        assertEquals(49.0, square.get());
+        assertEquals(20.0, other.get());
+        assertEquals(3, sumCalls.get());
+        assertEquals(2, squareCalls.get());
+        assertEquals(2, otherCalls.get());
+    }
+
+    @Test
+    void polledInputsAndExplicitInvalidation() {
+        DependencyGraph graph = new DependencyGraph();
+        AtomicLong revision = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        DependencyGraph.Input polled = graph.input("revision", revision::get);
+        DependencyGraph.Memo memo = graph.memo("calls", calls::incrementAndGet, polled);
+
+        assertEquals(1.0, memo.get());
+        assertEquals(1.0, memo.get());
+        revision.incrementAndGet();
+        assertEquals(2.0, memo.get());
+        memo.invalidate();
+        assertEquals(3.0, memo.get());
+        assertEquals(3.0, memo.get());
+    }
+
+    @Test
+    void countsHitsOnlyForReads() {
+        DependencyGraph graph = new DependencyGraph();
+        double[] x = {1.0};
+        DependencyGraph.Input input = graph.input("x");
+        DependencyGraph.Memo base = graph.memo("base", () -> x[0], input);
+        DependencyGraph.Memo a = graph.memo("a", () -> base.get() + 1, base);
+        DependencyGraph.Memo b = graph.memo("b", () -> base.get() + 2, base);
+
+        a.get();
+        b.get();
+        assertEquals(1, base.getMisses());
+        // Refreshing a brought base up to date first, so both computations read a cached value
+        assertEquals(2, base.getHits());
+        assertEquals(0, a.getHits());
+
+        // Current dependents poll base's version on every read; those polls are not hits
+        for (int i = 0; i < 10; i++) {
+            a.get();
+            b.get();
+        }
+        assertEquals(2, base.getHits());
+        assertEquals(10, a.getHits());
+        assertEquals(10, b.getHits());
+        assertEquals(1, a.getMisses());
+        assertEquals(22, graph.getHits());
+        assertEquals(3, graph.getMisses());
+
+        x[0] = 5.0;
+        input.changed();
+        assertEquals(6.0, a.get());
+        assertEquals(2, base.getMisses());
+        assertEquals(2, a.getMisses());
+
+        graph.resetStatistics();
+        assertEquals(0, graph.getHits());
+        assertEquals(0, graph.getMisses());
+        assertEquals(0.0, graph.getHitRatio());
+    }
+
+    @Test
+    void concurrentReadersComputeOnce() throws Exception {
+        DependencyGraph graph = new DependencyGraph();
+        AtomicInteger calls = new AtomicInteger();
+        DependencyGraph.Input input = graph.input("x");
+        DependencyGraph.Memo memo = graph.memo("slow", () -> {
+            calls.incrementAndGet();
+            return 42.0;
+        }, input);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 20; round++) {
+                input.changed();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?>[] readers = new Future<?>[8];
+                for (int t = 0; t < readers.length; t++) {
+                    readers[t] = pool.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 1_000; i++) assertEquals(42.0, memo.get());
+                        return null;
+                    });
+                }
+                start.countDown();
+                for (Future<?> reader : readers) reader.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(20, calls.get());
+        assertEquals(20, memo.getMisses());
+        assertEquals(20 * 8 * 1_000 - 20, memo.getHits());
+    }
+}
@@ -0,0 +1,55 @@
+package biological.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random GenBank records exercising the CDS shapes the parsers handle: plain, complement, join and
+ * complement(join(...)) locations, wrapped products, locus tags standing in for gene names, and
+ * CDS features without a product.
+ */
+final class GenBankText {
+    private GenBankText() {}
+
+    static String record(SplittableRandom random, String locus, int features) {
+        StringBuilder text = new StringBuilder();
+        text.append("LOCUS       ").append(locus).append("             230218 bp    DNA     linear   CON 30-JUN-2025\n");
+        text.append("DEFINITION  Synthetic test record.\n");
+        text.append("SOURCE      Saccharomyces cerevisiae S288C\n");
+        text.append("  ORGANISM  Saccharomyces cerevisiae S288C\n");
+        text.append("            Eukaryota; Fungi.\n");
+        text.append("FEATURES             Location/Qualifiers\n");
+        text.append("     source          1..230218\n");
+        text.append("                     /chromosome=\"").append(locus).append("\"\n");
+        int position = 1;
+        for (int f = 0; f < features; f++) {
+            int exons = 1 + (random.nextInt(4) == 0 ? random.nextInt(1, 3) : 0);
+            StringBuilder location = new StringBuilder();
+            for (int e = 0; e < exons; e++) {
+                int start = position + random.nextInt(1, 200);
+                int end = start + random.nextInt(10, 900);
+                if (e > 0) location.append(',');
+                location.append(start).append("..").append(end);
+                position = end;
+            }
+            String span = exons > 1 ? "join(" + location + ")" : location.toString();
+            if (random.nextBoolean()) span = "complement(" + span + ")";
+
+            text.append("     gene            ").append(span).append('\n');
+            text.append("                     /locus_tag=\"YAL").append(f).append("W\"\n");
+            text.append("     CDS             ").append(span).append('\n');
+            if (random.nextInt(5) != 0) text.append("                     /gene=\"GEN").append(f).append("\"\n");
+            text.append("                     /locus_tag=\"YAL").append(f).append("W\"\n");
+            text.append("                     /codon_start=1\n");
+            switch (random.nextInt(4)) {
+                case 0 -> { }
+                case 1 -> text.append("                     /product=\"protein kinase ").append(f).append("\"\n");
+                default -> text.append("                     /product=\"putative ATP synthase subunit ")
+                              .append(f).append(" involved in\n                     proton transport\"\n");
+            }
+            text.append("                     /translation=\"MVKLTSIAAGVAAIAATASATTTLAQSDERVNLVELGVYVSDIR\n");
+            text.append("                     AHLAQYYMFQAAHPTETYPVEV\"\n");
+        }
+        text.append("ORIGIN\n        1 acgtacgtac gtacgtacgt\n//\n");
+        return text.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * When a {@code .gidx} sidecar is trusted and when the source is parsed again.
+ */
+class GeneIndexCacheTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void secondLoadHitsIndex() throws IOException {
+        Path source = write("a.gb", GenBankText.record(new SplittableRandom(1), "chrI", 40));
+        GeneIndexCache.Load first = GeneIndexCache.loadOrParse(source.toString());
+        GeneIndexCache.Load second = GeneIndexCache.loadOrParse(source.toString());
+
+        assertFalse(first.isCacheHit());
+        assertTrue(second.isCacheHit());
+        assertTrue(Files.isRegularFile(GeneIndexCache.indexPathFor(source)));
+        assertEquals(MappedGenBankScanner.scan(source).getGenes(), second.getGenes());
+    }
+
+    @Test
+    void rewriteKeepingSizeAndTimestampIsDetected() throws IOException {
+        String text = GenBankText.record(new SplittableRandom(2), "chrI", 40);
+        Path source = write("b.gb", text);
+        // Long before the index is written, so the timestamps alone would look conclusive
+        FileTime modified = FileTime.fromMillis(System.currentTimeMillis() - 3_600_000);
+        Files.setLastModifiedTime(source, modified);
+        GeneIndexCache.loadOrParse(source.toString());
+
+        // Same length, same timestamp, different gene names
+        String renamed = text.replace("GEN1\"", "XYZ1\"");
+        assertNotEquals(text, renamed);
+        Files.writeString(source, renamed);
+        Files.setLastModifiedTime(source, modified);
+
+        GeneIndexCache.Load load = GeneIndexCache.loadOrParse(source.toString());
+        assertFalse(load.isCacheHit());
+        assertEquals(MappedGenBankScanner.scan(source).getGenes(), load.getGenes());
+        assertTrue(GeneIndexCache.loadOrParse(source.toString()).isCacheHit());
+    }
+
+    @Test
+    void changedSizeOrTimestampIsDetected() throws IOException {
+        Path source = write("c.gb", GenBankText.record(new SplittableRandom(3), "chrI", 40));
+        GeneIndexCache.loadOrParse(source.toString());
+
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() - 10_000));
+        assertFalse(GeneIndexCache.loadOrParse(source.toString()).isCacheHit());
+
+        Files.writeString(source, GenBankText.record(new SplittableRandom(4), "chrI", 41));
+        GeneIndexCache.Load load = GeneIndexCache.loadOrParse(source.toString());
+        assertFalse(load.isCacheHit());
+        assertEquals(MappedGenBankScanner.scan(source).getGenes(), load.getGenes());
+    }
+
+    @Test
+    void damagedIndexIsRebuilt() throws IOException {
+        Path source = write("d.gb", GenBankText.record(new SplittableRandom(5), "chrI", 40));
+        GeneIndexCache.loadOrParse(source.toString());
+        Path index = GeneIndexCache.indexPathFor(source);
+
+        byte[] bytes = Files.readAllBytes(index);
+        Files.write(index, Arrays.copyOf(bytes, bytes.length / 2));
+        assertFalse(GeneIndexCache.loadOrParse(source.toString()).isCacheHit());
+        assertTrue(GeneIndexCache.loadOrParse(source.toString()).isCacheHit());
+
+        // Another format version is never read
+        bytes = Files.readAllBytes(index);
+        bytes[4]++;
+        Files.write(index, bytes);
+        GeneIndexCache.Load load = GeneIndexCache.loadOrParse(source.toString());
+        assertFalse(load.isCacheHit());
+        assertEquals(MappedGenBankScanner.scan(source).getGenes(), load.getGenes());
+    }
+
+    private Path write(String name, String text) throws IOException {
+        return Files.writeString(dir.resolve(name), text);
+    }
+}
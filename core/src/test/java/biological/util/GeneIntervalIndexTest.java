@@ -0,0 +1,151 @@
+package biological.util;
+
+import biological.components.Gene;
+import biological.components.GeneTable;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every query of {@link GeneIntervalIndex} against a linear scan over random multi-segment genes,
+ * for both plain gene lists and table-backed ones.
+ */
+class GeneIntervalIndexTest {
+    private static final String[] CHROMOSOMES = {"chrI", "chrII", "chrIII"};
+    private static final int GENOME_LENGTH = 20_000;
+
+    @Test
+    void queriesMatchLinearScan() {
+        List<Gene> genes = randomGenes(new SplittableRandom(7), 600);
+        checkAgainstScan(genes, GeneIntervalIndex.of(genes));
+    }
+
+    @Test
+    void tableBackedListMatchesLinearScan() {
+        List<Gene> genes = GeneTable.of(randomGenes(new SplittableRandom(11), 600)).asGenes();
+        checkAgainstScan(genes, GeneIntervalIndex.of(genes));
+    }
+
+    @Test
+    void knownAnswers() {
+        List<Gene> genes = List.of(
+            Gene.of("a", "f", List.of(new int[]{100, 200}), '+', "c"),
+            Gene.of("b", "f", List.of(new int[]{150, 160}, new int[]{300, 400}), '+', "c"),
+            Gene.of("c", "f", List.of(new int[]{900, 500}), '-', "c"));
+        GeneIntervalIndex index = GeneIntervalIndex.of(genes);
+
+        assertEquals(List.of("a", "b"), names(index.overlapping("c", 155, 155)));
+        // The gap between b's exons is not covered by any segment
+        assertEquals(List.of(), names(index.overlapping("c", 250, 290)));
+        assertEquals(List.of("b", "c"), names(index.overlapping("c", 350, 600)));
+        assertEquals(List.of("a"), names(index.within("c", 100, 299)));
+        assertEquals(List.of("b"), names(index.containing("c", 250, 290)));
+        assertEquals(List.of("c"), names(index.containing("c", 500, 900)));
+        assertEquals("a", index.nearest("c", 50).getGeneName());
+        assertEquals("c", index.nearest("c", 1000).getGeneName());
+        assertEquals("b", index.nearest("c", 450).getGeneName());
+        assertEquals(List.of(), index.overlapping("missing", 0, 1000));
+        assertNull(index.nearest("missing", 0));
+        assertEquals(List.of(), index.overlapping("c", 400, 100));
+    }
+
+    private static void checkAgainstScan(List<Gene> genes, GeneIntervalIndex index) {
+        SplittableRandom random = new SplittableRandom(3);
+        for (String chromosome : CHROMOSOMES) {
+            List<Gene> onChromosome = new ArrayList<>();
+            for (Gene gene : genes) if (gene.getChromosome().equals(chromosome)) onChromosome.add(gene);
+            assertEquals(onChromosome.size(), index.getGeneCount(chromosome));
+
+            for (int q = 0; q < 2_000; q++) {
+                int a = random.nextInt(-100, GENOME_LENGTH + 100);
+                int b = q % 4 == 0 ? a : a + random.nextInt(0, 1_500);
+                Set<String> overlapping = new HashSet<>();
+                Set<String> within = new HashSet<>();
+                Set<String> containing = new HashSet<>();
+                for (Gene gene : onChromosome) {
+                    for (int[] range : gene.getRanges()) {
+                        if (low(range) <= b && high(range) >= a) overlapping.add(gene.getGeneName());
+                    }
+                    if (spanStart(gene) >= a && spanEnd(gene) <= b) within.add(gene.getGeneName());
+                    if (spanStart(gene) <= a && spanEnd(gene) >= b) containing.add(gene.getGeneName());
+                }
+                assertHits(overlapping, index.overlapping(chromosome, a, b), chromosome, a, b);
+                assertHits(within, index.within(chromosome, a, b), chromosome, a, b);
+                assertHits(containing, index.containing(chromosome, a, b), chromosome, a, b);
+                checkNearest(onChromosome, index.nearest(chromosome, a), a);
+            }
+        }
+    }
+
+    private static void assertHits(Set<String> expected, List<Gene> actual, String chromosome, int a, int b) {
+        String window = chromosome + ":" + a + "-" + b;
+        assertEquals(expected, new HashSet<>(names(actual)), window);
+        assertEquals(expected.size(), actual.size(), "duplicate hits in " + window);
+        for (int i = 1; i < actual.size(); i++) {
+            assertTrue(spanStart(actual.get(i - 1)) <= spanStart(actual.get(i)), "hits out of order in " + window);
+        }
+    }
+
+    // Covering genes win; otherwise the smallest gap, upstream on a tie
+    private static void checkNearest(List<Gene> genes, Gene nearest, int position) {
+        int bestGap = Integer.MAX_VALUE;
+        boolean upstreamAtBest = false;
+        for (Gene gene : genes) {
+            int gap = gap(gene, position);
+            if (gap < bestGap) {
+                bestGap = gap;
+                upstreamAtBest = false;
+            }
+            if (gap == bestGap && spanEnd(gene) < position) upstreamAtBest = true;
+        }
+        assertNotNull(nearest);
+        assertEquals(bestGap, gap(nearest, position), "nearest to " + position);
+        if (bestGap > 0 && upstreamAtBest) assertTrue(spanEnd(nearest) < position, "tie at " + position + " not upstream");
+    }
+
+    private static int gap(Gene gene, int position) {
+        if (position < spanStart(gene)) return spanStart(gene) - position;
+        if (position > spanEnd(gene)) return position - spanEnd(gene);
+        return 0;
+    }
+
+    private static List<Gene> randomGenes(SplittableRandom random, int count) {
+        List<Gene> genes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int segments = 1 + random.nextInt(3);
+            int position = random.nextInt(1, GENOME_LENGTH - 3_000);
+            List<int[]> ranges = new ArrayList<>();
+            for (int s = 0; s < segments; s++) {
+                int length = random.nextInt(1, 400);
+                // Complement ranges may be written end-first
+                ranges.add(random.nextInt(5) == 0 ? new int[]{position + length, position} : new int[]{position, position + length});
+                position += length + random.nextInt(1, 300);
+            }
+            genes.add(Gene.of("G" + i, "f", ranges, random.nextBoolean() ? '+' : '-',
+                              CHROMOSOMES[random.nextInt(CHROMOSOMES.length)]));
+        }
+        return genes;
+    }
+
+    private static int spanStart(Gene gene) {
+        int start = Integer.MAX_VALUE;
+        for (int[] range : gene.getRanges()) start = Math.min(start, low(range));
+        return start;
+    }
+
+    private static int spanEnd(Gene gene) {
+        int end = Integer.MIN_VALUE;
+        for (int[] range : gene.getRanges()) end = Math.max(end, high(range));
+        return end;
+    }
+
+    private static int low(int[] range) { return Math.min(range[0], range[1]); }
+    private static int high(int[] range) { return Math.max(range[0], range[1]); }
+
+    private static List<String> names(List<Gene> genes) {
+        List<String> names = new ArrayList<>(genes.size());
+        for (Gene gene : genes) names.add(gene.getGeneName());
+        return names;
+    }
+}
@@ -0,0 +1,151 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.util.*;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link GeneSearchIndex} queries against a brute-force scan over the tokens of every gene.
+ */
+class GeneSearchIndexTest {
+    private static final String[] NAME_WORDS = {"psbA", "psbD", "atpB", "rbcL", "ndhF", "orf"};
+    private static final String[] PRODUCT_WORDS = {"photosystem", "II", "D1", "ATP", "synthase", "subunit",
+                                                   "psbA", "hypothetical", "protein", "ribulose"};
+
+    @Test
+    void queriesMatchBruteForce() {
+        SplittableRandom random = new SplittableRandom(19);
+        Map<String, List<Gene>> genomes = new LinkedHashMap<>();
+        genomes.put("alpha", randomGenes(random, 300));
+        genomes.put("empty", List.of());
+        genomes.put("beta", randomGenes(random, 200));
+        GeneSearchIndex index = new GeneSearchIndex.Builder().addAll(genomes).build();
+        List<Gene> all = new ArrayList<>();
+        genomes.values().forEach(all::addAll);
+        assertEquals(all.size(), index.size());
+
+        for (int trial = 0; trial < 500; trial++) {
+            GeneSearchIndex.Field field = switch (random.nextInt(3)) {
+                case 0 -> GeneSearchIndex.Field.NAME;
+                case 1 -> GeneSearchIndex.Field.FUNCTION;
+                default -> null;
+            };
+            List<String> tokens = new ArrayList<>();
+            for (int t = 1 + random.nextInt(2); t > 0; t--) tokens.add(randomWord(random).toLowerCase(Locale.ROOT));
+            String term = String.join(" ", tokens);
+            assertMatches(all, genomes, index.term(field, term), gene -> matches(gene, field, tokens, false),
+                          field + " term " + term);
+
+            // Cut the last token short for a prefix
+            String last = tokens.get(tokens.size() - 1);
+            tokens.set(tokens.size() - 1, last.substring(0, 1 + random.nextInt(last.length())));
+            String prefix = String.join(" ", tokens);
+            assertMatches(all, genomes, index.prefix(field, prefix), gene -> matches(gene, field, tokens, true),
+                          field + " prefix " + prefix);
+        }
+    }
+
+    @Test
+    void booleanQueriesCombineTerms() {
+        SplittableRandom random = new SplittableRandom(23);
+        Map<String, List<Gene>> genomes = Map.of("alpha", randomGenes(random, 400));
+        GeneSearchIndex index = new GeneSearchIndex.Builder().addAll(genomes).build();
+        List<Gene> all = genomes.get("alpha");
+
+        List<String> p = List.of("photosystem");
+        List<String> atp = List.of("atp");
+        List<String> synthase = List.of("synthase");
+        List<String> psb = List.of("psb");
+        List<String> hypothetical = List.of("hypothetical");
+        Predicate<Gene> expected = gene -> (matches(gene, null, p, false)
+                || matches(gene, null, atp, false) && matches(gene, null, synthase, false)
+                || matches(gene, GeneSearchIndex.Field.NAME, psb, true))
+            && !matches(gene, null, hypothetical, false);
+        assertMatches(all, genomes, index.search("(photosystem OR (atp synthase) OR name:psb*) -hypothetical"),
+                      expected, "boolean query");
+        assertMatches(all, genomes, index.search("NOT photosystem AND product:ii"),
+                      gene -> !matches(gene, null, p, false) && matches(gene, GeneSearchIndex.Field.FUNCTION, List.of("ii"), false),
+                      "negated query");
+        assertEquals(all.size(), index.search("psba OR NOT psba").size());
+        assertThrows(IllegalArgumentException.class, () -> index.search("(photosystem"));
+        assertThrows(IllegalArgumentException.class, () -> index.search("gene:psba"));
+        assertThrows(IllegalArgumentException.class, () -> index.search(" "));
+    }
+
+    @Test
+    void multiTokenTermsMatchWithinOneField() {
+        GeneSearchIndex index = new GeneSearchIndex.Builder()
+            .add("g", List.of(Gene.of("psbA", "ATP synthase", 1, 100), Gene.of("atpB", "psbA synthase", 200, 300)))
+            .build();
+        // Only the second gene has both tokens in one field
+        assertEquals(List.of("atpB"), names(index.term("psba synthase").getGenes()));
+        assertEquals(List.of("psbA", "atpB"), names(index.term("synthase").getGenes()));
+        assertTrue(index.term(GeneSearchIndex.Field.NAME, "psba synthase").isEmpty());
+        // Separate words of a query still match across fields
+        assertEquals(2, index.search("psba synthase").size());
+    }
+
+    @Test
+    void rejectsDuplicateGenomes() {
+        GeneSearchIndex.Builder builder = new GeneSearchIndex.Builder().add("MED4", List.of(Gene.of("psbA", "D1", 1, 100)));
+        assertThrows(IllegalArgumentException.class, () -> builder.add("MED4", List.of(Gene.of("psbD", "D2", 1, 100))));
+    }
+
+    private static void assertMatches(List<Gene> all, Map<String, List<Gene>> genomes, GeneSearchResult result,
+                                      Predicate<Gene> expected, String query) {
+        List<Gene> matching = new ArrayList<>();
+        for (Gene gene : all) if (expected.test(gene)) matching.add(gene);
+        assertEquals(matching, result.getGenes(), query);
+        assertEquals(matching.size(), result.size(), query);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Gene>> genome : genomes.entrySet()) {
+            List<Gene> inGenome = new ArrayList<>();
+            for (Gene gene : genome.getValue()) if (expected.test(gene)) inGenome.add(gene);
+            assertEquals(inGenome, result.getGenes(genome.getKey()), query + " in " + genome.getKey());
+            counts.put(genome.getKey(), inGenome.size());
+        }
+        assertEquals(counts, result.getCountsByGenome(), query);
+    }
+
+    // Every token in one field; with a prefix, the last token only has to start a field token
+    private static boolean matches(Gene gene, GeneSearchIndex.Field field, List<String> tokens, boolean prefix) {
+        return (field != GeneSearchIndex.Field.FUNCTION && containsAll(gene.getGeneName(), tokens, prefix))
+            || (field != GeneSearchIndex.Field.NAME && containsAll(gene.getFunction(), tokens, prefix));
+    }
+
+    private static boolean containsAll(String text, List<String> tokens, boolean prefix) {
+        List<String> words = GeneSearchIndex.tokenize(text);
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean isPrefix = prefix && i == tokens.size() - 1;
+            if (words.stream().noneMatch(word -> isPrefix ? word.startsWith(token) : word.equals(token))) return false;
+        }
+        return true;
+    }
+
+    private static List<Gene> randomGenes(SplittableRandom random, int count) {
+        List<Gene> genes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = NAME_WORDS[random.nextInt(NAME_WORDS.length)] + (random.nextInt(4) == 0 ? "-" + i : "");
+            StringBuilder product = new StringBuilder();
+            for (int w = random.nextInt(4); w >= 0; w--) {
+                product.append(PRODUCT_WORDS[random.nextInt(PRODUCT_WORDS.length)]).append(random.nextBoolean() ? " " : ", ");
+            }
+            genes.add(Gene.of(name, product.toString().trim(), i * 1_000 + 1, i * 1_000 + 900));
+        }
+        return genes;
+    }
+
+    private static String randomWord(SplittableRandom random) {
+        return random.nextBoolean() ? NAME_WORDS[random.nextInt(NAME_WORDS.length)] : PRODUCT_WORDS[random.nextInt(PRODUCT_WORDS.length)];
+    }
+
+    private static List<String> names(List<Gene> genes) {
+        List<String> names = new ArrayList<>();
+        for (Gene gene : genes) names.add(gene.getGeneName());
+        return names;
+    }
+}
@@ -0,0 +1,76 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The mapped scanner against the line-based parser it replaced, gene for gene.
+ */
+class MappedGenBankScannerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void matchesLineParser() throws IOException {
+        SplittableRandom random = new SplittableRandom(23);
+        for (int trial = 0; trial < 20; trial++) {
+            Path file = dir.resolve("record" + trial + ".gb");
+            String text = GenBankText.record(random, "chr" + trial, 1 + random.nextInt(60));
+            Files.writeString(file, trial % 3 == 0 ? text.replace("\n", "\r\n") : text);
+
+            List<Gene> expected = GenBankParser.parseGenBankFile(file.toString());
+            GenBankScanResult scan = MappedGenBankScanner.scan(file);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected.size(), scan.getGenes().size(), file.toString());
+            for (int i = 0; i < expected.size(); i++) {
+                Gene parsed = expected.get(i);
+                Gene scanned = scan.getGenes().get(i);
+                String where = file.getFileName() + " gene " + i;
+                assertEquals(parsed.getGeneName(), scanned.getGeneName(), where);
+                assertEquals(parsed.getFunction(), scanned.getFunction(), where);
+                assertEquals(parsed.getStrand(), scanned.getStrand(), where);
+                assertEquals(parsed.getRanges().size(), scanned.getRanges().size(), where);
+                for (int r = 0; r < parsed.getRanges().size(); r++) {
+                    assertArrayEquals(parsed.getRanges().get(r), scanned.getRanges().get(r), where);
+                }
+                // Only the scanner records where each gene came from
+                assertEquals("chr" + trial, scanned.getChromosome(), where);
+            }
+            assertEquals(Files.size(file), scan.getBytesScanned());
+            assertEquals("Saccharomyces cerevisiae S288C", scan.getOrganism());
+        }
+    }
+
+    @Test
+    void knownAnswers() throws IOException {
+        Path file = dir.resolve("known.gb");
+        Files.writeString(file, """
+            LOCUS       chrX             5000 bp    DNA     linear
+              ORGANISM  Test organism
+            FEATURES             Location/Qualifiers
+                 CDS             complement(join(100..200,300..420))
+                                 /gene="abc1"
+                                 /product="ABC transporter
+                                 permease"
+                 CDS             500..700
+                                 /locus_tag="T001"
+
+            //
+            """);
+        List<Gene> genes = MappedGenBankScanner.scan(file).getGenes();
+        assertEquals(2, genes.size());
+        assertEquals("abc1", genes.get(0).getGeneName());
+        assertEquals("ABC transporter permease", genes.get(0).getFunction());
+        assertEquals('-', genes.get(0).getStrand());
+        assertArrayEquals(new int[]{300, 420}, genes.get(0).getRanges().get(1));
+        assertEquals("T001", genes.get(1).getGeneName());
+        assertEquals("unknown", genes.get(1).getFunction());
+        assertArrayEquals(new int[]{500, 700}, genes.get(1).getRanges().get(0));
+    }
+}
@@ -1,18 +1,44 @@
 package biological;
 
 import biological.cells.*;
+import biological.checkpoint.Checkpoint;
+import biological.components.Cytoplasm;
 import biological.components.Gene;
 import biological.factory.CellFactory;
+import biological.metabolism.FluxBalanceSolver;
+import biological.metabolism.FluxSolution;
+import biological.metabolism.MetabolicNetwork;
+import biological.metrics.MetricsRegistry;
+import biological.sensitivity.GlobalSensitivityAnalyzer;
 import biological.sensitivity.SensitivityAnalyzer;
+import biological.sensitivity.SensitivityParameter;
 import biological.sensitivity.SensitivityResult;
-import biological.util.GenBankParser;
+import biological.simulation.GeneExpressionModel;
+import biological.simulation.SimulationEngine;
+import biological.simulation.StochasticExpressionEngine;
+import biological.spatial.ReactionDiffusionEngine;
+import biological.spatial.SpatialCytoplasm;
+import biological.sweep.SweepGrid;
+import biological.sweep.SweepRunner;
+import biological.thermodynamics.EnergyBalanceCalculator;
+import biological.util.GeneIndexCache;
+import biological.util.GeneIntervalIndex;
+import biological.util.GeneSearchIndex;
+import biological.util.GeneSearchResult;
+import biological.util.GenomeIngestor;
+import biological.util.GenomeStore;
+import biological.util.IngestionResult;
 import biological.util.YeastGeneLoader;
 import biological.validation.ExperimentalValidator;
 import biological.validation.ValidationResult;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Advanced Cellular Simulation with validation and sensitivity analysis
@@ -20,6 +46,8 @@ import java.util.List;
 public class AdvancedCellSimulation {
     
     private static final String DATA_DIR = "genbank_data";
+    private static final String SWEEP_OUTPUT = "sweep_results.csv";
+    private static final String CHECKPOINT_DIR = "checkpoints";
     
     public static void main(String[] args) {
         System.out.println("=== ADVANCED CELLULAR SIMULATION ===");
@@ -29,27 +57,59 @@ public class AdvancedCellSimulation {
         try {
             java.nio.file.Files.createDirectories(Paths.get(DATA_DIR));
             
-            System.out.println("1. DOWNLOADING AND PARSING GENOMIC DATA...");
+            System.out.println("1. LOADING AND PARSING GENOMIC DATA...");
+            
+            GenomeStore genomeStore = GenomeStore.withDefaultFetcher(Paths.get(DATA_DIR, "store"));
             
             // MED4
             String med4Accession = "BX548174";
-            String med4File = DATA_DIR + "/MED4.gb";
-            GenBankParser.downloadGenBankFile(med4Accession, med4File);
-            List<Gene> med4Genes = GenBankParser.parseGenBankFile(med4File);
+            String med4File = genomeStore.resolve(med4Accession).toString();
+            GeneIndexCache.Load med4Load = GeneIndexCache.loadOrParse(med4File);
+            List<Gene> med4Genes = med4Load.getGenes();
             System.out.println("MED4 genes parsed: " + med4Genes.size() + " genes");
+            System.out.println("  " + med4Load);
             
             // E. coli
             String ecoliAccession = "U00096";
-            String ecoliFile = DATA_DIR + "/ECOLI.gb";
-            GenBankParser.downloadGenBankFile(ecoliAccession, ecoliFile);
-            List<Gene> ecoliGenes = GenBankParser.parseGenBankFile(ecoliFile);
+            String ecoliFile = genomeStore.resolve(ecoliAccession).toString();
+            GeneIndexCache.Load ecoliLoad = GeneIndexCache.loadOrParse(ecoliFile);
+            List<Gene> ecoliGenes = ecoliLoad.getGenes();
             System.out.println("E. coli genes parsed: " + ecoliGenes.size() + " genes");
+            System.out.println("  " + ecoliLoad);
             
             // Yeast - use realistic gene generator instead of broken GenBank parsing
             System.out.println("Generating realistic yeast genes...");
             List<Gene> yeastGenes = YeastGeneLoader.loadYeastGenes();
             System.out.println("Yeast genes generated: " + yeastGenes.size() + " genes");
             
+            // Per-chromosome yeast records, parsed concurrently
+            System.out.println("Ingesting per-chromosome yeast GenBank files...");
+            IngestionResult yeastIngestion = GenomeIngestor.ingest(DATA_DIR + "/YEAST_CHR*.gb");
+            yeastIngestion.printSummary();
+            
+            // Inverted index over names and products of every loaded genome, built once here
+            long indexStart = System.nanoTime();
+            GeneSearchIndex geneIndex = new GeneSearchIndex.Builder()
+                .add("MED4", med4Genes).add("E. coli", ecoliGenes).add("Yeast", yeastGenes)
+                .addAll(yeastIngestion.getGenesByOrganism())
+                .build();
+            System.out.printf("Indexed %d genes (%d terms) in %.1f ms%n", geneIndex.size(), geneIndex.getTermCount(),
+                             (System.nanoTime() - indexStart) / 1e6);
+            String energyQuery = "photosystem OR (atp synthase) OR name:psb*";
+            long queryStart = System.nanoTime();
+            GeneSearchResult energyGenes = geneIndex.search(energyQuery);
+            System.out.printf("Query \"%s\" in %.3f ms: ", energyQuery, (System.nanoTime() - queryStart) / 1e6);
+            energyGenes.printSummary(5);
+            
+            GeneIntervalIndex med4Intervals = GeneIntervalIndex.of(med4Genes);
+            for (String chromosome : med4Intervals.getChromosomes()) {
+                List<Gene> overlapping = med4Intervals.overlapping(chromosome, 120_000, 135_000);
+                Gene nearest = med4Intervals.nearest(chromosome, 100_000);
+                System.out.printf("%s: %d genes overlap 120,000-135,000; nearest to 100,000 is %s (%d-%d)%n",
+                                 chromosome, overlapping.size(), nearest.getGeneName(),
+                                 nearest.getStartBasePair(), nearest.getEndBasePair());
+            }
+            
             System.out.println();
             System.out.println("2. CREATING CELL TYPES...");
             
@@ -65,6 +125,36 @@ public class AdvancedCellSimulation {
             simulateAndDisplay(ecoliCell, "E. coli K-12");
             simulateAndDisplay(yeastCell, "Saccharomyces cerevisiae");
             
+            System.out.println("Time course over 24 hours:");
+            SimulationEngine engine = new SimulationEngine().add(med4Cell).add(ecoliCell).add(yeastCell);
+            engine.run(24.0).printSummary();
+            displayTimeCourse(med4Cell, "Prochlorococcus MED4");
+            displayTimeCourse(ecoliCell, "E. coli K-12");
+            displayTimeCourse(yeastCell, "Saccharomyces cerevisiae");
+            
+            System.out.println("MED4 population over 24 hours:");
+            ProchlorococcusPopulation population = new ProchlorococcusPopulation(100_000, 0.6, 42L);
+            population.run(24.0, 0.05).printSummary();
+            population.printSummary();
+            
+            // Ends at midday so the profile shows each layer's energy charge under noon light
+            System.out.println("MED4 in a 200 m water column over 2.5 days:");
+            WaterColumn column = new WaterColumn(100, 200.0, 50_000, 0.6, 42L);
+            column.run(60.0, 0.025).printSummary();
+            
+            System.out.println("Stochastic gene expression in MED4 over 2 hours:");
+            GeneExpressionModel expression = GeneExpressionModel.forCell(med4Cell);
+            new StochasticExpressionEngine(expression, StochasticExpressionEngine.Mode.EXACT).run(2.0, 8, 42L).printSummary();
+            new StochasticExpressionEngine(expression, StochasticExpressionEngine.Mode.TAU_LEAPING).run(2.0, 8, 42L).printSummary();
+            
+            // Vector kernel only with --add-modules jdk.incubator.vector; the scalar one always runs for comparison
+            System.out.println("Reaction-diffusion in the E. coli cytoplasm over 2 ms:");
+            for (ReactionDiffusionEngine.Kernel kernel : ReactionDiffusionEngine.Kernel.values()) {
+                if (kernel == ReactionDiffusionEngine.Kernel.VECTOR && !ReactionDiffusionEngine.isVectorAvailable()) continue;
+                SpatialCytoplasm spatial = SpatialCytoplasm.forCytoplasm(ecoliCell.getCytoplasm(), 24);
+                new ReactionDiffusionEngine(spatial, kernel, ForkJoinPool.commonPool()).run(0.002).printSummary();
+            }
+            
             System.out.println();
             System.out.println("4. SCIENTIFIC VALIDATION:");
             System.out.println();
@@ -89,6 +179,45 @@ public class AdvancedCellSimulation {
             List<String> testParams = Arrays.asList("max_growth_rate", "dry_fraction");
             SensitivityResult sensitivity = sensitivityAnalyzer.analyzeCell(med4Cell, testParams);
             sensitivity.printResults();
+            System.out.println();
+            
+            GlobalSensitivityAnalyzer globalAnalyzer = new GlobalSensitivityAnalyzer();
+            List<SensitivityParameter> globalParams = Arrays.asList(SensitivityParameter.values());
+            globalAnalyzer.sobol(med4Cell, globalParams, 0.2, 4096).printResults();
+            System.out.println();
+            globalAnalyzer.morris(med4Cell, globalParams, 0.2, 256, 42L).printResults();
+            System.out.println();
+            med4Cell.getDerivedQuantities().printStatistics();
+            
+            System.out.println();
+            System.out.println("6. PARAMETER SWEEP:");
+            System.out.println();
+            
+            SweepRunner sweepRunner = new SweepRunner()
+                .addPrototype("photosynthetic", med4Cell)
+                .addPrototype("heterotrophic", ecoliCell)
+                .addPrototype("eukaryotic", yeastCell);
+            SweepGrid grid = new SweepGrid(Arrays.asList("photosynthetic", "heterotrophic", "eukaryotic"),
+                                           SweepGrid.linspace(0.2, 2.0, 40), SweepGrid.linspace(0.2, 0.4, 10),
+                                           SweepGrid.linspace(0.2, 2.0, 10));
+            sweepRunner.run(grid, Paths.get(SWEEP_OUTPUT)).printSummary();
+            
+            System.out.println();
+            System.out.println("7. CHECKPOINT AND RESTORE:");
+            System.out.println();
+            
+            checkpointAndRestore(Arrays.asList(med4Cell, ecoliCell, yeastCell), population);
+            
+            System.out.println();
+            System.out.println("8. FLUX BALANCE ANALYSIS:");
+            System.out.println();
+            
+            List<Gene> yeastGenome = new ArrayList<>();
+            yeastIngestion.getGenesByOrganism().values().forEach(yeastGenome::addAll);
+            fluxBalanceAnalysis(yeastGenome.isEmpty() ? med4Genes : yeastGenome);
+            
+            System.out.println();
+            MetricsRegistry.global().snapshot().printSummary();
             
             System.out.println();
             System.out.println("=== SIMULATION COMPLETED SUCCESSFULLY ===");
@@ -101,6 +230,62 @@ public class AdvancedCellSimulation {
         }
     }
     
+    // Reconstructs a network from the yeast annotations, then sweeps glucose uptake and knocks out each gene
+    private static void fluxBalanceAnalysis(List<Gene> genes) {
+        long start = System.nanoTime();
+        MetabolicNetwork network = MetabolicNetwork.fromGenes(genes);
+        System.out.printf("Reconstructed from %d genes in %.1f ms%n", genes.size(), (System.nanoTime() - start) / 1e6);
+        network.printSummary();
+        
+        FluxBalanceSolver solver = new FluxBalanceSolver(network);
+        FluxSolution solution = solver.solve();
+        solution.printSummary(8);
+        new EnergyBalanceCalculator().validateMassBalance(network, solution.getFluxes());
+        System.out.println("Mass balance S*v = 0 holds for the optimal fluxes");
+        
+        // Each uptake rate is a warm-started re-solve from the previous optimum
+        int glucose = network.indexOf("EX_glc_e");
+        int steps = 200;
+        long iterations = 0;
+        long sweepStart = System.nanoTime();
+        System.out.print("Growth vs glucose uptake:");
+        for (int k = 1; k <= steps; k++) {
+            double uptake = 20.0 * k / steps;
+            solver.setBounds(glucose, -uptake, solver.getUpperBound(glucose));
+            FluxSolution point = solver.solve();
+            iterations += point.getIterations();
+            if (k % 40 == 0) System.out.printf(" %.0f->%.3f", uptake, point.getObjectiveValue());
+        }
+        double sweepSeconds = (System.nanoTime() - sweepStart) / 1e9;
+        System.out.printf("%n  %d solves, %.1f pivots/solve, %.0f solves/s%n", steps, (double) iterations / steps, steps / sweepSeconds);
+        
+        solver.resetBounds();
+        solver.singleGeneDeletions().printSummary(10);
+    }
+    
+    // Round-trips the simulated cells and population; CheckpointTest checks that restores are faithful
+    private static void checkpointAndRestore(List<Cell> cells, ProchlorococcusPopulation population) throws IOException {
+        Path dir = Files.createDirectories(Paths.get(DATA_DIR, CHECKPOINT_DIR));
+        Path cellFile = dir.resolve("cells" + Checkpoint.EXTENSION);
+        Path populationFile = dir.resolve("population" + Checkpoint.EXTENSION);
+        
+        long start = System.nanoTime();
+        long cellBytes = Checkpoint.writeCells(cellFile, cells);
+        long written = System.nanoTime();
+        List<Cell> restoredCells = Checkpoint.readCells(cellFile);
+        long restored = System.nanoTime();
+        System.out.printf("Cells: %d written (%.1f KB) in %.2f ms, %d restored in %.2f ms%n", cells.size(),
+                         cellBytes / 1024.0, (written - start) / 1e6, restoredCells.size(), (restored - written) / 1e6);
+        
+        start = System.nanoTime();
+        long populationBytes = Checkpoint.writePopulation(populationFile, population);
+        written = System.nanoTime();
+        ProchlorococcusPopulation resumed = Checkpoint.readPopulation(populationFile);
+        restored = System.nanoTime();
+        System.out.printf("Population: %,d slots written (%.1f MB) in %.2f ms, %,d restored in %.2f ms%n", population.size(),
+                         populationBytes / 1e6, (written - start) / 1e6, resumed.size(), (restored - written) / 1e6);
+    }
+    
     private static Cell createMED4WithGenes(List<Gene> med4Genes) {
         System.out.println("Creating MED4 cell with photosynthetic genes...");
         return CellFactory.createCell("photosynthetic", "MED4", med4Genes, 0.6, 0.3);
@@ -125,4 +310,11 @@ public class AdvancedCellSimulation {
         System.out.printf("Genome mass: %.1e Da%n", cell.getGenomeMass());
         System.out.println();
     }
+    
+    private static void displayTimeCourse(Cell cell, String name) {
+        System.out.printf("  %s: %d divisions, biomass %.2f, energy charge %.2f, ATP %.2f mM, glucose %.2f mM%n",
+                         name, cell.getDivisionCount(), cell.getBiomass(), cell.getEnergyCharge(),
+                         cell.getCytoplasm().getMetabolite(Cytoplasm.ATP),
+                         cell.getCytoplasm().getMetabolite(Cytoplasm.GLUCOSE));
+    }
 }
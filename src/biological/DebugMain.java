@@ -3,9 +3,11 @@ package biological;
 import biological.cells.*;
 import biological.components.Gene;
 import biological.factory.CellFactory;
-import biological.util.GenBankParser;
+import biological.util.GeneIndexCache;
+import biological.util.GenomeStore;
 import biological.validation.ExperimentalValidator;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -18,10 +20,13 @@ public class DebugMain {
         
         try {
             // Load a small subset of genes for testing
-            String med4File = "genbank_data/MED4.gb";
-            List<Gene> med4Genes = GenBankParser.parseGenBankFile(med4File);
+            GenomeStore genomeStore = GenomeStore.withDefaultFetcher(Paths.get("genbank_data", "store"));
+            String med4File = genomeStore.resolve("BX548174").toString();
+            GeneIndexCache.Load med4Load = GeneIndexCache.loadOrParse(med4File);
+            List<Gene> med4Genes = med4Load.getGenes();
             
             System.out.println("MED4 genes loaded: " + med4Genes.size());
+            System.out.println("  " + med4Load);
             
             // Create a test cell
             Cell med4Cell = CellFactory.createCell("photosynthetic", "MED4", med4Genes, 0.6, 0.3);
@@ -1,16 +1,41 @@
 package biological.cells;
 
 import biological.components.Cytoplasm;
+import biological.components.NutrientVector;
 import biological.components.PlasmaMembrane;
 import biological.interfaces.GenomeProperties;
 import biological.interfaces.Physiology;
+import biological.interfaces.TimeStepped;
+import biological.simulation.HeunEulerStepper;
+import biological.simulation.SimulationEngine;
 import biological.thermodynamics.EnergyBalanceCalculator;
+import biological.util.DependencyGraph;
 import java.util.Map;
 
 /**
  * Base class for all cell types with fundamental cellular components
  */
-public abstract class Cell {
+public abstract class Cell implements TimeStepped {
+    // State vector layout: the cytoplasmic pools in Cytoplasm index order, then biomass
+    public static final int BIOMASS = Cytoplasm.METABOLITE_COUNT;
+    public static final int STATE_SIZE = Cytoplasm.METABOLITE_COUNT + 1;
+
+    // Output layout of evaluate(double[], int)
+    public static final int OUTPUT_GROWTH_RATE = 0;
+    public static final int OUTPUT_ENERGY_BALANCE = 1;
+    public static final int OUTPUT_NUTRIENT_LIMITATION = 2;
+    public static final int OUTPUT_SIZE = 3;
+
+    // Shared kinetics, concentrations in mM and rates per hour
+    static final double K_ATP = 0.5;
+    private static final double K_AMINO_ACIDS = 1.0;
+    private static final double K_GLUCOSE = 0.5;
+    private static final double K_NADH = 0.1;
+    static final double BIOSYNTHESIS_ATP_COST = 20.0;
+    private static final double BIOSYNTHESIS_AMINO_ACID_COST = 10.0;
+    static final double MAINTENANCE_ATP_RATE = 2.0;
+    private static final double AMINO_ACID_SYNTHESIS_VMAX = 8.0;
+
     protected final String strain;
     protected final double volumeMicron3;
     protected double dryFraction;
@@ -19,7 +44,21 @@ public abstract class Cell {
     protected final Physiology physiology;
     protected final PlasmaMembrane membrane;
     protected final EnergyBalanceCalculator energyCalculator;
+
+    // Derived quantities, recomputed only when the inputs below change
+    private final DependencyGraph derived = new DependencyGraph();
+    private final DependencyGraph.Input dryFractionInput;
+    private final DependencyGraph.Input environmentInput;
+    private final DependencyGraph.Memo genomeMass;
+    private final DependencyGraph.Memo dryDaltons;
+    private final DependencyGraph.Memo energyBalance;
+    private final DependencyGraph.Memo growthRate;
+
+    protected double biomass = 1.0;
+    protected int divisions;
+    private HeunEulerStepper stepper;
     
+    @SuppressWarnings("this-escape") // the memos only call back into the cell when read
     public Cell(String strain, double volumeMicron3, double dryFraction,
                Cytoplasm cytoplasm, GenomeProperties genomeProperties,
             Physiology physiology, PlasmaMembrane membrane) {
@@ -31,48 +70,100 @@ public abstract class Cell {
         this.physiology = physiology;
         this.membrane = membrane;
         this.energyCalculator = new EnergyBalanceCalculator();
+
+        // Growth and energy balance call into each other in subclass-specific order, so both
+        // depend directly on the root inputs rather than on each other
+        this.dryFractionInput = derived.input("dry_fraction");
+        this.environmentInput = derived.input("environment");
+        DependencyGraph.Input physiologyInput = derived.input("physiology", physiology::getVersion);
+        DependencyGraph.Input membraneInput = derived.input("membrane", membrane::getRevision);
+        this.genomeMass = derived.memo("genome_mass", cytoplasm.getNucleoid()::getGenomeMass);
+        this.dryDaltons = derived.memo("dry_mass", this::computeDryDaltonsWithGenome,
+                                       dryFractionInput, membraneInput, genomeMass);
+        this.energyBalance = derived.memo("energy_balance", this::computeEnergyBalance,
+                                          physiologyInput, dryFractionInput, membraneInput, environmentInput);
+        this.growthRate = derived.memo("growth_rate", this::computeGrowthRate,
+                                       physiologyInput, dryFractionInput, membraneInput, environmentInput);
     }
 
     public void setDryFraction(double dryFraction) {
         this.dryFraction = dryFraction;
+        dryFractionInput.changed();
+    }
+
+    /** Marks the energy balance and growth rate stale after a subclass changes an external condition such as light. */
+    protected void environmentChanged() {
+        environmentInput.changed();
     }
     
     // Common methods for all cells
-    public abstract double getGrowthRate();
-    public abstract Map<String, Double> getNutrientUptakeRates();
+    public double getGrowthRate() {
+        return growthRate.get();
+    }
+
+    protected abstract double computeGrowthRate();
+
+    /** Uptake rate of a nutrient this cell takes up, given the physiology's requirement for it. */
+    protected abstract double nutrientUptakeRate(int nutrientId, double requirement);
+
+    protected boolean takesUpNutrient(int nutrientId) {
+        return physiology.canUtilizeNutrient(nutrientId);
+    }
+
+    /** Fills {@code rates} with the uptake rate of every required nutrient this cell takes up. */
+    public void getNutrientUptakeRates(NutrientVector rates) {
+        rates.clear();
+        NutrientVector requirements = physiology.getNutrientRequirementVector();
+        for (int i = 0; i < requirements.size(); i++) {
+            int id = requirements.idAt(i);
+            if (takesUpNutrient(id)) rates.set(id, nutrientUptakeRate(id, requirements.valueAt(i)));
+        }
+    }
+
+    public Map<String, Double> getNutrientUptakeRates() {
+        NutrientVector rates = new NutrientVector();
+        getNutrientUptakeRates(rates);
+        return rates.toMap();
+    }
     
     public double getWetDaltons() {
         return biological.util.CellConversion.volumeToWetDaltons(volumeMicron3);
     }
     
     public double getGenomeMass() {
-        return biological.util.CellConversion.genomeToDaltons(cytoplasm.getNucleoid().getGenes());
+        return genomeMass.get();
     }
     
     public double getDryDaltonsWithGenome() {
+        return dryDaltons.get();
+    }
+
+    protected double computeDryDaltonsWithGenome() {
         double cytoplasmDry = biological.util.CellConversion.volumeToDryDaltons(cytoplasm.getVolume(), dryFraction);
         double membraneDry = membrane.getTotalMass();
         return cytoplasmDry + membraneDry + getGenomeMass();
     }
     
     public double calculateEnergyBalance() {
-        Map<String, Double> atpProduction = calculateATPProduction();
-        Map<String, Double> atpConsumption = calculateATPConsumption();
+        return energyBalance.get();
+    }
+
+    private double computeEnergyBalance() {
         double dryMass = getDryDaltonsWithGenome() / 6.022e23 * 1e-3; // Convert to grams
         
-        return energyCalculator.calculateEnergyBalance(atpProduction, atpConsumption, dryMass);
+        return energyCalculator.calculateEnergyBalance(getTotalATPProduction(), getTotalATPConsumption(), dryMass);
     }
     
     protected double calculateNutrientLimitation() {
         // Simplified nutrient limitation - should be overridden by subclasses
-        Map<String, Double> uptakeRates = getNutrientUptakeRates();
-        Map<String, Double> requirements = physiology.getNutrientRequirements();
+        NutrientVector requirements = physiology.getNutrientRequirementVector();
         
         double minSufficiency = 1.0;
-        for (String nutrient : requirements.keySet()) {
-            double required = requirements.get(nutrient);
-            double available = uptakeRates.getOrDefault(nutrient, 0.0);
+        for (int i = 0; i < requirements.size(); i++) {
+            int nutrient = requirements.idAt(i);
+            double required = requirements.valueAt(i);
             if (required > 0) {
+                double available = takesUpNutrient(nutrient) ? nutrientUptakeRate(nutrient, required) : 0.0;
                 double sufficiency = Math.min(available / required, 1.0);
                 minSufficiency = Math.min(minSufficiency, sufficiency);
             }
@@ -81,8 +172,140 @@ public abstract class Cell {
         return minSufficiency;
     }
     
+    /**
+     * Independent copy of this cell with the given physiology, volume and dry fraction, sharing the
+     * genome. A different volume rescales the cytoplasm and membrane; this cell is never modified.
+     */
+    public abstract Cell withOverrides(Physiology physiology, double volumeMicron3, double dryFraction);
+
+    /** Cytoplasm for a copy {@code factor} times the volume, keeping membrane sharing as in this cell. */
+    protected Cytoplasm rescaledCytoplasm(double factor, PlasmaMembrane rescaledMembrane) {
+        PlasmaMembrane cytoplasmMembrane = cytoplasm.getMembrane() == membrane
+            ? rescaledMembrane : cytoplasm.getMembrane().rescaled(factor);
+        return cytoplasm.rescaled(factor, cytoplasmMembrane);
+    }
+
+    /** Carries the time-stepping state over to a copy made by {@link #withOverrides}. */
+    protected <T extends Cell> T withStateOf(T copy) {
+        copy.biomass = biomass;
+        copy.divisions = divisions;
+        return copy;
+    }
+
+    /** ATP production broken down by process; {@link #getTotalATPProduction()} is the sum. */
     protected abstract Map<String, Double> calculateATPProduction();
     protected abstract Map<String, Double> calculateATPConsumption();
+
+    /** Total of {@link #calculateATPProduction()}; subclasses override it to avoid building the map. */
+    protected double getTotalATPProduction() {
+        return calculateATPProduction().values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    protected double getTotalATPConsumption() {
+        return calculateATPConsumption().values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    /**
+     * Writes growth rate, energy balance and nutrient limitation to {@code dest} starting at
+     * {@code offset}, in {@code OUTPUT_*} order. Allocates nothing, for sweeps and scans.
+     */
+    public void evaluate(double[] dest, int offset) {
+        dest[offset + OUTPUT_GROWTH_RATE] = getGrowthRate();
+        dest[offset + OUTPUT_ENERGY_BALANCE] = calculateEnergyBalance();
+        dest[offset + OUTPUT_NUTRIENT_LIMITATION] = calculateNutrientLimitation();
+    }
+
+    // ===== TIME STEPPING =====
+
+    @Override
+    public int getStateSize() { return STATE_SIZE; }
+
+    @Override
+    public void getState(double[] y) {
+        cytoplasm.copyMetabolites(y, 0);
+        y[BIOMASS] = biomass;
+    }
+
+    /** Takes the state as the cell's own; the cell divides whenever biomass doubles. */
+    @Override
+    public void setState(double[] y) {
+        for (int i = 0; i < Cytoplasm.METABOLITE_COUNT; i++) {
+            cytoplasm.setMetabolite(i, Math.max(0.0, y[i]));
+        }
+        biomass = Math.max(0.0, y[BIOMASS]);
+        while (biomass >= 2.0) {
+            biomass /= 2.0;
+            divisions++;
+        }
+    }
+
+    /**
+     * Kinetics shared by every cell: growth limited by ATP and amino acids, the ATP cost of
+     * biosynthesis and maintenance, amino acid synthesis and dilution by growth. Energy metabolism
+     * comes from {@link #addEnergyMetabolism}.
+     */
+    @Override
+    public void computeRates(double[] y, double[] dydt) {
+        double atp = Math.max(0.0, y[Cytoplasm.ATP]);
+        double nadh = Math.max(0.0, y[Cytoplasm.NADH]);
+        double glucose = Math.max(0.0, y[Cytoplasm.GLUCOSE]);
+        double aminoAcids = Math.max(0.0, y[Cytoplasm.AMINO_ACIDS]);
+        double atpSaturation = atp / (atp + K_ATP);
+
+        // Realized specific growth rate (1/h) from the doubling rate the model predicts
+        double growth = Math.log(2) * getGrowthRate() * atpSaturation * aminoAcids / (aminoAcids + K_AMINO_ACIDS);
+        double atpUse = growth * BIOSYNTHESIS_ATP_COST + MAINTENANCE_ATP_RATE * atpSaturation;
+        double synthesis = AMINO_ACID_SYNTHESIS_VMAX * atpSaturation
+                * glucose / (glucose + K_GLUCOSE) * nadh / (nadh + K_NADH);
+        atpUse += 0.2 * synthesis;
+
+        dydt[Cytoplasm.ATP] = -atpUse;
+        dydt[Cytoplasm.ADP] = atpUse;
+        dydt[Cytoplasm.NADH] = -0.3 * synthesis - growth * nadh;
+        dydt[Cytoplasm.GLUCOSE] = -0.5 * synthesis - growth * glucose;
+        dydt[Cytoplasm.AMINO_ACIDS] = synthesis - growth * BIOSYNTHESIS_AMINO_ACID_COST - growth * aminoAcids;
+        dydt[BIOMASS] = growth * y[BIOMASS];
+        // The adenylate pool is resynthesized as the cell grows, so ATP + ADP is not diluted
+
+        addEnergyMetabolism(y, dydt);
+    }
+
+    /** Adds this cell type's ATP, NADH and carbon supply to {@code dydt}. */
+    protected abstract void addEnergyMetabolism(double[] y, double[] dydt);
+
+    /** One fixed Heun step; use {@link SimulationEngine} for error-controlled runs. */
+    @Override
+    public void step(double dtHours) {
+        if (stepper == null) {
+            stepper = new HeunEulerStepper(STATE_SIZE, SimulationEngine.DEFAULT_ABSOLUTE_TOLERANCE,
+                                           SimulationEngine.DEFAULT_RELATIVE_TOLERANCE);
+        }
+        stepper.trial(this, dtHours);
+        stepper.accept(this);
+    }
+
+    /** ATP / (ATP + ADP), between 0 and 1. */
+    public double getEnergyCharge() {
+        double atp = cytoplasm.getMetabolite(Cytoplasm.ATP);
+        double adenylates = atp + cytoplasm.getMetabolite(Cytoplasm.ADP);
+        return adenylates > 0 ? atp / adenylates : 0.0;
+    }
+
+    /** Biomass relative to a newborn cell, between 1 and 2 while the cell grows. */
+    public double getBiomass() { return biomass; }
+    public int getDivisionCount() { return divisions; }
+
+    /** Restores biomass and division count, e.g. from a checkpoint. */
+    public void restoreGrowthState(double biomass, int divisions) {
+        this.biomass = biomass;
+        this.divisions = divisions;
+    }
+
+    /** Shared Michaelis–Menten saturation term for subclass kinetics. */
+    protected static double saturation(double concentration, double halfSaturation) {
+        double c = Math.max(0.0, concentration);
+        return c / (c + halfSaturation);
+    }
     
     // Getters
     public String getStrain() { return strain; }
@@ -92,4 +315,7 @@ public abstract class Cell {
     public GenomeProperties getGenomeProperties() { return genomeProperties; }
     public Physiology getPhysiology() { return physiology; }
     public PlasmaMembrane getMembrane() { return membrane; }
+
+    /** Memoized derived quantities of this cell, with hit/miss counters. */
+    public DependencyGraph getDerivedQuantities() { return derived; }
 }
@@ -14,8 +14,18 @@ import java.util.Map;
  * Eukaryotic cell with organelles and energy balance implementation
  */
 public class EukaryoticCell extends Cell {
+    // Glycolysis in the cytoplasm, oxidative phosphorylation in mitochondria, in mM/h
+    private static final double GLUCOSE_UPTAKE_VMAX = 8.0;
+    private static final double UPTAKE_INHIBITION = 10.0;
+    private static final double GLYCOLYSIS_VMAX = 3.0;
+    private static final double GLYCOLYTIC_ATP_PER_GLUCOSE = 2.0;
+    private static final double OXIDATIVE_ATP_PER_GLUCOSE = 30.0;
+    private static final double MITOCHONDRIAL_EFFICIENCY = 0.9;
+    private static final double NADH_OXIDATION_RATE = 2.0;
+
     private final List<Organelle> organelles;
     private final Nucleus nucleus;
+    private double externalGlucose = 5.0;
     
     public EukaryoticCell(String strain, double volumeMicron3, double dryFraction,
                         Cytoplasm cytoplasm, GenomeProperties genomeProperties,
@@ -27,7 +37,7 @@ public class EukaryoticCell extends Cell {
     }
     
     @Override
-    public double getGrowthRate() {
+    protected double computeGrowthRate() {
         double baseRate = physiology.getMaxGrowthRate(); // This should be 0.5 for yeast
         
         // SIMPLIFIED: Remove overly punitive factors that are killing growth
@@ -51,18 +61,14 @@ public class EukaryoticCell extends Cell {
     }
     
     @Override
-    public Map<String, Double> getNutrientUptakeRates() {
-        Map<String, Double> rates = new HashMap<>();
-        Map<String, Double> requirements = physiology.getNutrientRequirements();
-        double surfaceArea = getMembrane().getSurfaceArea();
-        
-        for (String nutrient : requirements.keySet()) {
-            double requirement = requirements.get(nutrient);
-            // Eukaryotes have efficient transport - increase uptake
-            double uptake = requirement * surfaceArea * 0.005; // Increased efficiency 5x
-            rates.put(nutrient, uptake);
-        }
-        return rates;
+    protected boolean takesUpNutrient(int nutrientId) {
+        return true; // Every required nutrient has a transporter
+    }
+    
+    @Override
+    protected double nutrientUptakeRate(int nutrientId, double requirement) {
+        // Eukaryotes have efficient transport - increase uptake
+        return requirement * getMembrane().getSurfaceArea() * 0.005; // Increased efficiency 5x
     }
     
     @Override
@@ -93,10 +99,47 @@ public class EukaryoticCell extends Cell {
         return consumption;
     }
     
+    @Override
+    protected double getTotalATPProduction() {
+        return 200.0 + 50.0; // Mitochondrial plus glycolytic, as itemized above
+    }
+    
+    @Override
+    protected double getTotalATPConsumption() {
+        return 80.0 + 20.0 + 5.0 + 10.0;
+    }
+    
+    @Override
+    protected void addEnergyMetabolism(double[] y, double[] dydt) {
+        double glucose = Math.max(0.0, y[Cytoplasm.GLUCOSE]);
+        double uptake = GLUCOSE_UPTAKE_VMAX * saturation(externalGlucose, 1.0) / (1.0 + glucose / UPTAKE_INHIBITION);
+        double glycolysis = GLYCOLYSIS_VMAX * saturation(glucose, 0.5) * saturation(y[Cytoplasm.ADP], 0.2);
+        double atp = glycolysis * (GLYCOLYTIC_ATP_PER_GLUCOSE + OXIDATIVE_ATP_PER_GLUCOSE * MITOCHONDRIAL_EFFICIENCY);
+        dydt[Cytoplasm.GLUCOSE] += uptake - glycolysis;
+        dydt[Cytoplasm.ATP] += atp;
+        dydt[Cytoplasm.ADP] -= atp;
+        dydt[Cytoplasm.NADH] += 2.0 * glycolysis * Math.max(0.0, 1.0 - y[Cytoplasm.NADH])
+                - NADH_OXIDATION_RATE * Math.max(0.0, y[Cytoplasm.NADH]);
+    }
+
+    public double getExternalGlucose() { return externalGlucose; }
+    public void setExternalGlucose(double externalGlucose) { this.externalGlucose = externalGlucose; }
+    
     private double calculateOrganelleEfficiency() {
         return 0.95; // High efficiency for organelles
     }
     
+    /** Organelles and nucleus are shared with this cell; only the cytoplasm and membrane are rescaled. */
+    @Override
+    public EukaryoticCell withOverrides(Physiology physiology, double volumeMicron3, double dryFraction) {
+        double factor = volumeMicron3 / this.volumeMicron3;
+        PlasmaMembrane membrane = this.membrane.rescaled(factor);
+        EukaryoticCell copy = new EukaryoticCell(strain, volumeMicron3, dryFraction,
+            rescaledCytoplasm(factor, membrane), genomeProperties, physiology, membrane, nucleus, organelles);
+        copy.externalGlucose = externalGlucose;
+        return withStateOf(copy);
+    }
+    
     public List<Organelle> getOrganelles() { return organelles; }
     public Nucleus getNucleus() { return nucleus; }
     
@@ -106,9 +149,7 @@ public class EukaryoticCell extends Cell {
     
     // UPDATED: Proper dry mass calculation for yeast
     @Override
-    public double getDryDaltonsWithGenome() {
-        double baseMass = super.getDryDaltonsWithGenome();
-        
+    protected double computeDryDaltonsWithGenome() {
         // For yeast, use more realistic calculation
         // Typical yeast dry mass: 25-30% of wet mass
         double wetMass = getWetDaltons();
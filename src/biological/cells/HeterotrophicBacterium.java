@@ -11,7 +11,15 @@ import java.util.*;
  * Heterotrophic bacterial cell implementation
  */
 public class HeterotrophicBacterium extends Cell {
+    // Glucose uptake and respiration kinetics, in mM/h
+    private static final double GLUCOSE_UPTAKE_VMAX = 10.0;
+    private static final double UPTAKE_INHIBITION = 10.0;
+    private static final double RESPIRATION_VMAX = 2.0;
+    private static final double ATP_PER_GLUCOSE = 30.0;
+    private static final double NADH_OXIDATION_RATE = 1.0;
+
     private final RespirationProperties respiration;
+    private double externalGlucose = 5.0;
     
     public HeterotrophicBacterium(String strain, double volumeMicron3, double dryFraction,
                                 Cytoplasm cytoplasm, GenomeProperties genomeProperties,
@@ -22,25 +30,27 @@ public class HeterotrophicBacterium extends Cell {
     }
     
     @Override
-    public double getGrowthRate() {
+    protected double computeGrowthRate() {
         return physiology.getMaxGrowthRate() * respiration.getRespirationEfficiency();
     }
     
     @Override
-    public Map<String, Double> getNutrientUptakeRates() {
-        Map<String, Double> rates = new HashMap<>();
-        Map<String, Double> requirements = physiology.getNutrientRequirements();
-        
-        for (String nutrient : requirements.keySet()) {
-            if (physiology.canUtilizeNutrient(nutrient)) {
-                double requirement = requirements.get(nutrient);
-                double uptake = requirement * membrane.getSurfaceArea() * 0.0001;
-                rates.put(nutrient, uptake);
-            }
-        }
-        return rates;
+    protected double nutrientUptakeRate(int nutrientId, double requirement) {
+        return requirement * membrane.getSurfaceArea() * 0.0001;
+    }
+    
+    @Override
+    public HeterotrophicBacterium withOverrides(Physiology physiology, double volumeMicron3, double dryFraction) {
+        double factor = volumeMicron3 / this.volumeMicron3;
+        PlasmaMembrane membrane = this.membrane.rescaled(factor);
+        HeterotrophicBacterium copy = new HeterotrophicBacterium(strain, volumeMicron3, dryFraction,
+            rescaledCytoplasm(factor, membrane), genomeProperties, physiology, membrane, respiration);
+        copy.externalGlucose = externalGlucose;
+        return withStateOf(copy);
     }
     
+    public RespirationProperties getRespiration() { return respiration; }
+
     public double getRespirationRate() {
         return respiration.calculateRespirationRate();
     }
@@ -60,6 +70,32 @@ public class HeterotrophicBacterium extends Cell {
         consumption.put("maintenance", 40.0);
         return consumption;
     }
+
+    @Override
+    protected double getTotalATPProduction() {
+        return getRespirationRate();
+    }
+
+    @Override
+    protected double getTotalATPConsumption() {
+        return getGrowthRate() * 800 + 40.0;
+    }
+    
+    @Override
+    protected void addEnergyMetabolism(double[] y, double[] dydt) {
+        double glucose = Math.max(0.0, y[Cytoplasm.GLUCOSE]);
+        double uptake = GLUCOSE_UPTAKE_VMAX * saturation(externalGlucose, 0.5) / (1.0 + glucose / UPTAKE_INHIBITION);
+        double respired = RESPIRATION_VMAX * respiration.getRespirationEfficiency()
+                * saturation(glucose, 0.5) * saturation(y[Cytoplasm.ADP], 0.2);
+        dydt[Cytoplasm.GLUCOSE] += uptake - respired;
+        dydt[Cytoplasm.ATP] += ATP_PER_GLUCOSE * respired;
+        dydt[Cytoplasm.ADP] -= ATP_PER_GLUCOSE * respired;
+        dydt[Cytoplasm.NADH] += 2.0 * respired * Math.max(0.0, 1.0 - y[Cytoplasm.NADH])
+                - NADH_OXIDATION_RATE * Math.max(0.0, y[Cytoplasm.NADH]);
+    }
+
+    public double getExternalGlucose() { return externalGlucose; }
+    public void setExternalGlucose(double externalGlucose) { this.externalGlucose = externalGlucose; }
     
     public boolean canRespire() {
         return respiration.canPerformAerobicRespiration();
@@ -2,20 +2,35 @@ package biological.cells;
 
 import biological.components.Cytoplasm;
 import biological.components.Gene;
+import biological.components.MetaboliteRegistry;
 import biological.components.Nucleoid;
+import biological.components.NutrientVector;
 import biological.components.PlasmaMembrane;
 import biological.components.Thylakoid;
 import biological.interfaces.GenomeProperties;
 import biological.interfaces.Physiology;
 import biological.util.CellConversion;
+import biological.util.VectorSupport;
 import java.util.*;
 
 /**
  * MED4-specific implementation of Prochlorococcus marinus.
  */
 public class MED4Strain extends Prochlorococcus {
+    // Light-driven supply per unit of simulatePhotosynthesis output, in mM/h
+    static final double PHOTOPHOSPHORYLATION_SCALE = 25.0;
+    private static final double NADH_PRODUCTION_SCALE = 10.0;
+    private static final double CARBON_FIXATION_SCALE = 6.0;
+    private static final double NAD_POOL = 1.0;
+    // Batch P-I curves run on Vector API lanes when the module is present
+    private static final boolean VECTORIZED = VectorSupport.isAvailable();
+
     private final HighLightAdaptation highLightAdaptation;
     private final NutrientPhysiology nutrientPhysiology;
+    // P-I parameters of the fixed pigment state, computed once instead of per call
+    private final double maxPhotosynthesisRate;
+    private final double halfSaturation;
+    private double lightIntensity = 200.0;
     
     public MED4Strain(String strain, double volumeMicron3, double dryFraction,
                     Cytoplasm cytoplasm, GenomeProperties genomeProperties,
@@ -23,6 +38,8 @@ public class MED4Strain extends Prochlorococcus {
         super(strain, volumeMicron3, dryFraction, cytoplasm, genomeProperties, physiology, membrane, thylakoid);
         this.highLightAdaptation = new HighLightAdaptation();
         this.nutrientPhysiology = new NutrientPhysiology();
+        this.maxPhotosynthesisRate = maxRate(highLightAdaptation.getDivinylChlorophyllRatio());
+        this.halfSaturation = halfSaturation(highLightAdaptation.getZeaxanthinContent());
     }
     
     public static MED4Strain createFromGenes(List<Gene> genes, double volumeMicron3, double dryFraction) {
@@ -60,7 +77,7 @@ public class MED4Strain extends Prochlorococcus {
     }
     
     @Override
-    public double getGrowthRate() {
+    protected double computeGrowthRate() {
         double baseRate = physiology.getMaxGrowthRate();
         double sizeEffect = 1.0 / Math.sqrt(volumeMicron3);
         return baseRate * sizeEffect;
@@ -68,25 +85,106 @@ public class MED4Strain extends Prochlorococcus {
     
     @Override
     public double simulatePhotosynthesis(double lightIntensity) {
-        double maxRate = 2.0 * highLightAdaptation.getDivinylChlorophyllRatio();
-        double halfSaturation = 100 * (1.0 + highLightAdaptation.getZeaxanthinContent());
-        double photoinhibition = highLightAdaptation.calculatePhotoinhibition(lightIntensity);
-        
-        return maxRate * lightIntensity / (lightIntensity + halfSaturation) * (1 - photoinhibition);
+        return rate(lightIntensity, maxPhotosynthesisRate, halfSaturation);
     }
     
-    @Override
-    public Map<String, Double> getNutrientUptakeRates() {
-        Map<String, Double> uptakeRates = new HashMap<>();
-        double surfaceArea = getCytoplasm().getMembrane().getSurfaceArea();
-        
-        for (String nutrient : physiology.getNutrientRequirements().keySet()) {
-            if (physiology.canUtilizeNutrient(nutrient)) {
-                double quota = physiology.getNutrientRequirements().get(nutrient);
-                uptakeRates.put(nutrient, surfaceArea * quota * 0.001);
+    /** {@link #simulatePhotosynthesis(double)} at each of {@code lightIntensities}, written to {@code rates}. */
+    public void simulatePhotosynthesis(double[] lightIntensities, double[] rates) {
+        checkBatch(lightIntensities.length, rates.length);
+        if (VECTORIZED) {
+            PhotosynthesisKernel.rates(lightIntensities, maxPhotosynthesisRate, halfSaturation, rates);
+        } else {
+            for (int i = 0; i < lightIntensities.length; i++) rates[i] = rate(lightIntensities[i], maxPhotosynthesisRate, halfSaturation);
+        }
+    }
+    
+    /** Photosynthetic rate for a given pigment state; shared with population-level models. */
+    public static double photosynthesisRate(double lightIntensity, double divinylChlorophyllRatio,
+                                            double zeaxanthinContent) {
+        return rate(lightIntensity, maxRate(divinylChlorophyllRatio), halfSaturation(zeaxanthinContent));
+    }
+    
+    /**
+     * Batch {@link #photosynthesisRate} for one pigment state, e.g. over a diel cycle or a depth
+     * profile. The vector kernel performs the same operations as the scalar path, so results are
+     * identical either way.
+     */
+    public static void photosynthesisRates(double[] lightIntensities, double divinylChlorophyllRatio,
+                                           double zeaxanthinContent, double[] rates) {
+        checkBatch(lightIntensities.length, rates.length);
+        double maxRate = maxRate(divinylChlorophyllRatio);
+        double halfSaturation = halfSaturation(zeaxanthinContent);
+        if (VECTORIZED) {
+            PhotosynthesisKernel.rates(lightIntensities, maxRate, halfSaturation, rates);
+        } else {
+            for (int i = 0; i < lightIntensities.length; i++) rates[i] = rate(lightIntensities[i], maxRate, halfSaturation);
+        }
+    }
+    
+    /** Batch {@link #photosynthesisRate} with a pigment state per element, e.g. per cell of a population. */
+    public static void photosynthesisRates(double[] lightIntensities, double[] divinylChlorophyllRatios,
+                                           double[] zeaxanthinContents, double[] rates, int from, int to) {
+        checkBatch(lightIntensities.length, rates.length);
+        if (divinylChlorophyllRatios.length != lightIntensities.length || zeaxanthinContents.length != lightIntensities.length) {
+            throw new IllegalArgumentException("Pigment arrays must match " + lightIntensities.length + " light intensities");
+        }
+        Objects.checkFromToIndex(from, to, lightIntensities.length);
+        if (VECTORIZED) {
+            PhotosynthesisKernel.rates(lightIntensities, divinylChlorophyllRatios, zeaxanthinContents, rates, from, to);
+        } else {
+            for (int i = from; i < to; i++) {
+                rates[i] = photosynthesisRate(lightIntensities[i], divinylChlorophyllRatios[i], zeaxanthinContents[i]);
             }
         }
-        return uptakeRates;
+    }
+    
+    static double maxRate(double divinylChlorophyllRatio) {
+        return 2.0 * divinylChlorophyllRatio;
+    }
+    
+    static double halfSaturation(double zeaxanthinContent) {
+        return 100 * (1.0 + zeaxanthinContent);
+    }
+    
+    static double rate(double lightIntensity, double maxRate, double halfSaturation) {
+        double photoinhibition = HighLightAdaptation.photoinhibition(lightIntensity);
+        return maxRate * lightIntensity / (lightIntensity + halfSaturation) * (1 - photoinhibition);
+    }
+    
+    private static void checkBatch(int lights, int rates) {
+        if (rates < lights) throw new IllegalArgumentException("Output holds " + rates + " rates, need " + lights);
+    }
+    
+    @Override
+    protected double nutrientUptakeRate(int nutrientId, double quota) {
+        return getCytoplasm().getMembrane().getSurfaceArea() * quota * 0.001;
+    }
+    
+    @Override
+    protected void addEnergyMetabolism(double[] y, double[] dydt) {
+        double photosynthesis = simulatePhotosynthesis(lightIntensity);
+        double phosphorylation = PHOTOPHOSPHORYLATION_SCALE * photosynthesis * saturation(y[Cytoplasm.ADP], 0.2);
+        dydt[Cytoplasm.ATP] += phosphorylation;
+        dydt[Cytoplasm.ADP] -= phosphorylation;
+        dydt[Cytoplasm.NADH] += NADH_PRODUCTION_SCALE * photosynthesis * Math.max(0.0, NAD_POOL - y[Cytoplasm.NADH]);
+        dydt[Cytoplasm.GLUCOSE] += CARBON_FIXATION_SCALE * photosynthesis;
+    }
+
+    @Override
+    public MED4Strain withOverrides(Physiology physiology, double volumeMicron3, double dryFraction) {
+        double factor = volumeMicron3 / this.volumeMicron3;
+        PlasmaMembrane membrane = this.membrane.rescaled(factor);
+        MED4Strain copy = new MED4Strain(strain, volumeMicron3, dryFraction, rescaledCytoplasm(factor, membrane),
+                                         genomeProperties, physiology, membrane, thylakoid);
+        copy.lightIntensity = lightIntensity;
+        return withStateOf(copy);
+    }
+
+    public double getLightIntensity() { return lightIntensity; }
+
+    public void setLightIntensity(double lightIntensity) {
+        this.lightIntensity = lightIntensity;
+        environmentChanged();
     }
     
     // MED4-specific methods
@@ -123,7 +221,12 @@ public class MED4Strain extends Prochlorococcus {
     }
     
     public static class MED4Physiology implements Physiology {
+        private static final int NITRITE = MetaboliteRegistry.id("nitrite");
+        private static final int AMMONIUM = MetaboliteRegistry.id("ammonium");
+        private static final int UREA = MetaboliteRegistry.id("urea");
+
         private final Map<String, Double> nutrientQuotas;
+        private final NutrientVector nutrientQuotaVector;
         
         public MED4Physiology() {
             nutrientQuotas = new HashMap<>();
@@ -131,6 +234,7 @@ public class MED4Strain extends Prochlorococcus {
             nutrientQuotas.put("phosphorus", 0.003);
             nutrientQuotas.put("iron", 0.0005);
             nutrientQuotas.put("carbon", 1.0);
+            nutrientQuotaVector = NutrientVector.fromMap(nutrientQuotas).freeze();
         }
         
         @Override public double getOptimalTemperature() { return 24.0; }
@@ -141,14 +245,26 @@ public class MED4Strain extends Prochlorococcus {
             return 0.035;
         }
         private double maxGrowthRate = 1.8;
+        private volatile long version;
         public void setMaxGrowthRate(double maxGrowthRate) {
             this.maxGrowthRate = maxGrowthRate;
+            version++;
+        }
+        @Override
+        public long getVersion() { return version; }
+        @Override
+        public MED4Physiology withMaxGrowthRate(double maxGrowthRate) {
+            MED4Physiology copy = new MED4Physiology();
+            copy.nutrientQuotas.putAll(nutrientQuotas);
+            copy.maxGrowthRate = maxGrowthRate;
+            return copy;
         }
         @Override
         public double getMaxGrowthRate() {
             return maxGrowthRate;
         }
         @Override public Map<String, Double> getNutrientRequirements() { return Collections.unmodifiableMap(nutrientQuotas); }
+        @Override public NutrientVector getNutrientRequirementVector() { return nutrientQuotaVector; }
         @Override public Map<String, Double> getWasteProductionRates() { return Map.of("O2", 0.5, "organic_waste", 0.1); }
         
         @Override
@@ -169,6 +285,11 @@ public class MED4Strain extends Prochlorococcus {
                 default -> false;
             };
         }
+
+        @Override
+        public boolean canUtilizeNutrient(int nutrientId) {
+            return nutrientId == NITRITE || nutrientId == AMMONIUM || nutrientId == UREA;
+        }
         
         @Override public boolean canTolerateStress(String stressType) { return stressType.equals("high_light"); }
         @Override public String getPrimaryEnergySource() { return "light"; }
@@ -178,6 +299,10 @@ public class MED4Strain extends Prochlorococcus {
     }
     
     public static class HighLightAdaptation {
+        // Irradiance (umol photons/m^2/s) above which photosynthesis declines, and the loss per unit above it
+        static final double PHOTOINHIBITION_THRESHOLD = 500;
+        static final double PHOTOINHIBITION_SLOPE = 0.001;
+
         private final double divinylChlorophyllRatio;
         private final double zeaxanthinContent;
         private final int psbACopyNumber;
@@ -193,7 +318,11 @@ public class MED4Strain extends Prochlorococcus {
         public int getPsbACopyNumber() { return psbACopyNumber; }
         
         public double calculatePhotoinhibition(double lightIntensity) {
-            return Math.max(0, lightIntensity - 500) * 0.001;
+            return photoinhibition(lightIntensity);
+        }
+        
+        static double photoinhibition(double lightIntensity) {
+            return Math.max(0, lightIntensity - PHOTOINHIBITION_THRESHOLD) * PHOTOINHIBITION_SLOPE;
         }
     }
     
@@ -218,7 +347,7 @@ public class MED4Strain extends Prochlorococcus {
     @Override
     protected Map<String, Double> calculateATPProduction() {
         Map<String, Double> production = new HashMap<>();
-        double photosynthesis = simulatePhotosynthesis(200); // Example light level
+        double photosynthesis = simulatePhotosynthesis(lightIntensity);
         production.put("photosynthesis", photosynthesis * 0.5); // Convert to ATP
         return production;
     }
@@ -230,4 +359,14 @@ public class MED4Strain extends Prochlorococcus {
         consumption.put("maintenance", 50.0); // Example
         return consumption;
     }
+
+    @Override
+    protected double getTotalATPProduction() {
+        return simulatePhotosynthesis(lightIntensity) * 0.5;
+    }
+
+    @Override
+    protected double getTotalATPConsumption() {
+        return getGrowthRate() * 1000 + 50.0;
+    }
 }
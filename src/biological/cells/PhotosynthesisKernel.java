@@ -0,0 +1,52 @@
+package biological.cells;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link MED4Strain#rate} across Vector API lanes. Every lane performs the scalar expression's
+ * operations in the same order, and the remainder of each array goes through the scalar method,
+ * so batch and single-call results agree bit for bit. Only loaded when
+ * {@code jdk.incubator.vector} is present.
+ */
+final class PhotosynthesisKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private PhotosynthesisKernel() {}
+
+    /** One pigment state for every light level. */
+    static void rates(double[] lightIntensities, double maxRate, double halfSaturation, double[] rates) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(lightIntensities.length); i < upper; i += SPECIES.length()) {
+            DoubleVector light = DoubleVector.fromArray(SPECIES, lightIntensities, i);
+            rate(light, maxRate, halfSaturation).intoArray(rates, i);
+        }
+        for (; i < lightIntensities.length; i++) rates[i] = MED4Strain.rate(lightIntensities[i], maxRate, halfSaturation);
+    }
+
+    /** A pigment state per element, over {@code [from, to)}. */
+    static void rates(double[] lightIntensities, double[] divinylChlorophyllRatios, double[] zeaxanthinContents,
+                      double[] rates, int from, int to) {
+        int i = from;
+        for (int upper = from + SPECIES.loopBound(to - from); i < upper; i += SPECIES.length()) {
+            DoubleVector light = DoubleVector.fromArray(SPECIES, lightIntensities, i);
+            DoubleVector maxRate = DoubleVector.fromArray(SPECIES, divinylChlorophyllRatios, i).mul(2.0);
+            DoubleVector halfSaturation = DoubleVector.fromArray(SPECIES, zeaxanthinContents, i).add(1.0).mul(100.0);
+            DoubleVector photoinhibition = photoinhibition(light);
+            light.mul(maxRate).div(light.add(halfSaturation)).mul(photoinhibition.neg().add(1.0)).intoArray(rates, i);
+        }
+        for (; i < to; i++) {
+            rates[i] = MED4Strain.photosynthesisRate(lightIntensities[i], divinylChlorophyllRatios[i], zeaxanthinContents[i]);
+        }
+    }
+
+    // maxRate * light / (light + halfSaturation) * (1 - photoinhibition), left to right as in the scalar form
+    private static DoubleVector rate(DoubleVector light, double maxRate, double halfSaturation) {
+        return light.mul(maxRate).div(light.add(halfSaturation)).mul(photoinhibition(light).neg().add(1.0));
+    }
+
+    private static DoubleVector photoinhibition(DoubleVector light) {
+        return light.sub(MED4Strain.HighLightAdaptation.PHOTOINHIBITION_THRESHOLD).max(0.0)
+                    .mul(MED4Strain.HighLightAdaptation.PHOTOINHIBITION_SLOPE);
+    }
+}
@@ -0,0 +1,78 @@
+package biological.cells;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ProchlorococcusPopulation}'s per-cell Heun step across Vector API lanes, for one light
+ * level shared by every cell in the range. Each lane performs the scalar step's operations in the
+ * same order, so both paths leave the arrays bit for bit identical; the remainder of the range is
+ * left for the scalar loop. Only loaded when {@code jdk.incubator.vector} is present.
+ */
+final class PopulationKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private PopulationKernel() {}
+
+    /** Index the scalar loop resumes at after stepping {@code [from, to)} a whole vector at a time. */
+    static int upperBound(int from, int to) {
+        return from + SPECIES.loopBound(to - from);
+    }
+
+    /** Steps {@code [from, upperBound(from, to))} and returns the number of divisions. */
+    static long step(double[] volume, double[] divinylChlorophyllRatio, double[] zeaxanthin, double[] atp,
+                     double[] adp, double[] biomass, double[] abundance, int from, int to,
+                     double dt, double maxSpecificGrowthRate, double light, double survival) {
+        double inhibited = 1 - MED4Strain.HighLightAdaptation.photoinhibition(light);
+        double halfDt = 0.5 * dt;
+        long divisions = 0;
+        for (int i = from, upper = upperBound(from, to); i < upper; i += SPECIES.length()) {
+            // maxRate * light / (light + halfSaturation) * (1 - photoinhibition)
+            DoubleVector maxRate = DoubleVector.fromArray(SPECIES, divinylChlorophyllRatio, i).mul(2.0);
+            DoubleVector halfSaturation = DoubleVector.fromArray(SPECIES, zeaxanthin, i).add(1.0).mul(100.0);
+            DoubleVector photosynthesis = maxRate.mul(light).div(halfSaturation.add(light)).mul(inhibited);
+            DoubleVector maxSpecificGrowth = DoubleVector.broadcast(SPECIES, maxSpecificGrowthRate)
+                                                         .div(DoubleVector.fromArray(SPECIES, volume, i).sqrt());
+            DoubleVector phosphorylationScale = photosynthesis.mul(MED4Strain.PHOTOPHOSPHORYLATION_SCALE);
+            DoubleVector a0 = DoubleVector.fromArray(SPECIES, atp, i);
+            DoubleVector d0 = DoubleVector.fromArray(SPECIES, adp, i);
+            DoubleVector b0 = DoubleVector.fromArray(SPECIES, biomass, i);
+
+            DoubleVector da1 = atpRate(a0, d0, phosphorylationScale, maxSpecificGrowth);
+            DoubleVector g1 = maxSpecificGrowth.mul(a0).div(a0.add(Cell.K_ATP));
+            DoubleVector a1 = da1.mul(dt).add(a0).max(0.0);
+            DoubleVector d1 = d0.sub(da1.mul(dt)).max(0.0);
+            DoubleVector b1 = g1.mul(dt).mul(b0).add(b0);
+            DoubleVector da2 = atpRate(a1, d1, phosphorylationScale, maxSpecificGrowth);
+            DoubleVector g2 = maxSpecificGrowth.mul(a1).div(a1.add(Cell.K_ATP));
+
+            DoubleVector deltaAtp = da1.add(da2).mul(halfDt);
+            deltaAtp.add(a0).max(0.0).intoArray(atp, i);
+            d0.sub(deltaAtp).max(0.0).intoArray(adp, i);
+            DoubleVector b = g1.mul(b0).add(g2.mul(b1)).mul(halfDt).add(b0);
+            DoubleVector n = DoubleVector.fromArray(SPECIES, abundance, i).mul(survival);
+            VectorMask<Double> dividing = b.compare(VectorOperators.GE, 2.0);
+            while (dividing.anyTrue()) {
+                b = b.blend(b.mul(0.5), dividing);
+                n = n.blend(n.mul(2.0), dividing);
+                divisions += dividing.trueCount();
+                dividing = b.compare(VectorOperators.GE, 2.0);
+            }
+            b.intoArray(biomass, i);
+            n.intoArray(abundance, i);
+        }
+        return divisions;
+    }
+
+    // phosphorylationScale * adp / (adp + 0.2) - growth * cost - maintenance * saturation, as in the scalar form
+    private static DoubleVector atpRate(DoubleVector atp, DoubleVector adp, DoubleVector phosphorylationScale,
+                                        DoubleVector maxSpecificGrowth) {
+        DoubleVector atpSaturation = atp.div(atp.add(Cell.K_ATP));
+        DoubleVector phosphorylation = phosphorylationScale.mul(adp).div(adp.add(0.2));
+        DoubleVector growth = maxSpecificGrowth.mul(atpSaturation);
+        return phosphorylation.sub(growth.mul(Cell.BIOSYNTHESIS_ATP_COST))
+                              .sub(atpSaturation.mul(Cell.MAINTENANCE_ATP_RATE));
+    }
+}
@@ -31,9 +31,7 @@ public abstract class Prochlorococcus extends Cell implements Photosynthetic {
     
     // Abstract methods to be implemented by specific strains
     @Override
-    public abstract double getGrowthRate();
-    @Override
-    public abstract Map<String, Double> getNutrientUptakeRates();
+    protected abstract double computeGrowthRate();
     @Override
     public abstract double simulatePhotosynthesis(double lightIntensity);
 }
@@ -0,0 +1,328 @@
+package biological.cells;
+
+import biological.simulation.SimulationReport;
+import biological.util.VectorSupport;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Population of MED4 cells stored as parallel primitive arrays, one slot per cell.
+ * Each slot is a super-individual: {@code abundance} cells sharing one state, doubling in number
+ * instead of adding a slot when they divide, so memory stays fixed. Strain constants live once in
+ * the shared {@link MED4Strain.MED4GenomeProperties} and {@link MED4Strain.MED4Physiology}.
+ * The per-cell model is {@link MED4Strain}'s energy and growth kinetics reduced to ATP, ADP and biomass.
+ */
+public class ProchlorococcusPopulation {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 15;
+    private static final int DOUBLES_PER_CELL = 8;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+    private static final boolean VECTORIZED = VectorSupport.isAvailable();
+
+    private final MED4Strain.MED4GenomeProperties genomeProperties = new MED4Strain.MED4GenomeProperties();
+    private final MED4Strain.MED4Physiology physiology = new MED4Strain.MED4Physiology();
+    private final int size;
+    private final int chunkSize;
+
+    private final double[] volume;
+    private final double[] dryFraction;
+    private final double[] divinylChlorophyllRatio;
+    private final double[] zeaxanthin;
+    private final double[] atp;
+    private final double[] adp;
+    private final double[] biomass;
+    private final double[] abundance;
+    private final long[] divisionsPerChunk;
+
+    private double lightIntensity = 200.0;
+    private double timeHours;
+    private boolean vectorized = VECTORIZED;
+
+    /**
+     * Creates {@code size} cells with volume, pigments and cell-cycle position drawn around the
+     * MED4 defaults, reproducibly from {@code seed}.
+     */
+    public ProchlorococcusPopulation(int size, double meanVolumeMicron3, long seed) {
+        this(size, meanVolumeMicron3, seed, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ProchlorococcusPopulation(int size, double meanVolumeMicron3, long seed, int chunkSize) {
+        if (size < 1) throw new IllegalArgumentException("Population size must be positive: " + size);
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        this.size = size;
+        this.chunkSize = chunkSize;
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        double[] volume = this.volume = new double[size];
+        double[] dryFraction = this.dryFraction = new double[size];
+        double[] dvChl = this.divinylChlorophyllRatio = new double[size];
+        double[] zeaxanthin = this.zeaxanthin = new double[size];
+        double[] atp = this.atp = new double[size];
+        double[] adp = this.adp = new double[size];
+        double[] biomass = this.biomass = new double[size];
+        double[] abundance = this.abundance = new double[size];
+        this.divisionsPerChunk = new long[chunks];
+
+        // One generator per chunk, split up front so the result does not depend on thread scheduling
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) generators[c] = root.split();
+
+        MED4Strain.HighLightAdaptation defaults = new MED4Strain.HighLightAdaptation();
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            SplittableRandom random = generators[c];
+            for (int i = c * chunkSize, end = (int) Math.min((long) (c + 1) * chunkSize, size); i < end; i++) {
+                volume[i] = meanVolumeMicron3 * Math.exp(0.1 * random.nextGaussian(0, 1));
+                dryFraction[i] = 0.3;
+                dvChl[i] = defaults.getDivinylChlorophyllRatio() * (1 + 0.05 * random.nextGaussian(0, 1));
+                zeaxanthin[i] = defaults.getZeaxanthinContent() * (1 + 0.1 * random.nextGaussian(0, 1));
+                atp[i] = 3.0;
+                adp[i] = 0.8;
+                biomass[i] = 1.0 + random.nextDouble();
+                abundance[i] = 1.0;
+            }
+        });
+    }
+
+    private ProchlorococcusPopulation(ByteBuffer buffer) {
+        this.size = buffer.getInt();
+        this.chunkSize = buffer.getInt();
+        this.lightIntensity = buffer.getDouble();
+        this.timeHours = buffer.getDouble();
+        physiology.setMaxGrowthRate(buffer.getDouble());
+        this.volume = readDoubles(buffer, size);
+        this.dryFraction = readDoubles(buffer, size);
+        this.divinylChlorophyllRatio = readDoubles(buffer, size);
+        this.zeaxanthin = readDoubles(buffer, size);
+        this.atp = readDoubles(buffer, size);
+        this.adp = readDoubles(buffer, size);
+        this.biomass = readDoubles(buffer, size);
+        this.abundance = readDoubles(buffer, size);
+        this.divisionsPerChunk = new long[getChunkCount()];
+        buffer.asLongBuffer().get(divisionsPerChunk);
+        buffer.position(buffer.position() + divisionsPerChunk.length * Long.BYTES);
+    }
+
+    /** Advances every cell by {@code hours} in fixed Heun steps, in parallel chunks on the common pool. */
+    public SimulationReport run(double hours, double dtHours) {
+        return run(hours, dtHours, ForkJoinPool.commonPool());
+    }
+
+    public SimulationReport run(double hours, double dtHours, ForkJoinPool pool) {
+        if (dtHours <= 0) throw new IllegalArgumentException("dtHours must be positive: " + dtHours);
+        int steps = (int) Math.ceil(hours / dtHours - 1e-9);
+        long start = System.nanoTime();
+        for (int s = 0; s < steps; s++) {
+            double dt = Math.min(dtHours, hours - s * dtHours);
+            step(dt, pool);
+        }
+        return new SimulationReport(size, hours, (long) steps * size, 0, System.nanoTime() - start);
+    }
+
+    public void step(double dtHours, ForkJoinPool pool) {
+        // Shared parameters are read once per step, not once per cell
+        double maxSpecificGrowth = Math.log(2) * physiology.getMaxGrowthRate();
+        double light = lightIntensity;
+        pool.submit(() -> IntStream.range(0, getChunkCount()).parallel()
+                                   .forEach(c -> stepChunk(c, dtHours, maxSpecificGrowth, light)))
+            .join();
+        timeHours += dtHours;
+    }
+
+    /**
+     * Advances every cell by one step on the calling thread, at {@code lightIntensity}, with each
+     * slot's abundance first scaled by {@code survival}; the per-layer update of a {@link WaterColumn}.
+     */
+    void stepSerial(double dtHours, double lightIntensity, double survival) {
+        this.lightIntensity = lightIntensity;
+        double maxSpecificGrowth = Math.log(2) * physiology.getMaxGrowthRate();
+        for (int c = 0, chunks = getChunkCount(); c < chunks; c++) {
+            divisionsPerChunk[c] += stepRange(c * chunkSize, chunkEnd(c), dtHours, maxSpecificGrowth, lightIntensity, survival);
+        }
+        timeHours += dtHours;
+    }
+
+    /** Turns the vector kernel off (or back on) so the two paths can be compared; both give the same bits. */
+    void setVectorized(boolean vectorized) {
+        if (vectorized && !VECTORIZED) throw new IllegalArgumentException("Vector kernel needs --add-modules jdk.incubator.vector");
+        this.vectorized = vectorized;
+    }
+
+    private void stepChunk(int chunk, double dt, double maxSpecificGrowthRate, double light) {
+        divisionsPerChunk[chunk] += stepRange(chunk * chunkSize, chunkEnd(chunk), dt, maxSpecificGrowthRate, light, 1.0);
+    }
+
+    private long stepRange(int from, int to, double dt, double maxSpecificGrowthRate, double light, double survival) {
+        long divisions = 0;
+        int i = from;
+        if (vectorized) {
+            divisions = PopulationKernel.step(volume, divinylChlorophyllRatio, zeaxanthin, atp, adp, biomass, abundance,
+                                              from, to, dt, maxSpecificGrowthRate, light, survival);
+            i = PopulationKernel.upperBound(from, to);
+        }
+        for (; i < to; i++) {
+            double photosynthesis = MED4Strain.photosynthesisRate(light, divinylChlorophyllRatio[i], zeaxanthin[i]);
+            double maxSpecificGrowth = maxSpecificGrowthRate / Math.sqrt(volume[i]);
+            double a0 = atp[i];
+            double d0 = adp[i];
+            double b0 = biomass[i];
+
+            // Heun step: Euler predictor, then the average of both slopes
+            double da1 = atpRate(a0, d0, photosynthesis, maxSpecificGrowth);
+            double g1 = maxSpecificGrowth * a0 / (a0 + Cell.K_ATP);
+            double a1 = Math.max(0.0, a0 + dt * da1);
+            double d1 = Math.max(0.0, d0 - dt * da1);
+            double b1 = b0 + dt * g1 * b0;
+            double da2 = atpRate(a1, d1, photosynthesis, maxSpecificGrowth);
+            double g2 = maxSpecificGrowth * a1 / (a1 + Cell.K_ATP);
+
+            double deltaAtp = 0.5 * dt * (da1 + da2);
+            atp[i] = Math.max(0.0, a0 + deltaAtp);
+            adp[i] = Math.max(0.0, d0 - deltaAtp);
+            double b = b0 + 0.5 * dt * (g1 * b0 + g2 * b1);
+            double n = abundance[i] * survival;
+            while (b >= 2.0) {
+                b *= 0.5;
+                n *= 2.0;
+                divisions++;
+            }
+            biomass[i] = b;
+            abundance[i] = n;
+        }
+        return divisions;
+    }
+
+    /**
+     * Swaps the full state of {@code count} slots between two populations, starting at the given
+     * slots and wrapping around each array's end; mixes cells between {@link WaterColumn} layers.
+     */
+    static void exchange(ProchlorococcusPopulation a, int fromA, ProchlorococcusPopulation b, int fromB, int count) {
+        if (count > Math.min(a.size, b.size)) {
+            throw new IllegalArgumentException("Cannot exchange " + count + " of " + Math.min(a.size, b.size) + " slots");
+        }
+        double[][] columnsA = a.columns();
+        double[][] columnsB = b.columns();
+        for (int k = 0; k < columnsA.length; k++) {
+            double[] x = columnsA[k];
+            double[] y = columnsB[k];
+            for (int n = 0, i = fromA, j = fromB; n < count; n++) {
+                double t = x[i];
+                x[i] = y[j];
+                y[j] = t;
+                if (++i == a.size) i = 0;
+                if (++j == b.size) j = 0;
+            }
+        }
+    }
+
+    private double[][] columns() {
+        return new double[][]{volume, dryFraction, divinylChlorophyllRatio, zeaxanthin, atp, adp, biomass, abundance};
+    }
+
+    // dATP/dt; ADP changes by the opposite amount since the adenylate pool is conserved
+    private static double atpRate(double atp, double adp, double photosynthesis, double maxSpecificGrowth) {
+        double atpSaturation = atp / (atp + Cell.K_ATP);
+        double phosphorylation = MED4Strain.PHOTOPHOSPHORYLATION_SCALE * photosynthesis * adp / (adp + 0.2);
+        double growth = maxSpecificGrowth * atpSaturation;
+        return phosphorylation - growth * Cell.BIOSYNTHESIS_ATP_COST - Cell.MAINTENANCE_ATP_RATE * atpSaturation;
+    }
+
+    private int chunkEnd(int chunk) {
+        return (int) Math.min((long) (chunk + 1) * chunkSize, size);
+    }
+
+    // ===== BINARY FORM =====
+
+    public int serializedSize() {
+        long bytes = HEADER_BYTES + getStateBytes();
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Population of " + size + " cells does not fit in one buffer");
+        }
+        return (int) bytes;
+    }
+
+    /** Writes the clock, light and growth parameters followed by each per-cell array in order. */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(size).putInt(chunkSize);
+        buffer.putDouble(lightIntensity).putDouble(timeHours).putDouble(physiology.getMaxGrowthRate());
+        for (double[] column : columns()) {
+            buffer.asDoubleBuffer().put(column);
+            buffer.position(buffer.position() + column.length * Double.BYTES);
+        }
+        buffer.asLongBuffer().put(divisionsPerChunk);
+        buffer.position(buffer.position() + divisionsPerChunk.length * Long.BYTES);
+    }
+
+    public static ProchlorococcusPopulation readFrom(ByteBuffer buffer) {
+        return new ProchlorococcusPopulation(buffer);
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * Double.BYTES);
+        return values;
+    }
+
+    // ===== AGGREGATES =====
+
+    public double getTotalAbundance() {
+        double total = 0;
+        for (double a : abundance) total += a;
+        return total;
+    }
+
+    /** Abundance-weighted mean of ATP / (ATP + ADP). */
+    public double getMeanEnergyCharge() {
+        double weighted = 0;
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            double adenylates = atp[i] + adp[i];
+            if (adenylates > 0) weighted += abundance[i] * atp[i] / adenylates;
+            total += abundance[i];
+        }
+        return total > 0 ? weighted / total : 0.0;
+    }
+
+    public long getDivisionCount() {
+        long total = 0;
+        for (long d : divisionsPerChunk) total += d;
+        return total;
+    }
+
+    /** Bytes held by the per-cell arrays. */
+    public long getStateBytes() {
+        return (long) size * DOUBLES_PER_CELL * Double.BYTES + divisionsPerChunk.length * (long) Long.BYTES;
+    }
+
+    public int size() { return size; }
+    public int getChunkCount() { return (size + chunkSize - 1) / chunkSize; }
+    public double getTimeHours() { return timeHours; }
+    public double getLightIntensity() { return lightIntensity; }
+    public void setLightIntensity(double lightIntensity) { this.lightIntensity = lightIntensity; }
+    public MED4Strain.MED4GenomeProperties getGenomeProperties() { return genomeProperties; }
+    public MED4Strain.MED4Physiology getPhysiology() { return physiology; }
+
+    public double getVolume(int cell) { return volume[cell]; }
+    public double getDryFraction(int cell) { return dryFraction[cell]; }
+    public double getDivinylChlorophyllRatio(int cell) { return divinylChlorophyllRatio[cell]; }
+    public double getZeaxanthinContent(int cell) { return zeaxanthin[cell]; }
+    public double getAtp(int cell) { return atp[cell]; }
+    public double getAdp(int cell) { return adp[cell]; }
+    public double getBiomass(int cell) { return biomass[cell]; }
+    public double getAbundance(int cell) { return abundance[cell]; }
+
+    /** Photosynthetic rate of each cell from its own pigments, under {@code lightIntensities[cell]}. */
+    public void photosynthesisRates(double[] lightIntensities, double[] rates) {
+        if (lightIntensities.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " light intensities, got " + lightIntensities.length);
+        }
+        MED4Strain.photosynthesisRates(lightIntensities, divinylChlorophyllRatio, zeaxanthin, rates, 0, size);
+    }
+
+    public void printSummary() {
+        System.out.printf("Population: %,d slots, %.3e cells after %.1f h (%,d divisions)%n",
+            size, getTotalAbundance(), timeHours, getDivisionCount());
+        System.out.printf("  mean energy charge %.3f, state %.1f MB%n", getMeanEnergyCharge(), getStateBytes() / 1e6);
+    }
+}
@@ -0,0 +1,253 @@
+package biological.cells;
+
+import biological.metrics.MetricsRegistry;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A stratified water column of MED4 cells, cut into depth layers that each hold a
+ * {@link ProchlorococcusPopulation} of their own. Surface irradiance follows a diel and a seasonal
+ * cycle and decays exponentially with depth at the attenuation coefficient Kd. Every step updates
+ * the layers' growth in parallel, each at its own light level. Grazing removes cells at a rate
+ * proportional to the layer's abundance. Turbulent mixing then swaps cells between adjacent layers,
+ * exchanging the fraction {@code Kz dt / dz^2} per interface. Kz is the mixed-layer diffusivity
+ * above the mixed-layer depth and the much smaller thermocline value below it.
+ *
+ * <p>Cells within a layer are interchangeable, so mixing swaps a contiguous run of slots that starts
+ * at a random offset in each layer. Even interfaces mix in parallel, then odd ones, so no layer
+ * takes part in two exchanges at once. Every layer and interface draws from its own generator,
+ * split up front, so a run depends only on the seed and not on the thread count.
+ */
+public class WaterColumn {
+    // Most a single exchange moves; a larger Kz dt / dz^2 is split into several exchanges
+    private static final double MAX_EXCHANGE_FRACTION = 0.5;
+    private static final MetricsRegistry.Timer RUN_TIMER = MetricsRegistry.global().timer("watercolumn.run");
+    private static final MetricsRegistry.Counter CELL_UPDATES = MetricsRegistry.global().counter("watercolumn.cell_updates");
+
+    private final ProchlorococcusPopulation[] layers;
+    private final SplittableRandom[] mixingGenerators;
+    private final double depthMeters;
+    private final double layerThickness;
+    private final long cells;
+
+    private double surfaceIrradiance = 2000.0;
+    private double attenuation = 0.04;
+    private double dayLengthHours = 12.0;
+    private double seasonalAmplitude = 0.3;
+    private double mixedLayerDepth = 50.0;
+    private double mixedLayerDiffusivity = 1e-3;
+    private double deepDiffusivity = 1e-5;
+    private double grazingRate = 0.05;
+    private double timeHours;
+    private long exchangedCells;
+
+    /**
+     * Spreads {@code cells} slots evenly over {@code layerCount} layers of equal thickness down to
+     * {@code depthMeters}, each layer seeded from {@code seed}.
+     */
+    public WaterColumn(int layerCount, double depthMeters, long cells, double meanVolumeMicron3, long seed) {
+        if (layerCount < 1) throw new IllegalArgumentException("Layer count must be positive: " + layerCount);
+        if (depthMeters <= 0) throw new IllegalArgumentException("Depth must be positive: " + depthMeters);
+        if (cells < layerCount) {
+            throw new IllegalArgumentException("Need at least one cell per layer: " + cells + " cells, " + layerCount + " layers");
+        }
+        if (cells / layerCount >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many cells per layer: " + cells + " cells, " + layerCount + " layers");
+        }
+        this.layers = new ProchlorococcusPopulation[layerCount];
+        this.mixingGenerators = new SplittableRandom[layerCount - 1];
+        this.depthMeters = depthMeters;
+        this.layerThickness = depthMeters / layerCount;
+        this.cells = cells;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int l = 0; l < layerCount; l++) {
+            int size = (int) (cells / layerCount + (l < cells % layerCount ? 1 : 0));
+            layers[l] = new ProchlorococcusPopulation(size, meanVolumeMicron3, root.nextLong());
+        }
+        for (int i = 0; i < mixingGenerators.length; i++) mixingGenerators[i] = root.split();
+    }
+
+    /**
+     * Advances the column by {@code hours} in fixed steps on the common pool. Dimly lit layers need
+     * steps of about 0.025 h before their ATP pools converge; 0.1 h roughly doubles deep growth.
+     */
+    public WaterColumnReport run(double hours, double dtHours) {
+        return run(hours, dtHours, ForkJoinPool.commonPool());
+    }
+
+    public WaterColumnReport run(double hours, double dtHours, ForkJoinPool pool) {
+        if (dtHours <= 0) throw new IllegalArgumentException("dtHours must be positive: " + dtHours);
+        int steps = (int) Math.ceil(hours / dtHours - 1e-9);
+        long exchangedBefore = exchangedCells;
+        long start = System.nanoTime();
+        for (int s = 0; s < steps; s++) {
+            double dt = Math.min(dtHours, hours - s * dtHours);
+            step(dt, pool);
+        }
+        long elapsed = System.nanoTime() - start;
+        long cellUpdates = (long) steps * cells;
+        RUN_TIMER.record(elapsed);
+        CELL_UPDATES.add(cellUpdates);
+        return new WaterColumnReport(this, pool.getParallelism(), steps, hours, cellUpdates,
+                                     exchangedCells - exchangedBefore, elapsed);
+    }
+
+    /** One growth update of every layer followed by one mixing pass. */
+    public void step(double dtHours, ForkJoinPool pool) {
+        double surface = getSurfaceIrradiance(timeHours + 0.5 * dtHours);
+        pool.submit(() -> IntStream.range(0, layers.length).parallel().forEach(l -> {
+            ProchlorococcusPopulation layer = layers[l];
+            double density = layer.getTotalAbundance() / layer.size();
+            double survival = Math.exp(-grazingRate * density * dtHours);
+            layer.stepSerial(dtHours, surface * Math.exp(-attenuation * getLayerDepth(l)), survival);
+        })).join();
+        mix(dtHours, pool);
+        timeHours += dtHours;
+    }
+
+    /** {@link ProchlorococcusPopulation#setVectorized} for every layer. */
+    void setVectorized(boolean vectorized) {
+        for (ProchlorococcusPopulation layer : layers) layer.setVectorized(vectorized);
+    }
+
+    private void mix(double dtHours, ForkJoinPool pool) {
+        double maxFraction = 0;
+        for (int i = 0; i < mixingGenerators.length; i++) maxFraction = Math.max(maxFraction, exchangeFraction(i, dtHours));
+        int passes = Math.max(1, (int) Math.ceil(maxFraction / MAX_EXCHANGE_FRACTION));
+        long[] exchanged = new long[mixingGenerators.length];
+        for (int p = 0; p < passes; p++) {
+            for (int parity = 0; parity < 2; parity++) {
+                int first = parity;
+                pool.submit(() -> IntStream.range(0, (mixingGenerators.length - first + 1) / 2).parallel().forEach(k -> {
+                    int i = first + 2 * k;
+                    exchanged[i] += exchange(i, exchangeFraction(i, dtHours) / passes);
+                })).join();
+            }
+        }
+        for (long e : exchanged) exchangedCells += e;
+    }
+
+    // Swaps a random run of slots between layers i and i + 1; the count is rounded stochastically
+    private int exchange(int interfaceIndex, double fraction) {
+        ProchlorococcusPopulation upper = layers[interfaceIndex];
+        ProchlorococcusPopulation lower = layers[interfaceIndex + 1];
+        SplittableRandom random = mixingGenerators[interfaceIndex];
+        int count = (int) (fraction * Math.min(upper.size(), lower.size()) + random.nextDouble());
+        if (count > 0) {
+            ProchlorococcusPopulation.exchange(upper, random.nextInt(upper.size()), lower, random.nextInt(lower.size()), count);
+        }
+        return count;
+    }
+
+    private double exchangeFraction(int interfaceIndex, double dtHours) {
+        double depth = (interfaceIndex + 1) * layerThickness;
+        double diffusivity = depth <= mixedLayerDepth ? mixedLayerDiffusivity : deepDiffusivity;
+        return diffusivity * 3600.0 * dtHours / (layerThickness * layerThickness);
+    }
+
+    /**
+     * Irradiance just below the surface (umol photons m^-2 s^-1): a half-sine over the daylight
+     * hours centred on noon, peaking at the summer solstice and falling by the seasonal amplitude
+     * at midwinter.
+     */
+    public double getSurfaceIrradiance(double timeHours) {
+        double hourOfDay = timeHours % 24.0;
+        double sunrise = 12.0 - 0.5 * dayLengthHours;
+        if (hourOfDay <= sunrise || hourOfDay >= sunrise + dayLengthHours) return 0.0;
+        double dayOfYear = (timeHours / 24.0) % 365.0;
+        double season = 1.0 + seasonalAmplitude * (Math.cos(2 * Math.PI * (dayOfYear - 172) / 365.0) - 1.0) / 2.0;
+        return surfaceIrradiance * season * Math.sin(Math.PI * (hourOfDay - sunrise) / dayLengthHours);
+    }
+
+    /** Irradiance at the centre of {@code layer}. */
+    public double getLightIntensity(int layer, double timeHours) {
+        return getSurfaceIrradiance(timeHours) * Math.exp(-attenuation * getLayerDepth(layer));
+    }
+
+    /** Depth of the centre of {@code layer}, in metres. */
+    public double getLayerDepth(int layer) {
+        return (layer + 0.5) * layerThickness;
+    }
+
+    public double getTotalAbundance() {
+        double total = 0;
+        for (ProchlorococcusPopulation layer : layers) total += layer.getTotalAbundance();
+        return total;
+    }
+
+    public long getDivisionCount() {
+        long total = 0;
+        for (ProchlorococcusPopulation layer : layers) total += layer.getDivisionCount();
+        return total;
+    }
+
+    public long getStateBytes() {
+        long total = 0;
+        for (ProchlorococcusPopulation layer : layers) total += layer.getStateBytes();
+        return total;
+    }
+
+    public int getLayerCount() { return layers.length; }
+    public ProchlorococcusPopulation getLayer(int layer) { return layers[layer]; }
+    public long getCellCount() { return cells; }
+    public double getDepthMeters() { return depthMeters; }
+    public double getLayerThickness() { return layerThickness; }
+    public double getTimeHours() { return timeHours; }
+    public long getExchangedCells() { return exchangedCells; }
+
+    public double getSurfaceIrradiance() { return surfaceIrradiance; }
+    public double getAttenuation() { return attenuation; }
+    public double getDayLengthHours() { return dayLengthHours; }
+    public double getSeasonalAmplitude() { return seasonalAmplitude; }
+    public double getMixedLayerDepth() { return mixedLayerDepth; }
+    public double getMixedLayerDiffusivity() { return mixedLayerDiffusivity; }
+    public double getDeepDiffusivity() { return deepDiffusivity; }
+    public double getGrazingRate() { return grazingRate; }
+
+    /** Noon irradiance at midsummer, umol photons m^-2 s^-1. */
+    public void setSurfaceIrradiance(double surfaceIrradiance) {
+        this.surfaceIrradiance = requireNonNegative("Surface irradiance", surfaceIrradiance);
+    }
+
+    /** Diffuse attenuation coefficient Kd, 1/m. */
+    public void setAttenuation(double attenuation) {
+        this.attenuation = requireNonNegative("Attenuation", attenuation);
+    }
+
+    public void setDayLengthHours(double dayLengthHours) {
+        if (dayLengthHours < 0 || dayLengthHours > 24) {
+            throw new IllegalArgumentException("Day length must be within [0, 24] h: " + dayLengthHours);
+        }
+        this.dayLengthHours = dayLengthHours;
+    }
+
+    /** Fractional drop in noon irradiance from midsummer to midwinter. */
+    public void setSeasonalAmplitude(double seasonalAmplitude) {
+        if (seasonalAmplitude < 0 || seasonalAmplitude > 1) {
+            throw new IllegalArgumentException("Seasonal amplitude must be within [0, 1]: " + seasonalAmplitude);
+        }
+        this.seasonalAmplitude = seasonalAmplitude;
+    }
+
+    public void setMixedLayerDepth(double mixedLayerDepth) {
+        this.mixedLayerDepth = requireNonNegative("Mixed layer depth", mixedLayerDepth);
+    }
+
+    /** Turbulent diffusivities Kz above and below the mixed-layer depth, m^2/s. */
+    public void setDiffusivity(double mixedLayer, double deep) {
+        this.mixedLayerDiffusivity = requireNonNegative("Mixed layer diffusivity", mixedLayer);
+        this.deepDiffusivity = requireNonNegative("Deep diffusivity", deep);
+    }
+
+    /** Grazing mortality per hour for each cell per slot in the layer. */
+    public void setGrazingRate(double grazingRate) {
+        this.grazingRate = requireNonNegative("Grazing rate", grazingRate);
+    }
+
+    private static double requireNonNegative(String name, double value) {
+        if (!(value >= 0)) throw new IllegalArgumentException(name + " must not be negative: " + value);
+        return value;
+    }
+}
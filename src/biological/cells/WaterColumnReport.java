@@ -0,0 +1,81 @@
+package biological.cells;
+
+/**
+ * Depth profile and wall-clock cost of one {@link WaterColumn#run} call.
+ */
+public class WaterColumnReport {
+    private static final int PROFILE_ROWS = 10;
+
+    private final int layers;
+    private final long cells;
+    private final int parallelism;
+    private final int steps;
+    private final double simulatedHours;
+    private final long cellUpdates;
+    private final long exchangedCells;
+    private final long elapsedNanos;
+    private final double[] depths;
+    private final double[] noonLight;
+    private final double[] abundances;
+    private final double[] energyCharges;
+
+    public WaterColumnReport(WaterColumn column, int parallelism, int steps, double simulatedHours,
+                             long cellUpdates, long exchangedCells, long elapsedNanos) {
+        this.layers = column.getLayerCount();
+        this.cells = column.getCellCount();
+        this.parallelism = parallelism;
+        this.steps = steps;
+        this.simulatedHours = simulatedHours;
+        this.cellUpdates = cellUpdates;
+        this.exchangedCells = exchangedCells;
+        this.elapsedNanos = elapsedNanos;
+        this.depths = new double[layers];
+        this.noonLight = new double[layers];
+        this.abundances = new double[layers];
+        this.energyCharges = new double[layers];
+        double noon = 24.0 * Math.floor(column.getTimeHours() / 24.0) + 12.0;
+        for (int l = 0; l < layers; l++) {
+            ProchlorococcusPopulation layer = column.getLayer(l);
+            depths[l] = column.getLayerDepth(l);
+            noonLight[l] = column.getLightIntensity(l, noon);
+            abundances[l] = layer.getTotalAbundance();
+            energyCharges[l] = layer.getMeanEnergyCharge();
+        }
+    }
+
+    public int getLayerCount() { return layers; }
+    public long getCellCount() { return cells; }
+    public int getParallelism() { return parallelism; }
+    public int getSteps() { return steps; }
+    public double getSimulatedHours() { return simulatedHours; }
+    public long getCellUpdates() { return cellUpdates; }
+    public long getExchangedCells() { return exchangedCells; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public double getDepth(int layer) { return depths[layer]; }
+    public double getNoonLight(int layer) { return noonLight[layer]; }
+    public double getAbundance(int layer) { return abundances[layer]; }
+    public double getEnergyCharge(int layer) { return energyCharges[layer]; }
+
+    public double getTotalAbundance() {
+        double total = 0;
+        for (double a : abundances) total += a;
+        return total;
+    }
+
+    public double getCellUpdatesPerSecond() {
+        return elapsedNanos > 0 ? cellUpdates / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    public void printSummary() {
+        System.out.printf("%d layers, %d cells, %d threads: %d steps over %.1f days in %.2f s, %.1f M cell-updates/s, %d cells mixed%n",
+                         layers, cells, parallelism, steps, simulatedHours / 24.0, elapsedNanos / 1e9,
+                         getCellUpdatesPerSecond() / 1e6, exchangedCells);
+        System.out.printf("  %8s %12s %14s %8s%n", "depth m", "noon light", "cells/slot", "charge");
+        int stride = Math.max(1, layers / PROFILE_ROWS);
+        for (int l = 0; l < layers; l += stride) {
+            long slots = cells / layers + (l < cells % layers ? 1 : 0);
+            System.out.printf("  %8.1f %12.2f %14.4g %8.3f%n",
+                             depths[l], noonLight[l], abundances[l] / slots, energyCharges[l]);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package biological.checkpoint;
+
+import biological.cells.Cell;
+import biological.cells.EukaryoticCell;
+import biological.cells.HeterotrophicBacterium;
+import biological.cells.MED4Strain;
+import biological.components.Cytoplasm;
+import biological.components.GeneTable;
+import biological.components.Nucleoid;
+import biological.components.PlasmaMembrane;
+import biological.components.Protein;
+import biological.components.Thylakoid;
+import biological.interfaces.GenomeProperties;
+import biological.interfaces.Physiology;
+import biological.organelles.Chloroplast;
+import biological.organelles.Mitochondrion;
+import biological.organelles.Nucleus;
+import biological.organelles.Organelle;
+import biological.properties.BacterialGenomeProperties;
+import biological.properties.BacterialPhysiology;
+import biological.properties.DefaultGenomeProperties;
+import biological.properties.EukaryoticGenomeProperties;
+import biological.properties.EukaryoticPhysiology;
+import biological.properties.RespirationProperties;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of fully constructed {@link Cell} graphs.
+ * Gene tables and nucleoids come first and are written once each, so cells that shared a genome
+ * when checkpointed (copies from {@link Cell#withOverrides}, or many cells built from one gene
+ * list) share it again after restore. Memoized quantities are not stored; they are recomputed on
+ * first read, exactly as for a newly built cell.
+ */
+final class CellCodec {
+    private static final int MED4 = 1;
+    private static final int HETEROTROPHIC = 2;
+    private static final int EUKARYOTIC = 3;
+
+    private static final int DEFAULT_GENOME = 0;
+    private static final int MED4_GENOME = 1;
+    private static final int BACTERIAL_GENOME = 2;
+    private static final int EUKARYOTIC_GENOME = 3;
+
+    private static final int NUCLEUS = 0;
+    private static final int MITOCHONDRION = 1;
+    private static final int CHLOROPLAST = 2;
+
+    private CellCodec() {}
+
+    static void write(CheckpointWriter out, List<? extends Cell> cells) throws IOException {
+        Map<Nucleoid, Integer> nucleoidIds = new IdentityHashMap<>();
+        List<Nucleoid> nucleoids = new ArrayList<>();
+        for (Cell cell : cells) {
+            register(cell.getCytoplasm().getNucleoid(), nucleoidIds, nucleoids);
+            if (cell instanceof EukaryoticCell eukaryote) {
+                register(eukaryote.getNucleus().getNucleoid(), nucleoidIds, nucleoids);
+            }
+        }
+
+        Map<GeneTable, Integer> tableIds = new IdentityHashMap<>();
+        List<GeneTable> tables = new ArrayList<>();
+        for (Nucleoid nucleoid : nucleoids) {
+            GeneTable table = nucleoid.getGeneTable();
+            if (tableIds.putIfAbsent(table, tables.size()) == null) tables.add(table);
+        }
+        out.putInt(tables.size());
+        for (GeneTable table : tables) out.putBlock(table.serializedSize(), table::writeTo);
+        out.putInt(nucleoids.size());
+        for (Nucleoid nucleoid : nucleoids) {
+            out.putInt(tableIds.get(nucleoid.getGeneTable()));
+            out.putString(nucleoid.getStructure());
+            out.putByte(genomeTag(nucleoid.getGenomeProperties()));
+        }
+
+        out.putInt(cells.size());
+        for (Cell cell : cells) writeCell(out, cell, nucleoidIds);
+    }
+
+    static List<Cell> read(ByteBuffer in) {
+        GeneTable[] tables = new GeneTable[in.getInt()];
+        for (int i = 0; i < tables.length; i++) tables[i] = GeneTable.readFrom(in);
+        Nucleoid[] nucleoids = new Nucleoid[in.getInt()];
+        for (int i = 0; i < nucleoids.length; i++) {
+            GeneTable table = tables[in.getInt()];
+            nucleoids[i] = new Nucleoid(table.asGenes(), readString(in), genomeProperties(in.get()));
+        }
+
+        int count = in.getInt();
+        List<Cell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) cells.add(readCell(in, nucleoids));
+        return cells;
+    }
+
+    private static void register(Nucleoid nucleoid, Map<Nucleoid, Integer> ids, List<Nucleoid> nucleoids) {
+        if (ids.putIfAbsent(nucleoid, nucleoids.size()) == null) nucleoids.add(nucleoid);
+    }
+
+    // ===== CELLS =====
+
+    private static void writeCell(CheckpointWriter out, Cell cell, Map<Nucleoid, Integer> nucleoidIds)
+            throws IOException {
+        int type = cellTag(cell);
+        out.putByte(type).putString(cell.getStrain());
+        out.putDouble(cell.getVolumeMicron3()).putDouble(cell.getDryFraction());
+        out.putByte(genomeTag(cell.getGenomeProperties()));
+        out.putDouble(cell.getPhysiology().getMaxGrowthRate());
+        out.putDouble(cell.getBiomass()).putInt(cell.getDivisionCount());
+
+        Cytoplasm cytoplasm = cell.getCytoplasm();
+        out.putInt(nucleoidIds.get(cytoplasm.getNucleoid())).putDouble(cytoplasm.getVolume());
+        for (int i = 0; i < Cytoplasm.METABOLITE_COUNT; i++) out.putDouble(cytoplasm.getMetabolite(i));
+        writeMembrane(out, cell.getMembrane());
+        boolean sharedMembrane = cytoplasm.getMembrane() == cell.getMembrane();
+        out.putBoolean(sharedMembrane);
+        if (!sharedMembrane) writeMembrane(out, cytoplasm.getMembrane());
+
+        switch (type) {
+            case MED4:
+                MED4Strain med4 = (MED4Strain) cell;
+                out.putDouble(med4.getLightIntensity());
+                writeThylakoid(out, med4.getThylakoid());
+                break;
+            case HETEROTROPHIC:
+                HeterotrophicBacterium bacterium = (HeterotrophicBacterium) cell;
+                RespirationProperties respiration = bacterium.getRespiration();
+                out.putDouble(bacterium.getExternalGlucose());
+                out.putBoolean(respiration.canPerformAerobicRespiration());
+                out.putBoolean(respiration.canPerformAnaerobicRespiration());
+                out.putDouble(respiration.getRespirationEfficiency());
+                out.putString(respiration.getPrimaryElectronAcceptor());
+                break;
+            default:
+                EukaryoticCell eukaryote = (EukaryoticCell) cell;
+                Nucleus nucleus = eukaryote.getNucleus();
+                out.putDouble(eukaryote.getExternalGlucose());
+                out.putDouble(nucleus.getVolumeMicron3()).putInt(nucleoidIds.get(nucleus.getNucleoid()));
+                writeProteins(out, nucleus.getProteins());
+                out.putInt(eukaryote.getOrganelles().size());
+                for (Organelle organelle : eukaryote.getOrganelles()) writeOrganelle(out, organelle, nucleus);
+                break;
+        }
+    }
+
+    private static Cell readCell(ByteBuffer in, Nucleoid[] nucleoids) {
+        int type = in.get();
+        String strain = readString(in);
+        double volume = in.getDouble();
+        double dryFraction = in.getDouble();
+        GenomeProperties genomeProperties = genomeProperties(in.get());
+        double maxGrowthRate = in.getDouble();
+        double biomass = in.getDouble();
+        int divisions = in.getInt();
+
+        Nucleoid nucleoid = nucleoids[in.getInt()];
+        double cytoplasmVolume = in.getDouble();
+        double[] metabolites = new double[Cytoplasm.METABOLITE_COUNT];
+        for (int i = 0; i < metabolites.length; i++) metabolites[i] = in.getDouble();
+        PlasmaMembrane membrane = readMembrane(in);
+        PlasmaMembrane cytoplasmMembrane = in.get() != 0 ? membrane : readMembrane(in);
+        Cytoplasm cytoplasm = new Cytoplasm(cytoplasmVolume, nucleoid, cytoplasmMembrane);
+        cytoplasm.setMetabolites(metabolites, 0);
+
+        Cell cell;
+        switch (type) {
+            case MED4:
+                double lightIntensity = in.getDouble();
+                MED4Strain med4 = new MED4Strain(strain, volume, dryFraction, cytoplasm, genomeProperties,
+                    new MED4Strain.MED4Physiology().withMaxGrowthRate(maxGrowthRate), membrane, readThylakoid(in));
+                med4.setLightIntensity(lightIntensity);
+                cell = med4;
+                break;
+            case HETEROTROPHIC:
+                double bacterialGlucose = in.getDouble();
+                boolean aerobic = in.get() != 0;
+                boolean anaerobic = in.get() != 0;
+                double efficiency = in.getDouble();
+                RespirationProperties respiration =
+                    new RespirationProperties(aerobic, anaerobic, efficiency, readString(in));
+                HeterotrophicBacterium bacterium = new HeterotrophicBacterium(strain, volume, dryFraction, cytoplasm,
+                    genomeProperties, new BacterialPhysiology().withMaxGrowthRate(maxGrowthRate), membrane, respiration);
+                bacterium.setExternalGlucose(bacterialGlucose);
+                cell = bacterium;
+                break;
+            case EUKARYOTIC:
+                double externalGlucose = in.getDouble();
+                double nucleusVolume = in.getDouble();
+                Nucleus nucleus = new Nucleus(nucleusVolume, nucleoids[in.getInt()]);
+                readProteins(in, nucleus);
+                Organelle[] organelles = new Organelle[in.getInt()];
+                for (int i = 0; i < organelles.length; i++) organelles[i] = readOrganelle(in, nucleus);
+                EukaryoticCell eukaryote = new EukaryoticCell(strain, volume, dryFraction, cytoplasm,
+                    genomeProperties, new EukaryoticPhysiology().withMaxGrowthRate(maxGrowthRate), membrane,
+                    nucleus, List.of(organelles));
+                eukaryote.setExternalGlucose(externalGlucose);
+                cell = eukaryote;
+                break;
+            default:
+                throw new IllegalStateException("Unknown cell type tag: " + type);
+        }
+        cell.restoreGrowthState(biomass, divisions);
+        return cell;
+    }
+
+    private static int cellTag(Cell cell) {
+        Class<?> type = cell.getClass();
+        Class<? extends Physiology> physiology = cell.getPhysiology().getClass();
+        if (type == MED4Strain.class && physiology == MED4Strain.MED4Physiology.class) return MED4;
+        if (type == HeterotrophicBacterium.class && physiology == BacterialPhysiology.class) return HETEROTROPHIC;
+        if (type == EukaryoticCell.class && physiology == EukaryoticPhysiology.class) return EUKARYOTIC;
+        throw new IllegalArgumentException("Cannot checkpoint " + type.getSimpleName()
+                                           + " with " + physiology.getSimpleName());
+    }
+
+    // Genome properties carry no state, so the class identifies them
+    private static int genomeTag(GenomeProperties properties) {
+        Class<?> type = properties.getClass();
+        if (type == DefaultGenomeProperties.class) return DEFAULT_GENOME;
+        if (type == MED4Strain.MED4GenomeProperties.class) return MED4_GENOME;
+        if (type == BacterialGenomeProperties.class) return BACTERIAL_GENOME;
+        if (type == EukaryoticGenomeProperties.class) return EUKARYOTIC_GENOME;
+        throw new IllegalArgumentException("Cannot checkpoint genome properties " + type.getSimpleName());
+    }
+
+    private static GenomeProperties genomeProperties(int tag) {
+        switch (tag) {
+            case DEFAULT_GENOME: return new DefaultGenomeProperties();
+            case MED4_GENOME: return new MED4Strain.MED4GenomeProperties();
+            case BACTERIAL_GENOME: return new BacterialGenomeProperties();
+            case EUKARYOTIC_GENOME: return new EukaryoticGenomeProperties();
+            default: throw new IllegalStateException("Unknown genome properties tag: " + tag);
+        }
+    }
+
+    // ===== COMPONENTS =====
+
+    private static void writeMembrane(CheckpointWriter out, PlasmaMembrane membrane) throws IOException {
+        out.putDouble(membrane.getVolume()).putDouble(membrane.getSurfaceArea());
+        writeProteins(out, membrane.getMembraneProteins());
+    }
+
+    private static PlasmaMembrane readMembrane(ByteBuffer in) {
+        PlasmaMembrane membrane = new PlasmaMembrane(in.getDouble(), in.getDouble());
+        for (int i = in.getInt(); i > 0; i--) membrane.addMembraneProtein(readProtein(in));
+        return membrane;
+    }
+
+    private static void writeOrganelle(CheckpointWriter out, Organelle organelle, Nucleus nucleus) throws IOException {
+        if (organelle == nucleus) {
+            out.putByte(NUCLEUS);
+            return;
+        }
+        if (organelle.getClass() == Mitochondrion.class) {
+            out.putByte(MITOCHONDRION).putDouble(organelle.getVolumeMicron3())
+               .putDouble(((Mitochondrion) organelle).getCristaeDensity());
+        } else if (organelle.getClass() == Chloroplast.class) {
+            out.putByte(CHLOROPLAST).putDouble(organelle.getVolumeMicron3());
+            writeThylakoid(out, ((Chloroplast) organelle).getThylakoid());
+        } else {
+            throw new IllegalArgumentException("Cannot checkpoint organelle " + organelle.getClass().getSimpleName());
+        }
+        writeProteins(out, organelle.getProteins());
+    }
+
+    private static Organelle readOrganelle(ByteBuffer in, Nucleus nucleus) {
+        Organelle organelle;
+        switch (in.get()) {
+            case NUCLEUS:
+                return nucleus;
+            case MITOCHONDRION:
+                organelle = new Mitochondrion(in.getDouble(), in.getDouble());
+                break;
+            case CHLOROPLAST:
+                double volume = in.getDouble();
+                organelle = new Chloroplast(volume, readThylakoid(in));
+                break;
+            default:
+                throw new IllegalStateException("Unknown organelle tag");
+        }
+        readProteins(in, organelle);
+        return organelle;
+    }
+
+    private static void writeThylakoid(CheckpointWriter out, Thylakoid thylakoid) throws IOException {
+        out.putInt(thylakoid.getNumberOfLayers());
+        writeStrings(out, thylakoid.getPigments());
+        writeStrings(out, thylakoid.getProteins());
+    }
+
+    private static Thylakoid readThylakoid(ByteBuffer in) {
+        Thylakoid thylakoid = new Thylakoid(in.getInt());
+        for (int i = in.getInt(); i > 0; i--) thylakoid.addPigment(readString(in));
+        for (int i = in.getInt(); i > 0; i--) thylakoid.addProtein(readString(in));
+        return thylakoid;
+    }
+
+    private static void writeProteins(CheckpointWriter out, List<Protein> proteins) throws IOException {
+        out.putInt(proteins.size());
+        for (Protein protein : proteins) {
+            out.putString(protein.getName()).putString(protein.getFunction()).putString(protein.getLocation());
+        }
+    }
+
+    private static void readProteins(ByteBuffer in, Organelle organelle) {
+        for (int i = in.getInt(); i > 0; i--) organelle.addProtein(readProtein(in));
+    }
+
+    private static Protein readProtein(ByteBuffer in) {
+        return new Protein(readString(in), readString(in), readString(in));
+    }
+
+    private static void writeStrings(CheckpointWriter out, List<String> values) throws IOException {
+        out.putInt(values.size());
+        for (String value : values) out.putString(value);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,128 @@
+package biological.checkpoint;
+
+import biological.cells.Cell;
+import biological.cells.ProchlorococcusPopulation;
+import biological.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary checkpoints of cells and populations, so long runs can resume and expensive cells need
+ * not be rebuilt. A checkpoint is a header, a little-endian payload and the payload's CRC32C.
+ * It is streamed through a {@link FileChannel} beside the target and moved into place only once
+ * complete, so a crash mid-write leaves the previous checkpoint intact; restores read the file
+ * through a read-only mapping and reject any truncated or corrupted payload. A write that would
+ * produce a file too large to map fails instead of leaving an unrestorable checkpoint.
+ */
+public class Checkpoint {
+    public static final String EXTENSION = ".ckpt";
+    private static final int MAGIC = 0x54504B43; // "CKPT"
+    private static final int VERSION = 1;
+    private static final int CELLS = 1;
+    private static final int POPULATION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8;
+    private static final int TRAILER_BYTES = 8;
+    // Restores map the whole file into one buffer, so no checkpoint may outgrow an int index
+    static final long MAX_PAYLOAD_BYTES = Integer.MAX_VALUE - HEADER_BYTES - TRAILER_BYTES;
+    private static final MetricsRegistry.Timer WRITE_CELLS_TIMER = MetricsRegistry.global().timer("checkpoint.write_cells");
+    private static final MetricsRegistry.Timer READ_CELLS_TIMER = MetricsRegistry.global().timer("checkpoint.read_cells");
+    private static final MetricsRegistry.Timer WRITE_POPULATION_TIMER = MetricsRegistry.global().timer("checkpoint.write_population");
+    private static final MetricsRegistry.Timer READ_POPULATION_TIMER = MetricsRegistry.global().timer("checkpoint.read_population");
+
+    private Checkpoint() {}
+
+    /** Writes the cells, their organelles, membranes, pools and growth state, sharing genomes they share. */
+    public static long writeCells(Path path, List<? extends Cell> cells) throws IOException {
+        return write(path, CELLS, WRITE_CELLS_TIMER, out -> CellCodec.write(out, cells));
+    }
+
+    public static List<Cell> readCells(Path path) throws IOException {
+        return read(path, CELLS, READ_CELLS_TIMER, CellCodec::read);
+    }
+
+    /** Writes the population's per-cell state, clock and light level. */
+    public static long writePopulation(Path path, ProchlorococcusPopulation population) throws IOException {
+        return write(path, POPULATION, WRITE_POPULATION_TIMER,
+                     out -> out.putBlock(population.serializedSize(), population::writeTo));
+    }
+
+    public static ProchlorococcusPopulation readPopulation(Path path) throws IOException {
+        return read(path, POPULATION, READ_POPULATION_TIMER, ProchlorococcusPopulation::readFrom);
+    }
+
+    private interface Body {
+        void writeTo(CheckpointWriter out) throws IOException;
+    }
+
+    private interface Decoder<T> {
+        T decode(ByteBuffer payload);
+    }
+
+    // Returns the size of the checkpoint file in bytes
+    private static long write(Path path, int kind, MetricsRegistry.Timer timer, Body body) throws IOException {
+        long start = System.nanoTime();
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        long fileBytes;
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.position(HEADER_BYTES);
+                CheckpointWriter out = new CheckpointWriter(channel, MAX_PAYLOAD_BYTES);
+                body.writeTo(out);
+                long crc = out.finish();
+                long payloadBytes = out.getBytesWritten();
+
+                ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(crc).flip();
+                while (trailer.hasRemaining()) channel.write(trailer);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(kind).putLong(payloadBytes).flip();
+                while (header.hasRemaining()) channel.write(header, header.position());
+                channel.force(false);
+                fileBytes = HEADER_BYTES + payloadBytes + TRAILER_BYTES;
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        timer.recordSince(start);
+        return fileBytes;
+    }
+
+    private static <T> T read(Path path, int kind, MetricsRegistry.Timer timer, Decoder<T> decoder) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a checkpoint: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != kind) {
+                throw new IOException("Not a " + (kind == CELLS ? "cell" : "population") + " checkpoint: " + path);
+            }
+            long payloadBytes = buffer.getLong();
+            if (payloadBytes != size - HEADER_BYTES - TRAILER_BYTES) {
+                throw new IOException("Truncated checkpoint: " + path);
+            }
+
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != buffer.getLong(HEADER_BYTES + (int) payloadBytes)) {
+                throw new IOException("Corrupt checkpoint: " + path);
+            }
+
+            T restored = decoder.decode(payload);
+            timer.recordSince(start);
+            return restored;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalStateException e) {
+            throw new IOException("Unreadable checkpoint: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package biological.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Streams a checkpoint payload to a {@link FileChannel} through one reusable direct buffer,
+ * keeping a CRC32C of everything written. Strings are length-prefixed UTF-8, with length -1 for null.
+ */
+class CheckpointWriter {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final long maxBytes;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private long written;
+
+    CheckpointWriter(FileChannel channel, long maxBytes) {
+        this.channel = channel;
+        this.maxBytes = maxBytes;
+    }
+
+    CheckpointWriter putByte(int value) throws IOException {
+        require(1).put((byte) value);
+        return this;
+    }
+
+    CheckpointWriter putBoolean(boolean value) throws IOException {
+        return putByte(value ? 1 : 0);
+    }
+
+    CheckpointWriter putInt(int value) throws IOException {
+        require(4).putInt(value);
+        return this;
+    }
+
+    CheckpointWriter putDouble(double value) throws IOException {
+        require(8).putDouble(value);
+        return this;
+    }
+
+    CheckpointWriter putString(String value) throws IOException {
+        if (value == null) return putInt(-1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        if (bytes.length <= BUFFER_SIZE) {
+            require(bytes.length).put(bytes);
+        } else {
+            flush();
+            write(ByteBuffer.wrap(bytes));
+        }
+        return this;
+    }
+
+    /**
+     * Writes a block of exactly {@code size} bytes produced by {@code writer}, such as
+     * {@code GeneTable.writeTo}. Blocks larger than the stream buffer get a buffer of their own.
+     */
+    CheckpointWriter putBlock(int size, Consumer<ByteBuffer> writer) throws IOException {
+        ByteBuffer target = size <= BUFFER_SIZE
+            ? require(size) : ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        int start = target.position();
+        writer.accept(target);
+        if (target.position() - start != size) {
+            throw new IllegalStateException("Block wrote " + (target.position() - start) + " bytes, expected " + size);
+        }
+        if (target != buffer) {
+            flush();
+            target.flip();
+            write(target);
+        }
+        return this;
+    }
+
+    /** Flushes the buffer and returns the CRC32C of the whole payload. */
+    long finish() throws IOException {
+        flush();
+        return crc.getValue();
+    }
+
+    long getBytesWritten() { return written + buffer.position(); }
+
+    private ByteBuffer require(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+        return buffer;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+        if (written + data.remaining() > maxBytes) {
+            throw new IOException("Checkpoint payload exceeds " + maxBytes + " bytes");
+        }
+        crc.update(data.duplicate());
+        written += data.remaining();
+        while (data.hasRemaining()) channel.write(data);
+    }
+}
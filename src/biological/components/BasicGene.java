@@ -0,0 +1,67 @@
+package biological.components;
+
+import java.util.*;
+
+/**
+ * A {@link Gene} holding its own fields and range list.
+ */
+final class BasicGene implements Gene {
+    private final String geneName;
+    private final String function;
+    private final List<int[]> ranges;
+    private final char strand;
+    private final String chromosome;
+
+    BasicGene(String geneName, String function, List<int[]> ranges, char strand, String chromosome) {
+        this.geneName = geneName != null ? geneName : "unknown";
+        this.function = function != null ? function : "unknown";
+        this.ranges = new ArrayList<>(ranges);
+        this.strand = (strand == '+' || strand == '-') ? strand : '+';
+        this.chromosome = chromosome != null ? chromosome : "unknown";
+    }
+
+    @Override public String getGeneName() { return geneName; }
+    @Override public String getFunction() { return function; }
+    @Override public List<int[]> getRanges() { return Collections.unmodifiableList(ranges); }
+    @Override public char getStrand() { return strand; }
+    @Override public String getChromosome() { return chromosome; }
+
+    @Override public int getStartBasePair() { return ranges.get(0)[0]; }
+    @Override public int getEndBasePair() { return ranges.get(ranges.size() - 1)[1]; }
+
+    @Override
+    public int getLength() {
+        int length = 0;
+        for (int[] range : ranges) {
+            length += range[1] - range[0] + 1;
+        }
+        return length;
+    }
+
+    @Override public boolean equals(Object o) { return o == this || sameGene(this, o); }
+    @Override public int hashCode() { return hash(this); }
+
+    /** Value equality shared by every {@link Gene} implementation in this package. */
+    static boolean sameGene(Gene gene, Object o) {
+        if (!(o instanceof Gene other)) return false;
+        if (gene.getStrand() != other.getStrand()
+            || !gene.getGeneName().equals(other.getGeneName())
+            || !gene.getFunction().equals(other.getFunction())
+            || !gene.getChromosome().equals(other.getChromosome())) {
+            return false;
+        }
+        List<int[]> ranges = gene.getRanges();
+        List<int[]> otherRanges = other.getRanges();
+        if (ranges.size() != otherRanges.size()) return false;
+        for (int r = 0; r < ranges.size(); r++) {
+            if (!Arrays.equals(ranges.get(r), otherRanges.get(r))) return false;
+        }
+        return true;
+    }
+
+    static int hash(Gene gene) {
+        int hash = Objects.hash(gene.getGeneName(), gene.getFunction(), gene.getStrand(), gene.getChromosome());
+        for (int[] range : gene.getRanges()) hash = 31 * hash + Arrays.hashCode(range);
+        return hash;
+    }
+}
@@ -6,11 +6,20 @@ import java.util.*;
  * Represents the cytoplasm with realistic molecular composition.
  */
 public class Cytoplasm {
+    // Metabolite pool indices, in mM
+    public static final int ATP = 0;
+    public static final int ADP = 1;
+    public static final int NADH = 2;
+    public static final int GLUCOSE = 3;
+    public static final int AMINO_ACIDS = 4;
+    public static final int METABOLITE_COUNT = 5;
+    private static final String[] METABOLITE_NAMES = {"ATP", "ADP", "NADH", "glucose", "amino_acids"};
+
     private final double volumeMicron3;
     private final Nucleoid nucleoid;
     private final PlasmaMembrane membrane;
-    private final List<Protein> solubleProteins;
-    private final Map<String, Double> metabolites;
+    private final Proteome solubleProteins;
+    private final double[] metabolites;
     private final double pH;
     private final double ionicStrength;
 
@@ -18,28 +27,20 @@ public class Cytoplasm {
         this.volumeMicron3 = volumeMicron3;
         this.nucleoid = nucleoid;
         this.membrane = membrane;
-        this.solubleProteins = new ArrayList<>();
-        this.metabolites = new HashMap<>();
+        this.solubleProteins = new Proteome(nucleoid.getGeneTable(), "cytoplasm");
+        this.metabolites = new double[METABOLITE_COUNT];
         this.pH = 7.2;
         this.ionicStrength = 0.15;
         
-        expressAllGenes();
         initializeMetabolites();
     }
 
-    private void expressAllGenes() {
-        for (Gene g : nucleoid.getGenes()) {
-            Protein protein = g.expressProtein("cytoplasm");
-            solubleProteins.add(protein);
-        }
-    }
-
     private void initializeMetabolites() {
-        metabolites.put("ATP", 3.0);
-        metabolites.put("ADP", 0.8);
-        metabolites.put("NADH", 0.3);
-        metabolites.put("glucose", 5.0);
-        metabolites.put("amino_acids", 15.0);
+        metabolites[ATP] = 3.0;
+        metabolites[ADP] = 0.8;
+        metabolites[NADH] = 0.3;
+        metabolites[GLUCOSE] = 5.0;
+        metabolites[AMINO_ACIDS] = 15.0;
     }
 
     public void simulateActivity() {
@@ -55,24 +56,60 @@ public class Cytoplasm {
                          totalEffect, crowdingFactor, pHEffect(pH));
     }
 
+    /** Fraction of dilute-solution mobility left by macromolecular crowding; also scales spatial diffusion. */
+    public double getCrowdingFactor() {
+        return calculateCrowdingFactor();
+    }
+
+    // Depends only on the protein count, so the proteome is never materialized here
     private double calculateCrowdingFactor() {
         double proteinConcentration = solubleProteins.size() * 40000 / (volumeMicron3 * 1e-15 * 6.022e23);
         return 1.0 / (1.0 + proteinConcentration / 0.3);
     }
 
+    /** Copy for a cell {@code factor} times the volume, sharing the nucleoid and keeping concentrations. */
+    public Cytoplasm rescaled(double factor, PlasmaMembrane membrane) {
+        Cytoplasm copy = new Cytoplasm(volumeMicron3 * factor, nucleoid, membrane);
+        System.arraycopy(metabolites, 0, copy.metabolites, 0, METABOLITE_COUNT);
+        return copy;
+    }
+
     private double pHEffect(double pH) {
         return Math.exp(-Math.pow(pH - 7.2, 2) / 2.0);
     }
 
     public double getOsmolarity() {
-        return ionicStrength * 1000 + metabolites.values().stream().mapToDouble(Double::doubleValue).sum();
+        double total = ionicStrength * 1000;
+        for (double concentration : metabolites) total += concentration;
+        return total;
     }
 
+    public double getMetabolite(int index) { return metabolites[index]; }
+    public void setMetabolite(int index, double concentration) { metabolites[index] = concentration; }
+
+    /** Copies all pools into {@code dest} starting at {@code offset}, in index order. */
+    public void copyMetabolites(double[] dest, int offset) {
+        System.arraycopy(metabolites, 0, dest, offset, METABOLITE_COUNT);
+    }
+
+    /** Replaces all pools from {@code src} starting at {@code offset}, in index order. */
+    public void setMetabolites(double[] src, int offset) {
+        System.arraycopy(src, offset, metabolites, 0, METABOLITE_COUNT);
+    }
+
+    public static String getMetaboliteName(int index) { return METABOLITE_NAMES[index]; }
+
     // Getters
     public Nucleoid getNucleoid() { return nucleoid; }
-    public List<Protein> getSolubleProteins() { return Collections.unmodifiableList(solubleProteins); }
+    public List<Protein> getSolubleProteins() { return solubleProteins; }
+    public Proteome getProteome() { return solubleProteins; }
     public double getVolume() { return volumeMicron3; }
     public PlasmaMembrane getMembrane() { return membrane; }
     public double getpH() { return pH; }
-    public Map<String, Double> getMetabolites() { return Collections.unmodifiableMap(metabolites); }
+
+    public Map<String, Double> getMetabolites() {
+        Map<String, Double> pools = new LinkedHashMap<>();
+        for (int i = 0; i < METABOLITE_COUNT; i++) pools.put(METABOLITE_NAMES[i], metabolites[i]);
+        return Collections.unmodifiableMap(pools);
+    }
 }
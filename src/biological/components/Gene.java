@@ -4,41 +4,33 @@ import java.util.*;
 
 /**
  * Represents a gene with its name, function, and genomic coordinates.
+ * {@link #of} creates standalone genes; {@link GeneTable#asGenes()} exposes table rows through the
+ * same interface without copying them out of the columns. Two genes are equal when their names,
+ * functions, strands, chromosomes and ranges are, whichever implementation holds them.
  */
-public class Gene {
-    private String geneName;
-    private String function;
-    private List<int[]> ranges;
-    private char strand;
-
-    public Gene(String geneName, String function, int startBasePair, int endBasePair) {
-        this(geneName, function, Collections.singletonList(new int[]{startBasePair, endBasePair}), '+');
+public interface Gene {
+    String getGeneName();
+    String getFunction();
+    List<int[]> getRanges();
+    char getStrand();
+    String getChromosome();
+    int getStartBasePair();
+    int getEndBasePair();
+    int getLength();
+
+    default Protein expressProtein(String location) {
+        return new Protein(getGeneName(), getFunction(), location);
     }
 
-    public Gene(String geneName, String function, List<int[]> ranges, char strand) {
-        this.geneName = geneName != null ? geneName : "unknown";
-        this.function = function != null ? function : "unknown";
-        this.ranges = new ArrayList<>(ranges);
-        this.strand = (strand == '+' || strand == '-') ? strand : '+';
+    static Gene of(String geneName, String function, int startBasePair, int endBasePair) {
+        return of(geneName, function, Collections.singletonList(new int[]{startBasePair, endBasePair}), '+');
     }
 
-    public String getGeneName() { return geneName; }
-    public String getFunction() { return function; }
-    public List<int[]> getRanges() { return Collections.unmodifiableList(ranges); }
-    public char getStrand() { return strand; }
-
-    public int getStartBasePair() { return ranges.get(0)[0]; }
-    public int getEndBasePair() { return ranges.get(ranges.size() - 1)[1]; }
-
-    public int getLength() {
-        int length = 0;
-        for (int[] range : ranges) {
-            length += range[1] - range[0] + 1;
-        }
-        return length;
+    static Gene of(String geneName, String function, List<int[]> ranges, char strand) {
+        return of(geneName, function, ranges, strand, null);
     }
 
-    public Protein expressProtein(String location) {
-        return new Protein(geneName, function, location);
+    static Gene of(String geneName, String function, List<int[]> ranges, char strand, String chromosome) {
+        return new BasicGene(geneName, function, ranges, strand, chromosome);
     }
 }
@@ -0,0 +1,297 @@
+package biological.components;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Columnar gene storage: one primitive array per attribute instead of one object graph per gene.
+ * Ranges of all genes live in flat start/end arrays addressed through {@code rangeOffsets}, and
+ * names, functions and chromosomes are dictionary-encoded into a shared string table.
+ * {@link #asGenes()} exposes the table as a {@code List<Gene>} for code written against {@link Gene}.
+ */
+public class GeneTable {
+    private final String[] dictionary;
+    private final int[] nameIds;
+    private final int[] functionIds;
+    private final int[] chromosomeIds;
+    private final byte[] strands;
+    private final int[] rangeOffsets;
+    private final int[] starts;
+    private final int[] ends;
+    private final GeneList genes = new GeneList();
+
+    private GeneTable(String[] dictionary, int[] nameIds, int[] functionIds, int[] chromosomeIds,
+                      byte[] strands, int[] rangeOffsets, int[] starts, int[] ends) {
+        this.dictionary = dictionary;
+        this.nameIds = nameIds;
+        this.functionIds = functionIds;
+        this.chromosomeIds = chromosomeIds;
+        this.strands = strands;
+        this.rangeOffsets = rangeOffsets;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /** Returns the table behind a list from {@link #asGenes()}, or builds one from plain genes. */
+    public static GeneTable of(List<Gene> genes) {
+        if (genes instanceof GeneList list) return list.table();
+        Builder builder = new Builder(genes.size());
+        for (Gene gene : genes) builder.add(gene);
+        return builder.build();
+    }
+
+    /** Returns the table behind a list from {@link #asGenes()}, or null for any other list. */
+    public static GeneTable backing(List<Gene> genes) {
+        return genes instanceof GeneList list ? list.table() : null;
+    }
+
+    public int size() { return nameIds.length; }
+    public String getName(int gene) { return dictionary[nameIds[gene]]; }
+    public String getFunction(int gene) { return dictionary[functionIds[gene]]; }
+    public String getChromosome(int gene) { return dictionary[chromosomeIds[gene]]; }
+    public char getStrand(int gene) { return (char) strands[gene]; }
+    public int getNameId(int gene) { return nameIds[gene]; }
+    public int getFunctionId(int gene) { return functionIds[gene]; }
+    public String getDictionaryEntry(int id) { return dictionary[id]; }
+    public int getDictionarySize() { return dictionary.length; }
+
+    public int getRangeCount(int gene) { return rangeOffsets[gene + 1] - rangeOffsets[gene]; }
+    public int getRangeStart(int gene, int range) { return starts[rangeOffsets[gene] + range]; }
+    public int getRangeEnd(int gene, int range) { return ends[rangeOffsets[gene] + range]; }
+    public int getStartBasePair(int gene) { return starts[firstRange(gene)]; }
+    public int getEndBasePair(int gene) { return ends[firstRange(gene) + getRangeCount(gene) - 1]; }
+
+    public int getLength(int gene) {
+        int length = 0;
+        for (int r = rangeOffsets[gene], end = rangeOffsets[gene + 1]; r < end; r++) {
+            length += ends[r] - starts[r] + 1;
+        }
+        return length;
+    }
+
+    // Offset of a gene's first range; a gene without ranges has no coordinates to report
+    private int firstRange(int gene) {
+        if (getRangeCount(gene) == 0) throw new IndexOutOfBoundsException("Gene " + getName(gene) + " has no ranges");
+        return rangeOffsets[gene];
+    }
+
+    /** Sum of all gene lengths in base pairs, as a single pass over the range columns. */
+    public long getTotalLength() {
+        long total = 0;
+        for (int r = 0; r < starts.length; r++) {
+            total += ends[r] - starts[r] + 1;
+        }
+        return total;
+    }
+
+    /**
+     * Live {@code List<Gene>} view. Rows hold only their index and read the columns on each call;
+     * code that walks a whole table can use the indexed accessors above and allocate nothing.
+     */
+    public List<Gene> asGenes() { return genes; }
+
+    /** Approximate heap footprint of the columns and dictionary, in bytes. */
+    public long estimateHeapBytes() {
+        long bytes = 16L * 8 + 4L * (nameIds.length * 3 + rangeOffsets.length + starts.length + ends.length)
+                + strands.length;
+        for (String s : dictionary) bytes += 40 + s.length();
+        return bytes;
+    }
+
+    // ===== BINARY FORM =====
+
+    public int serializedSize() {
+        int size = 4;
+        for (String s : dictionary) size += 4 + s.getBytes(StandardCharsets.UTF_8).length;
+        int geneCount = size();
+        return size + 4 + 4 + geneCount * 13 + (geneCount + 1) * 4 + starts.length * 8;
+    }
+
+    /** Writes the dictionary followed by each column in order. */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(dictionary.length);
+        for (String s : dictionary) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        buffer.putInt(size()).putInt(starts.length);
+        buffer.asIntBuffer().put(nameIds).put(functionIds).put(chromosomeIds);
+        buffer.position(buffer.position() + nameIds.length * 12);
+        buffer.put(strands);
+        buffer.asIntBuffer().put(rangeOffsets).put(starts).put(ends);
+        buffer.position(buffer.position() + (rangeOffsets.length + starts.length * 2) * 4);
+    }
+
+    public static GeneTable readFrom(ByteBuffer buffer) {
+        String[] dictionary = new String[buffer.getInt()];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = buffer.getInt();
+            if (bytes.length < length) bytes = new byte[Math.max(length, bytes.length * 2)];
+            buffer.get(bytes, 0, length);
+            dictionary[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        int geneCount = buffer.getInt();
+        int rangeCount = buffer.getInt();
+        int[] nameIds = readInts(buffer, geneCount);
+        int[] functionIds = readInts(buffer, geneCount);
+        int[] chromosomeIds = readInts(buffer, geneCount);
+        byte[] strands = new byte[geneCount];
+        buffer.get(strands);
+        int[] rangeOffsets = readInts(buffer, geneCount + 1);
+        int[] starts = readInts(buffer, rangeCount);
+        int[] ends = readInts(buffer, rangeCount);
+        return new GeneTable(dictionary, nameIds, functionIds, chromosomeIds, strands, rangeOffsets, starts, ends);
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+
+    /**
+     * Accumulates genes column by column.
+     */
+    public static class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] nameIds;
+        private int[] functionIds;
+        private int[] chromosomeIds;
+        private byte[] strands;
+        private int[] rangeOffsets;
+        private int[] starts;
+        private int[] ends;
+        private int geneCount;
+        private int rangeCount;
+
+        public Builder(int expectedGenes) {
+            int capacity = Math.max(expectedGenes, 16);
+            nameIds = new int[capacity];
+            functionIds = new int[capacity];
+            chromosomeIds = new int[capacity];
+            strands = new byte[capacity];
+            rangeOffsets = new int[capacity + 1];
+            starts = new int[capacity];
+            ends = new int[capacity];
+        }
+
+        public Builder add(Gene gene) {
+            beginGene(gene.getGeneName(), gene.getFunction(), gene.getChromosome(), gene.getStrand());
+            for (int[] range : gene.getRanges()) addRange(range[0], range[1]);
+            return this;
+        }
+
+        public Builder add(String name, String function, String chromosome, char strand, int start, int end) {
+            beginGene(name, function, chromosome, strand);
+            addRange(start, end);
+            return this;
+        }
+
+        /** Starts a new gene; follow with one {@link #addRange} call per segment. */
+        public Builder beginGene(String name, String function, String chromosome, char strand) {
+            if (geneCount == nameIds.length) growGenes();
+            nameIds[geneCount] = intern(name);
+            functionIds[geneCount] = intern(function);
+            chromosomeIds[geneCount] = intern(chromosome);
+            strands[geneCount] = (byte) (strand == '-' ? '-' : '+');
+            geneCount++;
+            rangeOffsets[geneCount] = rangeCount;
+            return this;
+        }
+
+        public Builder addRange(int start, int end) {
+            if (geneCount == 0) throw new IllegalStateException("addRange called before beginGene");
+            if (rangeCount == starts.length) {
+                starts = Arrays.copyOf(starts, rangeCount * 2);
+                ends = Arrays.copyOf(ends, rangeCount * 2);
+            }
+            starts[rangeCount] = start;
+            ends[rangeCount] = end;
+            rangeCount++;
+            rangeOffsets[geneCount] = rangeCount;
+            return this;
+        }
+
+        public GeneTable build() {
+            return new GeneTable(dictionary.toArray(new String[0]),
+                Arrays.copyOf(nameIds, geneCount), Arrays.copyOf(functionIds, geneCount),
+                Arrays.copyOf(chromosomeIds, geneCount), Arrays.copyOf(strands, geneCount),
+                Arrays.copyOf(rangeOffsets, geneCount + 1),
+                Arrays.copyOf(starts, rangeCount), Arrays.copyOf(ends, rangeCount));
+        }
+
+        private int intern(String value) {
+            String key = value != null ? value : "unknown";
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = dictionary.size();
+                ids.put(key, id);
+                dictionary.add(key);
+            }
+            return id;
+        }
+
+        private void growGenes() {
+            int capacity = nameIds.length * 2;
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            functionIds = Arrays.copyOf(functionIds, capacity);
+            chromosomeIds = Arrays.copyOf(chromosomeIds, capacity);
+            strands = Arrays.copyOf(strands, capacity);
+            rangeOffsets = Arrays.copyOf(rangeOffsets, capacity + 1);
+        }
+    }
+
+    // ===== GENE VIEW =====
+
+    private final class GeneList extends AbstractList<Gene> implements RandomAccess {
+        GeneTable table() { return GeneTable.this; }
+
+        @Override public Gene get(int index) {
+            Objects.checkIndex(index, size());
+            return new Row(index);
+        }
+
+        @Override public int size() { return GeneTable.this.size(); }
+    }
+
+    /**
+     * {@link Gene} view of one row of the table. Views are created per {@code get}, so they compare
+     * by value like any other gene, with a shortcut for two views of the same row.
+     */
+    private final class Row implements Gene {
+        private final int index;
+
+        Row(int index) { this.index = index; }
+
+        @Override public String getGeneName() { return getName(index); }
+        @Override public String getFunction() { return GeneTable.this.getFunction(index); }
+        @Override public char getStrand() { return GeneTable.this.getStrand(index); }
+        @Override public String getChromosome() { return GeneTable.this.getChromosome(index); }
+        @Override public int getStartBasePair() { return GeneTable.this.getStartBasePair(index); }
+        @Override public int getEndBasePair() { return GeneTable.this.getEndBasePair(index); }
+        @Override public int getLength() { return GeneTable.this.getLength(index); }
+
+        @Override
+        public List<int[]> getRanges() {
+            int count = getRangeCount(index);
+            List<int[]> ranges = new ArrayList<>(count);
+            for (int r = 0; r < count; r++) ranges.add(new int[]{getRangeStart(index, r), getRangeEnd(index, r)});
+            return Collections.unmodifiableList(ranges);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof Row row && row.table() == GeneTable.this && row.index == index) return true;
+            return BasicGene.sameGene(this, o);
+        }
+
+        @Override public int hashCode() { return BasicGene.hash(this); }
+
+        private GeneTable table() { return GeneTable.this; }
+    }
+}
@@ -0,0 +1,48 @@
+package biological.components;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns every metabolite and nutrient name a dense int ID, so per-nutrient quantities can live in
+ * plain arrays. IDs are never reused or reassigned. The cytoplasm pools are registered first, so
+ * their IDs equal the {@link Cytoplasm} pool indices.
+ */
+public final class MetaboliteRegistry {
+    private static final Map<String, Integer> ids = new HashMap<>();
+    private static volatile String[] names = new String[0];
+
+    static {
+        for (int i = 0; i < Cytoplasm.METABOLITE_COUNT; i++) id(Cytoplasm.getMetaboliteName(i));
+    }
+
+    private MetaboliteRegistry() {}
+
+    /** The ID of {@code name}, registering it if it is new. Resolve IDs once, outside hot loops. */
+    public static synchronized int id(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        int next = names.length;
+        ids.put(name, next);
+        String[] grown = Arrays.copyOf(names, next + 1);
+        grown[next] = name;
+        names = grown;
+        return next;
+    }
+
+    /** The ID of {@code name}, or -1 if it was never registered. */
+    public static synchronized int lookup(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public static String name(int id) {
+        return names[id];
+    }
+
+    /** Number of registered names; every ID is below this. */
+    public static int size() {
+        return names.length;
+    }
+}
@@ -11,6 +11,7 @@ public class Nucleoid {
     private List<Gene> genes;
     private String structure;
     private GenomeProperties genomeProperties;
+    private GeneTable geneTable;
 
     public Nucleoid(List<Gene> genes, String structure, GenomeProperties genomeProperties) {
         this.genes = genes != null ? genes : List.of();
@@ -23,10 +24,17 @@ public class Nucleoid {
     }
 
     public List<Gene> getGenes() { return genes; }
+
+    /** Columnar form of the genes; shared when the genes already come from a {@link GeneTable}. */
+    public GeneTable getGeneTable() {
+        if (geneTable == null) geneTable = GeneTable.of(genes);
+        return geneTable;
+    }
+
     public String getStructure() { return structure; }
     public GenomeProperties getGenomeProperties() { return genomeProperties; }
 
     public double getGenomeMass() {
-        return biological.util.CellConversion.genomeToDaltons(genes);
+        return biological.util.CellConversion.genomeToDaltons(getGeneTable());
     }
 }
@@ -0,0 +1,114 @@
+package biological.components;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-nutrient quantities indexed by {@link MetaboliteRegistry} ID.
+ * Tracks which nutrients are present, in the order they were first set, so it can stand in for a
+ * {@code Map<String, Double>} without boxing or hashing. {@link #freeze()} returns a read-only
+ * copy that rejects further changes.
+ */
+public final class NutrientVector {
+    private double[] values;
+    private boolean[] present;
+    private int[] order;
+    private int count;
+    private final boolean frozen;
+
+    public NutrientVector() {
+        this(MetaboliteRegistry.size());
+    }
+
+    public NutrientVector(int capacity) {
+        this.values = new double[Math.max(capacity, 1)];
+        this.present = new boolean[values.length];
+        this.order = new int[values.length];
+        this.frozen = false;
+    }
+
+    private NutrientVector(NutrientVector source) {
+        // Trimmed to the highest present ID; get() and contains() treat anything beyond as absent
+        int capacity = 1;
+        for (int i = 0; i < source.count; i++) capacity = Math.max(capacity, source.order[i] + 1);
+        this.values = Arrays.copyOf(source.values, capacity);
+        this.present = Arrays.copyOf(source.present, capacity);
+        this.order = Arrays.copyOf(source.order, source.count);
+        this.count = source.count;
+        this.frozen = true;
+    }
+
+    public static NutrientVector fromMap(Map<String, Double> quantities) {
+        NutrientVector vector = new NutrientVector();
+        for (Map.Entry<String, Double> entry : quantities.entrySet()) {
+            vector.set(MetaboliteRegistry.id(entry.getKey()), entry.getValue());
+        }
+        return vector;
+    }
+
+    public void set(int id, double value) {
+        if (frozen) throw new UnsupportedOperationException("Nutrient vector is frozen");
+        if (id >= values.length) grow(id + 1);
+        if (!present[id]) {
+            present[id] = true;
+            order[count++] = id;
+        }
+        values[id] = value;
+    }
+
+    /** The quantity for {@code id}, or 0 if it is not present. */
+    public double get(int id) {
+        return id >= 0 && id < values.length ? values[id] : 0.0;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    /** Number of present nutrients. */
+    public int size() { return count; }
+
+    /** ID of the {@code index}-th present nutrient, in insertion order. */
+    public int idAt(int index) { return order[index]; }
+
+    public double valueAt(int index) { return values[order[index]]; }
+
+    public void clear() {
+        if (frozen) throw new UnsupportedOperationException("Nutrient vector is frozen");
+        for (int i = 0; i < count; i++) {
+            values[order[i]] = 0.0;
+            present[order[i]] = false;
+        }
+        count = 0;
+    }
+
+    /**
+     * A read-only copy of this vector, or this vector if it is already frozen. The copy can be
+     * shared between threads and cells once published through a final field; this vector stays
+     * mutable.
+     */
+    public NutrientVector freeze() {
+        return frozen ? this : new NutrientVector(this);
+    }
+
+    public boolean isFrozen() { return frozen; }
+
+    public Map<String, Double> toMap() {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) map.put(MetaboliteRegistry.name(order[i]), values[order[i]]);
+        return map;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, values.length * 2);
+        values = Arrays.copyOf(values, capacity);
+        present = Arrays.copyOf(present, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
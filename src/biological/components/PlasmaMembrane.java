@@ -10,6 +10,7 @@ public class PlasmaMembrane {
     private final double surfaceAreaNm2;
     private final Map<String, Double> lipidComposition;
     private final List<Protein> membraneProteins;
+    private volatile long revision;
 
     public PlasmaMembrane(double volumeMicron3, double surfaceAreaNm2) {
         this.volumeMicron3 = volumeMicron3;
@@ -26,8 +27,17 @@ public class PlasmaMembrane {
         lipidComposition.put("other", 0.25);
     }
 
+    /** Copy for a cell {@code factor} times the volume; the surface area scales as a sphere's. */
+    public PlasmaMembrane rescaled(double factor) {
+        PlasmaMembrane copy = new PlasmaMembrane(volumeMicron3 * factor, surfaceAreaNm2 * Math.pow(factor, 2.0 / 3.0));
+        copy.lipidComposition.putAll(lipidComposition);
+        copy.membraneProteins.addAll(membraneProteins);
+        return copy;
+    }
+
     public void addMembraneProtein(Protein protein) {
         membraneProteins.add(protein);
+        revision++;
     }
 
     public double getLipidMass() {
@@ -42,6 +52,9 @@ public class PlasmaMembrane {
         return getLipidMass() + getProteinMass();
     }
 
+    /** Advances whenever the membrane's composition changes. */
+    public long getRevision() { return revision; }
+
     public double getVolume() { return volumeMicron3; }
     public double getSurfaceArea() { return surfaceAreaNm2; }
     public Map<String, Double> getLipidComposition() { return Collections.unmodifiableMap(lipidComposition); }
@@ -0,0 +1,64 @@
+package biological.components;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lazily expressed proteins of a nucleoid, one per gene.
+ * Proteins are created the first time they are indexed or iterated; until then only the gene
+ * count is known. Names and functions come straight from the {@link GeneTable} dictionary and the
+ * location is a single shared string, so expressed proteins copy no strings. Cells are read from
+ * several threads at once, so the slots are published atomically and each index yields one protein.
+ */
+public class Proteome extends AbstractList<Protein> implements RandomAccess {
+    private final GeneTable genes;
+    private final String location;
+    private volatile AtomicReferenceArray<Protein> expressed;
+
+    public Proteome(GeneTable genes, String location) {
+        this.genes = genes;
+        this.location = location.intern();
+    }
+
+    @Override
+    public int size() { return genes.size(); }
+
+    @Override
+    public Protein get(int index) {
+        Objects.checkIndex(index, genes.size());
+        AtomicReferenceArray<Protein> proteins = slots();
+        Protein protein = proteins.get(index);
+        if (protein == null) {
+            Protein created = new Protein(genes.getName(index), genes.getFunction(index), location);
+            protein = proteins.compareAndExchange(index, null, created);
+            if (protein == null) protein = created;
+        }
+        return protein;
+    }
+
+    private AtomicReferenceArray<Protein> slots() {
+        AtomicReferenceArray<Protein> proteins = expressed;
+        if (proteins == null) {
+            synchronized (this) {
+                proteins = expressed;
+                if (proteins == null) expressed = proteins = new AtomicReferenceArray<>(genes.size());
+            }
+        }
+        return proteins;
+    }
+
+    public String getLocation() { return location; }
+
+    /** Number of proteins materialized so far. */
+    public int getExpressedCount() {
+        AtomicReferenceArray<Protein> proteins = expressed;
+        if (proteins == null) return 0;
+        int count = 0;
+        for (int i = 0; i < proteins.length(); i++) {
+            if (proteins.get(i) != null) count++;
+        }
+        return count;
+    }
+}
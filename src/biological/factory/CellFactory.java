@@ -2,6 +2,8 @@ package biological.factory;
 
 import biological.cells.*;
 import biological.components.*;
+import biological.metrics.CellConstructionEvent;
+import biological.metrics.MetricsRegistry;
 import biological.organelles.*;
 import biological.properties.*;
 import biological.util.CellConversion;
@@ -14,19 +16,43 @@ import java.util.*;
 public class CellFactory {
     
     private static final ExperimentalValidator validator = new ExperimentalValidator();
+    private static final MetricsRegistry.Timer PHOTOSYNTHETIC_TIMER = MetricsRegistry.global().timer("cell.construct.photosynthetic");
+    private static final MetricsRegistry.Timer HETEROTROPHIC_TIMER = MetricsRegistry.global().timer("cell.construct.heterotrophic");
+    private static final MetricsRegistry.Timer EUKARYOTIC_TIMER = MetricsRegistry.global().timer("cell.construct.eukaryotic");
     
     public static Cell createCell(String cellType, String strain, List<Gene> genes, 
                                 double volume, double dryFraction) {
-        switch (cellType.toLowerCase()) {
+        CellConstructionEvent event = new CellConstructionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String type = cellType.toLowerCase();
+        Cell cell;
+        MetricsRegistry.Timer timer;
+        switch (type) {
             case "photosynthetic":
-                return createPhotosyntheticCell(strain, genes, volume, dryFraction);
+                cell = createPhotosyntheticCell(strain, genes, volume, dryFraction);
+                timer = PHOTOSYNTHETIC_TIMER;
+                break;
             case "heterotrophic":
-                return createHeterotrophicCell(strain, genes, volume, dryFraction);
+                cell = createHeterotrophicCell(strain, genes, volume, dryFraction);
+                timer = HETEROTROPHIC_TIMER;
+                break;
             case "eukaryotic":
-                return createEukaryoticCell(strain, genes, volume, dryFraction);
+                cell = createEukaryoticCell(strain, genes, volume, dryFraction);
+                timer = EUKARYOTIC_TIMER;
+                break;
             default:
                 throw new IllegalArgumentException("Unknown cell type: " + cellType);
         }
+        timer.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.cellType = type;
+            event.strain = strain;
+            event.genes = genes.size();
+            event.commit();
+        }
+        return cell;
     }
     
     private static Cell createPhotosyntheticCell(String strain, List<Gene> genes, 
@@ -0,0 +1,12 @@
+package biological.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Source of GenBank flat files keyed by accession
+ */
+public interface GenomeFetcher {
+    void fetch(String accession, OutputStream out) throws IOException;
+    String getDescription();
+}
@@ -1,5 +1,7 @@
 package biological.interfaces;
 
+import biological.components.MetaboliteRegistry;
+import biological.components.NutrientVector;
 import java.util.Map;
 
 public interface Physiology {
@@ -16,4 +18,19 @@ public interface Physiology {
     double getEnergyProductionRate();
     double getStressTolerance(String stressor);
     boolean canFormSpores();
+
+    /** {@link #getNutrientRequirements()} keyed by metabolite ID; implementations return a shared, frozen vector. */
+    default NutrientVector getNutrientRequirementVector() {
+        return NutrientVector.fromMap(getNutrientRequirements()).freeze();
+    }
+
+    default boolean canUtilizeNutrient(int nutrientId) {
+        return canUtilizeNutrient(MetaboliteRegistry.name(nutrientId));
+    }
+
+    /** Independent copy with a different maximum growth rate; this instance is left unchanged. */
+    Physiology withMaxGrowthRate(double maxGrowthRate);
+
+    /** Advances whenever a parameter changes, so cached cell quantities can detect it. */
+    default long getVersion() { return 0; }
 }
@@ -0,0 +1,17 @@
+package biological.interfaces;
+
+/**
+ * Interface for models advanced through time by {@code biological.simulation}.
+ * State is exchanged as a flat vector so integrators can work without allocating; time is in hours.
+ */
+public interface TimeStepped {
+    int getStateSize();
+    void getState(double[] y);
+    void setState(double[] y);
+
+    /** Writes dy/dt for state {@code y} into {@code dydt} without touching the model's own state. */
+    void computeRates(double[] y, double[] dydt);
+
+    /** Advances the model by {@code dtHours} in a single step. */
+    void step(double dtHours);
+}
@@ -0,0 +1,324 @@
+package biological.metabolism;
+
+import java.util.Arrays;
+
+/**
+ * Bounded dual simplex for {@code min c'x} subject to {@code Ax = 0, l <= x <= u} with every bound
+ * finite, as in flux balance problems. Each row has a fixed artificial variable, so the all-artificial
+ * basis is always available, and because every variable is boxed any basis can be made dual feasible
+ * by putting each nonbasic variable at the bound its reduced cost favours. No phase one is needed,
+ * and after a change of bounds or costs the previous basis is simply re-used: the dual simplex then
+ * restores primal feasibility in the few pivots the change calls for.
+ * The basis is factored densely (metabolite counts are small) and updated in product form between
+ * refactorizations; columns of the constraint matrix are only ever read sparsely.
+ */
+final class DualSimplex {
+    enum Status { OPTIMAL, INFEASIBLE, ITERATION_LIMIT }
+
+    private static final double PRIMAL_TOLERANCE = 1e-7;
+    private static final double DUAL_TOLERANCE = 1e-9;
+    private static final double PIVOT_TOLERANCE = 1e-9;
+    private static final double SINGULAR_TOLERANCE = 1e-11;
+    private static final int REFACTOR_INTERVAL = 64;
+
+    private final SparseMatrix matrix;
+    private final int rows;
+    private final int structurals;
+    final double[] lower;
+    final double[] upper;
+    final double[] cost;
+    final double[] x;
+    private final double[] reducedCosts;
+    private final double[] alphaRow;
+    private final int[] basis;
+    private final int[] basisRow;
+    private final boolean[] atUpper;
+
+    private final double[][] lu;
+    private final int[] permutation;
+    private final int[] etaRows;
+    private final double[][] etaColumns;
+    private int etaCount;
+    // Whether lu and the etas still describe the current basis
+    private boolean factored;
+    private int iterations;
+
+    DualSimplex(SparseMatrix matrix) {
+        this.matrix = matrix;
+        this.rows = matrix.getRowCount();
+        this.structurals = matrix.getColumnCount();
+        int total = structurals + rows;
+        this.lower = new double[total];
+        this.upper = new double[total];
+        this.cost = new double[total];
+        this.x = new double[total];
+        this.reducedCosts = new double[total];
+        this.alphaRow = new double[total];
+        this.basis = new int[rows];
+        this.basisRow = new int[total];
+        this.atUpper = new boolean[total];
+        this.lu = new double[rows][rows];
+        this.permutation = new int[rows];
+        this.etaRows = new int[REFACTOR_INTERVAL];
+        this.etaColumns = new double[REFACTOR_INTERVAL][rows];
+        resetBasis();
+    }
+
+    /** Discards the current basis in favour of the all-artificial one. */
+    void resetBasis() {
+        factored = false;
+        Arrays.fill(basisRow, -1);
+        for (int i = 0; i < rows; i++) {
+            basis[i] = structurals + i;
+            basisRow[structurals + i] = i;
+        }
+    }
+
+    int getIterations() { return iterations; }
+
+    /** Solves from the current basis; {@link #x} holds the values of all variables afterwards. */
+    Status solve(int maxIterations) {
+        iterations = 0;
+        // Bound and cost changes leave the basis matrix alone, so a warm start re-uses its factors
+        if (!factored) refactor();
+        computeReducedCosts();
+        chooseNonbasicBounds();
+        computePrimal();
+
+        double[] rho = new double[rows];
+        double[] column = new double[rows];
+        while (true) {
+            int r = chooseLeavingRow();
+            if (r < 0) return Status.OPTIMAL;
+            if (iterations >= maxIterations) return Status.ITERATION_LIMIT;
+            iterations++;
+
+            int leaving = basis[r];
+            boolean toLower = x[leaving] < lower[leaving];
+            Arrays.fill(rho, 0.0);
+            rho[r] = 1.0;
+            btran(rho);
+            int entering = ratioTest(rho, toLower);
+            if (entering < 0) return Status.INFEASIBLE;
+
+            Arrays.fill(column, 0.0);
+            loadColumn(entering, column);
+            ftran(column);
+            double pivot = column[r];
+
+            double dualStep = reducedCosts[entering] / alphaRow[entering];
+            for (int j = 0; j < x.length; j++) {
+                if (basisRow[j] < 0) reducedCosts[j] -= dualStep * alphaRow[j];
+            }
+            reducedCosts[leaving] = -dualStep;
+            reducedCosts[entering] = 0.0;
+
+            double target = toLower ? lower[leaving] : upper[leaving];
+            double primalStep = (x[leaving] - target) / pivot;
+            for (int i = 0; i < rows; i++) x[basis[i]] -= primalStep * column[i];
+            x[entering] += primalStep;
+            x[leaving] = target;
+            atUpper[leaving] = !toLower;
+
+            basis[r] = entering;
+            basisRow[entering] = r;
+            basisRow[leaving] = -1;
+            if (etaCount == REFACTOR_INTERVAL) {
+                boolean kept = refactor();
+                computeReducedCosts();
+                // A singular basis was replaced by the artificial one, which needs its own bounds
+                if (!kept) chooseNonbasicBounds();
+                computePrimal();
+            } else {
+                etaRows[etaCount] = r;
+                System.arraycopy(column, 0, etaColumns[etaCount++], 0, rows);
+            }
+        }
+    }
+
+    // Basic variable furthest outside its bounds
+    private int chooseLeavingRow() {
+        int best = -1;
+        double worst = PRIMAL_TOLERANCE;
+        for (int i = 0; i < rows; i++) {
+            int j = basis[i];
+            double violation = Math.max(lower[j] - x[j], x[j] - upper[j]);
+            if (violation > worst) {
+                worst = violation;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Harris two-pass ratio test: the first pass finds the largest dual step that keeps every reduced
+     * cost within tolerance of feasible, the second picks the largest pivot among the candidates that
+     * step admits, which keeps pivots well away from zero on degenerate problems.
+     */
+    private int ratioTest(double[] rho, boolean toLower) {
+        double bound = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < x.length; j++) {
+            if (basisRow[j] >= 0) continue;
+            double alpha = j < structurals ? matrix.dotColumn(j, rho) : rho[j - structurals];
+            alphaRow[j] = alpha;
+            if (!isCandidate(j, alpha, toLower)) continue;
+            bound = Math.min(bound, (Math.abs(reducedCosts[j]) + DUAL_TOLERANCE) / Math.abs(alpha));
+        }
+        if (bound == Double.POSITIVE_INFINITY) return -1;
+
+        int entering = -1;
+        double largest = 0;
+        for (int j = 0; j < x.length; j++) {
+            if (basisRow[j] >= 0 || !isCandidate(j, alphaRow[j], toLower)) continue;
+            double alpha = Math.abs(alphaRow[j]);
+            if (Math.abs(reducedCosts[j]) / alpha <= bound && alpha > largest) {
+                largest = alpha;
+                entering = j;
+            }
+        }
+        return entering;
+    }
+
+    // Moving j off its bound must push the leaving variable back toward the violated bound
+    private boolean isCandidate(int j, double alpha, boolean toLower) {
+        if (lower[j] == upper[j] || Math.abs(alpha) < PIVOT_TOLERANCE) return false;
+        boolean increases = !atUpper[j];
+        return toLower == (increases ? alpha < 0 : alpha > 0);
+    }
+
+    // Each nonbasic variable at the bound its reduced cost favours, which makes the basis dual feasible
+    private void chooseNonbasicBounds() {
+        for (int j = 0; j < x.length; j++) {
+            if (basisRow[j] >= 0) continue;
+            if (lower[j] == upper[j]) atUpper[j] = false;
+            else if (reducedCosts[j] < -DUAL_TOLERANCE) atUpper[j] = true;
+            else if (reducedCosts[j] > DUAL_TOLERANCE) atUpper[j] = false;
+        }
+    }
+
+    private void computeReducedCosts() {
+        double[] y = new double[rows];
+        for (int i = 0; i < rows; i++) y[i] = cost[basis[i]];
+        btran(y);
+        for (int j = 0; j < x.length; j++) {
+            if (basisRow[j] >= 0) reducedCosts[j] = 0.0;
+            else reducedCosts[j] = cost[j] - (j < structurals ? matrix.dotColumn(j, y) : y[j - structurals]);
+        }
+    }
+
+    private void computePrimal() {
+        double[] rhs = new double[rows];
+        for (int j = 0; j < x.length; j++) {
+            if (basisRow[j] >= 0) continue;
+            x[j] = atUpper[j] ? upper[j] : lower[j];
+            if (x[j] == 0) continue;
+            if (j < structurals) matrix.addColumn(j, -x[j], rhs);
+            else rhs[j - structurals] -= x[j];
+        }
+        ftran(rhs);
+        for (int i = 0; i < rows; i++) x[basis[i]] = rhs[i];
+    }
+
+    private void loadColumn(int j, double[] into) {
+        if (j < structurals) matrix.addColumn(j, 1.0, into);
+        else into[j - structurals] = 1.0;
+    }
+
+    /**
+     * LU-factors the basis with partial pivoting, falling back to the artificial basis if it is
+     * singular. Returns false after such a fallback.
+     */
+    private boolean refactor() {
+        etaCount = 0;
+        factored = true;
+        for (double[] row : lu) Arrays.fill(row, 0.0);
+        double[] column = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            Arrays.fill(column, 0.0);
+            loadColumn(basis[i], column);
+            for (int k = 0; k < rows; k++) lu[k][i] = column[k];
+        }
+        for (int i = 0; i < rows; i++) permutation[i] = i;
+        for (int k = 0; k < rows; k++) {
+            int pivotRow = k;
+            for (int i = k + 1; i < rows; i++) {
+                if (Math.abs(lu[i][k]) > Math.abs(lu[pivotRow][k])) pivotRow = i;
+            }
+            if (Math.abs(lu[pivotRow][k]) < SINGULAR_TOLERANCE) {
+                resetBasis();
+                refactor();
+                return false;
+            }
+            if (pivotRow != k) {
+                double[] swap = lu[k];
+                lu[k] = lu[pivotRow];
+                lu[pivotRow] = swap;
+                int p = permutation[k];
+                permutation[k] = permutation[pivotRow];
+                permutation[pivotRow] = p;
+            }
+            double[] pivotRowValues = lu[k];
+            for (int i = k + 1; i < rows; i++) {
+                double[] row = lu[i];
+                if (row[k] == 0) continue;
+                double factor = row[k] /= pivotRowValues[k];
+                for (int c = k + 1; c < rows; c++) row[c] -= factor * pivotRowValues[c];
+            }
+        }
+        return true;
+    }
+
+    /** Solves {@code B z = v} in place. */
+    private void ftran(double[] v) {
+        double[] z = new double[rows];
+        for (int i = 0; i < rows; i++) z[i] = v[permutation[i]];
+        for (int i = 0; i < rows; i++) {
+            double[] row = lu[i];
+            double sum = z[i];
+            for (int k = 0; k < i; k++) sum -= row[k] * z[k];
+            z[i] = sum;
+        }
+        for (int i = rows - 1; i >= 0; i--) {
+            double[] row = lu[i];
+            double sum = z[i];
+            for (int k = i + 1; k < rows; k++) sum -= row[k] * z[k];
+            z[i] = sum / row[i];
+        }
+        for (int e = 0; e < etaCount; e++) {
+            int r = etaRows[e];
+            double[] eta = etaColumns[e];
+            double zr = z[r] / eta[r];
+            if (zr != 0) {
+                for (int i = 0; i < rows; i++) z[i] -= eta[i] * zr;
+            }
+            z[r] = zr;
+        }
+        System.arraycopy(z, 0, v, 0, rows);
+    }
+
+    /** Solves {@code B' z = v} in place. */
+    private void btran(double[] v) {
+        for (int e = etaCount - 1; e >= 0; e--) {
+            int r = etaRows[e];
+            double[] eta = etaColumns[e];
+            double sum = v[r];
+            for (int i = 0; i < rows; i++) {
+                if (i != r) sum -= eta[i] * v[i];
+            }
+            v[r] = sum / eta[r];
+        }
+        double[] w = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            double sum = v[i];
+            for (int k = 0; k < i; k++) sum -= lu[k][i] * w[k];
+            w[i] = sum / lu[i][i];
+        }
+        for (int i = rows - 1; i >= 0; i--) {
+            double sum = w[i];
+            for (int k = i + 1; k < rows; k++) sum -= lu[k][i] * w[k];
+            w[i] = sum;
+        }
+        for (int i = 0; i < rows; i++) v[permutation[i]] = w[i];
+    }
+}
@@ -0,0 +1,51 @@
+package biological.metabolism;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimal fluxes of one {@link FluxBalanceSolver#solve()} call, in mmol per gram dry weight per hour.
+ */
+public class FluxSolution {
+    public enum Status { OPTIMAL, INFEASIBLE, ITERATION_LIMIT }
+
+    private final MetabolicNetwork network;
+    private final Status status;
+    private final double objectiveValue;
+    private final double[] fluxes;
+    private final int iterations;
+
+    public FluxSolution(MetabolicNetwork network, Status status, double objectiveValue, double[] fluxes, int iterations) {
+        this.network = network;
+        this.status = status;
+        this.objectiveValue = objectiveValue;
+        this.fluxes = fluxes;
+        this.iterations = iterations;
+    }
+
+    public Status getStatus() { return status; }
+    public boolean isOptimal() { return status == Status.OPTIMAL; }
+    public double getObjectiveValue() { return objectiveValue; }
+    public int getIterations() { return iterations; }
+    public double[] getFluxes() { return fluxes.clone(); }
+    public double getFlux(int index) { return fluxes[index]; }
+
+    public double getFlux(String reactionId) {
+        int index = network.indexOf(reactionId);
+        if (index < 0) throw new IllegalArgumentException("Unknown reaction " + reactionId);
+        return fluxes[index];
+    }
+
+    public void printSummary(int limit) {
+        System.out.printf("FBA %s: growth %.4f /h in %d pivots%n", status, objectiveValue, iterations);
+        List<Integer> active = new ArrayList<>();
+        for (int j = 0; j < fluxes.length; j++) {
+            if (Math.abs(fluxes[j]) > 1e-6) active.add(j);
+        }
+        active.sort((a, b) -> Double.compare(Math.abs(fluxes[b]), Math.abs(fluxes[a])));
+        for (int k = 0; k < Math.min(limit, active.size()); k++) {
+            Reaction reaction = network.getReaction(active.get(k));
+            System.out.printf("  %-8s %9.3f  %s%n", reaction.getId(), fluxes[active.get(k)], reaction.getName());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package biological.metabolism;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Objective after each single-gene knockout, relative to the unperturbed network.
+ */
+public class GeneDeletionResult {
+    /** Knockouts leaving less than this fraction of wild-type growth count as essential. */
+    public static final double ESSENTIAL_FRACTION = 0.01;
+
+    private final List<String> genes;
+    private final double[] objectives;
+    private final double wildType;
+    private final long iterations;
+    private final long elapsedNanos;
+
+    public GeneDeletionResult(List<String> genes, double[] objectives, double wildType, long iterations, long elapsedNanos) {
+        this.genes = List.copyOf(genes);
+        this.objectives = objectives;
+        this.wildType = wildType;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<String> getGenes() { return genes; }
+    public double getObjective(int gene) { return objectives[gene]; }
+    public double getWildType() { return wildType; }
+    public long getIterations() { return iterations; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public List<String> getEssentialGenes() {
+        List<String> essential = new ArrayList<>();
+        for (int g = 0; g < genes.size(); g++) {
+            if (objectives[g] < ESSENTIAL_FRACTION * wildType) essential.add(genes.get(g));
+        }
+        return essential;
+    }
+
+    public double getSolvesPerSecond() {
+        return elapsedNanos > 0 ? (genes.size() + 1) / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    public void printSummary(int limit) {
+        List<String> essential = getEssentialGenes();
+        System.out.printf("Single-gene deletions: %d genes, %d essential, %.1f pivots/solve, %.0f solves/s%n",
+            genes.size(), essential.size(), genes.isEmpty() ? 0.0 : (double) iterations / genes.size(), getSolvesPerSecond());
+        if (!essential.isEmpty()) {
+            System.out.println("  Essential: " + String.join(", ", essential.subList(0, Math.min(limit, essential.size())))
+                + (essential.size() > limit ? ", ..." : ""));
+        }
+    }
+}
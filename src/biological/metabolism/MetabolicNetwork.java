@@ -0,0 +1,211 @@
+package biological.metabolism;
+
+import biological.components.Gene;
+import biological.components.GeneTable;
+import java.util.*;
+
+/**
+ * Metabolites, reactions and the sparse stoichiometric matrix linking them, one row per
+ * metabolite and one column per reaction. {@link #fromGenes} reconstructs a network from genome
+ * annotations: each catalog reaction whose enzyme appears in a gene product is included with those
+ * genes, and the missing enzymes needed for growth are gap filled. Gap filling starts from the whole
+ * catalog and drops unannotated reactions one at a time, keeping only those whose removal stops
+ * growth, so every gap-filled reaction is individually required.
+ */
+public class MetabolicNetwork {
+    /** Growth rate (per hour) below which a network is considered unable to grow. */
+    public static final double MIN_GROWTH = 0.01;
+
+    private final List<String> metabolites;
+    private final Map<String, Integer> metaboliteIndex;
+    private final List<Reaction> reactions;
+    private final Map<String, Integer> reactionIndex;
+    private final SparseMatrix stoichiometry;
+    private final Map<String, int[]> reactionsByGene;
+    private final int biomass;
+
+    public MetabolicNetwork(List<Reaction> reactions) {
+        this.reactions = List.copyOf(reactions);
+        this.metabolites = new ArrayList<>();
+        this.metaboliteIndex = new HashMap<>();
+        this.reactionIndex = new HashMap<>();
+        List<Map<Integer, Double>> columns = new ArrayList<>(reactions.size());
+        for (int j = 0; j < reactions.size(); j++) {
+            Reaction reaction = reactions.get(j);
+            if (reactionIndex.put(reaction.getId(), j) != null) {
+                throw new IllegalArgumentException("Duplicate reaction " + reaction.getId());
+            }
+            columns.add(parse(reaction.getEquation()));
+        }
+        SparseMatrix.Builder builder = new SparseMatrix.Builder(metabolites.size());
+        for (Map<Integer, Double> column : columns) {
+            for (Map.Entry<Integer, Double> entry : column.entrySet()) builder.add(entry.getKey(), entry.getValue());
+            builder.endColumn();
+        }
+        this.stoichiometry = builder.build();
+
+        Map<String, List<Integer>> byGene = new LinkedHashMap<>();
+        for (int j = 0; j < this.reactions.size(); j++) {
+            for (String gene : this.reactions.get(j).getGenes()) byGene.computeIfAbsent(gene, g -> new ArrayList<>()).add(j);
+        }
+        this.reactionsByGene = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : byGene.entrySet()) {
+            reactionsByGene.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        Integer biomassIndex = reactionIndex.get(ReactionCatalog.BIOMASS);
+        this.biomass = biomassIndex != null ? biomassIndex : -1;
+    }
+
+    /**
+     * Reconstructs the catalog network supported by the annotations of {@code genes}, gap filled for
+     * growth. Genes are identified by name; a name found at several loci gets a {@code #n} suffix
+     * per locus, in chromosome and position order, so each copy can be knocked out on its own.
+     */
+    public static MetabolicNetwork fromGenes(List<Gene> genes) {
+        GeneTable table = GeneTable.of(genes);
+        String[] geneIds = geneIds(table);
+        List<ReactionCatalog.Template> templates = ReactionCatalog.templates();
+        // Per template, the genes supplying each subunit, keyed by product for complexes
+        List<Map<String, Set<String>>> enzymeGenes = new ArrayList<>(templates.size());
+        for (int t = 0; t < templates.size(); t++) enzymeGenes.add(new LinkedHashMap<>());
+
+        // Products repeat heavily across a genome; match each distinct one once
+        int[][] matchesByFunction = new int[table.getDictionarySize()][];
+        for (int gene = 0; gene < table.size(); gene++) {
+            int function = table.getFunctionId(gene);
+            int[] matches = matchesByFunction[function];
+            if (matches == null) matches = matchesByFunction[function] = match(templates, table.getDictionaryEntry(function));
+            for (int t : matches) {
+                String subunit = templates.get(t).complex ? table.getDictionaryEntry(function).toLowerCase(Locale.ROOT).trim() : "";
+                enzymeGenes.get(t).computeIfAbsent(subunit, key -> new LinkedHashSet<>()).add(geneIds[gene]);
+            }
+        }
+
+        List<Reaction> candidates = new ArrayList<>(templates.size());
+        for (int t = 0; t < templates.size(); t++) {
+            ReactionCatalog.Template template = templates.get(t);
+            Reaction.Origin origin = template.origin == Reaction.Origin.GENOME && enzymeGenes.get(t).isEmpty()
+                ? Reaction.Origin.GAP_FILLED : template.origin;
+            List<List<String>> subunits = new ArrayList<>();
+            for (Set<String> subunit : enzymeGenes.get(t).values()) subunits.add(new ArrayList<>(subunit));
+            candidates.add(new Reaction(template.id, template.name, template.equation, origin,
+                                        template.lower, template.upper, subunits));
+        }
+        return gapFill(new MetabolicNetwork(candidates));
+    }
+
+    // Annotations often repeat a gene as gene, mRNA and CDS features; only copies at separate loci are numbered
+    private static String[] geneIds(GeneTable table) {
+        Map<Integer, List<Integer>> byName = new HashMap<>();
+        for (int gene = 0; gene < table.size(); gene++) byName.computeIfAbsent(table.getNameId(gene), n -> new ArrayList<>()).add(gene);
+        String[] ids = new String[table.size()];
+        for (List<Integer> copies : byName.values()) {
+            copies.sort(Comparator.comparing((Integer gene) -> table.getChromosome(gene), Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(gene -> start(table, gene)).thenComparingInt(Integer::intValue));
+            int[] locus = new int[copies.size()];
+            int loci = 0;
+            long end = Long.MIN_VALUE;
+            for (int i = 0; i < copies.size(); i++) {
+                int gene = copies.get(i);
+                boolean overlaps = i > 0 && Objects.equals(table.getChromosome(gene), table.getChromosome(copies.get(i - 1)))
+                    && start(table, gene) <= end;
+                if (!overlaps) {
+                    loci++;
+                    end = Long.MIN_VALUE;
+                }
+                locus[i] = loci;
+                end = Math.max(end, table.getRangeCount(gene) > 0 ? table.getEndBasePair(gene) : -1);
+            }
+            for (int i = 0; i < copies.size(); i++) {
+                int gene = copies.get(i);
+                ids[gene] = loci > 1 ? table.getName(gene) + "#" + locus[i] : table.getName(gene);
+            }
+        }
+        return ids;
+    }
+
+    private static int start(GeneTable table, int gene) {
+        return table.getRangeCount(gene) > 0 ? table.getStartBasePair(gene) : -1;
+    }
+
+    private static int[] match(List<ReactionCatalog.Template> templates, String function) {
+        int[] matches = new int[templates.size()];
+        int count = 0;
+        for (int t = 0; t < templates.size(); t++) {
+            if (templates.get(t).keywords.length > 0 && templates.get(t).matches(function)) matches[count++] = t;
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // Each trial removal is a warm-started re-solve of the same solver
+    private static MetabolicNetwork gapFill(MetabolicNetwork candidates) {
+        FluxBalanceSolver solver = new FluxBalanceSolver(candidates);
+        if (solver.solve().getObjectiveValue() < MIN_GROWTH) return candidates;
+        List<Reaction> kept = new ArrayList<>(candidates.reactions.size());
+        for (int j = 0; j < candidates.reactions.size(); j++) {
+            Reaction reaction = candidates.reactions.get(j);
+            if (reaction.getOrigin() == Reaction.Origin.GAP_FILLED) {
+                solver.setBounds(j, 0, 0);
+                if (solver.solve().getObjectiveValue() >= MIN_GROWTH) continue;
+                solver.setBounds(j, reaction.getLowerBound(), reaction.getUpperBound());
+            }
+            kept.add(reaction);
+        }
+        return new MetabolicNetwork(kept);
+    }
+
+    // "a + 2 b => c" or "<=>"; repeated metabolites are summed
+    private Map<Integer, Double> parse(String equation) {
+        String[] sides = equation.split("<=>|=>", -1);
+        if (sides.length != 2) throw new IllegalArgumentException("Malformed equation: " + equation);
+        Map<Integer, Double> column = new LinkedHashMap<>();
+        for (int side = 0; side < 2; side++) {
+            if (sides[side].isBlank()) continue;
+            for (String term : sides[side].trim().split("\\s+\\+\\s+")) {
+                String[] parts = term.trim().split("\\s+");
+                double coefficient = parts.length == 2 ? Double.parseDouble(parts[0]) : 1.0;
+                int row = metaboliteIndex.computeIfAbsent(parts[parts.length - 1], name -> {
+                    metabolites.add(name);
+                    return metabolites.size() - 1;
+                });
+                column.merge(row, side == 0 ? -coefficient : coefficient, Double::sum);
+            }
+        }
+        return column;
+    }
+
+    public List<String> getMetabolites() { return Collections.unmodifiableList(metabolites); }
+    public List<Reaction> getReactions() { return reactions; }
+    public SparseMatrix getStoichiometry() { return stoichiometry; }
+    public int getMetaboliteCount() { return metabolites.size(); }
+    public int getReactionCount() { return reactions.size(); }
+    public int getBiomassIndex() { return biomass; }
+    public Reaction getReaction(int index) { return reactions.get(index); }
+    public Set<String> getGenes() { return Collections.unmodifiableSet(reactionsByGene.keySet()); }
+
+    /** Column of {@code id}, or -1 if the network has no such reaction. */
+    public int indexOf(String id) {
+        Integer index = reactionIndex.get(id);
+        return index != null ? index : -1;
+    }
+
+    /** Reactions annotated with {@code gene}; empty for a gene with no metabolic role. */
+    public int[] getReactionsForGene(String gene) {
+        int[] indices = reactionsByGene.get(gene);
+        return indices != null ? indices.clone() : new int[0];
+    }
+
+    public int countReactions(Reaction.Origin origin) {
+        int count = 0;
+        for (Reaction reaction : reactions) {
+            if (reaction.getOrigin() == origin) count++;
+        }
+        return count;
+    }
+
+    public void printSummary() {
+        System.out.printf("Metabolic network: %d metabolites, %d reactions (%d from %d genes, %d gap filled), %d nonzeros%n",
+            getMetaboliteCount(), getReactionCount(), countReactions(Reaction.Origin.GENOME), reactionsByGene.size(),
+            countReactions(Reaction.Origin.GAP_FILLED), stoichiometry.getNonZeroCount());
+    }
+}
@@ -0,0 +1,72 @@
+package biological.metabolism;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One reaction of a {@link MetabolicNetwork}: its equation, default flux bounds and the genes
+ * annotated with its enzyme. The enzyme is a list of subunits, all of which are needed, and each
+ * subunit lists the genes that can supply it, any one of which suffices. Isozymes are one subunit
+ * with several genes; a complex is several subunits.
+ */
+public class Reaction {
+    /** Where a reaction came from: an annotated gene, gap filling, or no enzyme needed. */
+    public enum Origin { GENOME, GAP_FILLED, SPONTANEOUS, EXCHANGE, BIOMASS }
+
+    private final String id;
+    private final String name;
+    private final String equation;
+    private final Origin origin;
+    private final double lowerBound;
+    private final double upperBound;
+    private final List<List<String>> subunits;
+    private final List<String> genes;
+
+    public Reaction(String id, String name, String equation, Origin origin,
+                    double lowerBound, double upperBound, List<List<String>> subunits) {
+        if (lowerBound > upperBound) {
+            throw new IllegalArgumentException("Invalid bounds for " + id + ": " + lowerBound + " to " + upperBound);
+        }
+        this.id = id;
+        this.name = name;
+        this.equation = equation;
+        this.origin = origin;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        List<List<String>> copies = new ArrayList<>(subunits.size());
+        Set<String> all = new LinkedHashSet<>();
+        for (List<String> subunit : subunits) {
+            if (subunit.isEmpty()) throw new IllegalArgumentException("Subunit without genes in " + id);
+            copies.add(List.copyOf(subunit));
+            all.addAll(subunit);
+        }
+        this.subunits = List.copyOf(copies);
+        this.genes = List.copyOf(all);
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getEquation() { return equation; }
+    public Origin getOrigin() { return origin; }
+    public double getLowerBound() { return lowerBound; }
+    public double getUpperBound() { return upperBound; }
+    public List<List<String>> getSubunits() { return subunits; }
+    /** Every gene of every subunit, each once. */
+    public List<String> getGenes() { return genes; }
+    public boolean isReversible() { return lowerBound < 0 && upperBound > 0; }
+
+    /** Whether knocking out {@code gene} alone leaves some subunit with no gene to supply it. */
+    public boolean requires(String gene) {
+        for (List<String> subunit : subunits) {
+            if (subunit.stream().allMatch(gene::equals)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return id + ": " + equation;
+    }
+}
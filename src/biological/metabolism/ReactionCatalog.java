@@ -0,0 +1,180 @@
+package biological.metabolism;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Core carbon, energy and nitrogen metabolism as reaction templates, each with the product
+ * keywords that identify its enzyme in an annotation. The biomass reaction is the E. coli core
+ * biomass of Orth et al. (2010), without water and protons, which the network does not track.
+ * Fluxes are in mmol per gram dry weight per hour, so the biomass flux is a growth rate per hour.
+ */
+final class ReactionCatalog {
+    static final double BOUND = 1000.0;
+    static final String BIOMASS = "BIOMASS";
+
+    /**
+     * One catalog entry; {@code keywords} is empty for reactions that need no enzyme. The genes
+     * matching a complex's keywords are its subunits, one per distinct product; otherwise they are
+     * isozymes.
+     */
+    static final class Template {
+        final String id;
+        final String name;
+        final String equation;
+        final Reaction.Origin origin;
+        final double lower;
+        final double upper;
+        final String[] keywords;
+        final boolean complex;
+
+        Template(String id, String name, String equation, Reaction.Origin origin, double lower, double upper, String... keywords) {
+            this(id, name, equation, origin, lower, upper, false, keywords);
+        }
+
+        Template(String id, String name, String equation, Reaction.Origin origin, double lower, double upper,
+                 boolean complex, String... keywords) {
+            this.id = id;
+            this.name = name;
+            this.equation = equation;
+            this.origin = origin;
+            this.lower = lower;
+            this.upper = upper;
+            this.keywords = keywords;
+            this.complex = complex;
+        }
+
+        boolean matches(String function) {
+            String text = function.toLowerCase(Locale.ROOT);
+            for (String keyword : keywords) {
+                if (text.contains(keyword)) return true;
+            }
+            return false;
+        }
+    }
+
+    private static final List<Template> TEMPLATES = new ArrayList<>();
+
+    private ReactionCatalog() {}
+
+    static List<Template> templates() { return TEMPLATES; }
+
+    private static void enzyme(String id, String name, String equation, String... keywords) {
+        boolean reversible = equation.contains("<=>");
+        TEMPLATES.add(new Template(id, name, equation, Reaction.Origin.GENOME, reversible ? -BOUND : 0, BOUND, keywords));
+    }
+
+    private static void complex(String id, String name, String equation, String... keywords) {
+        boolean reversible = equation.contains("<=>");
+        TEMPLATES.add(new Template(id, name, equation, Reaction.Origin.GENOME, reversible ? -BOUND : 0, BOUND, true, keywords));
+    }
+
+    private static void spontaneous(String id, String name, String equation) {
+        boolean reversible = equation.contains("<=>");
+        TEMPLATES.add(new Template(id, name, equation, Reaction.Origin.SPONTANEOUS, reversible ? -BOUND : 0, BOUND));
+    }
+
+    // Negative flux is uptake from the medium
+    private static void exchange(String metabolite, double lower, double upper) {
+        TEMPLATES.add(new Template("EX_" + metabolite, metabolite + " exchange", metabolite + " <=>",
+                                   Reaction.Origin.EXCHANGE, lower, upper));
+    }
+
+    static {
+        // Photosynthesis and carbon fixation first, so gap filling drops them when sugar uptake suffices
+        complex("PHOTO", "linear photosynthetic electron flow", "8 photon + 2 nadp => 2 nadph + o2 + 12 pmf",
+               "photosystem");
+        enzyme("PRK", "phosphoribulokinase", "ru5p + atp => rubp + adp", "phosphoribulokinase");
+        complex("RBC", "ribulose-bisphosphate carboxylase", "rubp + co2 => 2 3pg",
+               "ribulose bisphosphate carboxylase", "ribulose-bisphosphate carboxylase", "ribulose-1,5-bisphosphate carboxylase", "rubisco");
+        enzyme("GAPDP", "glyceraldehyde-3-phosphate dehydrogenase (NADP)", "13dpg + nadph => g3p + nadp + pi",
+               "glyceraldehyde-3-phosphate dehydrogenase (nadp");
+        enzyme("FBP", "fructose-bisphosphatase", "fdp => f6p + pi", "fructose-1,6-bisphosphatase", "fructose-bisphosphatase",
+               "fructose 1,6-bisphosphatase");
+
+        // Glycolysis
+        enzyme("GLCt", "glucose transport", "glc_e + atp => glc + adp + pi",
+               "hexose transporter", "glucose transporter", "glucose permease", "sugar transporter");
+        enzyme("HEX", "hexokinase", "glc + atp => g6p + adp", "hexokinase", "glucokinase");
+        enzyme("PGI", "glucose-6-phosphate isomerase", "g6p <=> f6p", "glucose-6-phosphate isomerase", "phosphoglucose isomerase");
+        enzyme("PFK", "phosphofructokinase", "f6p + atp => fdp + adp", "phosphofructokinase");
+        enzyme("FBA", "fructose-bisphosphate aldolase", "fdp <=> g3p + dhap", "fructose-bisphosphate aldolase");
+        enzyme("TPI", "triose-phosphate isomerase", "dhap <=> g3p", "triose-phosphate isomerase", "triosephosphate isomerase");
+        enzyme("GAPD", "glyceraldehyde-3-phosphate dehydrogenase", "g3p + nad + pi <=> 13dpg + nadh",
+               "glyceraldehyde-3-phosphate dehydrogenase");
+        enzyme("PGK", "phosphoglycerate kinase", "13dpg + adp <=> 3pg + atp", "phosphoglycerate kinase");
+        enzyme("PGM", "phosphoglycerate mutase", "3pg <=> 2pg", "phosphoglycerate mutase");
+        enzyme("ENO", "enolase", "2pg <=> pep", "enolase", "phosphopyruvate hydratase");
+        enzyme("PYK", "pyruvate kinase", "pep + adp => pyr + atp", "pyruvate kinase");
+        complex("PDH", "pyruvate dehydrogenase", "pyr + coa + nad => accoa + co2 + nadh", "pyruvate dehydrogenase");
+
+        // Fermentation and acetate
+        enzyme("PDC", "pyruvate decarboxylase", "pyr => acald + co2", "pyruvate decarboxylase");
+        enzyme("ADH", "alcohol dehydrogenase", "acald + nadh <=> etoh + nad", "alcohol dehydrogenase");
+        enzyme("ALD", "aldehyde dehydrogenase", "acald + nadp => ac + nadph", "aldehyde dehydrogenase");
+        enzyme("ACS", "acetyl-CoA synthetase", "ac + 2 atp + coa => accoa + 2 adp + 2 pi", "acetate--coa ligase", "acetyl-coa synthetase");
+
+        // TCA cycle and anaplerosis
+        enzyme("CS", "citrate synthase", "accoa + oaa => cit + coa", "citrate synthase", "citrate (si)-synthase");
+        enzyme("ACONT", "aconitase", "cit <=> icit", "aconitase", "aconitate hydratase");
+        enzyme("ICDH", "isocitrate dehydrogenase", "icit + nad => akg + co2 + nadh", "isocitrate dehydrogenase");
+        complex("AKGDH", "2-oxoglutarate dehydrogenase", "akg + coa + nad => succoa + co2 + nadh",
+               "2-oxoglutarate dehydrogenase", "alpha-ketoglutarate dehydrogenase", "oxoglutarate dehydrogenase");
+        complex("SUCOAS", "succinyl-CoA synthetase", "succoa + adp + pi <=> succ + atp + coa",
+               "succinate--coa ligase", "succinyl-coa synthetase");
+        complex("SDH", "succinate dehydrogenase", "succ + q => fum + qh2", "succinate dehydrogenase");
+        enzyme("FUM", "fumarase", "fum <=> mal", "fumarase", "fumarate hydratase");
+        enzyme("MDH", "malate dehydrogenase", "mal + nad <=> oaa + nadh", "malate dehydrogenase");
+        enzyme("PYC", "pyruvate carboxylase", "pyr + co2 + atp => oaa + adp + pi", "pyruvate carboxylase");
+        enzyme("PPC", "phosphoenolpyruvate carboxylase", "pep + co2 => oaa + pi", "phosphoenolpyruvate carboxylase");
+        enzyme("PCK", "phosphoenolpyruvate carboxykinase", "oaa + atp => pep + co2 + adp", "phosphoenolpyruvate carboxykinase");
+
+        // Pentose phosphate pathway
+        enzyme("G6PDH", "glucose-6-phosphate dehydrogenase", "g6p + nadp => 6pgc + nadph",
+               "glucose-6-phosphate dehydrogenase", "glucose-6-phosphate 1-dehydrogenase");
+        enzyme("GND", "phosphogluconate dehydrogenase", "6pgc + nadp => ru5p + co2 + nadph", "phosphogluconate dehydrogenase");
+        enzyme("RPI", "ribose-5-phosphate isomerase", "ru5p <=> r5p", "ribose-5-phosphate isomerase");
+        enzyme("RPE", "ribulose-phosphate 3-epimerase", "ru5p <=> x5p", "ribulose-phosphate 3-epimerase", "ribulose-phosphate epimerase");
+        enzyme("TKT1", "transketolase", "r5p + x5p <=> g3p + s7p", "transketolase");
+        enzyme("TKT2", "transketolase", "e4p + x5p <=> f6p + g3p", "transketolase");
+        enzyme("TALA", "transaldolase", "g3p + s7p <=> e4p + f6p", "transaldolase");
+
+        // Respiration and ATP synthesis; pmf counts protons pumped across the membrane
+        complex("NDH", "NADH dehydrogenase", "nadh + q => nad + qh2 + 4 pmf",
+               "nadh dehydrogenase", "nadh-ubiquinone", "nadh:ubiquinone", "nad(p)h-quinone oxidoreductase");
+        complex("CYTO", "cytochrome oxidase", "2 qh2 + o2 => 2 q + 12 pmf",
+               "cytochrome c oxidase", "cytochrome bd", "cytochrome-c oxidase");
+        complex("ATPS", "ATP synthase", "adp + pi + 4 pmf => atp", "atp synthase");
+        complex("THD", "NAD(P) transhydrogenase", "nadph + nad <=> nadp + nadh", "transhydrogenase");
+
+        // Nitrogen assimilation
+        enzyme("NH4t", "ammonium transport", "nh4_e <=> nh4", "ammonium transporter", "ammonium permease", "ammonium channel");
+        enzyme("PIt", "phosphate transport", "pi_e + atp => 2 pi + adp", "phosphate transporter", "phosphate permease",
+               "phosphate abc transporter", "phosphate import");
+        enzyme("GDH", "glutamate dehydrogenase", "akg + nh4 + nadph <=> glu + nadp", "glutamate dehydrogenase");
+        enzyme("GLNS", "glutamine synthetase", "glu + nh4 + atp => gln + adp + pi", "glutamine synthetase", "glutamate--ammonia ligase");
+        complex("GLTS", "glutamate synthase", "akg + gln + nadph => 2 glu + nadp", "glutamate synthase");
+
+        spontaneous("CO2t", "CO2 diffusion", "co2_e <=> co2");
+        spontaneous("O2t", "O2 diffusion", "o2_e <=> o2");
+        spontaneous("ETOHt", "ethanol diffusion", "etoh <=> etoh_e");
+        spontaneous("ACt", "acetate diffusion", "ac <=> ac_e");
+        spontaneous("PHOTONt", "light absorption", "photon_e => photon");
+        TEMPLATES.add(new Template("ATPM", "non-growth maintenance", "atp => adp + pi", Reaction.Origin.SPONTANEOUS, 1.0, BOUND));
+
+        exchange("glc_e", -10, BOUND);
+        exchange("photon_e", -100, BOUND);
+        exchange("co2_e", -BOUND, BOUND);
+        exchange("o2_e", -BOUND, BOUND);
+        exchange("nh4_e", -BOUND, BOUND);
+        exchange("pi_e", -BOUND, BOUND);
+        exchange("etoh_e", 0, BOUND);
+        exchange("ac_e", 0, BOUND);
+
+        TEMPLATES.add(new Template(BIOMASS, "biomass", "1.496 3pg + 3.7478 accoa + 59.81 atp + 0.361 e4p + 0.0709 f6p"
+            + " + 0.129 g3p + 0.205 g6p + 0.2557 gln + 4.9414 glu + 3.547 nad + 13.0279 nadph + 1.7867 oaa"
+            + " + 0.5191 pep + 2.8328 pyr + 0.8977 r5p => 59.81 adp + 4.1182 akg + 3.7478 coa + 3.547 nadh"
+            + " + 13.0279 nadp + 59.81 pi", Reaction.Origin.BIOMASS, 0, BOUND));
+    }
+}
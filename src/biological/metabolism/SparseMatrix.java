@@ -0,0 +1,92 @@
+package biological.metabolism;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse matrix in compressed sparse column form. Stoichiometric matrices have a handful
+ * of entries per reaction column, so column access is all the solver needs.
+ */
+public final class SparseMatrix {
+    private final int rows;
+    private final int[] columnStarts;
+    private final int[] rowIndices;
+    private final double[] values;
+
+    private SparseMatrix(int rows, int[] columnStarts, int[] rowIndices, double[] values) {
+        this.rows = rows;
+        this.columnStarts = columnStarts;
+        this.rowIndices = rowIndices;
+        this.values = values;
+    }
+
+    public int getRowCount() { return rows; }
+    public int getColumnCount() { return columnStarts.length - 1; }
+    public int getNonZeroCount() { return columnStarts[columnStarts.length - 1]; }
+
+    public double get(int row, int column) {
+        for (int k = columnStarts[column]; k < columnStarts[column + 1]; k++) {
+            if (rowIndices[k] == row) return values[k];
+        }
+        return 0.0;
+    }
+
+    /** {@code A x} into {@code into}, which is overwritten. */
+    public void multiply(double[] x, double[] into) {
+        Arrays.fill(into, 0, rows, 0.0);
+        for (int j = 0; j < columnStarts.length - 1; j++) {
+            if (x[j] != 0) addColumn(j, x[j], into);
+        }
+    }
+
+    double dotColumn(int column, double[] vector) {
+        double sum = 0;
+        for (int k = columnStarts[column], end = columnStarts[column + 1]; k < end; k++) {
+            sum += values[k] * vector[rowIndices[k]];
+        }
+        return sum;
+    }
+
+    void addColumn(int column, double scale, double[] into) {
+        for (int k = columnStarts[column], end = columnStarts[column + 1]; k < end; k++) {
+            into[rowIndices[k]] += scale * values[k];
+        }
+    }
+
+    /**
+     * Appends columns one entry at a time; entries of a column may come in any row order.
+     */
+    static final class Builder {
+        private final int rows;
+        private int[] columnStarts = new int[17];
+        private int[] rowIndices = new int[64];
+        private double[] values = new double[64];
+        private int columns;
+        private int size;
+
+        Builder(int rows) {
+            this.rows = rows;
+        }
+
+        Builder add(int row, double value) {
+            if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("Row " + row + " of " + rows);
+            if (size == values.length) {
+                rowIndices = Arrays.copyOf(rowIndices, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            rowIndices[size] = row;
+            values[size++] = value;
+            return this;
+        }
+
+        Builder endColumn() {
+            if (columns + 2 > columnStarts.length) columnStarts = Arrays.copyOf(columnStarts, columnStarts.length * 2);
+            columnStarts[++columns] = size;
+            return this;
+        }
+
+        SparseMatrix build() {
+            return new SparseMatrix(rows, Arrays.copyOf(columnStarts, columns + 1),
+                                    Arrays.copyOf(rowIndices, size), Arrays.copyOf(values, size));
+        }
+    }
+}
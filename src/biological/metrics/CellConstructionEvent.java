@@ -0,0 +1,22 @@
+package biological.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("biological.CellConstruction")
+@Label("Cell Construction")
+@Category({"Simulation", "Cell"})
+@Description("CellFactory building one cell from its genes")
+public class CellConstructionEvent extends Event {
+    @Label("Cell Type")
+    public String cellType;
+
+    @Label("Strain")
+    public String strain;
+
+    @Label("Genes")
+    public int genes;
+}
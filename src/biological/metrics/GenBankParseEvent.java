@@ -0,0 +1,24 @@
+package biological.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("biological.GenBankParse")
+@Label("GenBank Parse")
+@Category({"Simulation", "Genome"})
+@Description("Scan of one GenBank file into genes")
+public class GenBankParseEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Genes")
+    public int genes;
+}
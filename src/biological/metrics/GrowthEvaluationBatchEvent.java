@@ -0,0 +1,23 @@
+package biological.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted per batch rather than per evaluation: a single growth-rate evaluation takes tens of
+ * nanoseconds, less than recording an event would.
+ */
+@Name("biological.GrowthEvaluationBatch")
+@Label("Growth Evaluation Batch")
+@Category({"Simulation", "Cell"})
+@Description("A batch of growth-rate evaluations in a sweep or sensitivity analysis")
+public class GrowthEvaluationBatchEvent extends Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Evaluations")
+    public long evaluations;
+}
@@ -0,0 +1,98 @@
+package biological.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counters and timers, cheap enough to leave on: recording is a striped
+ * {@link LongAdder} increment, and instrumented code looks its metrics up once and keeps them.
+ * {@link #snapshot()} copies every value for export.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /** The registry the simulation's own instrumentation records into. */
+    public static MetricsRegistry global() { return GLOBAL; }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        for (Counter counter : counters.values()) counterValues.put(counter.getName(), counter.get());
+        Map<String, MetricsSnapshot.TimerValue> timerValues = new TreeMap<>();
+        for (Timer timer : timers.values()) {
+            timerValues.put(timer.getName(), new MetricsSnapshot.TimerValue(
+                timer.getCount(), timer.getTotalNanos(), timer.getMaxNanos()));
+        }
+        return new MetricsSnapshot(counterValues, timerValues);
+    }
+
+    /** Zeroes every metric; metrics already handed out stay registered. */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+    }
+
+    /**
+     * Monotonic count, e.g. bytes parsed or evaluations performed.
+     */
+    public static class Counter {
+        private final String name;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String name) { this.name = name; }
+
+        public void increment() { value.increment(); }
+        public void add(long amount) { value.add(amount); }
+        public long get() { return value.sum(); }
+        public String getName() { return name; }
+
+        void reset() { value.reset(); }
+    }
+
+    /**
+     * Count, total and maximum duration of an operation.
+     */
+    public static class Timer {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Timer(String name) { this.name = name; }
+
+        public void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /** Records the time since {@code startNanos}, a value from {@link System#nanoTime()}. */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getTotalNanos() { return totalNanos.sum(); }
+        public long getMaxNanos() { return maxNanos.get(); }
+        public String getName() { return name; }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package biological.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of a {@link MetricsRegistry}, sorted by metric name.
+ */
+public class MetricsSnapshot {
+    private final Map<String, Long> counters;
+    private final Map<String, TimerValue> timers;
+
+    MetricsSnapshot(Map<String, Long> counters, Map<String, TimerValue> timers) {
+        this.counters = Collections.unmodifiableMap(counters);
+        this.timers = Collections.unmodifiableMap(timers);
+    }
+
+    public Map<String, Long> getCounters() { return counters; }
+    public Map<String, TimerValue> getTimers() { return timers; }
+
+    public void printSummary() {
+        System.out.println("=== METRICS ===");
+        for (Map.Entry<String, TimerValue> timer : timers.entrySet()) {
+            TimerValue value = timer.getValue();
+            System.out.printf("  %-32s %8d calls %10.2f ms total %8.3f ms mean %8.3f ms max%n", timer.getKey(),
+                value.getCount(), value.getTotalNanos() / 1e6, value.getMeanNanos() / 1e6, value.getMaxNanos() / 1e6);
+        }
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            System.out.printf("  %-32s %,d%n", counter.getKey(), counter.getValue());
+        }
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512).append("{\"counters\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(counter.getKey()).append("\":").append(counter.getValue());
+        }
+        json.append("},\"timers\":{");
+        first = true;
+        for (Map.Entry<String, TimerValue> timer : timers.entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            TimerValue value = timer.getValue();
+            json.append('"').append(timer.getKey()).append("\":{\"count\":").append(value.getCount())
+                .append(",\"totalNanos\":").append(value.getTotalNanos())
+                .append(",\"maxNanos\":").append(value.getMaxNanos()).append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Values of one timer at snapshot time.
+     */
+    public static class TimerValue {
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        TimerValue(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() { return count; }
+        public long getTotalNanos() { return totalNanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public double getMeanNanos() { return count > 0 ? (double) totalNanos / count : 0.0; }
+    }
+}
@@ -0,0 +1,22 @@
+package biological.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("biological.SensitivityRun")
+@Label("Sensitivity Run")
+@Category({"Simulation", "Analysis"})
+@Description("One local, Sobol or Morris sensitivity analysis")
+public class SensitivityRunEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Parameters")
+    public int parameters;
+
+    @Label("Model Evaluations")
+    public long evaluations;
+}
@@ -0,0 +1,22 @@
+package biological.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("biological.Validation")
+@Label("Validation")
+@Category({"Simulation", "Analysis"})
+@Description("Comparison of one cell against experimental data")
+public class ValidationEvent extends Event {
+    @Label("Strain")
+    public String strain;
+
+    @Label("Metrics")
+    public int metrics;
+
+    @Label("Valid")
+    public boolean valid;
+}
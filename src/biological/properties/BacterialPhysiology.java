@@ -1,5 +1,6 @@
 package biological.properties;
 
+import biological.components.NutrientVector;
 import biological.interfaces.Physiology;
 import java.util.*;
 
@@ -8,6 +9,7 @@ import java.util.*;
  */
 public class BacterialPhysiology implements Physiology {
     private final Map<String, Double> nutrientQuotas;
+    private final NutrientVector nutrientQuotaVector;
     
     public BacterialPhysiology() {
         nutrientQuotas = new HashMap<>();
@@ -15,6 +17,7 @@ public class BacterialPhysiology implements Physiology {
         nutrientQuotas.put("nitrogen", 0.12);
         nutrientQuotas.put("phosphorus", 0.03);
         nutrientQuotas.put("oxygen", 0.0);
+        nutrientQuotaVector = NutrientVector.fromMap(nutrientQuotas).freeze();
     }
     
     @Override
@@ -27,12 +30,23 @@ public class BacterialPhysiology implements Physiology {
     }
 
     private double maxGrowthRate = 2.0;
+    private volatile long version;
     @Override
     public double getMaxGrowthRate() {
         return maxGrowthRate;
     }
     public void setMaxGrowthRate(double maxGrowthRate) {
         this.maxGrowthRate = maxGrowthRate;
+        version++;
+    }
+    @Override
+    public long getVersion() { return version; }
+    @Override
+    public BacterialPhysiology withMaxGrowthRate(double maxGrowthRate) {
+        BacterialPhysiology copy = new BacterialPhysiology();
+        copy.nutrientQuotas.putAll(nutrientQuotas);
+        copy.maxGrowthRate = maxGrowthRate;
+        return copy;
     }
     
     @Override
@@ -48,11 +62,19 @@ public class BacterialPhysiology implements Physiology {
         return waste;
     }
     
+    @Override
+    public NutrientVector getNutrientRequirementVector() { return nutrientQuotaVector; }
+    
     @Override
     public boolean canUtilizeNutrient(String nutrient) {
         return nutrientQuotas.containsKey(nutrient);
     }
     
+    @Override
+    public boolean canUtilizeNutrient(int nutrientId) {
+        return nutrientQuotaVector.contains(nutrientId);
+    }
+    
     @Override
     public boolean canTolerateStress(String stressType) {
         return stressType.equals("heat") || stressType.equals("acid");
@@ -1,6 +1,8 @@
 package biological.properties;
 
+import biological.components.NutrientVector;
 import biological.interfaces.Physiology;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,7 +12,9 @@ import java.util.Map;
 public class EukaryoticPhysiology implements Physiology {
     private final Map<String, Double> nutrientQuotas;
     private final Map<String, Double> energyYields;
+    private final NutrientVector nutrientQuotaVector;
     private double maxGrowthRate; // ADDED: field to store growth rate
+    private volatile long version;
     
     public EukaryoticPhysiology() {
         this.maxGrowthRate = 0.5; // DEFAULT value
@@ -20,6 +24,7 @@ public class EukaryoticPhysiology implements Physiology {
         nutrientQuotas.put("nitrogen", 0.1);
         nutrientQuotas.put("phosphorus", 0.02);
         nutrientQuotas.put("carbon", 0.45);
+        nutrientQuotaVector = NutrientVector.fromMap(nutrientQuotas).freeze();
         
         energyYields = new HashMap<>();
         energyYields.put("glucose_glycolysis", 2.0);
@@ -30,6 +35,17 @@ public class EukaryoticPhysiology implements Physiology {
     // ADDED: Setter method for sensitivity analysis
     public void setMaxGrowthRate(double maxGrowthRate) {
         this.maxGrowthRate = maxGrowthRate;
+        version++;
+    }
+    @Override
+    public long getVersion() { return version; }
+    @Override
+    public EukaryoticPhysiology withMaxGrowthRate(double maxGrowthRate) {
+        EukaryoticPhysiology copy = new EukaryoticPhysiology();
+        copy.nutrientQuotas.putAll(nutrientQuotas);
+        copy.energyYields.putAll(energyYields);
+        copy.maxGrowthRate = maxGrowthRate;
+        return copy;
     }
     
     @Override
@@ -48,9 +64,12 @@ public class EukaryoticPhysiology implements Physiology {
     
     @Override
     public Map<String, Double> getNutrientRequirements() { 
-        return new HashMap<>(nutrientQuotas);
+        return Collections.unmodifiableMap(nutrientQuotas);
     }
     
+    @Override
+    public NutrientVector getNutrientRequirementVector() { return nutrientQuotaVector; }
+    
     @Override
     public Map<String, Double> getWasteProductionRates() {
         Map<String, Double> waste = new HashMap<>();
@@ -65,6 +84,11 @@ public class EukaryoticPhysiology implements Physiology {
         return nutrientQuotas.containsKey(nutrient);
     }
     
+    @Override
+    public boolean canUtilizeNutrient(int nutrientId) {
+        return nutrientQuotaVector.contains(nutrientId);
+    }
+    
     @Override
     public boolean canTolerateStress(String stressType) {
         return stressType.equals("osmotic") || stressType.equals("oxidative");
@@ -0,0 +1,26 @@
+package biological.sensitivity;
+
+import biological.cells.Cell;
+import biological.interfaces.Physiology;
+
+/**
+ * Parameter values gathered for one copy of a cell, so several {@link SensitivityParameter}s cost
+ * a single {@link Cell#withOverrides} call rather than one copy each.
+ */
+class CellOverrides {
+    private final Cell cell;
+    Physiology physiology;
+    double volumeMicron3;
+    double dryFraction;
+
+    CellOverrides(Cell cell) {
+        this.cell = cell;
+        this.physiology = cell.getPhysiology();
+        this.volumeMicron3 = cell.getVolumeMicron3();
+        this.dryFraction = cell.getDryFraction();
+    }
+
+    Cell apply() {
+        return cell.withOverrides(physiology, volumeMicron3, dryFraction);
+    }
+}
@@ -0,0 +1,334 @@
+package biological.sensitivity;
+
+import biological.cells.Cell;
+import biological.metrics.GrowthEvaluationBatchEvent;
+import biological.metrics.MetricsRegistry;
+import biological.metrics.SensitivityRunEvent;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Variance-based (Sobol) and screening (Morris) sensitivity over a box of parameter values.
+ * Each parameter ranges over its value in the analyzed cell times {@code 1 ± relativeRange}.
+ * Samples are evaluated in fixed-size batches across a fork-join pool. Each batch reduces its
+ * model outputs to a few running sums before returning, and batches are merged in index order,
+ * so memory does not grow with the sample count and results do not depend on the thread count.
+ */
+public class GlobalSensitivityAnalyzer {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    private static final int MORRIS_LEVELS = 4;
+    private static final MetricsRegistry.Timer SOBOL_TIMER = MetricsRegistry.global().timer("sensitivity.sobol");
+    private static final MetricsRegistry.Timer MORRIS_TIMER = MetricsRegistry.global().timer("sensitivity.morris");
+    private static final MetricsRegistry.Counter EVALUATIONS = MetricsRegistry.global().counter("sensitivity.evaluations");
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final ToDoubleFunction<Cell> output;
+
+    public GlobalSensitivityAnalyzer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE, Cell::getGrowthRate);
+    }
+
+    public GlobalSensitivityAnalyzer(ForkJoinPool pool, int batchSize, ToDoubleFunction<Cell> output) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.output = output;
+    }
+
+    /**
+     * First-order and total-order Sobol indices from {@code samples} Saltelli base samples, i.e.
+     * {@code samples * (k + 2)} model evaluations for k parameters. First-order indices use the
+     * Saltelli (2010) estimator and total-order indices Jansen's.
+     */
+    public SobolResult sobol(Cell cell, List<SensitivityParameter> parameters, double relativeRange, int samples) {
+        int k = parameters.size();
+        if (2 * k > SobolSequence.MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("At most " + SobolSequence.MAX_DIMENSIONS / 2 + " parameters are supported: " + k);
+        }
+        if (samples < 2) throw new IllegalArgumentException("samples must be at least 2: " + samples);
+        ParameterBox box = new ParameterBox(cell, parameters, relativeRange);
+        SobolSequence sequence = new SobolSequence(2 * k);
+        SensitivityRunEvent event = new SensitivityRunEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int batches = (samples + batchSize - 1) / batchSize;
+        SaltelliSums[] partial = new SaltelliSums[batches];
+        pool.submit(() -> IntStream.range(0, batches).parallel().forEach(b -> {
+            int from = b * batchSize;
+            partial[b] = sobolBatch(box, sequence, from, Math.min(from + batchSize, samples));
+        })).join();
+
+        SaltelliSums total = new SaltelliSums(k);
+        for (SaltelliSums sums : partial) total.merge(sums);
+        long evaluations = (long) samples * (k + 2);
+        long elapsed = System.nanoTime() - start;
+        SOBOL_TIMER.record(elapsed);
+        commit(event, "sobol", k, evaluations);
+        return total.toResult(parameters, evaluations, elapsed);
+    }
+
+    private SaltelliSums sobolBatch(ParameterBox box, SobolSequence sequence, int from, int to) {
+        GrowthEvaluationBatchEvent event = new GrowthEvaluationBatchEvent();
+        event.begin();
+        int k = box.size();
+        double[] point = new double[2 * k];
+        double[] a = new double[k];
+        double[] b = new double[k];
+        double[] mixed = new double[k];
+        SaltelliSums sums = new SaltelliSums(k);
+        for (int j = from; j < to; j++) {
+            sequence.point(j + 1L, point); // Index 0 is the origin, skip it
+            System.arraycopy(point, 0, a, 0, k);
+            System.arraycopy(point, k, b, 0, k);
+            double fA = evaluate(box, a);
+            double fB = evaluate(box, b);
+            sums.addBase(fA, fB);
+            for (int i = 0; i < k; i++) {
+                System.arraycopy(a, 0, mixed, 0, k);
+                mixed[i] = b[i];
+                sums.addMixed(i, fA, fB, evaluate(box, mixed));
+            }
+        }
+        commitBatch(event, "sobol", (long) (to - from) * (k + 2));
+        return sums;
+    }
+
+    /**
+     * Morris elementary effects from {@code trajectories} one-at-a-time trajectories on a
+     * {@value #MORRIS_LEVELS}-level grid, i.e. {@code trajectories * (k + 1)} model evaluations.
+     */
+    public MorrisResult morris(Cell cell, List<SensitivityParameter> parameters, double relativeRange,
+                               int trajectories, long seed) {
+        if (trajectories < 2) throw new IllegalArgumentException("trajectories must be at least 2: " + trajectories);
+        ParameterBox box = new ParameterBox(cell, parameters, relativeRange);
+        int k = box.size();
+        SensitivityRunEvent event = new SensitivityRunEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        // One generator per batch, split up front so the result does not depend on scheduling
+        int batches = (trajectories + batchSize - 1) / batchSize;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[batches];
+        for (int b = 0; b < batches; b++) generators[b] = root.split();
+
+        EffectSums[] partial = new EffectSums[batches];
+        pool.submit(() -> IntStream.range(0, batches).parallel().forEach(b -> {
+            int from = b * batchSize;
+            partial[b] = morrisBatch(box, generators[b], Math.min(from + batchSize, trajectories) - from);
+        })).join();
+
+        EffectSums total = new EffectSums(k);
+        for (EffectSums sums : partial) total.merge(sums);
+        long evaluations = (long) trajectories * (k + 1);
+        long elapsed = System.nanoTime() - start;
+        MORRIS_TIMER.record(elapsed);
+        commit(event, "morris", k, evaluations);
+        return total.toResult(parameters, evaluations, elapsed);
+    }
+
+    private EffectSums morrisBatch(ParameterBox box, SplittableRandom random, int count) {
+        GrowthEvaluationBatchEvent event = new GrowthEvaluationBatchEvent();
+        event.begin();
+        int k = box.size();
+        double delta = MORRIS_LEVELS / (2.0 * (MORRIS_LEVELS - 1));
+        double[] x = new double[k];
+        int[] order = new int[k];
+        EffectSums sums = new EffectSums(k);
+        for (int t = 0; t < count; t++) {
+            for (int i = 0; i < k; i++) {
+                // Base levels from which a step of +delta stays inside the unit interval
+                x[i] = random.nextInt(MORRIS_LEVELS / 2) / (double) (MORRIS_LEVELS - 1);
+                order[i] = i;
+            }
+            for (int i = k - 1; i > 0; i--) {
+                int swap = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[swap];
+                order[swap] = tmp;
+            }
+            double previous = evaluate(box, x);
+            for (int step = 0; step < k; step++) {
+                int i = order[step];
+                x[i] += delta;
+                double current = evaluate(box, x);
+                sums.add(i, (current - previous) / delta);
+                previous = current;
+            }
+        }
+        commitBatch(event, "morris", (long) count * (k + 1));
+        return sums;
+    }
+
+    private static void commit(SensitivityRunEvent event, String method, int parameters, long evaluations) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.parameters = parameters;
+            event.evaluations = evaluations;
+            event.commit();
+        }
+    }
+
+    private static void commitBatch(GrowthEvaluationBatchEvent event, String source, long evaluations) {
+        EVALUATIONS.add(evaluations);
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.evaluations = evaluations;
+            event.commit();
+        }
+    }
+
+    // All k values go into one overlay copy of the cell, not a chain of k copies
+    private double evaluate(ParameterBox box, double[] unitPoint) {
+        CellOverrides overrides = new CellOverrides(box.cell);
+        for (int i = 0; i < box.size(); i++) {
+            box.parameters[i].set(overrides, box.valueAt(i, unitPoint[i]));
+        }
+        return output.applyAsDouble(overrides.apply());
+    }
+
+    /**
+     * Maps points of the unit cube to parameter values around a cell's nominal values.
+     */
+    private static class ParameterBox {
+        final Cell cell;
+        final SensitivityParameter[] parameters;
+        final double[] low;
+        final double[] width;
+
+        ParameterBox(Cell cell, List<SensitivityParameter> parameters, double relativeRange) {
+            if (parameters.isEmpty()) throw new IllegalArgumentException("No parameters to analyze");
+            if (relativeRange <= 0 || relativeRange >= 1) {
+                throw new IllegalArgumentException("relativeRange must be between 0 and 1: " + relativeRange);
+            }
+            this.cell = cell;
+            this.parameters = parameters.toArray(new SensitivityParameter[0]);
+            this.low = new double[this.parameters.length];
+            this.width = new double[this.parameters.length];
+            for (int i = 0; i < this.parameters.length; i++) {
+                double nominal = this.parameters[i].getValue(cell);
+                low[i] = nominal * (1 - relativeRange);
+                width[i] = nominal * 2 * relativeRange;
+            }
+        }
+
+        int size() { return parameters.length; }
+        double valueAt(int parameter, double unit) { return low[parameter] + unit * width[parameter]; }
+    }
+
+    /**
+     * Running sums for the Saltelli estimators. Output variance is tracked with Welford's method
+     * over both base matrices and merged with Chan's formula.
+     */
+    private static class SaltelliSums {
+        long n;
+        long count; // Values seen by the variance accumulator, two per base sample
+        double mean;
+        double m2;
+        final double[] firstOrder;
+        final double[] totalOrder;
+
+        SaltelliSums(int k) {
+            firstOrder = new double[k];
+            totalOrder = new double[k];
+        }
+
+        void addBase(double fA, double fB) {
+            n++;
+            addVariance(fA);
+            addVariance(fB);
+        }
+
+        private void addVariance(double value) {
+            count++;
+            double d = value - mean;
+            mean += d / count;
+            m2 += d * (value - mean);
+        }
+
+        void addMixed(int i, double fA, double fB, double fAB) {
+            firstOrder[i] += fB * (fAB - fA);
+            totalOrder[i] += (fA - fAB) * (fA - fAB);
+        }
+
+        void merge(SaltelliSums other) {
+            if (other.count == 0) return;
+            long combined = count + other.count;
+            double d = other.mean - mean;
+            m2 += other.m2 + d * d * count * other.count / combined;
+            mean += d * other.count / combined;
+            count = combined;
+            n += other.n;
+            for (int i = 0; i < firstOrder.length; i++) {
+                firstOrder[i] += other.firstOrder[i];
+                totalOrder[i] += other.totalOrder[i];
+            }
+        }
+
+        SobolResult toResult(List<SensitivityParameter> parameters, long evaluations, long elapsedNanos) {
+            double variance = count > 1 ? m2 / (count - 1) : 0.0;
+            double[] first = new double[firstOrder.length];
+            double[] total = new double[totalOrder.length];
+            for (int i = 0; i < first.length; i++) {
+                first[i] = variance > 0 ? firstOrder[i] / n / variance : 0.0;
+                total[i] = variance > 0 ? totalOrder[i] / (2.0 * n) / variance : 0.0;
+            }
+            return new SobolResult(parameters, first, total, variance, n, evaluations, elapsedNanos);
+        }
+    }
+
+    /**
+     * Per-parameter running mean, absolute mean and variance of elementary effects.
+     */
+    private static class EffectSums {
+        final long[] count;
+        final double[] mean;
+        final double[] absoluteSum;
+        final double[] m2;
+
+        EffectSums(int k) {
+            count = new long[k];
+            mean = new double[k];
+            absoluteSum = new double[k];
+            m2 = new double[k];
+        }
+
+        void add(int i, double effect) {
+            count[i]++;
+            double d = effect - mean[i];
+            mean[i] += d / count[i];
+            m2[i] += d * (effect - mean[i]);
+            absoluteSum[i] += Math.abs(effect);
+        }
+
+        void merge(EffectSums other) {
+            for (int i = 0; i < count.length; i++) {
+                if (other.count[i] == 0) continue;
+                long combined = count[i] + other.count[i];
+                double d = other.mean[i] - mean[i];
+                m2[i] += other.m2[i] + d * d * count[i] * other.count[i] / combined;
+                mean[i] += d * other.count[i] / combined;
+                count[i] = combined;
+                absoluteSum[i] += other.absoluteSum[i];
+            }
+        }
+
+        MorrisResult toResult(List<SensitivityParameter> parameters, long evaluations, long elapsedNanos) {
+            int k = count.length;
+            double[] muStar = new double[k];
+            double[] sigma = new double[k];
+            for (int i = 0; i < k; i++) {
+                muStar[i] = count[i] > 0 ? absoluteSum[i] / count[i] : 0.0;
+                sigma[i] = count[i] > 1 ? Math.sqrt(m2[i] / (count[i] - 1)) : 0.0;
+            }
+            return new MorrisResult(parameters, muStar, mean.clone(), sigma, evaluations, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package biological.sensitivity;
+
+import java.util.List;
+
+/**
+ * Morris elementary-effect statistics: mean absolute effect (mu*), mean effect (mu) and
+ * standard deviation (sigma), which flags non-linearity or interactions.
+ */
+public class MorrisResult {
+    private final List<SensitivityParameter> parameters;
+    private final double[] meanAbsoluteEffect;
+    private final double[] meanEffect;
+    private final double[] effectStandardDeviation;
+    private final long evaluations;
+    private final long elapsedNanos;
+
+    public MorrisResult(List<SensitivityParameter> parameters, double[] meanAbsoluteEffect, double[] meanEffect,
+                        double[] effectStandardDeviation, long evaluations, long elapsedNanos) {
+        this.parameters = List.copyOf(parameters);
+        this.meanAbsoluteEffect = meanAbsoluteEffect.clone();
+        this.meanEffect = meanEffect.clone();
+        this.effectStandardDeviation = effectStandardDeviation.clone();
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<SensitivityParameter> getParameters() { return parameters; }
+    public double getMeanAbsoluteEffect(SensitivityParameter parameter) { return meanAbsoluteEffect[indexOf(parameter)]; }
+    public double getMeanEffect(SensitivityParameter parameter) { return meanEffect[indexOf(parameter)]; }
+    public double getEffectStandardDeviation(SensitivityParameter parameter) { return effectStandardDeviation[indexOf(parameter)]; }
+    public long getEvaluations() { return evaluations; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    private int indexOf(SensitivityParameter parameter) {
+        int index = parameters.indexOf(parameter);
+        if (index < 0) throw new IllegalArgumentException("Parameter was not analyzed: " + parameter.getName());
+        return index;
+    }
+
+    public void printResults() {
+        System.out.println("=== MORRIS SCREENING ===");
+        System.out.printf("%,d evaluations in %.1f ms%n", evaluations, elapsedNanos / 1e6);
+        System.out.printf("  %-20s %8s %8s %8s%n", "parameter", "mu*", "mu", "sigma");
+        for (int i = 0; i < meanEffect.length; i++) {
+            System.out.printf("  %-20s %8.4f %8.4f %8.4f%n", parameters.get(i).getName(),
+                meanAbsoluteEffect[i], meanEffect[i], effectStandardDeviation[i]);
+        }
+    }
+}
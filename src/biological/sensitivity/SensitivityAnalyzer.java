@@ -1,80 +1,75 @@
 package biological.sensitivity;
 
 import biological.cells.Cell;
-import biological.cells.MED4Strain;
-import biological.properties.BacterialPhysiology;
-import biological.properties.EukaryoticPhysiology;
+import biological.metrics.MetricsRegistry;
+import biological.metrics.SensitivityRunEvent;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
- * Analyzes sensitivity of model outputs to parameter changes
+ * Analyzes sensitivity of model outputs to parameter changes.
+ * Every perturbation is evaluated on its own overlay copy of the cell, so the analyzed cell is
+ * never modified and all perturbations of all parameters can run in parallel.
  */
 public class SensitivityAnalyzer {
+    private static final double PERTURBATION = 0.1; // 10% change
+    private static final MetricsRegistry.Timer RUN_TIMER = MetricsRegistry.global().timer("sensitivity.local");
     
     public SensitivityResult analyzeCell(Cell cell, List<String> parametersToTest) {
+        return analyzeCell(cell, parametersToTest, ForkJoinPool.commonPool());
+    }
+    
+    public SensitivityResult analyzeCell(Cell cell, List<String> parametersToTest, ForkJoinPool pool) {
+        SensitivityRunEvent event = new SensitivityRunEvent();
+        event.begin();
+        long start = System.nanoTime();
         SensitivityResult result = new SensitivityResult();
         
         double baseGrowthRate = cell.getGrowthRate();
-        
-        for (String param : parametersToTest) {
-            double sensitivity = analyzeParameterSensitivity(cell, param, baseGrowthRate);
-            result.addSensitivity(param, sensitivity);
+        int count = parametersToTest.size();
+        SensitivityParameter[] parameters = new SensitivityParameter[count];
+        double[] originalValues = new double[count];
+        for (int p = 0; p < count; p++) {
+            parameters[p] = SensitivityParameter.fromName(parametersToTest.get(p));
+            originalValues[p] = parameters[p] != null ? parameters[p].getValue(cell) : 0.0;
         }
         
-        return result;
-    }
-    
-    private double analyzeParameterSensitivity(Cell cell, String parameter, double baseOutput) {
-        double perturbation = 0.1; // 10% change
-        double originalValue = getParameterValue(cell, parameter);
-        
-        if (originalValue == 0.0) return 0.0; // Skip zero parameters
-        
-        setParameterValue(cell, parameter, originalValue * (1 + perturbation));
-        double positiveOutput = cell.getGrowthRate();
-        
-        setParameterValue(cell, parameter, originalValue * (1 - perturbation));
-        double negativeOutput = cell.getGrowthRate();
+        // Even slots hold the +10% output and odd slots the -10% output of each parameter
+        double[] outputs = pool.submit(() -> IntStream.range(0, 2 * count).parallel()
+            .mapToDouble(i -> perturbedOutput(cell, parameters[i / 2], originalValues[i / 2],
+                                              i % 2 == 0 ? 1 + PERTURBATION : 1 - PERTURBATION, baseGrowthRate))
+            .toArray()).join();
         
-        setParameterValue(cell, parameter, originalValue); // Restore original
-        
-        double positiveSensitivity = Math.abs((positiveOutput - baseOutput) / baseOutput) / perturbation;
-        double negativeSensitivity = Math.abs((baseOutput - negativeOutput) / baseOutput) / perturbation;
+        for (int p = 0; p < count; p++) {
+            double sensitivity = 0.0; // Unknown and zero-valued parameters are skipped
+            if (parameters[p] != null && originalValues[p] != 0.0) {
+                double positiveSensitivity = Math.abs((outputs[2 * p] - baseGrowthRate) / baseGrowthRate) / PERTURBATION;
+                double negativeSensitivity = Math.abs((baseGrowthRate - outputs[2 * p + 1]) / baseGrowthRate) / PERTURBATION;
+                sensitivity = (positiveSensitivity + negativeSensitivity) / 2;
+            }
+            result.addSensitivity(parametersToTest.get(p), sensitivity);
+        }
         
-        return (positiveSensitivity + negativeSensitivity) / 2;
-    }
-    
-    private double getParameterValue(Cell cell, String parameter) {
-        return switch (parameter) {
-            case "max_growth_rate" -> cell.getPhysiology().getMaxGrowthRate();
-            case "dry_fraction" -> cell.getDryFraction();
-            case "volume" -> cell.getVolumeMicron3();
-            default -> 0.0;
-        };
+        RUN_TIMER.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = "local";
+            event.parameters = count;
+            event.evaluations = 2L * count;
+            event.commit();
+        }
+        return result;
     }
     
-    private void setParameterValue(Cell cell, String parameter, double value) {
+    private double perturbedOutput(Cell cell, SensitivityParameter parameter, double originalValue,
+                                   double scale, double baseOutput) {
+        if (parameter == null || originalValue == 0.0) return baseOutput;
         try {
-            switch (parameter) {
-                case "max_growth_rate" -> {
-                    if (cell.getPhysiology() instanceof BacterialPhysiology bacterialPhysiology) {
-                        bacterialPhysiology.setMaxGrowthRate(value);
-                    } else if (cell.getPhysiology() instanceof EukaryoticPhysiology eukaryoticPhysiology) {
-                        eukaryoticPhysiology.setMaxGrowthRate(value);
-                    } else if (cell.getPhysiology() instanceof MED4Strain.MED4Physiology mED4Physiology) {
-                        mED4Physiology.setMaxGrowthRate(value);
-                    }
-                }
-                    
-                case "dry_fraction" -> cell.setDryFraction(value);
-                    
-                case "volume" -> {
-                }
-            }
-            // Volume modification would require more complex changes to all components
-            // For now, we'll skip this parameter
-                    } catch (Exception e) {
-            System.err.println("Error setting parameter " + parameter + ": " + e.getMessage());
+            return parameter.withValue(cell, originalValue * scale).getGrowthRate();
+        } catch (RuntimeException e) {
+            System.err.println("Error setting parameter " + parameter.getName() + ": " + e.getMessage());
+            return baseOutput;
         }
     }
 }
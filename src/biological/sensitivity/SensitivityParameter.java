@@ -0,0 +1,58 @@
+package biological.sensitivity;
+
+import biological.cells.Cell;
+
+/**
+ * Cell parameters the sensitivity analysis can perturb, each applied through an overlay copy of
+ * the cell so the original is never modified.
+ */
+public enum SensitivityParameter {
+    MAX_GROWTH_RATE("max_growth_rate") {
+        @Override public double getValue(Cell cell) { return cell.getPhysiology().getMaxGrowthRate(); }
+
+        @Override void set(CellOverrides overrides, double value) {
+            overrides.physiology = overrides.physiology.withMaxGrowthRate(value);
+        }
+    },
+    DRY_FRACTION("dry_fraction") {
+        @Override public double getValue(Cell cell) { return cell.getDryFraction(); }
+
+        @Override void set(CellOverrides overrides, double value) {
+            overrides.dryFraction = value;
+        }
+    },
+    VOLUME("volume") {
+        @Override public double getValue(Cell cell) { return cell.getVolumeMicron3(); }
+
+        @Override void set(CellOverrides overrides, double value) {
+            overrides.volumeMicron3 = value;
+        }
+    };
+
+    private final String name;
+
+    SensitivityParameter(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public abstract double getValue(Cell cell);
+
+    /** Copy of {@code cell} with this parameter set to {@code value}. */
+    public Cell withValue(Cell cell, double value) {
+        CellOverrides overrides = new CellOverrides(cell);
+        set(overrides, value);
+        return overrides.apply();
+    }
+
+    abstract void set(CellOverrides overrides, double value);
+
+    /** The parameter with the given name, or null if there is none. */
+    public static SensitivityParameter fromName(String name) {
+        for (SensitivityParameter parameter : values()) {
+            if (parameter.name.equals(name)) return parameter;
+        }
+        return null;
+    }
+}
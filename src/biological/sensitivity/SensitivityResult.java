@@ -1,7 +1,7 @@
 package biological.sensitivity;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -9,36 +9,32 @@ import java.util.Map;
  * Results of sensitivity analysis
  */
 public class SensitivityResult {
+    private static final int TOP_COUNT = 5;
+    
     private final Map<String, Double> sensitivities;
-    private final List<String> mostSensitiveParameters;
     
     public SensitivityResult() {
-        this.sensitivities = new HashMap<>();
-        this.mostSensitiveParameters = new ArrayList<>();
+        // Insertion order keeps ties in the order the parameters were analyzed
+        this.sensitivities = new LinkedHashMap<>();
     }
     
     public void addSensitivity(String parameter, double sensitivity) {
         sensitivities.put(parameter, sensitivity);
-        updateMostSensitive(parameter, sensitivity);
     }
     
-    private void updateMostSensitive(String parameter, double sensitivity) {
-        mostSensitiveParameters.add(parameter);
-        mostSensitiveParameters.sort((p1, p2) -> 
-            Double.compare(sensitivities.get(p2), sensitivities.get(p1)));
-        
-        if (mostSensitiveParameters.size() > 5) {
-            mostSensitiveParameters.subList(5, mostSensitiveParameters.size()).clear();
-        }
+    /** The five largest sensitivities, ranked when asked for rather than on every add. */
+    public List<String> getMostSensitiveParameters() {
+        List<String> ranked = new ArrayList<>(sensitivities.keySet());
+        ranked.sort((p1, p2) -> Double.compare(sensitivities.get(p2), sensitivities.get(p1)));
+        return ranked.size() > TOP_COUNT ? new ArrayList<>(ranked.subList(0, TOP_COUNT)) : ranked;
     }
     
-    public List<String> getMostSensitiveParameters() { return mostSensitiveParameters; }
     public Map<String, Double> getAllSensitivities() { return sensitivities; }
     
     public void printResults() {
         System.out.println("=== SENSITIVITY ANALYSIS ===");
         System.out.println("Most sensitive parameters:");
-        for (String param : mostSensitiveParameters) {
+        for (String param : getMostSensitiveParameters()) {
             System.out.printf("  %s: %.3f%n", param, sensitivities.get(param));
         }
     }
@@ -0,0 +1,51 @@
+package biological.sensitivity;
+
+import java.util.List;
+
+/**
+ * First-order and total-order Sobol indices of one output over a set of parameters.
+ */
+public class SobolResult {
+    private final List<SensitivityParameter> parameters;
+    private final double[] firstOrder;
+    private final double[] totalOrder;
+    private final double outputVariance;
+    private final long samples;
+    private final long evaluations;
+    private final long elapsedNanos;
+
+    public SobolResult(List<SensitivityParameter> parameters, double[] firstOrder, double[] totalOrder,
+                       double outputVariance, long samples, long evaluations, long elapsedNanos) {
+        this.parameters = List.copyOf(parameters);
+        this.firstOrder = firstOrder.clone();
+        this.totalOrder = totalOrder.clone();
+        this.outputVariance = outputVariance;
+        this.samples = samples;
+        this.evaluations = evaluations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<SensitivityParameter> getParameters() { return parameters; }
+    public double getFirstOrder(SensitivityParameter parameter) { return firstOrder[indexOf(parameter)]; }
+    public double getTotalOrder(SensitivityParameter parameter) { return totalOrder[indexOf(parameter)]; }
+    public double getOutputVariance() { return outputVariance; }
+    public long getSamples() { return samples; }
+    public long getEvaluations() { return evaluations; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    private int indexOf(SensitivityParameter parameter) {
+        int index = parameters.indexOf(parameter);
+        if (index < 0) throw new IllegalArgumentException("Parameter was not analyzed: " + parameter.getName());
+        return index;
+    }
+
+    public void printResults() {
+        System.out.println("=== SOBOL INDICES ===");
+        System.out.printf("%,d samples, %,d evaluations in %.1f ms, output variance %.4g%n",
+            samples, evaluations, elapsedNanos / 1e6, outputVariance);
+        System.out.printf("  %-20s %8s %8s%n", "parameter", "S1", "ST");
+        for (int i = 0; i < firstOrder.length; i++) {
+            System.out.printf("  %-20s %8.3f %8.3f%n", parameters.get(i).getName(), firstOrder[i], totalOrder[i]);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package biological.sensitivity;
+
+/**
+ * Sobol low-discrepancy sequence in up to {@value #MAX_DIMENSIONS} dimensions, using the Joe–Kuo
+ * (new-joe-kuo-6.21201) direction numbers. Points are computed directly from their index through
+ * the Gray code, so disjoint index ranges can be generated independently on different threads.
+ */
+public class SobolSequence {
+    public static final int MAX_DIMENSIONS = 16;
+    private static final int BITS = 32;
+    private static final double SCALE = 1.0 / (1L << BITS);
+
+    // Per dimension from the second: degree s, coefficients a, then initial direction numbers m_1..m_s
+    private static final int[][] JOE_KUO = {
+        {1, 0, 1},
+        {2, 1, 1, 3},
+        {3, 1, 1, 3, 1},
+        {3, 2, 1, 1, 1},
+        {4, 1, 1, 1, 3, 3},
+        {4, 4, 1, 3, 5, 13},
+        {5, 2, 1, 1, 5, 5, 17},
+        {5, 4, 1, 1, 5, 5, 5},
+        {5, 7, 1, 1, 7, 11, 19},
+        {5, 11, 1, 1, 5, 1, 1},
+        {5, 13, 1, 1, 1, 3, 11},
+        {5, 14, 1, 3, 5, 5, 31},
+        {6, 1, 1, 3, 3, 9, 7, 49},
+        {6, 13, 1, 1, 1, 15, 21, 21},
+        {6, 16, 1, 3, 1, 13, 27, 49},
+    };
+
+    private final int dimensions;
+    private final long[][] directions;
+
+    public SobolSequence(int dimensions) {
+        if (dimensions < 1 || dimensions > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Sobol dimensions must be between 1 and " + MAX_DIMENSIONS + ": " + dimensions);
+        }
+        this.dimensions = dimensions;
+        this.directions = new long[dimensions][BITS];
+        for (int b = 0; b < BITS; b++) directions[0][b] = 1L << (BITS - 1 - b);
+        for (int d = 1; d < dimensions; d++) initializeDirections(directions[d], JOE_KUO[d - 1]);
+    }
+
+    private static void initializeDirections(long[] v, int[] row) {
+        int s = row[0];
+        int a = row[1];
+        for (int k = 0; k < Math.min(s, BITS); k++) v[k] = (long) row[2 + k] << (BITS - 1 - k);
+        for (int k = s; k < BITS; k++) {
+            long value = v[k - s] ^ (v[k - s] >> s);
+            for (int l = 1; l < s; l++) {
+                if (((a >> (s - 1 - l)) & 1) != 0) value ^= v[k - l];
+            }
+            v[k] = value;
+        }
+    }
+
+    public int getDimensions() { return dimensions; }
+
+    /** Writes point {@code index} (0 to 2^32 - 1) into {@code out}, each coordinate in [0, 1). */
+    public void point(long index, double[] out) {
+        if (index < 0 || index >= (1L << BITS)) throw new IllegalArgumentException("Sobol index out of range: " + index);
+        long gray = index ^ (index >>> 1);
+        for (int d = 0; d < dimensions; d++) {
+            long x = 0;
+            long bits = gray;
+            for (int b = 0; bits != 0; b++, bits >>>= 1) {
+                if ((bits & 1) != 0) x ^= directions[d][b];
+            }
+            out[d] = x * SCALE;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package biological.service;
+
+import java.util.Map;
+
+/**
+ * Cell to build for a job. Fields left out of the request take the defaults of the cell type,
+ * which match the cells built by {@code AdvancedCellSimulation}.
+ */
+public class CellSpec {
+    private final String cellType;
+    private final String strain;
+    private final String genome;
+    private final double volumeMicron3;
+    private final double dryFraction;
+
+    public CellSpec(String cellType, String strain, String genome, double volumeMicron3, double dryFraction) {
+        this.cellType = cellType;
+        this.strain = strain;
+        this.genome = genome;
+        this.volumeMicron3 = volumeMicron3;
+        this.dryFraction = dryFraction;
+    }
+
+    /** Reads {@code cellType} and optional {@code strain}, {@code genome}, {@code volume} and {@code dryFraction}. */
+    public static CellSpec fromJson(String json) {
+        Map<String, Object> fields = Json.parseObject(json);
+        String cellType = text(fields, "cellType", null);
+        if (cellType == null) throw new IllegalArgumentException("cellType is required");
+        CellSpec defaults = defaultsFor(cellType);
+        double volume = number(fields, "volume", defaults.volumeMicron3);
+        double dryFraction = number(fields, "dryFraction", defaults.dryFraction);
+        if (volume <= 0) throw new IllegalArgumentException("volume must be positive: " + volume);
+        if (dryFraction <= 0 || dryFraction >= 1) {
+            throw new IllegalArgumentException("dryFraction must be between 0 and 1: " + dryFraction);
+        }
+        return new CellSpec(defaults.cellType, text(fields, "strain", defaults.strain),
+                            text(fields, "genome", defaults.genome), volume, dryFraction);
+    }
+
+    static CellSpec defaultsFor(String cellType) {
+        switch (cellType.toLowerCase()) {
+            case "photosynthetic": return new CellSpec("photosynthetic", "MED4", "BX548174", 0.6, 0.3);
+            case "heterotrophic": return new CellSpec("heterotrophic", "E. coli", "U00096", 1.0, 0.25);
+            case "eukaryotic": return new CellSpec("eukaryotic", "Yeast", GenomeCache.YEAST, 10.0, 0.2);
+            default: throw new IllegalArgumentException("Unknown cell type: " + cellType);
+        }
+    }
+
+    private static String text(Map<String, Object> fields, String name, String fallback) {
+        Object value = fields.get(name);
+        if (value == null) return fallback;
+        if (!(value instanceof String)) throw new IllegalArgumentException(name + " must be a string");
+        return (String) value;
+    }
+
+    private static double number(Map<String, Object> fields, String name, double fallback) {
+        Object value = fields.get(name);
+        if (value == null) return fallback;
+        if (!(value instanceof Double)) throw new IllegalArgumentException(name + " must be a number");
+        return (Double) value;
+    }
+
+    public String getCellType() { return cellType; }
+    public String getStrain() { return strain; }
+    public String getGenome() { return genome; }
+    public double getVolumeMicron3() { return volumeMicron3; }
+    public double getDryFraction() { return dryFraction; }
+
+    String toJson() {
+        return "{\"cellType\":" + Json.quote(cellType) + ",\"strain\":" + Json.quote(strain)
+            + ",\"genome\":" + Json.quote(genome) + ",\"volume\":" + Json.number(volumeMicron3)
+            + ",\"dryFraction\":" + Json.number(dryFraction) + "}";
+    }
+}
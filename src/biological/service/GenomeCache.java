@@ -0,0 +1,65 @@
+package biological.service;
+
+import biological.components.Gene;
+import biological.util.GeneIndexCache;
+import biological.util.GenomeStore;
+import biological.util.YeastGeneLoader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Parsed genomes kept in memory for the lifetime of the service, keyed by accession.
+ * Each genome is loaded once on its own virtual thread; concurrent requests wait for that load,
+ * and a waiter that is interrupted (a cancelled job) does not abort it for the others.
+ * A failed load is forgotten, so the next request retries it.
+ */
+public class GenomeCache {
+    /** Genome name for the generated yeast gene set. */
+    public static final String YEAST = "yeast";
+
+    private final GenomeStore store;
+    private final ConcurrentHashMap<String, CompletableFuture<List<Gene>>> genomes = new ConcurrentHashMap<>();
+
+    public GenomeCache(GenomeStore store) {
+        this.store = store;
+    }
+
+    public List<Gene> get(String genome) throws IOException, InterruptedException {
+        CompletableFuture<List<Gene>> pending = new CompletableFuture<>();
+        CompletableFuture<List<Gene>> existing = genomes.putIfAbsent(genome, pending);
+        if (existing == null) {
+            existing = pending;
+            Thread.ofVirtual().name("genome-load-" + genome).start(() -> {
+                try {
+                    pending.complete(load(genome));
+                } catch (Throwable e) {
+                    // Waiters block on this future, so it must complete whatever the loader threw
+                    genomes.remove(genome, pending);
+                    pending.completeExceptionally(e);
+                    if (e instanceof Error error) throw error;
+                }
+            });
+        }
+        try {
+            return existing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new UncheckedIOException(new IOException("Could not load genome " + genome, cause));
+        }
+    }
+
+    private List<Gene> load(String genome) throws IOException {
+        if (YEAST.equalsIgnoreCase(genome)) return YeastGeneLoader.loadYeastGenes();
+        return GeneIndexCache.loadOrParse(store.resolve(genome).toString()).getGenes();
+    }
+
+    /** Number of genomes loaded or loading. */
+    public int size() { return genomes.size(); }
+}
@@ -0,0 +1,77 @@
+package biological.service;
+
+import java.util.concurrent.Future;
+
+/**
+ * One submitted cell specification and, once it has run, its result as JSON.
+ */
+public class Job {
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+    private final long id;
+    private final CellSpec spec;
+    private final long submittedNanos = System.nanoTime();
+    private volatile Status status = Status.QUEUED;
+    private volatile String resultJson;
+    private volatile String error;
+    private volatile long elapsedNanos;
+    private volatile Future<?> future;
+
+    Job(long id, CellSpec spec) {
+        this.id = id;
+        this.spec = spec;
+    }
+
+    public long getId() { return id; }
+    public CellSpec getSpec() { return spec; }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    void setFuture(Future<?> future) { this.future = future; }
+    Future<?> getFuture() { return future; }
+
+    synchronized boolean start() {
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void complete(String resultJson) {
+        if (isFinished()) return;
+        this.resultJson = resultJson;
+        finish(Status.DONE);
+    }
+
+    synchronized void fail(String error) {
+        if (isFinished()) return;
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    /** Marks the job cancelled unless it already finished; returns whether it did. */
+    synchronized boolean cancel() {
+        if (isFinished()) return false;
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    private void finish(Status status) {
+        this.elapsedNanos = System.nanoTime() - submittedNanos;
+        this.status = status;
+    }
+
+    String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"id\":").append(id)
+            .append(",\"status\":").append(Json.quote(status.name()))
+            .append(",\"spec\":").append(spec.toJson());
+        if (isFinished()) json.append(",\"elapsedMs\":").append(Json.number(elapsedNanos / 1e6));
+        if (resultJson != null) json.append(",\"result\":").append(resultJson);
+        if (error != null) json.append(",\"error\":").append(Json.quote(error));
+        return json.append('}').toString();
+    }
+}
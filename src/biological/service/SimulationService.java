@@ -0,0 +1,320 @@
+package biological.service;
+
+import biological.cells.Cell;
+import biological.components.Gene;
+import biological.factory.CellFactory;
+import biological.metrics.MetricsRegistry;
+import biological.util.GenomeStore;
+import biological.validation.ExperimentalValidator;
+import biological.validation.ValidationMetric;
+import biological.validation.ValidationResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-running local HTTP/JSON service that builds and validates cells on request, so a pipeline
+ * pays JVM startup and genome parsing once instead of once per job.
+ * <p>
+ * Every request and job runs on its own virtual thread, so thousands of concurrent requests cost
+ * little; CPU-bound work (cell construction and validation) is gated by a semaphore with one
+ * permit per core. Genomes are parsed once and then served from a {@link GenomeCache}. Endpoints:
+ * <ul>
+ *   <li>{@code POST /jobs} with a {@link CellSpec} body queues a job and returns its id;
+ *       {@code POST /jobs?wait=true} returns the finished job instead</li>
+ *   <li>{@code GET /jobs/<id>} reports status and result</li>
+ *   <li>{@code DELETE /jobs/<id>} cancels a queued or running job</li>
+ *   <li>{@code GET /stats} reports request latency percentiles and job counts</li>
+ *   <li>{@code GET /metrics} exports a {@link MetricsRegistry} snapshot</li>
+ * </ul>
+ */
+public class SimulationService {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int MAX_RETAINED_JOBS = 10_000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore cpuPermits;
+    private final GenomeCache genomes;
+    private final ExperimentalValidator validator = new ExperimentalValidator();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final ConcurrentHashMap<Long, Job> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retainedFinished = new AtomicInteger();
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    public SimulationService(int port, GenomeCache genomes, int cpuParallelism) throws IOException {
+        if (cpuParallelism < 1) throw new IllegalArgumentException("cpuParallelism must be positive: " + cpuParallelism);
+        this.genomes = genomes;
+        this.cpuPermits = new Semaphore(cpuParallelism, true);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(threads);
+    }
+
+    public void start() {
+        server.createContext("/jobs", this::handleJobs);
+        server.createContext("/stats", this::handleStats);
+        server.createContext("/metrics", exchange -> send(exchange, 200, MetricsRegistry.global().snapshot().toJson()));
+        server.start();
+    }
+
+    /** Stops accepting requests, waits up to {@code delaySeconds} for open exchanges, and cancels running jobs. */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        threads.shutdownNow();
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+    public LatencyHistogram getLatency() { return latency; }
+
+    // ===== JOBS =====
+
+    public Job submit(CellSpec spec) {
+        Job job = new Job(nextJobId.getAndIncrement(), spec);
+        // The future must be set before the job is published, or a cancel in between finds none
+        FutureTask<Void> task = new FutureTask<>(() -> run(job), null);
+        job.setFuture(task);
+        jobs.put(job.getId(), job);
+        try {
+            threads.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public Job getJob(long id) { return jobs.get(id); }
+
+    /** Cancels a job that has not finished, interrupting it if it is waiting or running. */
+    public boolean cancel(long id) {
+        Job job = jobs.get(id);
+        if (job == null || !job.cancel()) return false;
+        job.getFuture().cancel(true);
+        cancelled.incrementAndGet();
+        retire(job);
+        return true;
+    }
+
+    private void run(Job job) {
+        if (!job.start()) return;
+        try {
+            List<Gene> genes = genomes.get(job.getSpec().getGenome());
+            cpuPermits.acquire();
+            try {
+                String result = evaluate(job.getSpec(), genes);
+                if (Thread.interrupted()) {
+                    abandon(job);
+                    return;
+                }
+                job.complete(result);
+            } finally {
+                cpuPermits.release();
+            }
+            if (job.getStatus() == Job.Status.DONE) {
+                completed.incrementAndGet();
+                retire(job);
+            }
+        } catch (InterruptedException e) {
+            // Interrupted while waiting for a permit or loading a genome
+            abandon(job);
+        } catch (Throwable e) {
+            // Any failure, Errors included, must leave the job FAILED rather than stuck at RUNNING
+            job.fail(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (job.getStatus() == Job.Status.FAILED) {
+                failed.incrementAndGet();
+                retire(job);
+            }
+            if (e instanceof Error error) throw error;
+        }
+    }
+
+    // An interrupt from cancel() has already done the bookkeeping; one from shutdownNow() has not
+    private void abandon(Job job) {
+        if (job.cancel()) {
+            cancelled.incrementAndGet();
+            retire(job);
+        }
+    }
+
+    private String evaluate(CellSpec spec, List<Gene> genes) throws InterruptedException {
+        Cell cell = CellFactory.createCell(spec.getCellType(), spec.getStrain(), genes,
+                                           spec.getVolumeMicron3(), spec.getDryFraction());
+        if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+        ValidationResult validation = validator.validateCell(cell, spec.getStrain());
+
+        double[] outputs = new double[Cell.OUTPUT_SIZE];
+        cell.evaluate(outputs, 0);
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"genes\":").append(genes.size())
+            .append(",\"growthRate\":").append(Json.number(outputs[Cell.OUTPUT_GROWTH_RATE]))
+            .append(",\"energyBalance\":").append(Json.number(outputs[Cell.OUTPUT_ENERGY_BALANCE]))
+            .append(",\"nutrientLimitation\":").append(Json.number(outputs[Cell.OUTPUT_NUTRIENT_LIMITATION]))
+            .append(",\"dryDaltons\":").append(Json.number(cell.getDryDaltonsWithGenome()))
+            .append(",\"wetDaltons\":").append(Json.number(cell.getWetDaltons()))
+            .append(",\"genomeDaltons\":").append(Json.number(cell.getGenomeMass()))
+            .append(",\"valid\":").append(validation.isValid())
+            .append(",\"metrics\":{");
+        boolean first = true;
+        for (ValidationMetric metric : validation.getMetrics().values()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append(Json.quote(metric.getName()))
+                .append(":{\"simulated\":").append(Json.number(metric.getSimulated()))
+                .append(",\"expected\":").append(Json.number(metric.getExpected()))
+                .append(",\"error\":").append(Json.number(metric.getError()))
+                .append(",\"withinTolerance\":").append(metric.isWithinTolerance()).append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    // Finished jobs stay queryable until MAX_RETAINED_JOBS newer ones have finished
+    private void retire(Job job) {
+        finishedJobs.add(job.getId());
+        if (retainedFinished.incrementAndGet() > MAX_RETAINED_JOBS) {
+            Long oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+                retainedFinished.decrementAndGet();
+            }
+        }
+    }
+
+    // ===== HTTP =====
+
+    private void handleJobs(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals("/jobs") || path.equals("/jobs/")) {
+                if (!method.equals("POST")) {
+                    send(exchange, 405, error("Use POST to submit a job"));
+                    return;
+                }
+                submitFrom(exchange);
+                return;
+            }
+
+            long id;
+            try {
+                id = Long.parseLong(path.substring("/jobs/".length()));
+            } catch (NumberFormatException e) {
+                send(exchange, 404, error("No such job: " + path));
+                return;
+            }
+            Job job = jobs.get(id);
+            if (job == null) {
+                send(exchange, 404, error("No such job: " + id));
+            } else if (method.equals("GET")) {
+                send(exchange, 200, job.toJson());
+            } else if (method.equals("DELETE")) {
+                boolean wasCancelled = cancel(id);
+                send(exchange, wasCancelled ? 200 : 409, job.toJson());
+            } else {
+                send(exchange, 405, error("Use GET or DELETE on a job"));
+            }
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    private void submitFrom(HttpExchange exchange) throws IOException {
+        CellSpec spec;
+        try {
+            spec = CellSpec.fromJson(readBody(exchange));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+            return;
+        }
+
+        Job job = submit(spec);
+        if (!"wait=true".equals(exchange.getRequestURI().getQuery())) {
+            send(exchange, 202, job.toJson());
+            return;
+        }
+        try {
+            job.getFuture().get();
+        } catch (CancellationException | ExecutionException e) {
+            // The job records its own outcome
+        } catch (InterruptedException e) {
+            cancel(job.getId());
+            Thread.currentThread().interrupt();
+        }
+        send(exchange, job.getStatus() == Job.Status.DONE ? 200 : 500, job.toJson());
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"requests\":").append(latency.getCount())
+            .append(",\"p50Ms\":").append(Json.number(latency.getPercentileNanos(50) / 1e6))
+            .append(",\"p90Ms\":").append(Json.number(latency.getPercentileNanos(90) / 1e6))
+            .append(",\"p99Ms\":").append(Json.number(latency.getPercentileNanos(99) / 1e6))
+            .append(",\"p999Ms\":").append(Json.number(latency.getPercentileNanos(99.9) / 1e6))
+            .append(",\"maxMs\":").append(Json.number(latency.getMaxNanos() / 1e6))
+            .append(",\"jobsCompleted\":").append(completed.get())
+            .append(",\"jobsFailed\":").append(failed.get())
+            .append(",\"jobsCancelled\":").append(cancelled.get())
+            .append(",\"jobsRetained\":").append(jobs.size())
+            .append(",\"cpuPermitsAvailable\":").append(cpuPermits.availablePermits())
+            .append(",\"genomesCached\":").append(genomes.size())
+            .append('}');
+        send(exchange, 200, json.toString());
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) throw new IllegalArgumentException("Request body too large");
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message) + "}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** Usage: {@code SimulationService [port] [data-dir]}. */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String dataDir = args.length > 1 ? args[1] : "genbank_data";
+        GenomeStore store = GenomeStore.withDefaultFetcher(Paths.get(dataDir, "store"));
+        int cores = Runtime.getRuntime().availableProcessors();
+        SimulationService service = new SimulationService(port, new GenomeCache(store), cores);
+        service.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> service.stop(1)));
+        System.out.printf("Simulation service listening on http://localhost:%d (%d CPU permits)%n",
+            service.getPort(), cores);
+    }
+}
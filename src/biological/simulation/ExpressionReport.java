@@ -0,0 +1,99 @@
+package biological.simulation;
+
+/**
+ * Final copy numbers, reaction counts and wall-clock cost of one {@link StochasticExpressionEngine#run} call.
+ */
+public class ExpressionReport {
+    private final GeneExpressionModel model;
+    private final StochasticExpressionEngine.Mode mode;
+    private final double simulatedHours;
+    private final long[][] finalCounts;
+    private final long reactions;
+    private final long exactSteps;
+    private final long leaps;
+    private final long rejectedLeaps;
+    private final long elapsedNanos;
+
+    public ExpressionReport(GeneExpressionModel model, StochasticExpressionEngine.Mode mode, double simulatedHours,
+                            long[][] finalCounts, long reactions, long exactSteps, long leaps,
+                            long rejectedLeaps, long elapsedNanos) {
+        this.model = model;
+        this.mode = mode;
+        this.simulatedHours = simulatedHours;
+        this.finalCounts = finalCounts;
+        this.reactions = reactions;
+        this.exactSteps = exactSteps;
+        this.leaps = leaps;
+        this.rejectedLeaps = rejectedLeaps;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public StochasticExpressionEngine.Mode getMode() { return mode; }
+    public int getReplicateCount() { return finalCounts.length; }
+    public double getSimulatedHours() { return simulatedHours; }
+    public long getReactions() { return reactions; }
+    public long getExactSteps() { return exactSteps; }
+    public long getLeaps() { return leaps; }
+    public long getRejectedLeaps() { return rejectedLeaps; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getReactionsPerSecond() {
+        return elapsedNanos > 0 ? reactions / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    public long getMrna(int replicate, int gene) { return finalCounts[replicate][GeneExpressionModel.mrna(gene)]; }
+    public long getProtein(int replicate, int gene) { return finalCounts[replicate][GeneExpressionModel.protein(gene)]; }
+
+    /** Mean final protein count of one gene across replicates. */
+    public double getMeanProtein(int gene) {
+        double sum = 0;
+        for (long[] counts : finalCounts) sum += counts[GeneExpressionModel.protein(gene)];
+        return sum / finalCounts.length;
+    }
+
+    /** Mean final mRNA and protein counts per gene, over all genes and replicates. */
+    public double getMeanMrnaPerGene() { return meanPerGene(0); }
+    public double getMeanProteinPerGene() { return meanPerGene(1); }
+
+    /**
+     * Protein Fano factor (variance over mean across replicates), averaged over expressed genes.
+     * A Poisson process gives 1; bursty translation from few mRNAs gives much more. NaN for a single replicate.
+     */
+    public double getMeanProteinFano() {
+        int n = finalCounts.length;
+        if (n < 2) return Double.NaN;
+        double fanoSum = 0;
+        int genes = 0;
+        for (int gene = 0; gene < model.getGeneCount(); gene++) {
+            double mean = getMeanProtein(gene);
+            if (mean <= 0) continue;
+            double squares = 0;
+            for (long[] counts : finalCounts) {
+                double d = counts[GeneExpressionModel.protein(gene)] - mean;
+                squares += d * d;
+            }
+            fanoSum += squares / (n - 1) / mean;
+            genes++;
+        }
+        return genes > 0 ? fanoSum / genes : Double.NaN;
+    }
+
+    private double meanPerGene(int offset) {
+        double sum = 0;
+        for (long[] counts : finalCounts) {
+            for (int s = offset; s < counts.length; s += 2) sum += counts[s];
+        }
+        return sum / ((double) finalCounts.length * model.getGeneCount());
+    }
+
+    public void printSummary() {
+        System.out.printf("%s: %d replicate(s) of %d genes over %.1f h: %,d reactions in %.1f ms (%.2f M reactions/s)%n",
+            mode, finalCounts.length, model.getGeneCount(), simulatedHours, reactions, elapsedNanos / 1e6,
+            getReactionsPerSecond() / 1e6);
+        if (mode == StochasticExpressionEngine.Mode.TAU_LEAPING) {
+            System.out.printf("  %,d leaps (%d rejected), %,d exact steps%n", leaps, rejectedLeaps, exactSteps);
+        }
+        System.out.printf("  Mean per gene: %.2f mRNA, %.1f protein; protein Fano factor %.1f%n",
+            getMeanMrnaPerGene(), getMeanProteinPerGene(), getMeanProteinFano());
+    }
+}
@@ -0,0 +1,112 @@
+package biological.simulation;
+
+import biological.cells.Cell;
+import biological.components.GeneTable;
+import biological.components.Nucleoid;
+
+/**
+ * Two-stage transcription and translation network over the genes of a nucleoid.
+ * Every gene has an mRNA and a protein species and four reactions: transcription, mRNA decay,
+ * translation (one protein per event, at a rate per mRNA that falls with the gene's length) and
+ * protein loss by degradation and dilution. All rates are per hour. Species and reactions are
+ * numbered gene by gene, so a reaction only ever changes, and only ever depends on, the two
+ * species of its own gene.
+ */
+public class GeneExpressionModel {
+    public static final int REACTIONS_PER_GENE = 4;
+    public static final int TRANSCRIPTION = 0;
+    public static final int MRNA_DECAY = 1;
+    public static final int TRANSLATION = 2;
+    public static final int PROTEIN_LOSS = 3;
+
+    public static final double DEFAULT_TRANSCRIPTION_RATE = 2.0;   // mRNAs per gene per hour
+    public static final double DEFAULT_MRNA_DECAY_RATE = 12.0;     // ~3.5 min half-life
+    public static final double DEFAULT_TRANSLATION_RATE = 600.0;   // proteins per mRNA per hour for a 1 kb gene
+    public static final double DEFAULT_PROTEIN_DEGRADATION = 0.05;
+    private static final int MIN_GENE_LENGTH = 300;
+
+    private final GeneTable genes;
+    private final double[] transcriptionRates;
+    private final double[] translationRates;
+    private final double mrnaDecayRate;
+    private final double proteinLossRate;
+
+    public GeneExpressionModel(GeneTable genes, double transcriptionRate, double mrnaDecayRate,
+                               double translationRate, double proteinLossRate) {
+        if (transcriptionRate < 0 || mrnaDecayRate <= 0 || translationRate < 0 || proteinLossRate <= 0) {
+            throw new IllegalArgumentException("Expression rates must be positive");
+        }
+        this.genes = genes;
+        this.transcriptionRates = new double[genes.size()];
+        this.translationRates = new double[genes.size()];
+        this.mrnaDecayRate = mrnaDecayRate;
+        this.proteinLossRate = proteinLossRate;
+        for (int gene = 0; gene < genes.size(); gene++) {
+            transcriptionRates[gene] = transcriptionRate;
+            translationRates[gene] = translationRate * 1000.0 / Math.max(genes.getLength(gene), MIN_GENE_LENGTH);
+        }
+    }
+
+    /** Default rates for the nucleoid's genes, with proteins diluted at the given growth rate (doublings per hour). */
+    public static GeneExpressionModel forNucleoid(Nucleoid nucleoid, double growthRate) {
+        return new GeneExpressionModel(nucleoid.getGeneTable(), DEFAULT_TRANSCRIPTION_RATE, DEFAULT_MRNA_DECAY_RATE,
+                                       DEFAULT_TRANSLATION_RATE, DEFAULT_PROTEIN_DEGRADATION + Math.log(2) * growthRate);
+    }
+
+    public static GeneExpressionModel forCell(Cell cell) {
+        return forNucleoid(cell.getCytoplasm().getNucleoid(), cell.getGrowthRate());
+    }
+
+    public GeneTable getGenes() { return genes; }
+    public int getGeneCount() { return genes.size(); }
+    public int getSpeciesCount() { return 2 * genes.size(); }
+    public int getReactionCount() { return REACTIONS_PER_GENE * genes.size(); }
+    public double getMrnaDecayRate() { return mrnaDecayRate; }
+    public double getProteinLossRate() { return proteinLossRate; }
+
+    static int mrna(int gene) { return 2 * gene; }
+    static int protein(int gene) { return 2 * gene + 1; }
+
+    public double getMeanMrna(int gene) {
+        return transcriptionRates[gene] / mrnaDecayRate;
+    }
+
+    public double getMeanProtein(int gene) {
+        return getMeanMrna(gene) * translationRates[gene] / proteinLossRate;
+    }
+
+    /** Copy numbers at the deterministic steady state, rounded, laid out as mRNA then protein per gene. */
+    public long[] steadyState() {
+        long[] counts = new long[getSpeciesCount()];
+        for (int gene = 0; gene < genes.size(); gene++) {
+            counts[mrna(gene)] = Math.round(getMeanMrna(gene));
+            counts[protein(gene)] = Math.round(getMeanProtein(gene));
+        }
+        return counts;
+    }
+
+    double propensity(int reaction, long[] counts) {
+        int gene = reaction / REACTIONS_PER_GENE;
+        switch (reaction % REACTIONS_PER_GENE) {
+            case TRANSCRIPTION:
+                return transcriptionRates[gene];
+            case MRNA_DECAY:
+                return mrnaDecayRate * counts[mrna(gene)];
+            case TRANSLATION:
+                return translationRates[gene] * counts[mrna(gene)];
+            default:
+                return proteinLossRate * counts[protein(gene)];
+        }
+    }
+
+    /** The species a reaction changes: the mRNA for the first two kinds, the protein for the others. */
+    static int species(int reaction) {
+        int gene = reaction / REACTIONS_PER_GENE;
+        return reaction % REACTIONS_PER_GENE < TRANSLATION ? mrna(gene) : protein(gene);
+    }
+
+    /** +1 for production, -1 for decay. */
+    static int change(int reaction) {
+        return (reaction & 1) == 0 ? 1 : -1;
+    }
+}
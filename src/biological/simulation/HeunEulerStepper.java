@@ -0,0 +1,58 @@
+package biological.simulation;
+
+import biological.interfaces.TimeStepped;
+
+/**
+ * Embedded Heun–Euler pair: a second-order Heun step with the first-order Euler step as its
+ * error estimate. {@link #trial} computes a candidate state without committing it, so a caller can
+ * reject the step and retry with a smaller one. All scratch space is allocated once per stepper.
+ */
+public class HeunEulerStepper {
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final double[] y;
+    private final double[] k1;
+    private final double[] k2;
+    private final double[] euler;
+    private final double[] heun;
+
+    public HeunEulerStepper(int stateSize, double absoluteTolerance, double relativeTolerance) {
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.y = new double[stateSize];
+        this.k1 = new double[stateSize];
+        this.k2 = new double[stateSize];
+        this.euler = new double[stateSize];
+        this.heun = new double[stateSize];
+    }
+
+    /**
+     * Computes a candidate step of {@code dt} from the model's current state.
+     * Returns the error norm scaled by the tolerances, so values up to 1.0 are acceptable.
+     */
+    public double trial(TimeStepped model, double dt) {
+        model.getState(y);
+        model.computeRates(y, k1);
+        for (int i = 0; i < y.length; i++) euler[i] = y[i] + dt * k1[i];
+        model.computeRates(euler, k2);
+
+        double error = 0;
+        for (int i = 0; i < y.length; i++) {
+            heun[i] = y[i] + 0.5 * dt * (k1[i] + k2[i]);
+            double scale = absoluteTolerance + relativeTolerance * Math.max(Math.abs(y[i]), Math.abs(heun[i]));
+            error = Math.max(error, Math.abs(heun[i] - euler[i]) / scale);
+        }
+        return error;
+    }
+
+    /** Commits the candidate from the last {@link #trial}. */
+    public void accept(TimeStepped model) {
+        model.setState(heun);
+    }
+
+    /** Step size for the next attempt, from the error of the last one (the pair is order 1 in error). */
+    public static double nextStepSize(double dt, double error) {
+        double factor = error > 0 ? 0.9 / Math.sqrt(error) : 5.0;
+        return dt * Math.max(0.2, Math.min(5.0, factor));
+    }
+}
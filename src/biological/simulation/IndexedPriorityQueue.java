@@ -0,0 +1,74 @@
+package biological.simulation;
+
+/**
+ * Binary min-heap of reaction indices keyed by their next firing times.
+ * The heap position of every reaction is tracked, so a reaction whose time changes is moved in
+ * place in O(log n) rather than removed and re-inserted, as the next-reaction method requires.
+ */
+class IndexedPriorityQueue {
+    private final double[] keys;
+    private final int[] heap;
+    private final int[] positions;
+
+    /** Heap over all indices of {@code keys}; the array is shared and must be updated through {@link #update}. */
+    IndexedPriorityQueue(double[] keys) {
+        this.keys = keys;
+        this.heap = new int[keys.length];
+        this.positions = new int[keys.length];
+        rebuild();
+    }
+
+    /** Restores heap order after arbitrary changes to the keys, in O(n). */
+    void rebuild() {
+        for (int i = 0; i < heap.length; i++) {
+            heap[i] = i;
+            positions[i] = i;
+        }
+        for (int i = heap.length / 2 - 1; i >= 0; i--) siftDown(i);
+    }
+
+    int min() { return heap[0]; }
+
+    /** Key of {@link #min()}, or infinity when the queue is empty. */
+    double minKey() { return heap.length > 0 ? keys[heap[0]] : Double.POSITIVE_INFINITY; }
+
+    void update(int index, double key) {
+        double old = keys[index];
+        keys[index] = key;
+        if (key < old) siftUp(positions[index]);
+        else if (key > old) siftDown(positions[index]);
+    }
+
+    private void siftUp(int position) {
+        int item = heap[position];
+        double key = keys[item];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key) break;
+            heap[position] = parentItem;
+            positions[parentItem] = position;
+            position = parent;
+        }
+        heap[position] = item;
+        positions[item] = position;
+    }
+
+    private void siftDown(int position) {
+        int item = heap[position];
+        double key = keys[item];
+        int half = heap.length >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heap.length && keys[heap[right]] < keys[heap[child]]) child = right;
+            int childItem = heap[child];
+            if (key <= keys[childItem]) break;
+            heap[position] = childItem;
+            positions[childItem] = position;
+            position = child;
+        }
+        heap[position] = item;
+        positions[item] = position;
+    }
+}
@@ -0,0 +1,21 @@
+package biological.simulation;
+
+/**
+ * Simulated time in hours, with counts of the steps taken to get there.
+ */
+public class SimulationClock {
+    private double timeHours;
+    private long acceptedSteps;
+    private long rejectedSteps;
+
+    public double getTimeHours() { return timeHours; }
+    public long getAcceptedSteps() { return acceptedSteps; }
+    public long getRejectedSteps() { return rejectedSteps; }
+
+    void advanceTo(double timeHours) { this.timeHours = timeHours; }
+
+    void recordSteps(long accepted, long rejected) {
+        acceptedSteps += accepted;
+        rejectedSteps += rejected;
+    }
+}
@@ -0,0 +1,90 @@
+package biological.simulation;
+
+import biological.interfaces.TimeStepped;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run loop advancing a set of models through time with adaptive step-size control.
+ * Each model keeps its own step size, since a cell's fast pools can force much smaller steps than
+ * its neighbours need; all models meet at the clock time at the end of every {@link #run} call.
+ */
+public class SimulationEngine {
+    public static final double DEFAULT_ABSOLUTE_TOLERANCE = 1e-6;
+    public static final double DEFAULT_RELATIVE_TOLERANCE = 1e-4;
+
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final double minStepHours;
+    private final double maxStepHours;
+    private final SimulationClock clock = new SimulationClock();
+    private final List<Track> tracks = new ArrayList<>();
+
+    public SimulationEngine() {
+        this(DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE, 1e-9, 0.25);
+    }
+
+    public SimulationEngine(double absoluteTolerance, double relativeTolerance,
+                            double minStepHours, double maxStepHours) {
+        if (minStepHours <= 0 || maxStepHours < minStepHours) {
+            throw new IllegalArgumentException("Invalid step bounds: " + minStepHours + " to " + maxStepHours);
+        }
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.minStepHours = minStepHours;
+        this.maxStepHours = maxStepHours;
+    }
+
+    public SimulationEngine add(TimeStepped model) {
+        tracks.add(new Track(model, new HeunEulerStepper(model.getStateSize(), absoluteTolerance, relativeTolerance),
+                             Math.min(maxStepHours, 1e-3)));
+        return this;
+    }
+
+    /** Advances every model by {@code hours} and reports the steps and time it took. */
+    public SimulationReport run(double hours) {
+        if (hours < 0) throw new IllegalArgumentException("hours must not be negative: " + hours);
+        double end = clock.getTimeHours() + hours;
+        long accepted = 0;
+        long rejected = 0;
+        long start = System.nanoTime();
+
+        for (Track track : tracks) {
+            double t = clock.getTimeHours();
+            while (t < end) {
+                double dt = Math.min(track.dt, end - t);
+                double error = track.stepper.trial(track.model, dt);
+                if (error <= 1.0 || dt <= minStepHours) {
+                    track.stepper.accept(track.model);
+                    t += dt;
+                    accepted++;
+                } else {
+                    rejected++;
+                }
+                // Keep the adapted size rather than the one clipped at the end of the interval
+                if (dt == track.dt || error > 1.0) {
+                    track.dt = Math.max(minStepHours, Math.min(maxStepHours, HeunEulerStepper.nextStepSize(dt, error)));
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        clock.advanceTo(end);
+        clock.recordSteps(accepted, rejected);
+        return new SimulationReport(tracks.size(), hours, accepted, rejected, elapsed);
+    }
+
+    public SimulationClock getClock() { return clock; }
+
+    private static class Track {
+        final TimeStepped model;
+        final HeunEulerStepper stepper;
+        double dt;
+
+        Track(TimeStepped model, HeunEulerStepper stepper, double dt) {
+            this.model = model;
+            this.stepper = stepper;
+            this.dt = dt;
+        }
+    }
+}
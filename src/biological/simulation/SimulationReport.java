@@ -0,0 +1,43 @@
+package biological.simulation;
+
+/**
+ * Step counts and wall-clock cost of one {@link SimulationEngine#run} call.
+ */
+public class SimulationReport {
+    private final int modelCount;
+    private final double simulatedHours;
+    private final long acceptedSteps;
+    private final long rejectedSteps;
+    private final long elapsedNanos;
+
+    public SimulationReport(int modelCount, double simulatedHours, long acceptedSteps,
+                            long rejectedSteps, long elapsedNanos) {
+        this.modelCount = modelCount;
+        this.simulatedHours = simulatedHours;
+        this.acceptedSteps = acceptedSteps;
+        this.rejectedSteps = rejectedSteps;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getModelCount() { return modelCount; }
+    public double getSimulatedHours() { return simulatedHours; }
+    public long getAcceptedSteps() { return acceptedSteps; }
+    public long getRejectedSteps() { return rejectedSteps; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /** Wall-clock cost per attempted step, rejected attempts included. */
+    public double getNanosPerStep() {
+        long attempts = acceptedSteps + rejectedSteps;
+        return attempts > 0 ? (double) elapsedNanos / attempts : 0.0;
+    }
+
+    public double getStepsPerSecond() {
+        return elapsedNanos > 0 ? (acceptedSteps + rejectedSteps) / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    public void printSummary() {
+        System.out.printf("Simulated %.1f h for %d cell(s): %d steps (%d rejected) in %.1f ms%n",
+            simulatedHours, modelCount, acceptedSteps, rejectedSteps, elapsedNanos / 1e6);
+        System.out.printf("  %.0f ns/step, %.2f M steps/s%n", getNanosPerStep(), getStepsPerSecond() / 1e6);
+    }
+}
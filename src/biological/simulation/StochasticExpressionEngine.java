@@ -0,0 +1,326 @@
+package biological.simulation;
+
+import biological.metrics.MetricsRegistry;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Stochastic simulation of a {@link GeneExpressionModel}, as independent replicates in parallel.
+ * {@link Mode#EXACT} is Gibson and Bruck's next-reaction method: every reaction holds an absolute
+ * next firing time in an indexed priority queue, and firing one only redraws or rescales the times
+ * of the reactions sharing its species, so a step costs O(log R) however large the genome.
+ * {@link Mode#TAU_LEAPING} adapts the scheme of Cao, Gillespie and Petzold (2006): each leap is
+ * bounded so no species is expected to change by more than {@code epsilon} of its copy number,
+ * and reactions changing a species with fewer than {@value #CRITICAL_COPIES} copies are critical.
+ * Where their scheme lets a critical reaction fire at most once per leap, here critical reactions
+ * run through the queue across the leap, since the mRNAs of almost every gene are low-copy and
+ * would otherwise pin leaps to single firings; only the reactions of high-copy species fire in
+ * Poisson bulk. Production counts as critical too, or new mRNAs would escape decay until the end
+ * of the leap and bias their copy numbers upward. The engine
+ * falls back to batches of exact steps whenever a leap would cover too few firings to pay for
+ * visiting every reaction. Each
+ * replicate draws from its own generator, split from the seed up front, so results do not depend
+ * on the thread count.
+ */
+public class StochasticExpressionEngine {
+    public enum Mode { EXACT, TAU_LEAPING }
+
+    public static final double DEFAULT_EPSILON = 0.03;
+    private static final int CRITICAL_COPIES = 10;
+    private static final double EXACT_FALLBACK_FIRINGS = 10.0;
+    private static final int MIN_EXACT_BATCH = 100;
+    // A leap visits every reaction; it must cover at least this many firings per reaction to pay off
+    private static final double LEAP_COST = 0.25;
+    private static final MetricsRegistry.Timer RUN_TIMER = MetricsRegistry.global().timer("expression.run");
+    private static final MetricsRegistry.Counter REACTIONS = MetricsRegistry.global().counter("expression.reactions");
+
+    private final GeneExpressionModel model;
+    private final Mode mode;
+    private final double epsilon;
+    private final ForkJoinPool pool;
+
+    public StochasticExpressionEngine(GeneExpressionModel model, Mode mode) {
+        this(model, mode, DEFAULT_EPSILON, ForkJoinPool.commonPool());
+    }
+
+    public StochasticExpressionEngine(GeneExpressionModel model, Mode mode, double epsilon, ForkJoinPool pool) {
+        if (epsilon <= 0 || epsilon >= 1) throw new IllegalArgumentException("epsilon must be in (0, 1): " + epsilon);
+        this.model = model;
+        this.mode = mode;
+        this.epsilon = epsilon;
+        this.pool = pool;
+    }
+
+    /** Runs {@code replicates} trajectories of {@code hours} each from the deterministic steady state. */
+    public ExpressionReport run(double hours, int replicates, long seed) {
+        if (hours < 0) throw new IllegalArgumentException("hours must not be negative: " + hours);
+        if (replicates < 1) throw new IllegalArgumentException("replicates must be positive: " + replicates);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[replicates];
+        for (int r = 0; r < replicates; r++) generators[r] = root.split();
+
+        long start = System.nanoTime();
+        Replicate[] runs = new Replicate[replicates];
+        pool.submit(() -> IntStream.range(0, replicates).parallel().forEach(r -> {
+            Replicate replicate = new Replicate(model, generators[r]);
+            if (mode == Mode.EXACT) replicate.runExact(hours);
+            else replicate.runTauLeaping(hours, epsilon);
+            runs[r] = replicate;
+        })).join();
+        long elapsed = System.nanoTime() - start;
+
+        long[][] finalCounts = new long[replicates][];
+        long reactions = 0;
+        long exactSteps = 0;
+        long leaps = 0;
+        long rejectedLeaps = 0;
+        for (int r = 0; r < replicates; r++) {
+            finalCounts[r] = runs[r].counts;
+            reactions += runs[r].reactions;
+            exactSteps += runs[r].exactSteps;
+            leaps += runs[r].leaps;
+            rejectedLeaps += runs[r].rejectedLeaps;
+        }
+        RUN_TIMER.record(elapsed);
+        REACTIONS.add(reactions);
+        return new ExpressionReport(model, mode, hours, finalCounts, reactions, exactSteps, leaps, rejectedLeaps, elapsed);
+    }
+
+    public GeneExpressionModel getModel() { return model; }
+    public Mode getMode() { return mode; }
+
+    /**
+     * One trajectory: copy numbers, propensities and the next-reaction queue.
+     */
+    private static final class Replicate {
+        private final GeneExpressionModel model;
+        private final SplittableRandom random;
+        final long[] counts;
+        private final double[] propensities;
+        private double[] firingTimes;
+        private IndexedPriorityQueue queue;
+        // Reactions fired in bulk by the current leap, kept out of the queue; null outside a leap
+        private boolean[] leaped;
+        private double time;
+        long reactions;
+        long exactSteps;
+        long leaps;
+        long rejectedLeaps;
+
+        Replicate(GeneExpressionModel model, SplittableRandom random) {
+            this.model = model;
+            this.random = random;
+            this.counts = model.steadyState();
+            this.propensities = new double[model.getReactionCount()];
+        }
+
+        void runExact(double end) {
+            schedule();
+            exactSteps(end, Long.MAX_VALUE);
+        }
+
+        void runTauLeaping(double end, double epsilon) {
+            int reactionCount = model.getReactionCount();
+            int batch = Math.max(MIN_EXACT_BATCH, reactionCount);
+            boolean[] inBulk = new boolean[reactionCount];
+            long[] saved = new long[counts.length];
+
+            while (time < end) {
+                double total = 0;
+                double bulk = 0;
+                for (int j = 0; j < reactionCount; j++) {
+                    double a = model.propensity(j, counts);
+                    propensities[j] = a;
+                    total += a;
+                    inBulk[j] = counts[GeneExpressionModel.species(j)] >= CRITICAL_COPIES;
+                    if (inBulk[j]) bulk += a;
+                }
+                if (total == 0) break;
+
+                // Only the firings taken in bulk are saved by leaping
+                double tau = leapSize(epsilon);
+                if (tau < EXACT_FALLBACK_FIRINGS / total || bulk * Math.min(tau, end - time) < LEAP_COST * reactionCount) {
+                    leaped = null;
+                    schedule();
+                    if (!exactSteps(end, batch)) return;
+                    continue;
+                }
+
+                long startReactions = reactions;
+                long startSteps = exactSteps;
+                double startTime = time;
+                leaped = inBulk;
+                while (true) {
+                    double leapEnd = Math.min(startTime + tau, end);
+                    System.arraycopy(counts, 0, saved, 0, counts.length);
+                    // Critical reactions fire one by one across the leap, the others by their frozen propensities
+                    schedule();
+                    exactSteps(leapEnd, Long.MAX_VALUE);
+                    double step = leapEnd - startTime;
+                    for (int j = 0; j < reactionCount; j++) {
+                        if (!leaped[j] || propensities[j] == 0) continue;
+                        long k = poisson(random, propensities[j] * step);
+                        counts[GeneExpressionModel.species(j)] += GeneExpressionModel.change(j) * k;
+                        reactions += k;
+                    }
+                    if (nonNegative()) {
+                        leaps++;
+                        break;
+                    }
+                    // A Poisson draw overshot a species; retry with half the leap
+                    System.arraycopy(saved, 0, counts, 0, counts.length);
+                    reactions = startReactions;
+                    exactSteps = startSteps;
+                    time = startTime;
+                    rejectedLeaps++;
+                    tau /= 2;
+                }
+                leaped = null;
+            }
+            time = end;
+        }
+
+        // Largest leap keeping the expected change and spread of every species within epsilon of it
+        private double leapSize(double epsilon) {
+            double tau = Double.POSITIVE_INFINITY;
+            for (int s = 0; s < counts.length; s++) {
+                int production = (s >> 1) * GeneExpressionModel.REACTIONS_PER_GENE
+                    + ((s & 1) == 0 ? GeneExpressionModel.TRANSCRIPTION : GeneExpressionModel.TRANSLATION);
+                double gain = propensities[production];
+                double decay = propensities[production + 1];
+                double variance = gain + decay;
+                if (variance == 0) continue;
+                double bound = Math.max(epsilon * counts[s], 1.0);
+                tau = Math.min(tau, Math.min(bound / Math.abs(gain - decay), bound * bound / variance));
+            }
+            return tau;
+        }
+
+        private boolean nonNegative() {
+            for (long count : counts) {
+                if (count < 0) return false;
+            }
+            return true;
+        }
+
+        /** Draws a fresh firing time for every reaction outside the current leap. */
+        private void schedule() {
+            if (firingTimes == null) firingTimes = new double[propensities.length];
+            for (int j = 0; j < propensities.length; j++) {
+                double a = model.propensity(j, counts);
+                propensities[j] = a;
+                firingTimes[j] = a > 0 && (leaped == null || !leaped[j]) ? time + exponential(a) : Double.POSITIVE_INFINITY;
+            }
+            if (queue == null) queue = new IndexedPriorityQueue(firingTimes);
+            else queue.rebuild();
+        }
+
+        /** Fires up to {@code maxSteps} reactions in time order; false once {@code end} is reached. */
+        private boolean exactSteps(double end, long maxSteps) {
+            for (long step = 0; step < maxSteps; step++) {
+                // A model without reactions has an empty queue, which never fires
+                double next = queue.minKey();
+                if (next > end) {
+                    time = end;
+                    return false;
+                }
+                int fired = queue.min();
+                time = next;
+                int species = GeneExpressionModel.species(fired);
+                counts[species] += GeneExpressionModel.change(fired);
+                reactions++;
+                exactSteps++;
+                reschedule(fired, species);
+            }
+            return true;
+        }
+
+        // The fired reaction draws a new time; reactions reading the changed species rescale theirs
+        private void reschedule(int fired, int species) {
+            double a = model.propensity(fired, counts);
+            propensities[fired] = a;
+            queue.update(fired, a > 0 ? time + exponential(a) : Double.POSITIVE_INFINITY);
+            int base = (species >> 1) * GeneExpressionModel.REACTIONS_PER_GENE;
+            if ((species & 1) == 0) {
+                rescale(base + GeneExpressionModel.MRNA_DECAY, fired);
+                rescale(base + GeneExpressionModel.TRANSLATION, fired);
+            } else {
+                rescale(base + GeneExpressionModel.PROTEIN_LOSS, fired);
+            }
+        }
+
+        private void rescale(int reaction, int fired) {
+            if (reaction == fired || (leaped != null && leaped[reaction])) return;
+            double old = propensities[reaction];
+            double a = model.propensity(reaction, counts);
+            propensities[reaction] = a;
+            double next;
+            if (a == 0) next = Double.POSITIVE_INFINITY;
+            else if (old > 0) next = time + (old / a) * (firingTimes[reaction] - time);
+            else next = time + exponential(a);
+            queue.update(reaction, next);
+        }
+
+        private double exponential(double rate) {
+            return -Math.log(1.0 - random.nextDouble()) / rate;
+        }
+    }
+
+    /**
+     * Poisson variate: multiplication of uniforms for small means, otherwise Hörmann's
+     * transformed rejection with squeeze (PTRS), which needs about 1.2 uniforms per draw.
+     */
+    static long poisson(SplittableRandom random, double mean) {
+        if (mean < 10) {
+            double limit = Math.exp(-mean);
+            double product = random.nextDouble();
+            long k = 0;
+            while (product > limit) {
+                k++;
+                product *= random.nextDouble();
+            }
+            return k;
+        }
+        double root = Math.sqrt(mean);
+        double logMean = Math.log(mean);
+        double b = 0.931 + 2.53 * root;
+        double a = -0.059 + 0.02483 * b;
+        double invAlpha = 1.1239 + 1.1328 / (b - 3.4);
+        double vr = 0.9277 - 3.6224 / (b - 2);
+        while (true) {
+            double u = random.nextDouble() - 0.5;
+            double v = random.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + mean + 0.43);
+            if (us >= 0.07 && v <= vr) return k;
+            if (k < 0 || (us < 0.013 && v > us)) continue;
+            if (Math.log(v) + Math.log(invAlpha) - Math.log(a / (us * us) + b)
+                    <= -mean + k * logMean - logGamma(k + 1.0)) {
+                return k;
+            }
+        }
+    }
+
+    private static final double[] STIRLING = {
+        8.333333333333333e-02, -2.777777777777778e-03, 7.936507936507937e-04, -5.952380952380952e-04,
+        8.417508417508418e-04, -1.917526917526918e-03, 6.410256410256410e-03, -2.955065359477124e-02,
+        1.796443723688307e-01, -1.39243221690590e+00
+    };
+
+    // ln Γ(x) for x >= 1 by the Stirling series, shifted up to 7 for small x
+    private static double logGamma(double x) {
+        if (x == 1.0 || x == 2.0) return 0.0;
+        int shift = x <= 7 ? (int) (7 - x) : 0;
+        double x0 = x + shift;
+        double inverseSquare = 1.0 / (x0 * x0);
+        double series = STIRLING[9];
+        for (int k = 8; k >= 0; k--) series = series * inverseSquare + STIRLING[k];
+        double result = series / x0 + 0.5 * Math.log(2 * Math.PI) + (x0 - 0.5) * Math.log(x0) - x0;
+        for (int k = 0; k < shift; k++) {
+            x0 -= 1.0;
+            result -= Math.log(x0);
+        }
+        return result;
+    }
+}
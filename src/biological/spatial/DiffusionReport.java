@@ -0,0 +1,62 @@
+package biological.spatial;
+
+import biological.components.Cytoplasm;
+
+/**
+ * Concentration statistics and wall-clock cost of one {@link ReactionDiffusionEngine#run} call.
+ */
+public class DiffusionReport {
+    private final ReactionDiffusionEngine.Kernel kernel;
+    private final int size;
+    private final int parallelism;
+    private final int steps;
+    private final double simulatedSeconds;
+    private final long voxelUpdates;
+    private final long elapsedNanos;
+    private final double[] means;
+    private final double[] mins;
+    private final double[] maxs;
+
+    public DiffusionReport(SpatialCytoplasm grid, ReactionDiffusionEngine.Kernel kernel, int parallelism, int steps,
+                           double simulatedSeconds, long voxelUpdates, long elapsedNanos) {
+        this.kernel = kernel;
+        this.size = grid.getSize();
+        this.parallelism = parallelism;
+        this.steps = steps;
+        this.simulatedSeconds = simulatedSeconds;
+        this.voxelUpdates = voxelUpdates;
+        this.elapsedNanos = elapsedNanos;
+        this.means = new double[Cytoplasm.METABOLITE_COUNT];
+        this.mins = new double[Cytoplasm.METABOLITE_COUNT];
+        this.maxs = new double[Cytoplasm.METABOLITE_COUNT];
+        for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+            means[s] = grid.getMean(s);
+            mins[s] = grid.getMin(s);
+            maxs[s] = grid.getMax(s);
+        }
+    }
+
+    public ReactionDiffusionEngine.Kernel getKernel() { return kernel; }
+    public int getParallelism() { return parallelism; }
+    public int getSteps() { return steps; }
+    public double getSimulatedSeconds() { return simulatedSeconds; }
+    public long getVoxelUpdates() { return voxelUpdates; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public double getMean(int species) { return means[species]; }
+    public double getMin(int species) { return mins[species]; }
+    public double getMax(int species) { return maxs[species]; }
+
+    public double getVoxelUpdatesPerSecond() {
+        return elapsedNanos > 0 ? voxelUpdates / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    public void printSummary() {
+        System.out.printf("%s kernel, %d^3 voxels, %d threads: %d steps over %.2f ms in %.1f ms, %.1f M voxel-updates/s%n",
+                         kernel, size, parallelism, steps, simulatedSeconds * 1e3, elapsedNanos / 1e6,
+                         getVoxelUpdatesPerSecond() / 1e6);
+        for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+            System.out.printf("  %-12s mean %8.4f mM, spread %8.3f uM%n",
+                             Cytoplasm.getMetaboliteName(s), means[s], (maxs[s] - mins[s]) * 1e3);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package biological.spatial;
+
+import biological.components.Cytoplasm;
+
+/**
+ * One voxel at a time; also finishes the rows the vector kernel leaves over.
+ */
+final class ScalarStencil implements StencilKernel {
+    @Override
+    public void update(double[][] in, double[][] out, int from, int to, int rowStride, int planeStride, double[] lambda, double dt) {
+        updateRange(in, out, from, to, rowStride, planeStride, lambda, dt);
+    }
+
+    static void updateRange(double[][] in, double[][] out, int from, int to, int rowStride, int planeStride,
+                            double[] lambda, double dt) {
+        double[] atpIn = in[Cytoplasm.ATP];
+        double[] adpIn = in[Cytoplasm.ADP];
+        double[] nadhIn = in[Cytoplasm.NADH];
+        double[] glucoseIn = in[Cytoplasm.GLUCOSE];
+        double[] aminoIn = in[Cytoplasm.AMINO_ACIDS];
+        for (int i = from; i < to; i++) {
+            double atp = atpIn[i];
+            double adp = adpIn[i];
+            double glucose = glucoseIn[i];
+            double amino = aminoIn[i];
+            double hydrolysis = atp * VMAX_ATPASE / (atp + KM_ATP);
+            double glycolysis = glucose * VMAX_GLYCOLYSIS / (glucose + KM_GLUCOSE) * adp / (adp + KM_ADP);
+            double synthesis = amino * VMAX_SYNTHESIS / (amino + KM_AMINO_ACIDS) * atp / (atp + KM_ATP);
+            double glycolysisAtp = glycolysis * 2.0;
+            double synthesisAtp = synthesis * SYNTHESIS_ATP;
+            out[Cytoplasm.ATP][i] = step(atpIn, i, rowStride, planeStride, lambda[Cytoplasm.ATP],
+                                         glycolysisAtp - hydrolysis - synthesisAtp, dt);
+            out[Cytoplasm.ADP][i] = step(adpIn, i, rowStride, planeStride, lambda[Cytoplasm.ADP],
+                                         hydrolysis + synthesisAtp - glycolysisAtp, dt);
+            out[Cytoplasm.NADH][i] = step(nadhIn, i, rowStride, planeStride, lambda[Cytoplasm.NADH], glycolysisAtp, dt);
+            out[Cytoplasm.GLUCOSE][i] = step(glucoseIn, i, rowStride, planeStride, lambda[Cytoplasm.GLUCOSE], -glycolysis, dt);
+            out[Cytoplasm.AMINO_ACIDS][i] = step(aminoIn, i, rowStride, planeStride, lambda[Cytoplasm.AMINO_ACIDS],
+                                                 -synthesis, dt);
+        }
+    }
+
+    private static double step(double[] c, int i, int rowStride, int planeStride, double lambda, double rate, double dt) {
+        double neighbours = c[i - 1] + c[i + 1] + c[i - rowStride] + c[i + rowStride] + c[i - planeStride] + c[i + planeStride];
+        return c[i] + (neighbours - c[i] * 6.0) * lambda + rate * dt;
+    }
+}
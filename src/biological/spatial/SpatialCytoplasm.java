@@ -0,0 +1,138 @@
+package biological.spatial;
+
+import biological.components.Cytoplasm;
+import java.util.Arrays;
+
+/**
+ * Spatially resolved counterpart of a {@link Cytoplasm}: each metabolite pool is a concentration
+ * field (mM) on a cubic voxel grid whose six faces are the plasma membrane. Fields are stored with a
+ * one-voxel halo, x fastest, so the diffusion stencil needs no boundary branches; before each step
+ * the halo mirrors the outer voxels, which makes the membrane impermeable except for the fluxes
+ * {@link ReactionDiffusionEngine} applies to surface voxels.
+ */
+public class SpatialCytoplasm {
+    // Cytoplasmic diffusion coefficients in um^2/s, in Cytoplasm pool order
+    private static final double[] DIFFUSION = {200.0, 200.0, 180.0, 250.0, 300.0};
+
+    private final int size;
+    private final double voxelMicrons;
+    private final double[] diffusion;
+    private final double[] external;
+    final int rowStride;
+    final int planeStride;
+    double[][] fields;
+    double[][] scratch;
+
+    /**
+     * Uniform grid of {@code size}^3 voxels with edge {@code voxelMicrons}, starting at
+     * {@code concentrations} and bathed in a medium held at {@code external}, both in pool order.
+     */
+    public SpatialCytoplasm(int size, double voxelMicrons, double[] diffusion, double[] concentrations, double[] external) {
+        if (size < 1) throw new IllegalArgumentException("size must be positive: " + size);
+        if (voxelMicrons <= 0) throw new IllegalArgumentException("voxelMicrons must be positive: " + voxelMicrons);
+        if (diffusion.length != Cytoplasm.METABOLITE_COUNT || concentrations.length != Cytoplasm.METABOLITE_COUNT
+                || external.length != Cytoplasm.METABOLITE_COUNT) {
+            throw new IllegalArgumentException("Expected " + Cytoplasm.METABOLITE_COUNT + " values per metabolite array");
+        }
+        this.size = size;
+        this.voxelMicrons = voxelMicrons;
+        this.diffusion = diffusion.clone();
+        this.external = external.clone();
+        this.rowStride = size + 2;
+        this.planeStride = rowStride * rowStride;
+        this.fields = new double[Cytoplasm.METABOLITE_COUNT][planeStride * rowStride];
+        this.scratch = new double[Cytoplasm.METABOLITE_COUNT][planeStride * rowStride];
+        for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+            Arrays.fill(fields[s], concentrations[s]);
+        }
+    }
+
+    /**
+     * Cube of the cytoplasm's volume split into {@code voxelsPerAxis}^3 voxels, filled with its current
+     * pools; the medium starts in equilibrium with it and diffusion is slowed by its crowding.
+     */
+    public static SpatialCytoplasm forCytoplasm(Cytoplasm cytoplasm, int voxelsPerAxis) {
+        double[] pools = new double[Cytoplasm.METABOLITE_COUNT];
+        cytoplasm.copyMetabolites(pools, 0);
+        double[] diffusion = new double[Cytoplasm.METABOLITE_COUNT];
+        for (int s = 0; s < diffusion.length; s++) diffusion[s] = DIFFUSION[s] * cytoplasm.getCrowdingFactor();
+        double edge = Math.cbrt(cytoplasm.getVolume());
+        return new SpatialCytoplasm(voxelsPerAxis, edge / voxelsPerAxis, diffusion, pools, pools);
+    }
+
+    public int getSize() { return size; }
+    public int getVoxelCount() { return size * size * size; }
+    public double getVoxelMicrons() { return voxelMicrons; }
+    public double getDiffusion(int species) { return diffusion[species]; }
+    public double getExternal(int species) { return external[species]; }
+
+    public double getConcentration(int species, int x, int y, int z) {
+        return fields[species][index(x, y, z)];
+    }
+
+    public void setConcentration(int species, int x, int y, int z, double concentration) {
+        fields[species][index(x, y, z)] = concentration;
+    }
+
+    public double getMean(int species) {
+        double sum = 0;
+        double[] field = fields[species];
+        for (int z = 1; z <= size; z++) {
+            for (int y = 1; y <= size; y++) {
+                int base = (z * rowStride + y) * rowStride;
+                for (int x = 1; x <= size; x++) sum += field[base + x];
+            }
+        }
+        return sum / getVoxelCount();
+    }
+
+    public double getMin(int species) { return extreme(species, true); }
+    public double getMax(int species) { return extreme(species, false); }
+
+    private double extreme(int species, boolean min) {
+        double result = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        double[] field = fields[species];
+        for (int z = 1; z <= size; z++) {
+            for (int y = 1; y <= size; y++) {
+                int base = (z * rowStride + y) * rowStride;
+                for (int x = 1; x <= size; x++) result = min ? Math.min(result, field[base + x]) : Math.max(result, field[base + x]);
+            }
+        }
+        return result;
+    }
+
+    /** Sets the well-mixed pools of {@code cytoplasm} to the grid means. */
+    public void applyMeansTo(Cytoplasm cytoplasm) {
+        for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) cytoplasm.setMetabolite(s, getMean(s));
+    }
+
+    // Zero-based interior coordinates to a padded array index
+    int index(int x, int y, int z) {
+        if (x < 0 || x >= size || y < 0 || y >= size || z < 0 || z >= size) {
+            throw new IndexOutOfBoundsException("Voxel (" + x + ", " + y + ", " + z + ") outside " + size + "^3 grid");
+        }
+        return ((z + 1) * rowStride + y + 1) * rowStride + x + 1;
+    }
+
+    /** Mirrors the outer voxels of padded plane {@code z} into its halo, and into the end planes when {@code z} is outermost. */
+    void mirrorHalo(int z) {
+        for (double[] field : fields) {
+            int plane = z * planeStride;
+            for (int y = 1; y <= size; y++) {
+                int row = plane + y * rowStride;
+                field[row] = field[row + 1];
+                field[row + size + 1] = field[row + size];
+            }
+            System.arraycopy(field, plane + rowStride, field, plane, rowStride);
+            System.arraycopy(field, plane + size * rowStride, field, plane + (size + 1) * rowStride, rowStride);
+            if (z == 1) System.arraycopy(field, plane, field, 0, planeStride);
+            if (z == size) System.arraycopy(field, plane, field, plane + planeStride, planeStride);
+        }
+    }
+
+    void swap() {
+        double[][] previous = fields;
+        fields = scratch;
+        scratch = previous;
+    }
+}
@@ -0,0 +1,26 @@
+package biological.spatial;
+
+/**
+ * Explicit reaction-diffusion update of one contiguous run of voxels: a 7-point Laplacian per
+ * metabolite plus the bulk cytoplasmic kinetics, read from {@code in} and written to {@code out}.
+ * Implementations must perform the same floating-point operations in the same order, so every
+ * kernel produces bit-identical fields.
+ */
+interface StencilKernel {
+    // Bulk kinetics: maximal rates in mM/s, half-saturation constants in mM
+    double VMAX_ATPASE = 2.0;
+    double KM_ATP = 0.5;
+    double VMAX_GLYCOLYSIS = 0.5;
+    double KM_GLUCOSE = 1.0;
+    double KM_ADP = 0.3;
+    double VMAX_SYNTHESIS = 0.2;
+    double KM_AMINO_ACIDS = 1.0;
+    // ATP per amino acid polymerized
+    double SYNTHESIS_ATP = 4.0;
+
+    /**
+     * Updates padded indices {@code [from, to)}, which must lie in one interior row. {@code lambda}
+     * holds each metabolite's {@code D dt / h^2}.
+     */
+    void update(double[][] in, double[][] out, int from, int to, int rowStride, int planeStride, double[] lambda, double dt);
+}
@@ -0,0 +1,63 @@
+package biological.spatial;
+
+import biological.components.Cytoplasm;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The scalar kernel's arithmetic across the lanes of the widest vector the CPU supports, with the
+ * row remainder handed to {@link ScalarStencil}. Only loaded when {@code jdk.incubator.vector} is
+ * present, since the class cannot link without it.
+ */
+final class VectorStencil implements StencilKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void update(double[][] in, double[][] out, int from, int to, int rowStride, int planeStride, double[] lambda, double dt) {
+        // Two passes keep each loop small enough for the JIT to inline every vector operation
+        int upper = from + SPECIES.loopBound(to - from);
+        react(in, out, from, upper, dt);
+        for (int s = 0; s < Cytoplasm.METABOLITE_COUNT; s++) {
+            diffuse(in[s], out[s], from, upper, rowStride, planeStride, lambda[s]);
+        }
+        ScalarStencil.updateRange(in, out, upper, to, rowStride, planeStride, lambda, dt);
+    }
+
+    // Writes each metabolite's reaction increment, rate times dt, into out
+    private static void react(double[][] in, double[][] out, int from, int upper, double dt) {
+        double[] atpIn = in[Cytoplasm.ATP];
+        double[] adpIn = in[Cytoplasm.ADP];
+        double[] glucoseIn = in[Cytoplasm.GLUCOSE];
+        double[] aminoIn = in[Cytoplasm.AMINO_ACIDS];
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector atp = DoubleVector.fromArray(SPECIES, atpIn, i);
+            DoubleVector adp = DoubleVector.fromArray(SPECIES, adpIn, i);
+            DoubleVector glucose = DoubleVector.fromArray(SPECIES, glucoseIn, i);
+            DoubleVector amino = DoubleVector.fromArray(SPECIES, aminoIn, i);
+            DoubleVector hydrolysis = atp.mul(VMAX_ATPASE).div(atp.add(KM_ATP));
+            DoubleVector glycolysis = glucose.mul(VMAX_GLYCOLYSIS).div(glucose.add(KM_GLUCOSE)).mul(adp).div(adp.add(KM_ADP));
+            DoubleVector synthesis = amino.mul(VMAX_SYNTHESIS).div(amino.add(KM_AMINO_ACIDS)).mul(atp).div(atp.add(KM_ATP));
+            DoubleVector glycolysisAtp = glycolysis.mul(2.0);
+            DoubleVector synthesisAtp = synthesis.mul(SYNTHESIS_ATP);
+            glycolysisAtp.sub(hydrolysis).sub(synthesisAtp).mul(dt).intoArray(out[Cytoplasm.ATP], i);
+            hydrolysis.add(synthesisAtp).sub(glycolysisAtp).mul(dt).intoArray(out[Cytoplasm.ADP], i);
+            glycolysisAtp.mul(dt).intoArray(out[Cytoplasm.NADH], i);
+            glycolysis.neg().mul(dt).intoArray(out[Cytoplasm.GLUCOSE], i);
+            synthesis.neg().mul(dt).intoArray(out[Cytoplasm.AMINO_ACIDS], i);
+        }
+    }
+
+    // Adds the centre value and the diffusion term to the reaction increment already in out
+    private static void diffuse(double[] c, double[] out, int from, int upper, int rowStride, int planeStride, double lambda) {
+        for (int i = from; i < upper; i += SPECIES.length()) {
+            DoubleVector centre = DoubleVector.fromArray(SPECIES, c, i);
+            DoubleVector neighbours = DoubleVector.fromArray(SPECIES, c, i - 1)
+                .add(DoubleVector.fromArray(SPECIES, c, i + 1))
+                .add(DoubleVector.fromArray(SPECIES, c, i - rowStride))
+                .add(DoubleVector.fromArray(SPECIES, c, i + rowStride))
+                .add(DoubleVector.fromArray(SPECIES, c, i - planeStride))
+                .add(DoubleVector.fromArray(SPECIES, c, i + planeStride));
+            centre.add(neighbours.sub(centre.mul(6.0)).mul(lambda)).add(DoubleVector.fromArray(SPECIES, out, i)).intoArray(out, i);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package biological.sweep;
+
+/**
+ * Inputs and outputs of a contiguous run of sweep points, stored row-major in one array.
+ */
+class SweepBatch {
+    static final int VOLUME = 0;
+    static final int DRY_FRACTION = 1;
+    static final int MAX_GROWTH_RATE = 2;
+    static final int GROWTH_RATE = 3;
+    static final int DRY_DALTONS = 4;
+    static final int WET_DALTONS = 5;
+    static final int GENOME_DALTONS = 6;
+    static final int ENERGY_BALANCE = 7;
+    static final int COLUMNS = 8;
+
+    private final long firstIndex;
+    private final String[] cellTypes;
+    private final double[] values;
+    private int failures;
+    private String firstFailure;
+    private Throwable error;
+
+    SweepBatch(long firstIndex, int size) {
+        this.firstIndex = firstIndex;
+        this.cellTypes = new String[size];
+        this.values = new double[size * COLUMNS];
+    }
+
+    long getFirstIndex() { return firstIndex; }
+    int size() { return cellTypes.length; }
+    int getFailures() { return failures; }
+    String getFirstFailure() { return firstFailure; }
+    Throwable getError() { return error; }
+    String getCellType(int row) { return cellTypes[row]; }
+    double get(int row, int column) { return values[row * COLUMNS + column]; }
+
+    void setCellType(int row, String cellType) { cellTypes[row] = cellType; }
+    void set(int row, int column, double value) { values[row * COLUMNS + column] = value; }
+
+    /** Marks the outputs of {@code row} as missing. */
+    void fail(int row, String reason) {
+        for (int column = GROWTH_RATE; column < COLUMNS; column++) set(row, column, Double.NaN);
+        if (failures++ == 0) firstFailure = "point " + (firstIndex + row) + ": " + reason;
+    }
+
+    /** Records an error that aborts the whole sweep. */
+    void abort(Throwable error) { this.error = error; }
+}
@@ -0,0 +1,51 @@
+package biological.sweep;
+
+import java.util.List;
+
+/**
+ * Cartesian product of cell types, volumes, dry fractions and maximum growth rates.
+ * Points are decoded from their index on demand, so a grid of any size takes constant memory.
+ */
+public class SweepGrid {
+    private final String[] cellTypes;
+    private final double[] volumes;
+    private final double[] dryFractions;
+    private final double[] maxGrowthRates;
+
+    /** An empty {@code maxGrowthRates} keeps each prototype's own rate. */
+    public SweepGrid(List<String> cellTypes, double[] volumes, double[] dryFractions, double[] maxGrowthRates) {
+        if (cellTypes.isEmpty() || volumes.length == 0 || dryFractions.length == 0) {
+            throw new IllegalArgumentException("Every sweep axis needs at least one value");
+        }
+        this.cellTypes = cellTypes.toArray(new String[0]);
+        this.volumes = volumes.clone();
+        this.dryFractions = dryFractions.clone();
+        this.maxGrowthRates = maxGrowthRates.length > 0 ? maxGrowthRates.clone() : new double[] {Double.NaN};
+    }
+
+    /** {@code count} evenly spaced values from {@code from} to {@code to} inclusive. */
+    public static double[] linspace(double from, double to, int count) {
+        if (count < 1) throw new IllegalArgumentException("count must be positive: " + count);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = count == 1 ? from : from + (to - from) * i / (count - 1);
+        }
+        return values;
+    }
+
+    public long size() {
+        return (long) cellTypes.length * volumes.length * dryFractions.length * maxGrowthRates.length;
+    }
+
+    /** Point {@code index}, with the growth rate varying fastest and the cell type slowest. */
+    public SweepPoint point(long index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Sweep index " + index + " of " + size());
+        int rate = (int) (index % maxGrowthRates.length);
+        index /= maxGrowthRates.length;
+        int dry = (int) (index % dryFractions.length);
+        index /= dryFractions.length;
+        int volume = (int) (index % volumes.length);
+        int type = (int) (index / volumes.length);
+        return new SweepPoint(cellTypes[type], volumes[volume], dryFractions[dry], maxGrowthRates[rate]);
+    }
+}
@@ -0,0 +1,29 @@
+package biological.sweep;
+
+/**
+ * One parameter combination of a sweep. A NaN maximum growth rate keeps the prototype's own.
+ */
+public class SweepPoint {
+    private final String cellType;
+    private final double volumeMicron3;
+    private final double dryFraction;
+    private final double maxGrowthRate;
+
+    public SweepPoint(String cellType, double volumeMicron3, double dryFraction, double maxGrowthRate) {
+        this.cellType = cellType;
+        this.volumeMicron3 = volumeMicron3;
+        this.dryFraction = dryFraction;
+        this.maxGrowthRate = maxGrowthRate;
+    }
+
+    public String getCellType() { return cellType; }
+    public double getVolumeMicron3() { return volumeMicron3; }
+    public double getDryFraction() { return dryFraction; }
+    public double getMaxGrowthRate() { return maxGrowthRate; }
+    public boolean hasMaxGrowthRate() { return !Double.isNaN(maxGrowthRate); }
+
+    @Override
+    public String toString() {
+        return String.format("%s volume=%.4g dry=%.4g rate=%.4g", cellType, volumeMicron3, dryFraction, maxGrowthRate);
+    }
+}
@@ -0,0 +1,40 @@
+package biological.sweep;
+
+import java.nio.file.Path;
+
+/**
+ * Point count, failures and wall-clock cost of one {@link SweepRunner#run} call.
+ */
+public class SweepReport {
+    private final Path output;
+    private final long points;
+    private final long failures;
+    private final String firstFailure;
+    private final long elapsedNanos;
+
+    public SweepReport(Path output, long points, long failures, String firstFailure, long elapsedNanos) {
+        this.output = output;
+        this.points = points;
+        this.failures = failures;
+        this.firstFailure = firstFailure;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Path getOutput() { return output; }
+    public long getPoints() { return points; }
+    public long getFailures() { return failures; }
+    public String getFirstFailure() { return firstFailure; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getPointsPerSecond() {
+        return elapsedNanos > 0 ? points / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    public void printSummary() {
+        System.out.printf("Sweep: %,d points in %.1f ms (%.0f points/s) -> %s%n",
+            points, elapsedNanos / 1e6, getPointsPerSecond(), output);
+        if (failures > 0) {
+            System.out.printf("  %,d points failed, first: %s%n", failures, firstFailure);
+        }
+    }
+}
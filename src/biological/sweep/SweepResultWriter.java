@@ -0,0 +1,52 @@
+package biological.sweep;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes sweep results as CSV, one row per point, in the order they complete.
+ * The {@code index} column identifies the point in the sweep.
+ */
+public class SweepResultWriter implements Closeable {
+    static final String HEADER = "index,cell_type,volume_um3,dry_fraction,max_growth_rate,"
+        + "growth_rate,dry_daltons,wet_daltons,genome_daltons,energy_balance";
+
+    private final BufferedWriter out;
+    private final StringBuilder row = new StringBuilder(160);
+    private long rows;
+
+    public SweepResultWriter(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        out.write(HEADER);
+        out.newLine();
+    }
+
+    /** Writes every result in {@code batch}; outputs of failed points are left empty. */
+    void write(SweepBatch batch) throws IOException {
+        for (int i = 0; i < batch.size(); i++) {
+            row.setLength(0);
+            row.append(batch.getFirstIndex() + i).append(',').append(batch.getCellType(i));
+            for (int column = 0; column < SweepBatch.COLUMNS; column++) {
+                row.append(',');
+                double value = batch.get(i, column);
+                if (!Double.isNaN(value)) row.append(value);
+            }
+            out.append(row);
+            out.newLine();
+            rows++;
+        }
+    }
+
+    public long getRowCount() { return rows; }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,159 @@
+package biological.sweep;
+
+import biological.cells.Cell;
+import biological.interfaces.Physiology;
+import biological.metrics.GrowthEvaluationBatchEvent;
+import biological.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+/**
+ * Evaluates a parameter sweep in parallel and streams the results to a CSV file.
+ * Each point is an overlay copy of a prototype cell of its type, so no genome is re-read or
+ * re-indexed per point. Points are evaluated in fixed-size batches, and at most
+ * {@code 2 * parallelism} batches are queued or unwritten at any time, so memory use does not
+ * depend on the size of the sweep. If the sweep fails or is interrupted, batches not yet
+ * started are cancelled and running ones stop at their next point.
+ */
+public class SweepRunner {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    private static final MetricsRegistry.Timer BATCH_TIMER = MetricsRegistry.global().timer("sweep.batch");
+    private static final MetricsRegistry.Counter POINTS = MetricsRegistry.global().counter("sweep.points");
+    private static final MetricsRegistry.Counter FAILURES = MetricsRegistry.global().counter("sweep.failures");
+
+    private final Map<String, Cell> prototypes = new LinkedHashMap<>();
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    public SweepRunner() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    public SweepRunner(ForkJoinPool pool, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /** Registers the cell that points of {@code cellType} are derived from. */
+    public SweepRunner addPrototype(String cellType, Cell prototype) {
+        prototypes.put(cellType, prototype);
+        return this;
+    }
+
+    public SweepReport run(SweepGrid grid, Path output) throws IOException {
+        return run(grid.size(), grid::point, output);
+    }
+
+    public SweepReport run(List<SweepPoint> points, Path output) throws IOException {
+        return run(points.size(), index -> points.get((int) index), output);
+    }
+
+    private SweepReport run(long pointCount, LongFunction<SweepPoint> points, Path output) throws IOException {
+        long start = System.nanoTime();
+        long batchCount = (pointCount + batchSize - 1) / batchSize;
+        int window = 2 * pool.getParallelism();
+        BlockingQueue<SweepBatch> completed = new ArrayBlockingQueue<>(window);
+        // Batches submitted and not yet written, by batch number
+        Map<Long, ForkJoinTask<?>> pending = new HashMap<>();
+        AtomicBoolean abandoned = new AtomicBoolean();
+
+        long submitted = 0;
+        long written = 0;
+        long failures = 0;
+        String firstFailure = null;
+        try (SweepResultWriter writer = new SweepResultWriter(output)) {
+            while (written < batchCount) {
+                while (submitted < batchCount && submitted - written < window) {
+                    long first = submitted * batchSize;
+                    int size = (int) Math.min(batchSize, pointCount - first);
+                    pending.put(submitted++, pool.submit(() -> {
+                        completed.add(evaluate(first, size, points, abandoned));
+                    }));
+                }
+
+                // Batches are written as they finish; the index column restores sweep order
+                SweepBatch batch = completed.take();
+                pending.remove(batch.getFirstIndex() / batchSize);
+                if (batch.getError() != null) {
+                    throw new IllegalStateException("Sweep failed at point " + batch.getFirstIndex(), batch.getError());
+                }
+                writer.write(batch);
+                if (firstFailure == null) firstFailure = batch.getFirstFailure();
+                failures += batch.getFailures();
+                written++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Sweep interrupted after " + written + " of " + batchCount + " batches");
+        } finally {
+            if (!pending.isEmpty()) {
+                abandoned.set(true);
+                for (ForkJoinTask<?> task : pending.values()) task.cancel(false);
+            }
+        }
+        return new SweepReport(output, pointCount, failures, firstFailure, System.nanoTime() - start);
+    }
+
+    private SweepBatch evaluate(long first, int size, LongFunction<SweepPoint> points, AtomicBoolean abandoned) {
+        GrowthEvaluationBatchEvent event = new GrowthEvaluationBatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        SweepBatch batch = new SweepBatch(first, size);
+        try {
+            for (int row = 0; row < size && !abandoned.get(); row++) {
+                SweepPoint point = points.apply(first + row);
+                batch.setCellType(row, point.getCellType());
+                batch.set(row, SweepBatch.VOLUME, point.getVolumeMicron3());
+                batch.set(row, SweepBatch.DRY_FRACTION, point.getDryFraction());
+                batch.set(row, SweepBatch.MAX_GROWTH_RATE, point.getMaxGrowthRate());
+                Cell prototype = prototypes.get(point.getCellType());
+                if (prototype == null) {
+                    batch.fail(row, "no prototype for cell type " + point.getCellType());
+                    continue;
+                }
+                try {
+                    evaluate(prototype, point, batch, row);
+                } catch (RuntimeException e) {
+                    batch.fail(row, e.getMessage());
+                }
+            }
+        } catch (Throwable t) {
+            batch.abort(t);
+        }
+        BATCH_TIMER.recordSince(start);
+        POINTS.add(size);
+        FAILURES.add(batch.getFailures());
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = "sweep";
+            event.evaluations = size;
+            event.commit();
+        }
+        return batch;
+    }
+
+    private static void evaluate(Cell prototype, SweepPoint point, SweepBatch batch, int row) {
+        Physiology physiology = point.hasMaxGrowthRate()
+            ? prototype.getPhysiology().withMaxGrowthRate(point.getMaxGrowthRate())
+            : prototype.getPhysiology();
+        Cell cell = prototype.withOverrides(physiology, point.getVolumeMicron3(), point.getDryFraction());
+        batch.set(row, SweepBatch.MAX_GROWTH_RATE, physiology.getMaxGrowthRate());
+        batch.set(row, SweepBatch.GROWTH_RATE, cell.getGrowthRate());
+        batch.set(row, SweepBatch.DRY_DALTONS, cell.getDryDaltonsWithGenome());
+        batch.set(row, SweepBatch.WET_DALTONS, cell.getWetDaltons());
+        batch.set(row, SweepBatch.GENOME_DALTONS, cell.getGenomeMass());
+        batch.set(row, SweepBatch.ENERGY_BALANCE, cell.calculateEnergyBalance());
+    }
+}
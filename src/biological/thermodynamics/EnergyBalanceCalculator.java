@@ -1,5 +1,6 @@
 package biological.thermodynamics;
 
+import biological.metabolism.MetabolicNetwork;
 import java.util.Map;
 
 /**
@@ -14,6 +15,11 @@ public class EnergyBalanceCalculator {
                                        double dryMass) {
         double totalProduction = atpProductionRates.values().stream().mapToDouble(Double::doubleValue).sum();
         double totalConsumption = atpConsumptionRates.values().stream().mapToDouble(Double::doubleValue).sum();
+        return calculateEnergyBalance(totalProduction, totalConsumption, dryMass);
+    }
+    
+    /** Same balance from pre-summed ATP rates, for callers that must not allocate. */
+    public double calculateEnergyBalance(double totalProduction, double totalConsumption, double dryMass) {
         double maintenanceEnergy = calculateMaintenanceEnergy(dryMass);
         
         totalConsumption += maintenanceEnergy;
@@ -48,4 +54,24 @@ public class EnergyBalanceCalculator {
             }
         }
     }
+
+    /**
+     * Checks that {@code fluxes}, one per reaction of {@code network}, hold every metabolite at
+     * steady state, i.e. that the stoichiometric matrix times the flux vector vanishes.
+     */
+    public void validateMassBalance(MetabolicNetwork network, double[] fluxes) {
+        if (fluxes.length != network.getReactionCount()) {
+            throw new IllegalArgumentException("Expected " + network.getReactionCount() + " fluxes, got " + fluxes.length);
+        }
+        double tolerance = 1e-6;
+        double[] accumulation = new double[network.getMetaboliteCount()];
+        network.getStoichiometry().multiply(fluxes, accumulation);
+        for (int i = 0; i < accumulation.length; i++) {
+            if (Math.abs(accumulation[i]) > tolerance) {
+                throw new ThermodynamicException(
+                    "Mass balance violation for " + network.getMetabolites().get(i) +
+                    ": imbalance = " + accumulation[i]);
+            }
+        }
+    }
 }
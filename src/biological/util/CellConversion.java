@@ -1,6 +1,7 @@
 package biological.util;
 
 import biological.components.Gene;
+import biological.components.GeneTable;
 import java.util.List;
 
 /**
@@ -18,6 +19,9 @@ public class CellConversion {
     public static double genomeToDaltons(List<Gene> genes) {
         if (genes == null || genes.isEmpty()) return 0;
         
+        GeneTable table = GeneTable.backing(genes);
+        if (table != null) return genomeToDaltons(table);
+        
         double total = 0;
         for (Gene gene : genes) {
             total += gene.getLength() * BASE_PAIR_MASS_DA;
@@ -25,6 +29,10 @@ public class CellConversion {
         return total * 1.3;
     }
 
+    public static double genomeToDaltons(GeneTable table) {
+        return table.getTotalLength() * BASE_PAIR_MASS_DA * 1.3;
+    }
+
     public static double volumeToWetDaltons(double volumeMicron3) {
         return volumeMicron3 * WET_DENSITY_FACTOR;
     }
@@ -0,0 +1,211 @@
+package biological.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Memoizes derived quantities and recomputes them only when an input they depend on changes.
+ * Every node carries a version: inputs advance theirs when set (or report one polled from the
+ * object that owns the state), and a memo advances its own only when a recomputation produces a
+ * different value. A memo stays valid while the versions of its dependencies match the ones it
+ * recorded. Reads of a current memo are optimistic and lock-free, recomputation happens under the
+ * memo's write lock, and neither allocates, so the graph is safe to share across threads and to
+ * read in hot loops.
+ */
+public class DependencyGraph {
+    private final List<Memo> memos = new ArrayList<>();
+
+    /** Input whose version is advanced explicitly through {@link Input#changed()}. */
+    public Input input(String name) {
+        return new Input(name, null);
+    }
+
+    /** Input whose version is read from the object that owns the state, e.g. a revision counter. */
+    public Input input(String name, LongSupplier versionSource) {
+        return new Input(name, versionSource);
+    }
+
+    public synchronized Memo memo(String name, DoubleSupplier compute, Node... dependencies) {
+        Memo memo = new Memo(name, compute, dependencies);
+        memos.add(memo);
+        return memo;
+    }
+
+    public synchronized List<Memo> getMemos() { return Collections.unmodifiableList(new ArrayList<>(memos)); }
+
+    public long getHits() {
+        long hits = 0;
+        for (Memo memo : getMemos()) hits += memo.getHits();
+        return hits;
+    }
+
+    public long getMisses() {
+        long misses = 0;
+        for (Memo memo : getMemos()) misses += memo.getMisses();
+        return misses;
+    }
+
+    public double getHitRatio() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    public void resetStatistics() {
+        for (Memo memo : getMemos()) memo.resetStatistics();
+    }
+
+    public void printStatistics() {
+        System.out.printf("Memoized quantities: %d hits, %d misses (%.1f%% hit ratio)%n",
+            getHits(), getMisses(), getHitRatio() * 100);
+        for (Memo memo : getMemos()) {
+            System.out.printf("  %-20s %6d hits %6d misses%n", memo.getName(), memo.getHits(), memo.getMisses());
+        }
+    }
+
+    /**
+     * A value in the graph that others can depend on.
+     */
+    public abstract static class Node {
+        private final String name;
+
+        Node(String name) { this.name = name; }
+
+        public String getName() { return name; }
+
+        /** Current version; validates and, if needed, recomputes the node first. */
+        abstract long version();
+    }
+
+    /**
+     * Leaf state such as a parameter or a component's revision.
+     */
+    public static class Input extends Node {
+        private final LongSupplier versionSource;
+        private final AtomicLong localVersion = new AtomicLong();
+
+        private Input(String name, LongSupplier versionSource) {
+            super(name);
+            this.versionSource = versionSource;
+        }
+
+        /** Marks everything depending on this input as stale. */
+        public void changed() { localVersion.incrementAndGet(); }
+
+        @Override
+        long version() {
+            long version = localVersion.get();
+            return versionSource != null ? version + versionSource.getAsLong() : version;
+        }
+    }
+
+    /**
+     * Cached result of a computation over a fixed set of dependencies.
+     */
+    public static class Memo extends Node {
+        private final DoubleSupplier compute;
+        private final Node[] dependencies;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final StampedLock lock = new StampedLock();
+        // Guarded by lock; written only under the write lock and read optimistically
+        private final long[] dependencyVersions;
+        private boolean computed;
+        private boolean valid;
+        private double value;
+        private long version;
+
+        private Memo(String name, DoubleSupplier compute, Node[] dependencies) {
+            super(name);
+            this.compute = compute;
+            this.dependencies = dependencies.clone();
+            this.dependencyVersions = new long[dependencies.length];
+        }
+
+        public double get() {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                double cached = value;
+                if (isCurrent() && lock.validate(stamp)) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+            long write = lock.writeLock();
+            try {
+                if (!refresh()) hits.increment();
+                return value;
+            } finally {
+                lock.unlockWrite(write);
+            }
+        }
+
+        /** Drops the cached value regardless of dependency versions. */
+        public void invalidate() {
+            long write = lock.writeLock();
+            try {
+                if (computed) {
+                    valid = false;
+                    value = Double.NaN;
+                }
+            } finally {
+                lock.unlockWrite(write);
+            }
+        }
+
+        public long getHits() { return hits.sum(); }
+        public long getMisses() { return misses.sum(); }
+
+        void resetStatistics() {
+            hits.reset();
+            misses.reset();
+        }
+
+        @Override
+        long version() {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                long cached = version;
+                // Dependents polling this memo are not reads of its value, so they count no hits
+                if (isCurrent() && lock.validate(stamp)) return cached;
+            }
+            long write = lock.writeLock();
+            try {
+                refresh();
+                return version;
+            } finally {
+                lock.unlockWrite(write);
+            }
+        }
+
+        // Called with the write lock held; another thread may have refreshed while we waited for it.
+        // Returns whether the value had to be recomputed
+        private boolean refresh() {
+            if (isCurrent()) return false;
+            misses.increment();
+            // Dependencies read during the computation may have moved on; record what we started from
+            for (int i = 0; i < dependencies.length; i++) dependencyVersions[i] = dependencies[i].version();
+            double fresh = compute.getAsDouble();
+            if (computed && Double.compare(value, fresh) != 0) version++;
+            value = fresh;
+            computed = true;
+            valid = true;
+            return true;
+        }
+
+        // Fields may be mid-update during an optimistic read; the caller validates the stamp after
+        private boolean isCurrent() {
+            if (!valid) return false;
+            for (int i = 0; i < dependencies.length; i++) {
+                if (dependencies[i].version() != dependencyVersions[i]) return false;
+            }
+            return true;
+        }
+    }
+}
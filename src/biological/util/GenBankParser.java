@@ -1,6 +1,8 @@
 package biological.util;
 
 import biological.components.Gene;
+import biological.metrics.GenBankParseEvent;
+import biological.metrics.MetricsRegistry;
 import java.io.*;
 import java.util.*;
 import java.util.regex.*;
@@ -9,6 +11,10 @@ import java.util.regex.*;
  * Parses GenBank flat files to extract gene information and genome structure.
  */
 public class GenBankParser {
+    private static final Pattern RANGE_PATTERN = Pattern.compile("(\\d+)\\.\\.(\\d+)");
+    private static final MetricsRegistry.Timer PARSE_TIMER = MetricsRegistry.global().timer("genbank.parse");
+    private static final MetricsRegistry.Counter PARSED_BYTES = MetricsRegistry.global().counter("genbank.bytes");
+    private static final MetricsRegistry.Counter PARSED_GENES = MetricsRegistry.global().counter("genbank.genes");
 
     public static List<Gene> parseGenBankFile(String filePath) throws IOException {
         List<Gene> genes = new ArrayList<>();
@@ -28,7 +34,7 @@ public class GenBankParser {
                 
                 if (trimmed.startsWith("CDS")) {
                     if (inCDS && geneName != null && ranges != null) {
-                        genes.add(new Gene(geneName, function != null ? function : "unknown", ranges, strand));
+                        genes.add(Gene.of(geneName, function != null ? function : "unknown", ranges, strand));
                     }
                     
                     inCDS = true;
@@ -49,7 +55,7 @@ public class GenBankParser {
                     }
                     
                     for (String p : coordPart.split(",")) {
-                        Matcher m = Pattern.compile("(\\d+)\\.\\.(\\d+)").matcher(p.trim());
+                        Matcher m = RANGE_PATTERN.matcher(p.trim());
                         if (m.find()) {
                             ranges.add(new int[]{Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))});
                         }
@@ -82,17 +88,44 @@ public class GenBankParser {
                 
                 if (trimmed.isEmpty() && inCDS) {
                     if (geneName != null && ranges != null)
-                        genes.add(new Gene(geneName, function != null ? function : "unknown", ranges, strand));
+                        genes.add(Gene.of(geneName, function != null ? function : "unknown", ranges, strand));
                     inCDS = false;
                 }
             }
             
             if (inCDS && geneName != null && ranges != null)
-                genes.add(new Gene(geneName, function != null ? function : "unknown", ranges, strand));
+                genes.add(Gene.of(geneName, function != null ? function : "unknown", ranges, strand));
         }
         return genes;
     }
 
+    /**
+     * Memory-mapped parsing mode; yields the same genes as {@link #parseGenBankFile(String)}.
+     */
+    public static List<Gene> parseGenBankFileMapped(String filePath) throws IOException {
+        return scanGenBankFile(filePath).getGenes();
+    }
+
+    /**
+     * Memory-mapped parsing mode that also reports bytes scanned and throughput.
+     */
+    public static GenBankScanResult scanGenBankFile(String filePath) throws IOException {
+        GenBankParseEvent event = new GenBankParseEvent();
+        event.begin();
+        GenBankScanResult result = MappedGenBankScanner.scan(java.nio.file.Paths.get(filePath));
+        PARSE_TIMER.record(result.getElapsedNanos());
+        PARSED_BYTES.add(result.getBytesScanned());
+        PARSED_GENES.add(result.getGenes().size());
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.bytes = result.getBytesScanned();
+            event.genes = result.getGenes().size();
+            event.commit();
+        }
+        return result;
+    }
+
     public static String getGenomeStructure(String filePath) throws IOException {
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
@@ -111,15 +144,13 @@ public class GenBankParser {
         return "unknown";
     }
 
+    /**
+     * Downloads an accession from NCBI straight to a file. Prefer {@link GenomeStore#resolve(String)},
+     * which keeps one copy per content hash and works offline once populated.
+     */
     public static void downloadGenBankFile(String accession, String outputPath) throws IOException {
-        String url = "https://eutils.ncbi.nlm.nih.gov/entrez/eutils/efetch.fcgi?db=nucleotide&id=" +
-                accession + "&rettype=gb&retmode=text";
-
-        try (InputStream in = new java.net.URL(url).openStream();
-             FileOutputStream fos = new FileOutputStream(outputPath)) {
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) fos.write(buffer, 0, bytesRead);
+        try (OutputStream out = new FileOutputStream(outputPath)) {
+            new NcbiGenomeFetcher().fetch(accession, out);
         }
     }
-}
\ No newline at end of file
+}
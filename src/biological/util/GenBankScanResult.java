@@ -0,0 +1,45 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.util.List;
+
+/**
+ * Genes produced by a GenBank scan together with the bytes read and the time it took.
+ */
+public class GenBankScanResult {
+    private final List<Gene> genes;
+    private final long bytesScanned;
+    private final long elapsedNanos;
+    private final String organism;
+
+    public GenBankScanResult(List<Gene> genes, long bytesScanned, long elapsedNanos) {
+        this(genes, bytesScanned, elapsedNanos, null);
+    }
+
+    public GenBankScanResult(List<Gene> genes, long bytesScanned, long elapsedNanos, String organism) {
+        this.genes = genes;
+        this.bytesScanned = bytesScanned;
+        this.elapsedNanos = elapsedNanos;
+        this.organism = organism != null ? organism : "unknown";
+    }
+
+    public List<Gene> getGenes() { return genes; }
+    public long getBytesScanned() { return bytesScanned; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public String getOrganism() { return organism; }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1e6;
+    }
+
+    public double getThroughputMBps() {
+        if (elapsedNanos <= 0) return 0;
+        return (bytesScanned / 1e6) / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d genes from %.2f MB in %.1f ms (%.1f MB/s)",
+            genes.size(), bytesScanned / 1e6, getElapsedMillis(), getThroughputMBps());
+    }
+}
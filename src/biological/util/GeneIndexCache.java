@@ -0,0 +1,160 @@
+package biological.util;
+
+import biological.components.Gene;
+import biological.components.GeneTable;
+import biological.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary sidecar index ({@code <file>.gidx}) holding the parsed genes of a GenBank file as
+ * {@link GeneTable} columns.
+ * The index records the source size, modification time and CRC32C; any mismatch invalidates it
+ * and the file is re-parsed. Size and modification time are compared first, so a changed source
+ * is rejected without hashing it; a hit always confirms the CRC too, since a rewrite can keep both.
+ * Indexes are read back through a read-only mapping.
+ */
+public class GeneIndexCache {
+    public static final String EXTENSION = ".gidx";
+    private static final int MAGIC = 0x47494458; // "GIDX"
+    private static final int VERSION = 2;
+    private static final MetricsRegistry.Counter INDEX_HITS = MetricsRegistry.global().counter("genbank.index_hits");
+
+    public static Load loadOrParse(String genBankPath) throws IOException {
+        Path source = Paths.get(genBankPath);
+        Path index = indexPathFor(source);
+        long start = System.nanoTime();
+
+        SourceStamp stamp = SourceStamp.of(source);
+        List<Gene> cached = readIndex(index, stamp);
+        if (cached != null) {
+            INDEX_HITS.increment();
+            return new Load(cached, true, System.nanoTime() - start, Files.size(index));
+        }
+
+        GenBankScanResult scan = GenBankParser.scanGenBankFile(genBankPath);
+        GeneTable table = GeneTable.of(scan.getGenes());
+        try {
+            writeIndex(index, stamp, table);
+        } catch (IOException e) {
+            System.err.println("Could not write gene index " + index + ": " + e.getMessage());
+        }
+        return new Load(table.asGenes(), false, System.nanoTime() - start, scan.getBytesScanned());
+    }
+
+    public static Path indexPathFor(Path source) {
+        return source.resolveSibling(source.getFileName() + EXTENSION);
+    }
+
+    /** Returns the indexed genes, or null when the index is missing, stale or unreadable. */
+    static List<Gene> readIndex(Path index, SourceStamp stamp) throws IOException {
+        if (!Files.isRegularFile(index)) return null;
+
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            if (buffer.getLong() != stamp.size || buffer.getLong() != stamp.modifiedMillis) return null;
+            if (buffer.getLong() != stamp.crc()) return null;
+
+            return GeneTable.readFrom(buffer).asGenes();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            return null; // Truncated or corrupt index, rebuild it
+        }
+    }
+
+    static void writeIndex(Path index, SourceStamp stamp, GeneTable table) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + table.serializedSize());
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putLong(stamp.size).putLong(stamp.modifiedMillis).putLong(stamp.crc());
+        table.writeTo(buffer);
+        buffer.flip();
+
+        // Write beside the target and move into place so readers never see a partial index
+        Path temp = Files.createTempFile(index.toAbsolutePath().getParent(), index.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+            }
+            Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Size and modification time of a source file, and its content hash, computed on first use.
+     */
+    static class SourceStamp {
+        final long size;
+        final long modifiedMillis;
+        private final Path source;
+        private long crc;
+        private boolean hashed;
+
+        private SourceStamp(Path source, long size, long modifiedMillis) {
+            this.source = source;
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+        }
+
+        static SourceStamp of(Path source) throws IOException {
+            return new SourceStamp(source, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+        }
+
+        long crc() throws IOException {
+            if (!hashed) {
+                CRC32C checksum = new CRC32C();
+                try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+                    long length = channel.size();
+                    long position = 0;
+                    while (position < length) {
+                        long chunk = Math.min(length - position, Integer.MAX_VALUE);
+                        checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, position, chunk));
+                        position += chunk;
+                    }
+                }
+                crc = checksum.getValue();
+                hashed = true;
+            }
+            return crc;
+        }
+    }
+
+    /**
+     * Genes returned by {@link #loadOrParse(String)} and how they were obtained.
+     */
+    public static class Load {
+        private final List<Gene> genes;
+        private final boolean cacheHit;
+        private final long elapsedNanos;
+        private final long bytesRead;
+
+        Load(List<Gene> genes, boolean cacheHit, long elapsedNanos, long bytesRead) {
+            this.genes = genes;
+            this.cacheHit = cacheHit;
+            this.elapsedNanos = elapsedNanos;
+            this.bytesRead = bytesRead;
+        }
+
+        public List<Gene> getGenes() { return genes; }
+        public boolean isCacheHit() { return cacheHit; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public long getBytesRead() { return bytesRead; }
+        public double getElapsedMillis() { return elapsedNanos / 1e6; }
+
+        @Override
+        public String toString() {
+            if (cacheHit) return String.format("%d genes loaded from index in %.1f ms", genes.size(), getElapsedMillis());
+            double mbPerSecond = elapsedNanos > 0 ? (bytesRead / 1e6) / (elapsedNanos / 1e9) : 0;
+            return String.format("%d genes parsed in %.1f ms (%.1f MB/s), index written",
+                genes.size(), getElapsedMillis(), mbPerSecond);
+        }
+    }
+}
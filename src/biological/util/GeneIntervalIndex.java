@@ -0,0 +1,292 @@
+package biological.util;
+
+import biological.components.Gene;
+import biological.components.GeneTable;
+import java.util.*;
+
+/**
+ * Coordinate index over the ranges of genes, one interval set per chromosome or record.
+ * Every gene contributes its span (first base to last base over all its segments) and each of its
+ * segments, so joined exons are found by their exons and a query falling in an intron does not
+ * report the gene as overlapping; complement genes are indexed by their plain coordinates.
+ * Intervals are sorted by start, and sparse tables over their ends answer "largest end" and
+ * "smallest end" for any run of them in constant time. Each query becomes a binary search for a
+ * run plus a walk that only ever descends toward a match, so it costs O(log n + k) for k hits.
+ * Coordinates are 1-based and inclusive, as in GenBank.
+ */
+public class GeneIntervalIndex {
+    private final List<Gene> genes;
+    private final Map<String, Chromosome> chromosomes;
+    // Position of each gene row in its chromosome's span set
+    private final int[] spanPositions;
+
+    private GeneIntervalIndex(List<Gene> genes, Map<String, Chromosome> chromosomes, int[] spanPositions) {
+        this.genes = genes;
+        this.chromosomes = chromosomes;
+        this.spanPositions = spanPositions;
+    }
+
+    /** Indexes parser output directly; table-backed lists are read without materializing genes. */
+    public static GeneIntervalIndex of(List<Gene> genes) {
+        GeneTable table = GeneTable.of(genes);
+        Map<String, IntervalSet.Builder> spans = new LinkedHashMap<>();
+        Map<String, IntervalSet.Builder> segments = new HashMap<>();
+        for (int gene = 0; gene < table.size(); gene++) {
+            String chromosome = table.getChromosome(gene);
+            IntervalSet.Builder chromosomeSpans = spans.get(chromosome);
+            if (chromosomeSpans == null) {
+                spans.put(chromosome, chromosomeSpans = new IntervalSet.Builder());
+                segments.put(chromosome, new IntervalSet.Builder());
+            }
+            IntervalSet.Builder chromosomeSegments = segments.get(chromosome);
+            int first = Integer.MAX_VALUE;
+            int last = Integer.MIN_VALUE;
+            for (int r = 0, ranges = table.getRangeCount(gene); r < ranges; r++) {
+                int start = Math.min(table.getRangeStart(gene, r), table.getRangeEnd(gene, r));
+                int end = Math.max(table.getRangeStart(gene, r), table.getRangeEnd(gene, r));
+                chromosomeSegments.add(start, end, gene);
+                first = Math.min(first, start);
+                last = Math.max(last, end);
+            }
+            if (first <= last) chromosomeSpans.add(first, last, gene);
+        }
+
+        Map<String, Chromosome> chromosomes = new LinkedHashMap<>();
+        int[] spanPositions = new int[table.size()];
+        for (Map.Entry<String, IntervalSet.Builder> entry : spans.entrySet()) {
+            IntervalSet chromosomeSpans = entry.getValue().build(true);
+            for (int i = 0; i < chromosomeSpans.size(); i++) spanPositions[chromosomeSpans.rows[i]] = i;
+            chromosomes.put(entry.getKey(), new Chromosome(chromosomeSpans, segments.get(entry.getKey()).build(false)));
+        }
+        return new GeneIntervalIndex(genes, chromosomes, spanPositions);
+    }
+
+    /** Genes with at least one segment sharing a base with {@code [start, end]}, by position. */
+    public List<Gene> overlapping(String chromosome, int start, int end) {
+        Chromosome c = chromosomes.get(chromosome);
+        if (c == null || start > end) return List.of();
+        // Several segments of one gene may hit; report each gene once, ordered by its span
+        IntList hits = new IntList();
+        c.segments.reportStartingBefore(end, start, hits);
+        return toGenes(c, c.segments, hits);
+    }
+
+    /** Genes lying entirely inside {@code [start, end]}. */
+    public List<Gene> within(String chromosome, int start, int end) {
+        Chromosome c = chromosomes.get(chromosome);
+        if (c == null || start > end) return List.of();
+        IntList hits = new IntList();
+        c.spans.reportEndingBy(start, end, hits);
+        return toGenes(c, c.spans, hits);
+    }
+
+    /** Genes whose span covers all of {@code [start, end]}; a single position when both are equal. */
+    public List<Gene> containing(String chromosome, int start, int end) {
+        Chromosome c = chromosomes.get(chromosome);
+        if (c == null || start > end) return List.of();
+        IntList hits = new IntList();
+        c.spans.reportStartingBefore(start, end, hits);
+        return toGenes(c, c.spans, hits);
+    }
+
+    /**
+     * Gene closest to {@code position}: one whose span covers it, otherwise the one with the
+     * smallest gap to either side (the upstream one on a tie). Null for an unknown chromosome.
+     */
+    public Gene nearest(String chromosome, int position) {
+        Chromosome c = chromosomes.get(chromosome);
+        if (c == null || c.spans.size() == 0) return null;
+        int interval = c.spans.nearest(position);
+        return genes.get(c.spans.rows[interval]);
+    }
+
+    public Set<String> getChromosomes() { return Collections.unmodifiableSet(chromosomes.keySet()); }
+
+    public int getGeneCount(String chromosome) {
+        Chromosome c = chromosomes.get(chromosome);
+        return c != null ? c.spans.size() : 0;
+    }
+
+    // Span positions are start-ordered, so sorting them orders the genes by position
+    private List<Gene> toGenes(Chromosome c, IntervalSet queried, IntList hits) {
+        int[] positions = new int[hits.size];
+        for (int i = 0; i < hits.size; i++) positions[i] = spanPositions[queried.rows[hits.values[i]]];
+        Arrays.sort(positions);
+        List<Gene> result = new ArrayList<>(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            if (i > 0 && positions[i] == positions[i - 1]) continue;
+            result.add(genes.get(c.spans.rows[positions[i]]));
+        }
+        return result;
+    }
+
+    /**
+     * The gene spans and gene segments of one chromosome.
+     */
+    private static final class Chromosome {
+        final IntervalSet spans;
+        final IntervalSet segments;
+
+        Chromosome(IntervalSet spans, IntervalSet segments) {
+            this.spans = spans;
+            this.segments = segments;
+        }
+    }
+
+    /**
+     * Intervals sorted by start, with range-maximum and range-minimum tables over their ends.
+     */
+    static final class IntervalSet {
+        final int[] starts;
+        final int[] ends;
+        final int[] rows;
+        private final int[][] maxEnd;
+        private final int[][] minEnd;
+
+        private IntervalSet(int[] starts, int[] ends, int[] rows, boolean withMinimum) {
+            this.starts = starts;
+            this.ends = ends;
+            this.rows = rows;
+            this.maxEnd = sparseTable(true);
+            this.minEnd = withMinimum ? sparseTable(false) : null;
+        }
+
+        int size() { return starts.length; }
+
+        /** Intervals with start at most {@code startBound} and end at least {@code endBound}. */
+        void reportStartingBefore(int startBound, int endBound, IntList into) {
+            int to = upperBound(startBound) - 1;
+            if (to < 0) return;
+            // Every run taken off the stack either yields a hit or is dropped at once
+            IntList stack = new IntList();
+            stack.push(0, to);
+            while (stack.size > 0) {
+                int hi = stack.pop();
+                int lo = stack.pop();
+                int best = query(maxEnd, lo, hi, true);
+                if (ends[best] < endBound) continue;
+                into.add(best);
+                if (lo < best) stack.push(lo, best - 1);
+                if (best < hi) stack.push(best + 1, hi);
+            }
+        }
+
+        /** Intervals with start at least {@code startBound} and end at most {@code endBound}. */
+        void reportEndingBy(int startBound, int endBound, IntList into) {
+            int from = upperBound(startBound - 1);
+            int to = upperBound(endBound) - 1;
+            if (from > to) return;
+            IntList stack = new IntList();
+            stack.push(from, to);
+            while (stack.size > 0) {
+                int hi = stack.pop();
+                int lo = stack.pop();
+                int best = query(minEnd, lo, hi, false);
+                if (ends[best] > endBound) continue;
+                into.add(best);
+                if (lo < best) stack.push(lo, best - 1);
+                if (best < hi) stack.push(best + 1, hi);
+            }
+        }
+
+        int nearest(int position) {
+            int after = upperBound(position);
+            if (after > 0) {
+                // Of the intervals starting at or before the position, the one reaching furthest
+                int before = query(maxEnd, 0, after - 1, true);
+                if (ends[before] >= position || after == starts.length) return before;
+                return position - ends[before] <= starts[after] - position ? before : after;
+            }
+            return after;
+        }
+
+        // First position whose start is greater than value
+        private int upperBound(int value) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= value) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private int query(int[][] table, int lo, int hi, boolean max) {
+            int level = 31 - Integer.numberOfLeadingZeros(hi - lo + 1);
+            int a = table[level][lo];
+            int b = table[level][hi - (1 << level) + 1];
+            return max ? (ends[a] >= ends[b] ? a : b) : (ends[a] <= ends[b] ? a : b);
+        }
+
+        private int[][] sparseTable(boolean max) {
+            int n = starts.length;
+            int levels = n > 0 ? 32 - Integer.numberOfLeadingZeros(n) : 1;
+            int[][] table = new int[levels][];
+            table[0] = new int[n];
+            for (int i = 0; i < n; i++) table[0][i] = i;
+            for (int level = 1; level < levels; level++) {
+                int half = 1 << (level - 1);
+                int[] previous = table[level - 1];
+                int[] current = table[level] = new int[n - (1 << level) + 1];
+                for (int i = 0; i < current.length; i++) {
+                    int a = previous[i];
+                    int b = previous[i + half];
+                    current[i] = max ? (ends[a] >= ends[b] ? a : b) : (ends[a] <= ends[b] ? a : b);
+                }
+            }
+            return table;
+        }
+
+        static final class Builder {
+            private final IntList starts = new IntList();
+            private final IntList ends = new IntList();
+            private final IntList rows = new IntList();
+
+            void add(int start, int end, int row) {
+                starts.add(start);
+                ends.add(end);
+                rows.add(row);
+            }
+
+            /** {@code withMinimum} adds the smallest-end table that {@link #reportEndingBy} needs. */
+            IntervalSet build(boolean withMinimum) {
+                int n = starts.size;
+                Integer[] order = new Integer[n];
+                for (int i = 0; i < n; i++) order[i] = i;
+                Arrays.sort(order, (a, b) -> starts.values[a] != starts.values[b]
+                    ? Integer.compare(starts.values[a], starts.values[b])
+                    : Integer.compare(ends.values[a], ends.values[b]));
+                int[] sortedStarts = new int[n];
+                int[] sortedEnds = new int[n];
+                int[] sortedRows = new int[n];
+                for (int i = 0; i < n; i++) {
+                    sortedStarts[i] = starts.values[order[i]];
+                    sortedEnds[i] = ends.values[order[i]];
+                    sortedRows[i] = rows.values[order[i]];
+                }
+                return new IntervalSet(sortedStarts, sortedEnds, sortedRows, withMinimum);
+            }
+        }
+    }
+
+    /**
+     * Growable int array used for hits, work stacks and builders.
+     */
+    static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void push(int lo, int hi) {
+            add(lo);
+            add(hi);
+        }
+
+        int pop() { return values[--size]; }
+    }
+}
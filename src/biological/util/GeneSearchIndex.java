@@ -0,0 +1,367 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.util.*;
+
+/**
+ * Inverted index over the names and products of the genes of one or more genomes.
+ * Text is split into lower-case alphanumeric tokens; each distinct name or product string is
+ * tokenized once, so the repetitive products of real annotations cost little to index. Terms are
+ * kept sorted with their postings in one flat array, which makes a term lookup a binary search
+ * and a prefix lookup a scan over adjacent terms. Genes are numbered across genomes in the order
+ * they were added, and query results are bit sets over those numbers.
+ */
+public class GeneSearchIndex {
+    public enum Field { NAME, FUNCTION }
+
+    private final String[] genomes;
+    private final List<List<Gene>> genes;
+    private final int[] genomeOffsets;
+    private final Postings names;
+    private final Postings functions;
+
+    private GeneSearchIndex(String[] genomes, List<List<Gene>> genes, int[] genomeOffsets,
+                            Postings names, Postings functions) {
+        this.genomes = genomes;
+        this.genes = genes;
+        this.genomeOffsets = genomeOffsets;
+        this.names = names;
+        this.functions = functions;
+    }
+
+    /** Genes whose name, or whose product, contains every token of {@code term}. */
+    public GeneSearchResult term(String term) {
+        return term(null, term);
+    }
+
+    /** As {@link #term(String)}, restricted to one field when {@code field} is not null. */
+    public GeneSearchResult term(Field field, String term) {
+        return result(match(field, term, false));
+    }
+
+    /** Genes with a name or product token starting with {@code prefix}. */
+    public GeneSearchResult prefix(String prefix) {
+        return prefix(null, prefix);
+    }
+
+    public GeneSearchResult prefix(Field field, String prefix) {
+        return result(match(field, prefix, true));
+    }
+
+    public GeneSearchResult all() {
+        BitSet every = new BitSet(size());
+        every.set(0, size());
+        return result(every);
+    }
+
+    /**
+     * Evaluates a boolean query. Words are terms, {@code word*} is a prefix and {@code name:} or
+     * {@code function:} ({@code product:}) restricts a word to one field. Adjacent words must all
+     * match; {@code OR}, {@code AND}, {@code NOT} (or a leading {@code -}) and parentheses combine
+     * them, e.g. {@code photosystem (psba OR psbd) -hypothetical}.
+     */
+    public GeneSearchResult search(String query) {
+        return result(new QueryParser(query).parse());
+    }
+
+    public int size() { return genomeOffsets[genomeOffsets.length - 1]; }
+    public int getTermCount() { return names.terms.length + functions.terms.length; }
+    public List<String> getGenomes() { return List.of(genomes); }
+
+    GeneSearchResult result(BitSet matches) {
+        return new GeneSearchResult(this, matches);
+    }
+
+    int genomeOf(int gene) {
+        // Last genome starting at or before the gene; empty genomes share their successor's start
+        int low = 0;
+        int high = genomes.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (genomeOffsets[mid] <= gene) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    int genomeIndex(String genome) {
+        for (int i = 0; i < genomes.length; i++) {
+            if (genomes[i].equals(genome)) return i;
+        }
+        return -1;
+    }
+
+    String genomeName(int genome) { return genomes[genome]; }
+    int genomeStart(int genome) { return genomeOffsets[genome]; }
+    int genomeEnd(int genome) { return genomeOffsets[genome + 1]; }
+    Gene gene(int genome, int gene) { return genes.get(genome).get(gene - genomeOffsets[genome]); }
+
+    private BitSet match(Field field, String text, boolean prefix) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) return new BitSet();
+        if (field == Field.NAME) return match(names, tokens, prefix);
+        if (field == Field.FUNCTION) return match(functions, tokens, prefix);
+        // All tokens must come from the same field, so "psba synthase" does not match psbA by its product
+        BitSet matches = match(names, tokens, prefix);
+        matches.or(match(functions, tokens, prefix));
+        return matches;
+    }
+
+    private BitSet match(Postings postings, List<String> tokens, boolean prefix) {
+        // Leading tokens of a multi-token word must match exactly; only the last one is a prefix
+        BitSet matches = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            BitSet token = new BitSet(size());
+            postings.collect(tokens.get(i), prefix && i == tokens.size() - 1, token);
+            if (matches == null) matches = token;
+            else matches.and(token);
+        }
+        return matches;
+    }
+
+    /** Lower-case alphanumeric runs of {@code text}; everything else separates tokens. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean alphanumeric = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (alphanumeric && start < 0) {
+                start = i;
+            } else if (!alphanumeric && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Sorted terms of one field with their gene numbers, in ascending order per term.
+     */
+    private static final class Postings {
+        final String[] terms;
+        final int[] offsets;
+        final int[] genes;
+
+        Postings(String[] terms, int[] offsets, int[] genes) {
+            this.terms = terms;
+            this.offsets = offsets;
+            this.genes = genes;
+        }
+
+        void collect(String token, boolean prefix, BitSet into) {
+            int index = Arrays.binarySearch(terms, token);
+            if (!prefix) {
+                if (index >= 0) addPostings(index, into);
+                return;
+            }
+            for (int t = index >= 0 ? index : -index - 1; t < terms.length && terms[t].startsWith(token); t++) {
+                addPostings(t, into);
+            }
+        }
+
+        private void addPostings(int term, BitSet into) {
+            for (int p = offsets[term], end = offsets[term + 1]; p < end; p++) into.set(genes[p]);
+        }
+    }
+
+    /**
+     * Accumulates genomes and their postings; {@link #build()} sorts the terms and flattens the lists.
+     */
+    public static class Builder {
+        private final List<String> genomes = new ArrayList<>();
+        private final Set<String> genomeNames = new HashSet<>();
+        private final List<List<Gene>> genes = new ArrayList<>();
+        private final FieldBuilder names = new FieldBuilder();
+        private final FieldBuilder functions = new FieldBuilder();
+        private int geneCount;
+
+        /**
+         * Adds a genome; its genes are numbered after those of the genomes added before it.
+         * Results are reported per genome name, so each name may be added once.
+         */
+        public Builder add(String genome, List<Gene> genomeGenes) {
+            if (!genomeNames.add(genome)) throw new IllegalArgumentException("Genome already indexed: " + genome);
+            genomes.add(genome);
+            genes.add(genomeGenes);
+            for (Gene gene : genomeGenes) {
+                names.add(gene.getGeneName(), geneCount);
+                functions.add(gene.getFunction(), geneCount);
+                geneCount++;
+            }
+            return this;
+        }
+
+        public Builder addAll(Map<String, List<Gene>> genesByGenome) {
+            for (Map.Entry<String, List<Gene>> entry : genesByGenome.entrySet()) add(entry.getKey(), entry.getValue());
+            return this;
+        }
+
+        public GeneSearchIndex build() {
+            int[] offsets = new int[genomes.size() + 1];
+            for (int i = 0; i < genomes.size(); i++) offsets[i + 1] = offsets[i] + genes.get(i).size();
+            return new GeneSearchIndex(genomes.toArray(new String[0]), List.copyOf(genes), offsets,
+                                       names.build(), functions.build());
+        }
+    }
+
+    private static final class FieldBuilder {
+        private final Map<String, int[]> tokenCache = new HashMap<>();
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private int[][] postings = new int[64][];
+        private int[] postingCounts = new int[64];
+
+        void add(String text, int gene) {
+            int[] ids = tokenCache.get(text);
+            if (ids == null) {
+                List<String> tokens = tokenize(text);
+                ids = new int[tokens.size()];
+                for (int i = 0; i < ids.length; i++) ids[i] = termId(tokens.get(i));
+                tokenCache.put(text, ids);
+            }
+            for (int term : ids) {
+                int count = postingCounts[term];
+                int[] list = postings[term];
+                if (count > 0 && list[count - 1] == gene) continue; // Token repeated within the text
+                if (count == list.length) postings[term] = list = Arrays.copyOf(list, count * 2);
+                list[count] = gene;
+                postingCounts[term] = count + 1;
+            }
+        }
+
+        private int termId(String token) {
+            Integer id = termIds.get(token);
+            if (id != null) return id;
+            int term = terms.size();
+            terms.add(token);
+            termIds.put(token, term);
+            if (term == postings.length) {
+                postings = Arrays.copyOf(postings, term * 2);
+                postingCounts = Arrays.copyOf(postingCounts, term * 2);
+            }
+            postings[term] = new int[4];
+            return term;
+        }
+
+        Postings build() {
+            Integer[] order = new Integer[terms.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparing(terms::get));
+
+            String[] sortedTerms = new String[order.length];
+            int[] offsets = new int[order.length + 1];
+            for (int i = 0; i < order.length; i++) {
+                sortedTerms[i] = terms.get(order[i]);
+                offsets[i + 1] = offsets[i] + postingCounts[order[i]];
+            }
+            int[] flat = new int[offsets[order.length]];
+            for (int i = 0; i < order.length; i++) {
+                System.arraycopy(postings[order[i]], 0, flat, offsets[i], postingCounts[order[i]]);
+            }
+            return new Postings(sortedTerms, offsets, flat);
+        }
+    }
+
+    /**
+     * Recursive-descent parser for {@link #search(String)}: OR binds loosest, then AND (explicit
+     * or implied by adjacency), then NOT.
+     */
+    private final class QueryParser {
+        private final String query;
+        private final List<String> tokens = new ArrayList<>();
+        private int position;
+
+        QueryParser(String query) {
+            this.query = query;
+            StringBuilder word = new StringBuilder();
+            for (int i = 0; i <= query.length(); i++) {
+                char c = i < query.length() ? query.charAt(i) : ' ';
+                if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                    if (word.length() > 0) tokens.add(word.toString());
+                    word.setLength(0);
+                    if (c != ' ' && !Character.isWhitespace(c)) tokens.add(String.valueOf(c));
+                } else {
+                    word.append(c);
+                }
+            }
+        }
+
+        BitSet parse() {
+            if (tokens.isEmpty()) throw new IllegalArgumentException("Empty query");
+            BitSet result = or();
+            if (position < tokens.size()) throw error("Unexpected '" + tokens.get(position) + "'");
+            return result;
+        }
+
+        private BitSet or() {
+            BitSet result = and();
+            while (accept("OR")) result.or(and());
+            return result;
+        }
+
+        private BitSet and() {
+            BitSet result = not();
+            while (position < tokens.size() && !peek("OR") && !peek(")")) {
+                accept("AND");
+                result.and(not());
+            }
+            return result;
+        }
+
+        private BitSet not() {
+            if (accept("NOT")) return complement(not());
+            if (position < tokens.size() && tokens.get(position).length() > 1 && tokens.get(position).startsWith("-")) {
+                tokens.set(position, tokens.get(position).substring(1));
+                return complement(not());
+            }
+            if (accept("(")) {
+                BitSet inner = or();
+                if (!accept(")")) throw error("Missing ')'");
+                return inner;
+            }
+            if (position >= tokens.size() || peek(")")) throw error("Expected a term");
+            return atom(tokens.get(position++));
+        }
+
+        private BitSet atom(String word) {
+            Field field = null;
+            int colon = word.indexOf(':');
+            if (colon > 0) {
+                switch (word.substring(0, colon).toLowerCase(Locale.ROOT)) {
+                    case "name":
+                        field = Field.NAME;
+                        break;
+                    case "function":
+                    case "product":
+                        field = Field.FUNCTION;
+                        break;
+                    default:
+                        throw error("Unknown field '" + word.substring(0, colon) + "'");
+                }
+                word = word.substring(colon + 1);
+            }
+            boolean prefix = word.endsWith("*");
+            return match(field, prefix ? word.substring(0, word.length() - 1) : word, prefix);
+        }
+
+        private BitSet complement(BitSet matches) {
+            matches.flip(0, size());
+            return matches;
+        }
+
+        private boolean peek(String token) {
+            return position < tokens.size() && tokens.get(position).equals(token);
+        }
+
+        private boolean accept(String token) {
+            if (!peek(token)) return false;
+            position++;
+            return true;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " in query: " + query);
+        }
+    }
+}
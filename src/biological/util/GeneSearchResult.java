@@ -0,0 +1,85 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.util.*;
+
+/**
+ * Genes matching a {@link GeneSearchIndex} query, as a bit set over the index's gene numbers.
+ * Results combine with {@link #and}, {@link #or} and {@link #andNot} without touching the index,
+ * and genes are only looked up when listed.
+ */
+public class GeneSearchResult {
+    private final GeneSearchIndex index;
+    private final BitSet matches;
+
+    GeneSearchResult(GeneSearchIndex index, BitSet matches) {
+        this.index = index;
+        this.matches = matches;
+    }
+
+    public GeneSearchResult and(GeneSearchResult other) {
+        BitSet combined = (BitSet) matches.clone();
+        combined.and(other.matches);
+        return index.result(combined);
+    }
+
+    public GeneSearchResult or(GeneSearchResult other) {
+        BitSet combined = (BitSet) matches.clone();
+        combined.or(other.matches);
+        return index.result(combined);
+    }
+
+    public GeneSearchResult andNot(GeneSearchResult other) {
+        BitSet combined = (BitSet) matches.clone();
+        combined.andNot(other.matches);
+        return index.result(combined);
+    }
+
+    public int size() { return matches.cardinality(); }
+    public boolean isEmpty() { return matches.isEmpty(); }
+
+    /** Matching genes of every genome, in index order. */
+    public List<Gene> getGenes() {
+        List<Gene> genes = new ArrayList<>(size());
+        for (int g = matches.nextSetBit(0); g >= 0; g = matches.nextSetBit(g + 1)) {
+            genes.add(index.gene(index.genomeOf(g), g));
+        }
+        return genes;
+    }
+
+    public List<Gene> getGenes(String genome) {
+        int genomeIndex = index.genomeIndex(genome);
+        if (genomeIndex < 0) return List.of();
+        List<Gene> genes = new ArrayList<>();
+        int end = index.genomeEnd(genomeIndex);
+        for (int g = matches.nextSetBit(index.genomeStart(genomeIndex)); g >= 0 && g < end; g = matches.nextSetBit(g + 1)) {
+            genes.add(index.gene(genomeIndex, g));
+        }
+        return genes;
+    }
+
+    /** Number of matches per genome, in the order the genomes were indexed. */
+    public Map<String, Integer> getCountsByGenome() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int genome = 0; genome < index.getGenomes().size(); genome++) {
+            int from = index.genomeStart(genome);
+            int to = index.genomeEnd(genome);
+            counts.put(index.genomeName(genome), from < to ? matches.get(from, to).cardinality() : 0);
+        }
+        return counts;
+    }
+
+    /** Prints the per-genome counts and up to {@code limit} matching genes. */
+    public void printSummary(int limit) {
+        System.out.printf("%d matching genes%n", size());
+        for (Map.Entry<String, Integer> entry : getCountsByGenome().entrySet()) {
+            if (entry.getValue() > 0) System.out.printf("  %s: %d%n", entry.getKey(), entry.getValue());
+        }
+        int shown = 0;
+        for (int g = matches.nextSetBit(0); g >= 0 && shown < limit; g = matches.nextSetBit(g + 1), shown++) {
+            int genome = index.genomeOf(g);
+            Gene gene = index.gene(genome, g);
+            System.out.printf("  %-12s %-10s %s%n", gene.getGeneName(), index.genomeName(genome), gene.getFunction());
+        }
+    }
+}
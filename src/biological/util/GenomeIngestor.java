@@ -0,0 +1,190 @@
+package biological.util;
+
+import biological.components.Gene;
+import biological.components.GeneTable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses every GenBank file in a directory or glob concurrently and merges the genes per organism.
+ * Files are handed from a bounded worker pool to the merging thread through a bounded queue, and
+ * at most {@code workers + queueCapacity} files are parsed-but-unmerged at any time.
+ */
+public class GenomeIngestor {
+    private static final String DEFAULT_GLOB = "*.{gb,gbk,genbank}";
+    private static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    public static IngestionResult ingest(String directoryOrGlob) throws IOException {
+        int workers = Runtime.getRuntime().availableProcessors();
+        return ingest(directoryOrGlob, workers, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public static IngestionResult ingest(String directoryOrGlob, int workers, int queueCapacity) throws IOException {
+        if (workers < 1) throw new IllegalArgumentException("workers must be positive: " + workers);
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+
+        long start = System.nanoTime();
+        List<Path> files = resolveFiles(directoryOrGlob);
+        int fileCount = files.size();
+
+        BlockingQueue<ParsedFile> handOff = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, fileCount)), ingestThreads());
+        int window = workers + queueCapacity;
+
+        Map<String, List<Gene>> genesByOrganism = new LinkedHashMap<>();
+        Map<Integer, ParsedFile> pending = new HashMap<>();
+        long bytes = 0;
+        int submitted = 0;
+        int merged = 0;
+
+        try {
+            while (merged < fileCount) {
+                while (submitted < fileCount && submitted - merged < window) {
+                    int index = submitted++;
+                    Path file = files.get(index);
+                    pool.execute(() -> parseInto(handOff, index, file));
+                }
+
+                ParsedFile parsed = handOff.take();
+                // Errors are rethrown as they are; anything else fails the ingest as an IOException
+                if (parsed.error instanceof Error error) throw error;
+                if (parsed.error != null) {
+                    throw new IOException("Failed to parse " + parsed.file + ": " + parsed.error.getMessage(), parsed.error);
+                }
+                pending.put(parsed.index, parsed);
+
+                // Merge strictly in file order so the gene lists are deterministic
+                ParsedFile next;
+                while ((next = pending.remove(merged)) != null) {
+                    genesByOrganism.computeIfAbsent(next.scan.getOrganism(), k -> new ArrayList<>())
+                                   .addAll(next.scan.getGenes());
+                    bytes += next.scan.getBytesScanned();
+                    merged++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ingestion interrupted after " + merged + " of " + fileCount + " files");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Built once here, so the nucleoid, interval index and metabolic network share one table
+        genesByOrganism.replaceAll((organism, genes) -> GeneTable.of(genes).asGenes());
+        return new IngestionResult(genesByOrganism, fileCount, bytes, System.nanoTime() - start);
+    }
+
+    private static void parseInto(BlockingQueue<ParsedFile> handOff, int index, Path file) {
+        ParsedFile parsed;
+        try {
+            parsed = new ParsedFile(index, file, withProvenance(GenBankParser.scanGenBankFile(file.toString()), file), null);
+        } catch (Throwable e) {
+            // Every outcome is handed off, or ingest() would wait on this file forever
+            parsed = new ParsedFile(index, file, null, e);
+        }
+        try {
+            handOff.put(parsed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Genes from files without a LOCUS line are attributed to the file they came from. */
+    private static GenBankScanResult withProvenance(GenBankScanResult scan, Path file) {
+        String fallback = null;
+        List<Gene> genes = scan.getGenes();
+        for (int i = 0; i < genes.size(); i++) {
+            Gene gene = genes.get(i);
+            if (!"unknown".equals(gene.getChromosome())) continue;
+            if (fallback == null) fallback = stripExtension(file.getFileName().toString());
+            genes.set(i, Gene.of(gene.getGeneName(), gene.getFunction(), gene.getRanges(), gene.getStrand(), fallback));
+        }
+        return scan;
+    }
+
+    public static List<Path> resolveFiles(String directoryOrGlob) throws IOException {
+        Path path = Paths.get(directoryOrGlob);
+        Path directory;
+        String glob;
+        if (Files.isDirectory(path)) {
+            directory = path;
+            glob = DEFAULT_GLOB;
+        } else {
+            directory = path.getParent() != null ? path.getParent() : Paths.get(".");
+            glob = path.getFileName().toString();
+        }
+        if (!Files.isDirectory(directory)) throw new NoSuchFileException(directory.toString());
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file) && matcher.matches(file.getFileName())) files.add(file);
+            }
+        }
+        files.sort((a, b) -> compareNatural(a.getFileName().toString(), b.getFileName().toString()));
+        return files;
+    }
+
+    /** Orders embedded numbers by value so CHR2 sorts before CHR10. */
+    private static int compareNatural(String a, String b) {
+        int i = 0, j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int si = i, sj = j;
+                while (i < a.length() && Character.isDigit(a.charAt(i))) i++;
+                while (j < b.length() && Character.isDigit(b.charAt(j))) j++;
+                String na = a.substring(si, i).replaceFirst("^0+(?=.)", "");
+                String nb = b.substring(sj, j).replaceFirst("^0+(?=.)", "");
+                if (na.length() != nb.length()) return Integer.compare(na.length(), nb.length());
+                int cmp = na.compareTo(nb);
+                if (cmp != 0) return cmp;
+            } else {
+                if (ca != cb) return Character.compare(ca, cb);
+                i++;
+                j++;
+            }
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static ThreadFactory ingestThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "genbank-ingest-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class ParsedFile {
+        final int index;
+        final Path file;
+        final GenBankScanResult scan;
+        final Throwable error;
+
+        ParsedFile(int index, Path file, GenBankScanResult scan, Throwable error) {
+            this.index = index;
+            this.file = file;
+            this.scan = scan;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package biological.util;
+
+import biological.interfaces.GenomeFetcher;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Local content-addressed repository of GenBank files.
+ * Layout under the root: {@code objects/<sha256>.gb} holds immutable file contents and
+ * {@code refs/<accession>} names the object for an accession. Lookups hit the store first and
+ * only fall back to the {@link GenomeFetcher} on a miss. Writes go through temp files and
+ * atomic moves, and fetches are serialized per accession with a file lock so several
+ * processes can share one store.
+ */
+public class GenomeStore {
+    public static final String SOURCE_DIR_PROPERTY = "genome.source.dir";
+    // Letters, digits, '_', '.' and '-', but not only dots: "." and ".." would resolve outside refs/
+    private static final Pattern ACCESSION = Pattern.compile("(?!\\.+$)[A-Za-z0-9_.\\-]+");
+    // FileChannel locks belong to the whole JVM, so threads wait on one monitor per lock file
+    // however many stores share the root; a second lock attempt in-process would throw instead
+    private static final ConcurrentHashMap<Path, Object> LOCK_MONITORS = new ConcurrentHashMap<>();
+
+    private final Path objects;
+    private final Path refs;
+    private final Path locks;
+    private final Path temp;
+    private final GenomeFetcher fetcher;
+
+    public GenomeStore(Path root, GenomeFetcher fetcher) throws IOException {
+        this.objects = Files.createDirectories(root.resolve("objects"));
+        this.refs = Files.createDirectories(root.resolve("refs"));
+        this.locks = Files.createDirectories(root.resolve("locks")).toRealPath();
+        this.temp = Files.createDirectories(root.resolve("tmp"));
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Store backed by NCBI, or by the directory named in the {@value #SOURCE_DIR_PROPERTY}
+     * system property when running offline.
+     */
+    public static GenomeStore withDefaultFetcher(Path root) throws IOException {
+        String sourceDir = System.getProperty(SOURCE_DIR_PROPERTY);
+        GenomeFetcher fetcher = sourceDir != null
+            ? new LocalDirectoryFetcher(Paths.get(sourceDir))
+            : new NcbiGenomeFetcher();
+        return new GenomeStore(root, fetcher);
+    }
+
+    /** Path of the stored GenBank file for an accession, fetching it on first use. */
+    public Path resolve(String accession) throws IOException {
+        validate(accession);
+        Path stored = lookup(accession);
+        if (stored != null) return stored;
+
+        Path lockFile = locks.resolve(accession + ".lock");
+        Object monitor = LOCK_MONITORS.computeIfAbsent(lockFile, k -> new Object());
+        synchronized (monitor) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = acquire(lockChannel, accession);
+                try {
+                    // Another process may have fetched it while we waited for the lock
+                    stored = lookup(accession);
+                    if (stored != null) return stored;
+                    return fetchAndStore(accession);
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    public boolean contains(String accession) throws IOException {
+        validate(accession);
+        return lookup(accession) != null;
+    }
+
+    /** Content hash recorded for an accession, or null if the store does not hold it. */
+    public String getContentHash(String accession) throws IOException {
+        validate(accession);
+        Path ref = refs.resolve(accession);
+        if (!Files.isRegularFile(ref)) return null;
+        return Files.readString(ref, StandardCharsets.US_ASCII).trim();
+    }
+
+    public GenomeFetcher getFetcher() { return fetcher; }
+
+    private Path lookup(String accession) throws IOException {
+        String hash = getContentHash(accession);
+        if (hash == null || hash.isEmpty()) return null;
+        Path object = objectPath(hash);
+        return Files.isRegularFile(object) ? object : null;
+    }
+
+    private Path fetchAndStore(String accession) throws IOException {
+        Path download = Files.createTempFile(temp, accession, ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(download), digest)) {
+                fetcher.fetch(accession, out);
+            }
+            if (Files.size(download) == 0) {
+                throw new IOException("Empty GenBank file for " + accession + " from " + fetcher.getDescription());
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path object = objectPath(hash);
+            if (!Files.exists(object)) {
+                Files.move(download, object, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            Path refTemp = Files.createTempFile(temp, accession, ".ref");
+            try {
+                Files.writeString(refTemp, hash + "\n", StandardCharsets.US_ASCII);
+                Files.move(refTemp, refs.resolve(accession), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(refTemp);
+            }
+            return object;
+        } finally {
+            Files.deleteIfExists(download);
+        }
+    }
+
+    /**
+     * Polls with tryLock rather than blocking in lock(): POSIX record locks are per process, and
+     * blocking waits from several threads across processes can trip the kernel's deadlock check.
+     */
+    private static FileLock acquire(FileChannel channel, String accession) throws IOException {
+        long backoffMillis = 5;
+        while (true) {
+            FileLock lock = channel.tryLock();
+            if (lock != null) return lock;
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for store lock on " + accession);
+            }
+            backoffMillis = Math.min(backoffMillis * 2, 200);
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return objects.resolve(hash + ".gb");
+    }
+
+    private static void validate(String accession) {
+        if (accession == null || !ACCESSION.matcher(accession).matches()) {
+            throw new IllegalArgumentException("Invalid accession: " + accession);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Genes merged per organism from a multi-file ingestion run, with aggregate throughput.
+ */
+public class IngestionResult {
+    private final Map<String, List<Gene>> genesByOrganism;
+    private final int fileCount;
+    private final long bytesScanned;
+    private final long elapsedNanos;
+
+    public IngestionResult(Map<String, List<Gene>> genesByOrganism, int fileCount,
+                           long bytesScanned, long elapsedNanos) {
+        this.genesByOrganism = Collections.unmodifiableMap(genesByOrganism);
+        this.fileCount = fileCount;
+        this.bytesScanned = bytesScanned;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Map<String, List<Gene>> getGenesByOrganism() { return genesByOrganism; }
+    public List<Gene> getGenes(String organism) { return genesByOrganism.getOrDefault(organism, List.of()); }
+    public int getFileCount() { return fileCount; }
+    public long getBytesScanned() { return bytesScanned; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public int getTotalGeneCount() {
+        int total = 0;
+        for (List<Gene> genes : genesByOrganism.values()) total += genes.size();
+        return total;
+    }
+
+    public double getThroughputMBps() {
+        if (elapsedNanos <= 0) return 0;
+        return (bytesScanned / 1e6) / (elapsedNanos / 1e9);
+    }
+
+    public void printSummary() {
+        System.out.printf("Ingested %d files (%.2f MB) in %.1f ms (%.1f MB/s)%n",
+            fileCount, bytesScanned / 1e6, elapsedNanos / 1e6, getThroughputMBps());
+        for (Map.Entry<String, List<Gene>> entry : genesByOrganism.entrySet()) {
+            System.out.printf("  %s: %d genes%n", entry.getKey(), entry.getValue().size());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package biological.util;
+
+import biological.interfaces.GenomeFetcher;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Serves GenBank files from a local directory, for air-gapped nodes and tests.
+ * Looks for {@code <accession>.gb}, then {@code .gbk} and {@code .genbank}.
+ */
+public class LocalDirectoryFetcher implements GenomeFetcher {
+    private static final String[] EXTENSIONS = {".gb", ".gbk", ".genbank"};
+
+    private final Path directory;
+
+    public LocalDirectoryFetcher(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void fetch(String accession, OutputStream out) throws IOException {
+        for (String extension : EXTENSIONS) {
+            Path candidate = directory.resolve(accession + extension);
+            if (Files.isRegularFile(candidate)) {
+                Files.copy(candidate, out);
+                return;
+            }
+        }
+        throw new NoSuchFileException(directory.resolve(accession + EXTENSIONS[0]).toString(),
+            null, "accession not available in local directory");
+    }
+
+    @Override
+    public String getDescription() { return "local directory " + directory; }
+}
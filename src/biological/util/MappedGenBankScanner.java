@@ -0,0 +1,276 @@
+package biological.util;
+
+import biological.components.Gene;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memory-mapped GenBank scanner that walks feature lines as byte ranges.
+ * Follows the same CDS rules as {@link GenBankParser#parseGenBankFile(String)} but only
+ * decodes the qualifier values it keeps, so no per-line Strings or regex matchers are built.
+ */
+public class MappedGenBankScanner {
+    private static final byte[] LOCUS = ascii("LOCUS");
+    private static final byte[] ORGANISM = ascii("ORGANISM");
+    private static final byte[] CHROMOSOME = ascii("/chromosome=");
+    private static final byte[] CDS = ascii("CDS");
+    private static final byte[] COMPLEMENT = ascii("complement(");
+    private static final byte[] JOIN = ascii("join(");
+    private static final byte[] GENE = ascii("/gene=");
+    private static final byte[] LOCUS_TAG = ascii("/locus_tag=");
+    private static final byte[] PRODUCT = ascii("/product=");
+
+    private final MappedByteBuffer buffer;
+    private final int limit;
+
+    // Per-CDS state, mirrors the line-based parser
+    private final List<Gene> genes = new ArrayList<>();
+    private final List<int[]> ranges = new ArrayList<>();
+    private String geneName;
+    private String function;
+    private char strand = '+';
+    private boolean inCDS;
+    private boolean collectingProduct;
+
+    // Record provenance; a CDS takes the chromosome current when it starts
+    private String organism;
+    private String locusName;
+    private String recordChromosome;
+    private String cdsChromosome;
+
+    private byte[] scratch = new byte[256];
+    private byte[] product = new byte[256];
+    private int productLength;
+
+    private MappedGenBankScanner(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+    }
+
+    public static GenBankScanResult scan(Path path) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                // A single mapping is capped at 2 GB; such files go through the reader path
+                List<Gene> genes = GenBankParser.parseGenBankFile(path.toString());
+                return new GenBankScanResult(genes, size, System.nanoTime() - start);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            MappedGenBankScanner scanner = new MappedGenBankScanner(buffer);
+            List<Gene> genes = scanner.scanLines();
+            return new GenBankScanResult(genes, size, System.nanoTime() - start, scanner.organism);
+        }
+    }
+
+    private List<Gene> scanLines() {
+        int pos = 0;
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit) {
+                byte b = buffer.get(lineEnd);
+                if (b == '\n' || b == '\r') break;
+                lineEnd++;
+            }
+            processLine(pos, lineEnd);
+
+            pos = lineEnd + 1;
+            if (lineEnd < limit && buffer.get(lineEnd) == '\r' && pos < limit && buffer.get(pos) == '\n') pos++;
+        }
+
+        if (inCDS && geneName != null) addGene();
+        return genes;
+    }
+
+    private void processLine(int lineStart, int lineEnd) {
+        int ts = skipBlank(lineStart, lineEnd);
+        int te = trimEnd(ts, lineEnd);
+
+        readProvenance(lineStart, ts, te);
+
+        if (startsWith(ts, te, CDS)) {
+            if (inCDS && geneName != null) addGene();
+
+            inCDS = true;
+            geneName = null;
+            function = null;
+            productLength = 0;
+            ranges.clear();
+            strand = '+';
+            cdsChromosome = recordChromosome != null ? recordChromosome : locusName;
+
+            parseLocation(skipBlank(ts + CDS.length, te), te);
+        }
+
+        if (!inCDS) return;
+
+        if (startsWith(ts, te, GENE)) geneName = decodeValue(ts + GENE.length, te);
+        else if (startsWith(ts, te, LOCUS_TAG) && (geneName == null || geneName.isEmpty()))
+            geneName = decodeValue(ts + LOCUS_TAG.length, te);
+
+        if (startsWith(ts, te, PRODUCT)) {
+            collectingProduct = true;
+            productLength = 0;
+            appendProduct(ts + PRODUCT.length, te);
+        } else if (collectingProduct) {
+            appendProduct(ts, te);
+        }
+
+        if (ts == te) {
+            if (geneName != null) addGene();
+            inCDS = false;
+        }
+    }
+
+    private void readProvenance(int lineStart, int ts, int te) {
+        if (ts == lineStart && startsWith(ts, te, LOCUS)) {
+            int nameStart = skipBlank(ts + LOCUS.length, te);
+            int nameEnd = nameStart;
+            while (nameEnd < te && (buffer.get(nameEnd) & 0xFF) > ' ') nameEnd++;
+            locusName = decodeValue(nameStart, nameEnd);
+            recordChromosome = null;
+        } else if (organism == null && ts - lineStart < 4 && startsWith(ts, te, ORGANISM)) {
+            organism = decodeValue(ts + ORGANISM.length, te);
+        } else if (startsWith(ts, te, CHROMOSOME)) {
+            recordChromosome = decodeValue(ts + CHROMOSOME.length, te);
+        }
+    }
+
+    private void parseLocation(int cs, int ce) {
+        if (startsWith(cs, ce, COMPLEMENT)) {
+            strand = '-';
+            cs += COMPLEMENT.length;
+            ce--;
+        }
+        if (startsWith(cs, ce, JOIN)) {
+            cs += JOIN.length;
+            ce--;
+        }
+
+        // Each comma-separated piece contributes its first "start..end" pair
+        int pieceStart = cs;
+        for (int i = cs; i <= ce; i++) {
+            if (i == ce || buffer.get(i) == ',') {
+                findRange(pieceStart, i);
+                pieceStart = i + 1;
+            }
+        }
+    }
+
+    private void findRange(int from, int to) {
+        int i = from;
+        while (i < to) {
+            if (!isDigit(buffer.get(i))) {
+                i++;
+                continue;
+            }
+            int firstEnd = skipDigits(i, to);
+            if (firstEnd + 2 < to && buffer.get(firstEnd) == '.' && buffer.get(firstEnd + 1) == '.'
+                    && isDigit(buffer.get(firstEnd + 2))) {
+                int secondEnd = skipDigits(firstEnd + 2, to);
+                ranges.add(new int[]{parseInt(i, firstEnd), parseInt(firstEnd + 2, secondEnd)});
+                return;
+            }
+            i = firstEnd;
+        }
+    }
+
+    private void appendProduct(int from, int to) {
+        int length = stripQuotes(from, to);
+        int s = 0;
+        while (s < length && (scratch[s] & 0xFF) <= ' ') s++;
+        while (length > s && (scratch[length - 1] & 0xFF) <= ' ') length--;
+
+        ensureProductCapacity(productLength + (length - s) + 1);
+        System.arraycopy(scratch, s, product, productLength, length - s);
+        productLength += length - s;
+
+        if (to > from && buffer.get(to - 1) == '"') {
+            collectingProduct = false;
+            int ps = 0;
+            int pe = productLength;
+            while (ps < pe && (product[ps] & 0xFF) <= ' ') ps++;
+            while (pe > ps && (product[pe - 1] & 0xFF) <= ' ') pe--;
+            function = new String(product, ps, pe - ps, StandardCharsets.UTF_8);
+        } else {
+            product[productLength++] = ' ';
+        }
+    }
+
+    private String decodeValue(int from, int to) {
+        int length = stripQuotes(from, to);
+        int s = 0;
+        while (s < length && (scratch[s] & 0xFF) <= ' ') s++;
+        while (length > s && (scratch[length - 1] & 0xFF) <= ' ') length--;
+        return new String(scratch, s, length - s, StandardCharsets.UTF_8);
+    }
+
+    /** Copies [from, to) into the scratch buffer without '"' bytes and returns the copied length. */
+    private int stripQuotes(int from, int to) {
+        if (scratch.length < to - from) scratch = new byte[Math.max(to - from, scratch.length * 2)];
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b != '"') scratch[n++] = b;
+        }
+        return n;
+    }
+
+    private void ensureProductCapacity(int capacity) {
+        if (product.length < capacity) product = Arrays.copyOf(product, Math.max(capacity, product.length * 2));
+    }
+
+    private void addGene() {
+        genes.add(Gene.of(geneName, function != null ? function : "unknown", ranges, strand, cdsChromosome));
+    }
+
+    private int parseInt(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("Coordinate out of range at byte " + from);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private int skipDigits(int from, int to) {
+        while (from < to && isDigit(buffer.get(from))) from++;
+        return from;
+    }
+
+    private int skipBlank(int from, int to) {
+        while (from < to && (buffer.get(from) & 0xFF) <= ' ') from++;
+        return from;
+    }
+
+    private int trimEnd(int from, int to) {
+        while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') to--;
+        return to;
+    }
+
+    private boolean startsWith(int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(from + i) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,25 @@
+package biological.util;
+
+import biological.interfaces.GenomeFetcher;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Fetches GenBank records from NCBI E-utilities.
+ */
+public class NcbiGenomeFetcher implements GenomeFetcher {
+    private static final String EFETCH_URL = "https://eutils.ncbi.nlm.nih.gov/entrez/eutils/efetch.fcgi";
+
+    @Override
+    public void fetch(String accession, OutputStream out) throws IOException {
+        String url = EFETCH_URL + "?db=nucleotide&id=" + accession + "&rettype=gb&retmode=text";
+        try (InputStream in = URI.create(url).toURL().openStream()) {
+            in.transferTo(out);
+        }
+    }
+
+    @Override
+    public String getDescription() { return "NCBI efetch"; }
+}
@@ -0,0 +1,14 @@
+package biological.util;
+
+/**
+ * Whether the incubating Vector API can be used. Classes importing {@code jdk.incubator.vector}
+ * fail to link unless the JVM was started with {@code --add-modules jdk.incubator.vector}, so
+ * callers check this before touching a vector kernel and fall back to a scalar loop otherwise.
+ */
+public final class VectorSupport {
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private VectorSupport() {}
+
+    public static boolean isAvailable() { return AVAILABLE; }
+}
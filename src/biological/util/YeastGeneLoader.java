@@ -1,7 +1,7 @@
 package biological.util;
 
 import biological.components.Gene;
-import java.util.ArrayList;
+import biological.components.GeneTable;
 import java.util.List;
 import java.util.Random;
 
@@ -29,17 +29,17 @@ public class YeastGeneLoader {
     };
     
     public static List<Gene> loadYeastGenes() {
-        List<Gene> genes = new ArrayList<>();
+        GeneTable.Builder genes = new GeneTable.Builder(EXPECTED_YEAST_GENES);
         
         for (int i = 1; i <= EXPECTED_YEAST_GENES; i++) {
             String geneName = generateYeastGeneName(i);
             String function = assignGeneFunction(i);
             int[] position = generateGenePosition(i);
             
-            genes.add(new Gene(geneName, function, position[0], position[1]));
+            genes.add(geneName, function, null, '+', position[0], position[1]);
         }
         
-        return genes;
+        return genes.build().asGenes();
     }
     
     private static String generateYeastGeneName(int index) {
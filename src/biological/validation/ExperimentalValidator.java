@@ -1,6 +1,11 @@
 package biological.validation;
 
 import biological.cells.Cell;
+import biological.cells.EukaryoticCell;
+import biological.metrics.MetricsRegistry;
+import biological.metrics.ValidationEvent;
+import biological.organelles.Organelle;
+import biological.util.CellConversion;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -8,6 +13,7 @@ import java.util.Map;
  * Validates simulation results against experimental data
  */
 public class ExperimentalValidator {
+    private static final MetricsRegistry.Timer VALIDATION_TIMER = MetricsRegistry.global().timer("validation");
     private final Map<String, ExperimentalData> validationData;
     private final Map<String, Double> proteinFractions;
     
@@ -17,6 +23,9 @@ public class ExperimentalValidator {
     }
     
     public ValidationResult validateCell(Cell cell, String strain) {
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        long start = System.nanoTime();
         ValidationResult result = new ValidationResult();
         ExperimentalData expected = validationData.get(strain);
         
@@ -25,6 +34,14 @@ public class ExperimentalValidator {
             validateMassCalculations(cell, strain, result); // Pass strain for cell-type specific validation
         }
         
+        VALIDATION_TIMER.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.strain = strain;
+            event.metrics = result.getMetrics().size();
+            event.valid = result.isValid();
+            event.commit();
+        }
         return result;
     }
     
@@ -98,6 +115,22 @@ public class ExperimentalValidator {
         return geneCount * avgGeneLength * 650.0 * 1.3; // 1.3 factor for associated proteins
     }
     
+    /**
+     * Protein mass from every protein the cell carries: soluble, membrane and organelle.
+     */
+    public double calculateTotalProteinMass(Cell cell) {
+        int proteinCount = cell.getCytoplasm().getSolubleProteins().size();
+        if (cell.getMembrane() != null) {
+            proteinCount += cell.getMembrane().getMembraneProteins().size();
+        }
+        if (cell instanceof EukaryoticCell eukaryoticCell) {
+            for (Organelle organelle : eukaryoticCell.getOrganelles()) {
+                proteinCount += organelle.getProteins().size();
+            }
+        }
+        return CellConversion.estimateProteinMass(proteinCount);
+    }
+    
     // Biological constants
     private Map<String, Double> loadProteinFractions() {
         Map<String, Double> fractions = new HashMap<>();